@@ -0,0 +1,128 @@
+-- Fuzzy load search latency on a 10M-row table
+--
+-- Usage:
+--   psql -h localhost -U loadbook_user -d loadbook -v rows=10000000 -f benchmarks/load-search.sql
+--
+-- Seeds bench_reference_values and bench_loads (same dictionary-encoded columns and
+-- indexes as `reference_values` and `loads`) with city/product combinations, then runs EXPLAIN ANALYZE for the query issued by
+-- LoadSearchRepositoryImpl: first page and a keyset continuation, for a prefix
+-- ("Mumb") and a misspelling ("Banglore"). Target: < 50 ms execution time.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 10000000
+\endif
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+DROP TABLE IF EXISTS bench_loads;
+DROP TABLE IF EXISTS bench_reference_values;
+CREATE TABLE bench_reference_values (
+    id integer PRIMARY KEY,
+    kind varchar(32) NOT NULL,
+    label varchar(255) NOT NULL,
+    UNIQUE (kind, label)
+);
+CREATE TABLE bench_loads (
+    id uuid PRIMARY KEY,
+    loading_point_id integer NOT NULL,
+    unloading_point_id integer NOT NULL,
+    product_type_id integer NOT NULL,
+    comment varchar(1000),
+    status varchar(255) NOT NULL,
+    archived boolean NOT NULL DEFAULT false
+);
+
+-- IDs 1..8000 loading points, 10001..18000 unloading points, 30001..30010 product types
+INSERT INTO bench_reference_values (id, kind, label)
+SELECT 1 + g,
+       'LOCATION',
+       (ARRAY['Mumbai', 'Delhi', 'Bangalore', 'Chennai', 'Kolkata', 'Hyderabad', 'Pune', 'Ahmedabad',
+              'Jaipur', 'Lucknow', 'Surat', 'Nagpur', 'Indore', 'Bhopal', 'Patna', 'Vadodara'])[1 + g % 16]
+           || ' ' || (ARRAY['Port', 'Warehouse', 'Hub', 'Depot', 'Yard', 'Market'])[1 + (g / 16) % 6] || ' ' || (g / 96)
+FROM generate_series(0, 7999) g;
+
+INSERT INTO bench_reference_values (id, kind, label)
+SELECT 10001 + g,
+       'LOCATION',
+       (ARRAY['Goa', 'Mangalore', 'Kochi', 'Coimbatore', 'Madurai', 'Visakhapatnam', 'Raipur', 'Ranchi',
+              'Guwahati', 'Amritsar', 'Ludhiana', 'Kanpur', 'Agra', 'Nashik', 'Rajkot', 'Mysore'])[1 + g % 16]
+           || ' ' || (ARRAY['Port', 'Warehouse', 'Hub', 'Depot', 'Yard', 'Market'])[1 + (g / 16) % 6] || ' ' || (g / 96)
+FROM generate_series(0, 7999) g;
+
+INSERT INTO bench_reference_values (id, kind, label)
+SELECT 30000 + g,
+       'PRODUCT_TYPE',
+       (ARRAY['Electronics', 'Textiles', 'Machinery', 'Food Products', 'Chemicals', 'Furniture', 'Steel',
+              'Cement', 'Pharmaceuticals', 'Auto Parts'])[g]
+FROM generate_series(1, 10) g;
+
+INSERT INTO bench_loads (id, loading_point_id, unloading_point_id, product_type_id, comment, status, archived)
+SELECT gen_random_uuid(),
+       1 + g % 8000,
+       10001 + (g * 7) % 8000,
+       30001 + (g / 3) % 10,
+       CASE WHEN g % 4 = 0 THEN 'Handle with care, batch ' || g END,
+       (ARRAY['POSTED', 'POSTED', 'POSTED', 'BOOKED', 'CANCELLED'])[1 + g % 5],
+       g % 10 = 0
+FROM generate_series(1, :rows) g;
+
+CREATE INDEX ON bench_reference_values USING gin (label gin_trgm_ops);
+CREATE INDEX ON bench_loads USING gin (comment gin_trgm_ops);
+CREATE INDEX ON bench_loads (loading_point_id);
+CREATE INDEX ON bench_loads (unloading_point_id);
+CREATE INDEX ON bench_loads (product_type_id);
+VACUUM ANALYZE bench_reference_values;
+VACUUM ANALYZE bench_loads;
+
+SET pg_trgm.word_similarity_threshold = 0.4;
+
+PREPARE search_first(text, int) AS
+WITH matched AS (
+    SELECT r.id, word_similarity($1, r.label) AS sim FROM bench_reference_values r
+    WHERE r.kind IN ('LOCATION', 'PRODUCT_TYPE') AND $1 <% r.label)
+SELECT s.id, s.rank FROM (
+    SELECT l.id AS id, CAST(round(1000 * GREATEST(
+        COALESCE((SELECT m.sim FROM matched m WHERE m.id = l.loading_point_id), 0),
+        COALESCE((SELECT m.sim FROM matched m WHERE m.id = l.unloading_point_id), 0),
+        COALESCE((SELECT m.sim FROM matched m WHERE m.id = l.product_type_id), 0),
+        COALESCE(word_similarity($1, l.comment), 0))) AS integer) AS rank
+    FROM bench_loads l
+    WHERE l.archived = false
+      AND (l.loading_point_id IN (SELECT id FROM matched)
+        OR l.unloading_point_id IN (SELECT id FROM matched)
+        OR l.product_type_id IN (SELECT id FROM matched)
+        OR $1 <% l.comment)
+) s
+ORDER BY s.rank DESC, s.id LIMIT $2;
+
+PREPARE search_after(text, int, uuid, int) AS
+WITH matched AS (
+    SELECT r.id, word_similarity($1, r.label) AS sim FROM bench_reference_values r
+    WHERE r.kind IN ('LOCATION', 'PRODUCT_TYPE') AND $1 <% r.label)
+SELECT s.id, s.rank FROM (
+    SELECT l.id AS id, CAST(round(1000 * GREATEST(
+        COALESCE((SELECT m.sim FROM matched m WHERE m.id = l.loading_point_id), 0),
+        COALESCE((SELECT m.sim FROM matched m WHERE m.id = l.unloading_point_id), 0),
+        COALESCE((SELECT m.sim FROM matched m WHERE m.id = l.product_type_id), 0),
+        COALESCE(word_similarity($1, l.comment), 0))) AS integer) AS rank
+    FROM bench_loads l
+    WHERE l.archived = false
+      AND (l.loading_point_id IN (SELECT id FROM matched)
+        OR l.unloading_point_id IN (SELECT id FROM matched)
+        OR l.product_type_id IN (SELECT id FROM matched)
+        OR $1 <% l.comment)
+) s
+WHERE s.rank < $2 OR (s.rank = $2 AND s.id > $3)
+ORDER BY s.rank DESC, s.id LIMIT $4;
+
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE search_first('Mumb', 21);
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE search_first('Banglore', 21);
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE search_after('Banglore', 800, '00000000-0000-0000-0000-000000000000', 21);
+
+DEALLOCATE search_first;
+DEALLOCATE search_after;
+DROP TABLE bench_loads;
+DROP TABLE bench_reference_values;
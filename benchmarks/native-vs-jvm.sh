@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# Startup time, RSS and steady-state throughput of the JVM image (Dockerfile) vs the
+# native image (Dockerfile.native). Requires docker, curl and hey, and the compose
+# postgres service (docker compose up -d postgres).
+set -euo pipefail
+
+NETWORK="${NETWORK:-loadbook_loadbook-network}"
+PORT="${PORT:-18080}"
+DURATION="${DURATION:-60s}"
+CONCURRENCY="${CONCURRENCY:-32}"
+URL="http://localhost:$PORT/api/v1/load?page=0&size=20"
+
+./gradlew bootJar
+docker build -t loadbook-jvm -f Dockerfile .
+docker build -t loadbook-native -f Dockerfile.native .
+
+rss_mb() {
+  docker stats --no-stream --format '{{.MemUsage}}' "$1" | awk '{print $1}'
+}
+
+measure() {
+  local image="$1"
+  local name="loadbook-bench-$$"
+  local start end
+  start=$(date +%s%N)
+  docker run -d --rm --name "$name" --network "$NETWORK" -p "$PORT:8080" \
+    -e SPRING_PROFILES_ACTIVE=docker \
+    -e SPRING_DATASOURCE_URL=jdbc:postgresql://postgres:5432/loadbook \
+    -e SPRING_DATASOURCE_USERNAME=loadbook_user \
+    -e SPRING_DATASOURCE_PASSWORD=loadbook_password \
+    -e LOADBOOK_RATE_LIMIT_ENABLED=false \
+    "$image" >/dev/null
+  until curl -sf -o /dev/null "$URL"; do
+    sleep 0.02
+  done
+  end=$(date +%s%N)
+
+  local started idle_rss rps loaded_rss
+  started=$(docker logs "$name" 2>&1 | sed -n 's/.*Started LoadbookApplication in \([0-9.]*\) seconds.*/\1/p')
+  idle_rss=$(rss_mb "$name")
+
+  # Warm up (lets the JVM JIT-compile), then measure
+  hey -z 30s -c "$CONCURRENCY" "$URL" >/dev/null
+  rps=$(hey -z "$DURATION" -c "$CONCURRENCY" "$URL" | awk '/Requests\/sec/ {print $2}')
+  loaded_rss=$(rss_mb "$name")
+
+  docker stop "$name" >/dev/null
+  printf "%-16s started_in=%ss first_request=%sms rss_idle=%s rss_loaded=%s req_per_sec=%s\n" \
+    "$image" "$started" "$(( (end - start) / 1000000 ))" "$idle_rss" "$loaded_rss" "$rps"
+}
+
+measure loadbook-jvm
+measure loadbook-native
@@ -0,0 +1,59 @@
+-- Table and index size of varchar vs dictionary-encoded reference columns
+--
+-- Usage:
+--   psql -h localhost -U loadbook_user -d loadbook -v rows=10000000 -f benchmarks/reference-encoding.sql
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 10000000
+\endif
+\timing on
+
+DROP TABLE IF EXISTS bench_loads_text;
+DROP TABLE IF EXISTS bench_loads_ids;
+
+CREATE TABLE bench_loads_text (
+    id uuid PRIMARY KEY,
+    loading_point varchar(255) NOT NULL,
+    unloading_point varchar(255) NOT NULL,
+    product_type varchar(255) NOT NULL,
+    truck_type varchar(255) NOT NULL
+);
+
+CREATE TABLE bench_loads_ids (
+    id uuid PRIMARY KEY,
+    loading_point_id integer NOT NULL,
+    unloading_point_id integer NOT NULL,
+    product_type_id integer NOT NULL,
+    truck_type_id integer NOT NULL
+);
+
+INSERT INTO bench_loads_text (id, loading_point, unloading_point, product_type, truck_type)
+SELECT gen_random_uuid(),
+       (ARRAY['Mumbai Port', 'Delhi Warehouse', 'Bangalore Hub', 'Chennai Port', 'Kolkata Port',
+              'Hyderabad Industrial Area', 'Pune Distribution Center', 'Ahmedabad Market'])[1 + g % 8],
+       (ARRAY['Goa Port', 'Mangalore Warehouse', 'Kochi Port', 'Coimbatore Hub', 'Madurai Depot',
+              'Visakhapatnam Port', 'Raipur Yard', 'Ranchi Market'])[1 + (g / 8) % 8],
+       (ARRAY['Electronics', 'Textiles', 'Machinery', 'Food Products', 'Chemicals'])[1 + (g / 3) % 5],
+       (ARRAY['Container', 'Open Truck', 'Flatbed', 'Refrigerated', 'Tanker'])[1 + (g / 5) % 5]
+FROM generate_series(1, :rows) g;
+
+INSERT INTO bench_loads_ids (id, loading_point_id, unloading_point_id, product_type_id, truck_type_id)
+SELECT gen_random_uuid(), 1 + g % 8, 9 + (g / 8) % 8, 17 + (g / 3) % 5, 22 + (g / 5) % 5
+FROM generate_series(1, :rows) g;
+
+CREATE INDEX ON bench_loads_text (truck_type);
+CREATE INDEX ON bench_loads_ids (truck_type_id);
+VACUUM ANALYZE bench_loads_text;
+VACUUM ANALYZE bench_loads_ids;
+
+SELECT relname,
+       pg_size_pretty(pg_table_size(oid)) AS heap,
+       pg_size_pretty(pg_indexes_size(oid)) AS indexes,
+       pg_size_pretty(pg_total_relation_size(oid)) AS total
+FROM pg_class
+WHERE relname IN ('bench_loads_text', 'bench_loads_ids');
+
+DROP TABLE bench_loads_text;
+DROP TABLE bench_loads_ids;
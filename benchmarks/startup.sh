@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Startup time and time-to-first-request of the loadbook-app image, baseline vs AOT + CDS.
+# Requires the compose network and postgres service to be up (docker compose up -d postgres).
+set -euo pipefail
+
+RUNS="${1:-5}"
+IMAGE="${IMAGE:-loadbook-app}"
+NETWORK="${NETWORK:-loadbook_loadbook-network}"
+PORT="${PORT:-18080}"
+
+common_env=(
+  -e SPRING_PROFILES_ACTIVE=docker
+  -e SPRING_DATASOURCE_URL=jdbc:postgresql://postgres:5432/loadbook
+  -e SPRING_DATASOURCE_USERNAME=loadbook_user
+  -e SPRING_DATASOURCE_PASSWORD=loadbook_password
+)
+
+run_once() {
+  local mode="$1"
+  local name="loadbook-startup-$$"
+  local args=()
+  if [[ "$mode" == "baseline" ]]; then
+    args=(--entrypoint java "$IMAGE"
+      -Dspring.jpa.hibernate.ddl-auto=update
+      -Dloadbook.flyway.migrate-on-start=false
+      -Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true
+      -jar app.jar)
+  else
+    args=("$IMAGE")
+  fi
+
+  local start end
+  start=$(date +%s%N)
+  docker run -d --rm --name "$name" --network "$NETWORK" -p "$PORT:8080" "${common_env[@]}" "${args[@]}" >/dev/null
+  until curl -sf -o /dev/null "http://localhost:$PORT/api/v1/load?page=0&size=1"; do
+    sleep 0.05
+  done
+  end=$(date +%s%N)
+
+  local started
+  started=$(docker logs "$name" 2>&1 | sed -n 's/.*Started LoadbookApplication in \([0-9.]*\) seconds.*/\1/p')
+  docker stop "$name" >/dev/null
+  printf "%-9s started_in=%ss first_request=%sms\n" "$mode" "$started" "$(( (end - start) / 1000000 ))"
+}
+
+for mode in baseline aot-cds; do
+  for _ in $(seq "$RUNS"); do
+    run_once "$mode"
+  done
+done
@@ -0,0 +1,75 @@
+-- Insert throughput and primary-key index size: random (v4) vs time-ordered (v7) UUIDs
+--
+-- Usage (against the docker-compose database):
+--   psql -h localhost -U loadbook_user -d loadbook -v rows=10000000 -f benchmarks/uuid-v7-vs-v4.sql
+--
+-- Each variant inserts :rows rows in committed batches of 100k into a table shaped
+-- like `loads` (uuid primary key plus a ~200 byte payload). Reported per variant:
+-- wall-clock insert time, WAL bytes written, primary-key index size and leaf density.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 10000000
+\endif
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+
+-- Same bit layout as com.kunal.loadbook.entity.id.UuidV7 (without the per-ms counter)
+CREATE OR REPLACE FUNCTION bench_uuid_v7() RETURNS uuid AS $$
+DECLARE
+    buf bytea := uuid_send(gen_random_uuid());
+BEGIN
+    buf := overlay(buf PLACING substring(int8send((extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                   FROM 1 FOR 6);
+    buf := set_byte(buf, 6, (get_byte(buf, 6) & 15) | 112);
+    RETURN encode(buf, 'hex')::uuid;
+END
+$$ LANGUAGE plpgsql VOLATILE;
+
+CREATE OR REPLACE PROCEDURE bench_fill(target regclass, generator text, total bigint) AS $$
+DECLARE
+    batch CONSTANT int := 100000;
+    done bigint := 0;
+BEGIN
+    WHILE done < total LOOP
+        EXECUTE format('INSERT INTO %s (id, payload) SELECT %s(), repeat(md5(g::text), 6) '
+                       'FROM generate_series(1, %s) g', target, generator, batch);
+        done := done + batch;
+        COMMIT;
+    END LOOP;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TABLE IF EXISTS bench_uuid_v4;
+DROP TABLE IF EXISTS bench_uuid_v7;
+CREATE UNLOGGED TABLE bench_wal_mark (variant text PRIMARY KEY, lsn pg_lsn);
+CREATE TABLE bench_uuid_v4 (id uuid PRIMARY KEY, payload text NOT NULL);
+CREATE TABLE bench_uuid_v7 (id uuid PRIMARY KEY, payload text NOT NULL);
+
+CHECKPOINT;
+INSERT INTO bench_wal_mark VALUES ('v4', pg_current_wal_insert_lsn());
+CALL bench_fill('bench_uuid_v4', 'gen_random_uuid', :rows);
+SELECT 'v4' AS variant, pg_size_pretty(pg_wal_lsn_diff(pg_current_wal_insert_lsn(), lsn)) AS wal_written
+FROM bench_wal_mark WHERE variant = 'v4';
+
+CHECKPOINT;
+INSERT INTO bench_wal_mark VALUES ('v7', pg_current_wal_insert_lsn());
+CALL bench_fill('bench_uuid_v7', 'bench_uuid_v7', :rows);
+SELECT 'v7' AS variant, pg_size_pretty(pg_wal_lsn_diff(pg_current_wal_insert_lsn(), lsn)) AS wal_written
+FROM bench_wal_mark WHERE variant = 'v7';
+
+SELECT relname AS index_name,
+       pg_size_pretty(pg_relation_size(oid)) AS index_size,
+       (pgstatindex(oid::regclass)).avg_leaf_density AS avg_leaf_density,
+       (pgstatindex(oid::regclass)).leaf_fragmentation AS leaf_fragmentation
+FROM pg_class
+WHERE relname IN ('bench_uuid_v4_pkey', 'bench_uuid_v7_pkey')
+ORDER BY relname;
+
+DROP TABLE bench_uuid_v4;
+DROP TABLE bench_uuid_v7;
+DROP TABLE bench_wal_mark;
+DROP PROCEDURE bench_fill(regclass, text, bigint);
+DROP FUNCTION bench_uuid_v7();
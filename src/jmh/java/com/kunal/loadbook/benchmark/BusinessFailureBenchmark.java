@@ -0,0 +1,76 @@
+package com.kunal.loadbook.benchmark;
+
+import com.kunal.loadbook.exception.BusinessLogicException;
+import com.kunal.loadbook.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of failing a request with an expected business error, thrown {@code depth} frames
+ * below where it is caught (roughly a servlet, Spring MVC and transaction proxy stack).
+ * {@code stackful*} is how these exceptions behaved before they stopped capturing stack
+ * traces. Run with {@code -PjmhProfilers=gc} for allocation per failure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BusinessFailureBenchmark {
+
+    @Param({ "20", "100" })
+    private int depth;
+
+    private final String loadId = UUID.randomUUID().toString();
+
+    @Benchmark
+    public String stackfulAlreadyBooked() {
+        return fail(depth, () -> new StackfulException("Load is already booked"));
+    }
+
+    @Benchmark
+    public String stacklessAlreadyBooked() {
+        return fail(depth, BusinessLogicException::loadAlreadyBooked);
+    }
+
+    @Benchmark
+    public String stackfulNotFound() {
+        return fail(depth, () -> new StackfulException("Load not found with ID: " + loadId));
+    }
+
+    @Benchmark
+    public String stacklessNotFound() {
+        return fail(depth, () -> ResourceNotFoundException.load(loadId));
+    }
+
+    private static String fail(int depth, Failure failure) {
+        try {
+            throwAt(depth, failure);
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static void throwAt(int depth, Failure failure) {
+        if (depth == 0) {
+            throw failure.create();
+        }
+        throwAt(depth - 1, failure);
+    }
+
+    @FunctionalInterface
+    private interface Failure {
+        RuntimeException create();
+    }
+
+    /**
+     * Captures its stack trace, as the business exceptions used to
+     */
+    private static final class StackfulException extends RuntimeException {
+
+        private StackfulException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.kunal.loadbook.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kunal.loadbook.dto.common.PagedResponse;
+import com.kunal.loadbook.dto.load.FacilityDto;
+import com.kunal.loadbook.dto.load.LoadResponse;
+import com.kunal.loadbook.enums.LoadStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization cost and size of a 100-item load page as JSON and CBOR, with and
+ * without gzip. Sizes are printed once per fork; the mappers are configured like the
+ * application's JSON mapper and {@code CborConfig}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseFormatBenchmark {
+
+    private static final String[] CITIES = { "Mumbai Port", "Delhi Warehouse", "Chennai Port",
+            "Bangalore Hub", "Kolkata Port", "Hyderabad Industrial Area", "Pune Distribution Center" };
+    private static final String[] PRODUCTS = { "Electronics", "Textiles", "Machinery", "Food Products" };
+    private static final String[] TRUCKS = { "Container", "Open Truck", "Flatbed", "Refrigerated" };
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private PagedResponse<LoadResponse> page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        jsonMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cborMapper = Jackson2ObjectMapperBuilder.cbor()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        page = samplePage(100);
+
+        System.out.printf("%nBytes per 100-item page: json=%d json+gzip=%d cbor=%d cbor+gzip=%d%n",
+                json().length, jsonGzip().length, cbor().length, cborGzip().length);
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        return gzip(jsonMapper.writeValueAsBytes(page));
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cborMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] cborGzip() throws IOException {
+        return gzip(cborMapper.writeValueAsBytes(page));
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static PagedResponse<LoadResponse> samplePage(int size) {
+        LocalDateTime now = LocalDateTime.of(2025, 8, 15, 10, 0);
+        List<LoadResponse> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            FacilityDto facility = new FacilityDto(CITIES[i % CITIES.length], CITIES[(i + 3) % CITIES.length],
+                    now.plusDays(i % 7), now.plusDays(i % 7 + 3));
+            facility.setLoadingLatitude(18.9490 + i * 0.01);
+            facility.setLoadingLongitude(72.8410 + i * 0.01);
+
+            LoadResponse load = new LoadResponse();
+            load.setId(UUID.randomUUID());
+            load.setShipperId("SHIPPER_" + (i % 20));
+            load.setFacility(facility);
+            load.setProductType(PRODUCTS[i % PRODUCTS.length]);
+            load.setTruckType(TRUCKS[i % TRUCKS.length]);
+            load.setNoOfTrucks(1 + i % 4);
+            load.setWeight(5.0 + i % 30);
+            load.setComment(i % 3 == 0 ? "Handle with care" : null);
+            load.setStatus(LoadStatus.POSTED);
+            load.setDatePosted(now.minusHours(i));
+            load.setUpdatedAt(now.minusHours(i));
+            content.add(load);
+        }
+        return new PagedResponse<>(content, 0, size, 10_000, 100, true, false, true, false);
+    }
+}
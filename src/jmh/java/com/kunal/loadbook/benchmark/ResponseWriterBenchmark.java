@@ -0,0 +1,132 @@
+package com.kunal.loadbook.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kunal.loadbook.dto.common.PagedResponse;
+import com.kunal.loadbook.dto.common.StreamedPagedResponse;
+import com.kunal.loadbook.dto.load.LoadResponse;
+import com.kunal.loadbook.entity.Facility;
+import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.enums.ReferenceKind;
+import com.kunal.loadbook.index.ReferenceDictionary;
+import com.kunal.loadbook.mapper.LoadJsonWriter;
+import com.kunal.loadbook.mapper.LoadMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 100-load page written as JSON: mapped to DTOs and serialized by Jackson, as the
+ * listing does by default, against streamed from the entities by {@link LoadJsonWriter}
+ * ({@code loadbook.streaming-json.enabled}). Both write into a reused buffer, so only the
+ * serialization allocates. Run with {@code -PjmhProfilers=gc} for allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseWriterBenchmark {
+
+    private static final String[] CITIES = { "Mumbai Port", "Delhi Warehouse", "Chennai Port",
+            "Bangalore Hub", "Kolkata Port", "Hyderabad Industrial Area", "Pune Distribution Center" };
+    private static final String[] PRODUCTS = { "Electronics", "Textiles", "Machinery", "Food Products" };
+    private static final String[] TRUCKS = { "Container", "Open Truck", "Flatbed", "Refrigerated" };
+
+    private ObjectMapper jsonMapper;
+    private LoadMapper loadMapper;
+    private LoadJsonWriter loadJsonWriter;
+    private Page<Load> page;
+    private ByteArrayOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        jsonMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ReferenceDictionary referenceDictionary = new FixedDictionary();
+        loadMapper = new LoadMapper(referenceDictionary);
+        loadJsonWriter = new LoadJsonWriter(referenceDictionary, loadMapper);
+        page = samplePage(100);
+        out = new ByteArrayOutputStream(64 * 1024);
+
+        mapperAndJackson();
+        byte[] mapped = out.toByteArray();
+        streamed();
+        if (!Arrays.equals(mapped, out.toByteArray())) {
+            throw new IllegalStateException("Streamed JSON differs from mapper + Jackson");
+        }
+        System.out.printf("%nBytes per 100-item page: %d%n", mapped.length);
+    }
+
+    @Benchmark
+    public int mapperAndJackson() throws IOException {
+        out.reset();
+        List<LoadResponse> content = page.getContent().stream().map(loadMapper::toResponse).toList();
+        jsonMapper.writeValue(out, new PagedResponse<>(content, page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages(), page.isFirst(), page.isLast(), page.hasNext(),
+                page.hasPrevious()));
+        return out.size();
+    }
+
+    @Benchmark
+    public int streamed() throws IOException {
+        out.reset();
+        jsonMapper.writeValue(out, new StreamedPagedResponse<>(page, loadJsonWriter));
+        return out.size();
+    }
+
+    private static Page<Load> samplePage(int size) {
+        LocalDateTime now = LocalDateTime.of(2025, 8, 15, 10, 0);
+        List<Load> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Facility facility = new Facility(i % CITIES.length, (i + 3) % CITIES.length,
+                    now.plusDays(i % 7), now.plusDays(i % 7 + 3));
+            facility.setLoadingLatitude(18.9490 + i * 0.01);
+            facility.setLoadingLongitude(72.8410 + i * 0.01);
+
+            Load load = new Load("SHIPPER_" + (i % 20), facility, i % PRODUCTS.length, i % TRUCKS.length,
+                    1 + i % 4, 5.0 + i % 30, i % 3 == 0 ? "Handle with care" : null);
+            load.setId(UUID.randomUUID());
+            load.setStatus(LoadStatus.POSTED);
+            // Timestamps read from the database carry microseconds
+            load.setDatePosted(now.minusHours(i).withNano(i * 1_000));
+            load.setUpdatedAt(now.minusHours(i).withNano(i * 1_000));
+            load.setPendingBookingCount(i % 5);
+            content.add(load);
+        }
+        return new PageImpl<>(content, PageRequest.of(0, size), 10_000);
+    }
+
+    /**
+     * The sample's reference values, without a database behind them
+     */
+    private static final class FixedDictionary extends ReferenceDictionary {
+
+        private FixedDictionary() {
+            super(null, null, null, null);
+        }
+
+        @Override
+        public String valueOf(ReferenceKind kind, Integer id) {
+            if (id == null) {
+                return null;
+            }
+            return switch (kind) {
+                case LOCATION -> CITIES[id];
+                case PRODUCT_TYPE -> PRODUCTS[id];
+                case TRUCK_TYPE -> TRUCKS[id];
+            };
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.kunal.loadbook.audit;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Records status changes of {@link Audited} entities written through the entity manager.
+ * The status each entity was read with is remembered on load, so an update is only
+ * recorded when it actually changed the status. Bulk UPDATEs bypass entity listeners;
+ * the services record those themselves.
+ *
+ * Created by Hibernate through Spring's bean container; the audit log is looked up lazily
+ * because it is built after the entity manager factory.
+ */
+public class AuditEntityListener {
+
+    private final ObjectProvider<AuditLog> auditLog;
+
+    public AuditEntityListener(ObjectProvider<AuditLog> auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @PostLoad
+    public void loaded(Object entity) {
+        if (entity instanceof Audited audited) {
+            audited.setAuditedStatus(statusOf(audited));
+        }
+    }
+
+    @PostPersist
+    public void persisted(Object entity) {
+        if (entity instanceof Audited audited) {
+            changed(audited, null, statusOf(audited));
+        }
+    }
+
+    @PostUpdate
+    public void updated(Object entity) {
+        if (entity instanceof Audited audited) {
+            String status = statusOf(audited);
+            if (status != null && !status.equals(audited.getAuditedStatus())) {
+                changed(audited, audited.getAuditedStatus(), status);
+            }
+        }
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        if (entity instanceof Audited audited) {
+            String status = audited.getAuditedStatus() != null ? audited.getAuditedStatus() : statusOf(audited);
+            changed(audited, status, null);
+        }
+    }
+
+    private void changed(Audited entity, String from, String to) {
+        auditLog.getObject().record(entity.auditEntityType(), entity.getId(), from, to);
+        entity.setAuditedStatus(to);
+    }
+
+    private static String statusOf(Audited entity) {
+        return entity.getStatus() != null ? entity.getStatus().name() : null;
+    }
+}
@@ -0,0 +1,351 @@
+package com.kunal.loadbook.audit;
+
+import com.kunal.loadbook.dto.common.AuditEntryResponse;
+import com.kunal.loadbook.entity.AuditEntry;
+import com.kunal.loadbook.entity.id.UuidV7;
+import com.kunal.loadbook.enums.AuditEntityType;
+import com.kunal.loadbook.pool.Bulkhead;
+import com.kunal.loadbook.pool.Workload;
+import com.kunal.loadbook.pool.WorkloadContext;
+import com.kunal.loadbook.repository.AuditEntryRepository;
+import com.kunal.loadbook.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only history of load and booking status changes.
+ *
+ * Changes are recorded as they are flushed (by {@link AuditEntityListener}, or by the
+ * services for their bulk UPDATEs) and handed over only once the transaction commits, so
+ * a rolled-back change leaves no entry, even one rolled back to a savepoint. Committed
+ * entries go into a bounded lock-free queue drained by a single writer thread, which
+ * inserts them in JDBC batches of up to {@code loadbook.audit.batch-size} rows, one
+ * transaction per shard, each row on the shard of the entity it describes. Request
+ * threads never wait for the database unless asked to:
+ * <ul>
+ * <li>{@code loadbook.audit.durability=async} (default): the writer runs every
+ * {@code flush-interval}, or as soon as a batch is full; a crash loses what is still
+ * queued</li>
+ * <li>{@code sync}: the committing thread waits until its entries are written; concurrent
+ * requests still share batches</li>
+ * </ul>
+ * When the queue is full the committing thread writes its own entries, so entries are
+ * never dropped. A batch that fails to write stays queued and is retried.
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_log "
+            + "(id, entity_type, entity_id, from_status, to_status, changed_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    public enum Durability {
+        ASYNC,
+        SYNC
+    }
+
+    private final AuditEntryRepository auditEntryRepository;
+    private final ShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Durability durability;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    /** Entries of committed transactions, one node per transaction */
+    private final Queue<Commit> queue = new ConcurrentLinkedQueue<>();
+    /** Entries in the queue or being retried; bounds the queue without locking it */
+    private final AtomicInteger queued = new AtomicInteger();
+    /** Batches that failed to write, retried first; only touched by the writer thread */
+    private final List<Commit> retries = new ArrayList<>();
+
+    private final Counter callerWrites;
+    private final Counter failures;
+    private final DistributionSummary batchSizes;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public AuditLog(AuditEntryRepository auditEntryRepository, ShardRouter shardRouter, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${loadbook.audit.durability:async}") String durability,
+            @Value("${loadbook.audit.queue-capacity:10000}") int capacity,
+            @Value("${loadbook.audit.batch-size:500}") int batchSize,
+            @Value("${loadbook.audit.flush-interval:200ms}") Duration flushInterval) {
+        this.auditEntryRepository = auditEntryRepository;
+        this.shardRouter = shardRouter;
+        this.jdbcTemplate = jdbcTemplate;
+        // Entries are handed over after the recording transaction completed, so writes
+        // must not join whatever is still bound to the thread
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.durability = Durability.valueOf(durability.trim().toUpperCase(Locale.ROOT));
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+
+        meterRegistry.gauge("loadbook.audit.queue-depth", queued, AtomicInteger::get);
+        this.callerWrites = Counter.builder("loadbook.audit.caller-writes")
+                .description("Transactions whose audit entries were written by the request thread (queue full)")
+                .register(meterRegistry);
+        this.failures = Counter.builder("loadbook.audit.failures")
+                .description("Audit batches that failed to write and were queued for retry")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("loadbook.audit.batch-size")
+                .description("Audit entries inserted per batch")
+                .register(meterRegistry);
+
+        this.writer = Thread.ofPlatform()
+                .name("audit-writer")
+                .daemon()
+                .start(this::drain);
+    }
+
+    /**
+     * Record a status change; {@code from} is null for a new entity and {@code to} for a
+     * deleted one. Inside a transaction the entry is only kept if it commits.
+     */
+    public void record(AuditEntityType entityType, UUID entityId, String from, String to) {
+        AuditEntry entry = new AuditEntry(UuidV7.randomUuid(), entityType, entityId, from, to, LocalDateTime.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(List.of(entry));
+            return;
+        }
+        transactionEntries().add(entry);
+    }
+
+    /**
+     * Record the same change for several entities of one type
+     */
+    public void recordAll(AuditEntityType entityType, Collection<UUID> entityIds, String from, String to) {
+        entityIds.forEach(entityId -> record(entityType, entityId, from, to));
+    }
+
+    /**
+     * Written status history of a load or booking, oldest first. Entries still queued are
+     * not included, so with async durability the latest change can lag by up to the flush
+     * interval.
+     */
+    @Bulkhead(Workload.INTERACTIVE_READ)
+    public List<AuditEntryResponse> history(AuditEntityType entityType, UUID entityId) {
+        return auditEntryRepository.findByEntityTypeAndEntityIdOrderByChangedAtAscIdAsc(entityType, entityId)
+                .stream()
+                .map(AuditEntryResponse::new)
+                .toList();
+    }
+
+    /**
+     * Entries recorded by the current transaction, handed over when it completes
+     */
+    @SuppressWarnings("unchecked")
+    private List<AuditEntry> transactionEntries() {
+        List<AuditEntry> entries = (List<AuditEntry>) TransactionSynchronizationManager.getResource(this);
+        if (entries != null) {
+            return entries;
+        }
+
+        List<AuditEntry> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private final Map<Object, Integer> recordedAtSavepoint = new LinkedHashMap<>();
+
+            @Override
+            public void savepoint(Object savepoint) {
+                recordedAtSavepoint.put(savepoint, created.size());
+            }
+
+            @Override
+            public void savepointRollback(Object savepoint) {
+                // Changes undone by a nested transaction leave no entry either. A savepoint
+                // taken before anything was recorded predates this synchronization.
+                int recorded = recordedAtSavepoint.getOrDefault(savepoint, 0);
+                if (recorded < created.size()) {
+                    created.subList(recorded, created.size()).clear();
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(AuditLog.this);
+                if (status == STATUS_COMMITTED && !created.isEmpty()) {
+                    append(created);
+                }
+            }
+        });
+        return created;
+    }
+
+    private void append(List<AuditEntry> entries) {
+        Commit commit = new Commit(entries, durability == Durability.SYNC ? new CompletableFuture<>() : null);
+
+        // Reserve room first; whoever finds the queue full writes its own entries
+        if (!running || queued.addAndGet(entries.size()) > capacity) {
+            if (running) {
+                queued.addAndGet(-entries.size());
+            }
+            callerWrites.increment();
+            try {
+                write(entries);
+            } catch (RuntimeException e) {
+                logger.error("Could not write audit entries {}", entries, e);
+            }
+            return;
+        }
+
+        queue.offer(commit);
+        if (commit.written != null || queued.get() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+        if (commit.written != null) {
+            try {
+                commit.written.join();
+            } catch (CompletionException e) {
+                logger.warn("Audit entries not written yet, will retry: {}", e.getCause().getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        while (running) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            flush();
+        }
+    }
+
+    /**
+     * Write everything queued, in batches; called by the writer thread
+     */
+    private void flush() {
+        List<Commit> batch = new ArrayList<>(retries);
+        retries.clear();
+        int entries = batch.stream().mapToInt(commit -> commit.entries.size()).sum();
+
+        Commit commit;
+        while ((commit = queue.poll()) != null) {
+            batch.add(commit);
+            entries += commit.entries.size();
+            if (entries >= batchSize) {
+                writeBatch(batch, entries);
+                batch = new ArrayList<>();
+                entries = 0;
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, entries);
+        }
+    }
+
+    private void writeBatch(List<Commit> batch, int size) {
+        List<AuditEntry> entries = new ArrayList<>(size);
+        batch.forEach(commit -> entries.addAll(commit.entries));
+        try {
+            write(entries);
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.error("Could not write {} audit entries, will retry", size, e);
+            retries.addAll(batch);
+            batch.forEach(commit -> commit.fail(e));
+            return;
+        }
+        queued.addAndGet(-size);
+        batchSizes.record(size);
+        batch.forEach(Commit::complete);
+    }
+
+    /**
+     * Insert the entries, each on the shard of its entity, with background connections
+     */
+    private void write(List<AuditEntry> entries) {
+        Map<UUID, List<AuditEntry>> byEntity = new LinkedHashMap<>();
+        entries.forEach(entry -> byEntity.computeIfAbsent(entry.getEntityId(), id -> new ArrayList<>()).add(entry));
+
+        WorkloadContext.callAs(Workload.BACKGROUND, () -> shardRouter.scatterIds(byEntity.keySet(), entityIds -> {
+            List<AuditEntry> shardEntries = new ArrayList<>();
+            entityIds.forEach(entityId -> shardEntries.addAll(byEntity.get(entityId)));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, shardEntries,
+                    shardEntries.size(), (statement, entry) -> {
+                        statement.setObject(1, entry.getId());
+                        statement.setString(2, entry.getEntityType().name());
+                        statement.setObject(3, entry.getEntityId());
+                        statement.setString(4, entry.getFromStatus());
+                        statement.setString(5, entry.getToStatus());
+                        statement.setTimestamp(6, Timestamp.valueOf(entry.getChangedAt()));
+                    }));
+            return null;
+        }));
+    }
+
+    /**
+     * Stop the writer and write what is still queued
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join();
+        flush();
+        if (!retries.isEmpty()) {
+            logger.error("Shutting down with unwritten audit entries {}",
+                    retries.stream().flatMap(commit -> commit.entries.stream()).toList());
+        }
+    }
+
+    /**
+     * The entries of one committed transaction, and whether its thread waits for them
+     */
+    private static final class Commit {
+
+        private final List<AuditEntry> entries;
+        private final CompletableFuture<Void> written;
+
+        private Commit(List<AuditEntry> entries, CompletableFuture<Void> written) {
+            this.entries = entries;
+            this.written = written;
+        }
+
+        private void complete() {
+            if (written != null) {
+                written.complete(null);
+            }
+        }
+
+        private void fail(Throwable cause) {
+            if (written != null) {
+                written.completeExceptionally(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.kunal.loadbook.audit;
+
+import com.kunal.loadbook.enums.AuditEntityType;
+
+import java.util.UUID;
+
+/**
+ * An entity whose status changes go to the {@link AuditLog}
+ */
+public interface Audited {
+
+    UUID getId();
+
+    Enum<?> getStatus();
+
+    AuditEntityType auditEntityType();
+
+    /**
+     * Status as last read from or written to the database, kept by {@link AuditEntityListener}
+     */
+    String getAuditedStatus();
+
+    void setAuditedStatus(String auditedStatus);
+}
@@ -0,0 +1,286 @@
+package com.kunal.loadbook.cdc;
+
+import com.kunal.loadbook.shard.ShardingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.postgresql.replication.fluent.logical.ChainedLogicalStreamBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams committed changes to {@code loads} and {@code bookings} from PostgreSQL
+ * logical replication ({@code pgoutput}, publication {@code loadbook.cdc.publication})
+ * into every {@link ReadModel}, so in-memory views also see writes made by other
+ * instances or by plain SQL.
+ *
+ * Each database (each shard, when sharded) gets its own replication slot and thread,
+ * and its changes are applied in commit order. The slot is the checkpoint: after a
+ * transaction has been applied its end position is confirmed to the server, and a
+ * reconnect or restart resumes from the last confirmed position. The slot is created
+ * before the read models warm up and streaming starts after they have, so nothing
+ * committed in between is missed; replayed changes are harmless because read models
+ * apply idempotently.
+ *
+ * A slot retains WAL until it is consumed, so every instance needs its own
+ * {@code loadbook.cdc.slot-name}, and the slot of a decommissioned instance must be
+ * dropped.
+ */
+@Component
+public class ChangeDataCaptureConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeDataCaptureConsumer.class);
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+    private static final long IDLE_SLEEP_MS = 10;
+
+    private final List<ReadModel> readModels;
+    private final List<Source> sources;
+    private final String slotName;
+    private final String publication;
+    private final Duration statusInterval;
+    private final Timer lag;
+    private final boolean enabled;
+    private final List<Thread> streams = new ArrayList<>();
+
+    private volatile boolean running;
+
+    @Autowired
+    public ChangeDataCaptureConsumer(List<ReadModel> readModels, ObjectProvider<ShardingProperties> sharding,
+            MeterRegistry meterRegistry,
+            @Value("${loadbook.cdc.enabled:false}") boolean enabled,
+            @Value("${spring.datasource.url:}") String url,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${loadbook.cdc.slot-name:loadbook_cdc}") String slotName,
+            @Value("${loadbook.cdc.publication:loadbook_cdc}") String publication,
+            @Value("${loadbook.cdc.status-interval:10s}") Duration statusInterval) {
+        this(readModels, sources(sharding.getIfAvailable(), url, username, password), slotName, publication,
+                statusInterval, meterRegistry, enabled);
+    }
+
+    ChangeDataCaptureConsumer(List<ReadModel> readModels, List<Source> sources, String slotName,
+            String publication, Duration statusInterval, MeterRegistry meterRegistry, boolean enabled) {
+        this.readModels = readModels;
+        this.sources = sources;
+        this.slotName = slotName;
+        this.publication = publication;
+        this.statusInterval = statusInterval;
+        this.enabled = enabled;
+        this.lag = Timer.builder("loadbook.cdc.lag")
+                .description("Time between a transaction committing and its changes reaching the read models")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static List<Source> sources(ShardingProperties sharding, String url, String username, String password) {
+        List<Source> sources = new ArrayList<>();
+        if (sharding != null && sharding.isEnabled()) {
+            for (int i = 0; i < sharding.getShards().size(); i++) {
+                ShardingProperties.Shard shard = sharding.getShards().get(i);
+                sources.add(new Source("shard-" + i, shard.getUrl(), shard.getUsername(), shard.getPassword()));
+            }
+        } else {
+            sources.add(new Source("default", url, username, password));
+        }
+        return sources;
+    }
+
+    /**
+     * Create any missing replication slot. Runs ahead of the read models' warm-up, so
+     * the slot starts no later than the snapshot they load.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void createSlots() throws SQLException {
+        if (!enabled) {
+            return;
+        }
+        for (Source source : sources) {
+            try (Connection connection = source.connect()) {
+                ensureSlot(connection);
+            }
+        }
+    }
+
+    /**
+     * Start streaming once startup, including every read model's warm-up, has finished
+     */
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            start();
+        }
+    }
+
+    synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        for (Source source : sources) {
+            streams.add(Thread.ofPlatform()
+                    .name("loadbook-cdc-" + source.name)
+                    .daemon()
+                    .start(() -> stream(source)));
+        }
+        logger.info("Change data capture started on slot {} for {} database(s)", slotName, sources.size());
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        for (Thread stream : streams) {
+            stream.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        streams.clear();
+    }
+
+    private void stream(Source source) {
+        // Applied position; after a reconnect the stream resumes from here
+        LogSequenceNumber applied = LogSequenceNumber.INVALID_LSN;
+        while (running) {
+            try (Connection connection = source.connect()) {
+                ensureSlot(connection);
+                applied = consume(connection, applied);
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                logger.warn("Change stream from {} failed, reconnecting in {}", source.name, RETRY_DELAY, e);
+                sleep(RETRY_DELAY.toMillis());
+            }
+        }
+    }
+
+    private LogSequenceNumber consume(Connection connection, LogSequenceNumber applied) throws SQLException {
+        ChainedLogicalStreamBuilder builder = connection.unwrap(PGConnection.class)
+                .getReplicationAPI()
+                .replicationStream()
+                .logical()
+                .withSlotName(slotName)
+                .withSlotOption("proto_version", "1")
+                .withSlotOption("publication_names", publication)
+                .withStatusInterval((int) statusInterval.toMillis(), TimeUnit.MILLISECONDS);
+        if (applied != LogSequenceNumber.INVALID_LSN) {
+            builder.withStartPosition(applied);
+        }
+
+        PgOutputDecoder decoder = new PgOutputDecoder();
+        try (PGReplicationStream stream = builder.start()) {
+            while (running) {
+                ByteBuffer message = stream.readPending();
+                if (message == null) {
+                    sleep(IDLE_SLEEP_MS);
+                    continue;
+                }
+                PgOutputDecoder.Transaction transaction = decoder.decode(message);
+                if (transaction != null) {
+                    dispatch(transaction);
+                    applied = LogSequenceNumber.valueOf(transaction.getEndLsn());
+                    stream.setAppliedLSN(applied);
+                    stream.setFlushedLSN(applied);
+                }
+            }
+            // Confirm the final position now rather than at the next status interval
+            stream.forceUpdateStatus();
+        }
+        return applied;
+    }
+
+    private void dispatch(PgOutputDecoder.Transaction transaction) {
+        for (ChangeEvent event : transaction.getChanges()) {
+            for (ReadModel readModel : readModels) {
+                try {
+                    readModel.apply(event);
+                } catch (RuntimeException e) {
+                    logger.error("{} failed to apply {}", readModel.getClass().getSimpleName(), event, e);
+                }
+            }
+        }
+        lag.record(Duration.between(transaction.getCommittedAt(), Instant.now()));
+    }
+
+    private void ensureSlot(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT 1 FROM pg_replication_slots WHERE slot_name = ?")) {
+            statement.setString(1, slotName);
+            try (ResultSet rows = statement.executeQuery()) {
+                if (rows.next()) {
+                    return;
+                }
+            }
+        }
+        connection.unwrap(PGConnection.class)
+                .getReplicationAPI()
+                .createReplicationSlot()
+                .logical()
+                .withSlotName(slotName)
+                .withOutputPlugin("pgoutput")
+                .make();
+        logger.info("Created replication slot {}", slotName);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A database to stream changes from
+     */
+    static final class Source {
+
+        private final String name;
+        private final String url;
+        private final String username;
+        private final String password;
+
+        Source(String name, String url, String username, String password) {
+            this.name = name;
+            this.url = url;
+            this.username = username;
+            this.password = password;
+        }
+
+        private Connection connect() throws SQLException {
+            Properties properties = new Properties();
+            PGProperty.USER.set(properties, username);
+            PGProperty.PASSWORD.set(properties, password);
+            PGProperty.ASSUME_MIN_SERVER_VERSION.set(properties, "10");
+            PGProperty.REPLICATION.set(properties, "database");
+            PGProperty.PREFER_QUERY_MODE.set(properties, "simple");
+            return DriverManager.getConnection(url, properties);
+        }
+    }
+}
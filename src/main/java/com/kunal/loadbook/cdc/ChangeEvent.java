@@ -0,0 +1,90 @@
+package com.kunal.loadbook.cdc;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One committed row change read from the PostgreSQL write-ahead log.
+ *
+ * Column values are in PostgreSQL's text format. Inserts and updates carry the new
+ * row; deletes only carry the primary key. Columns an update did not touch may be
+ * missing when PostgreSQL stored them out of line (TOAST).
+ */
+public class ChangeEvent {
+
+    public enum Operation {
+        INSERT,
+        UPDATE,
+        DELETE,
+        TRUNCATE
+    }
+
+    private final String table;
+    private final Operation operation;
+    private final Map<String, String> columns;
+    private final long lsn;
+
+    public ChangeEvent(String table, Operation operation, Map<String, String> columns, long lsn) {
+        this.table = table;
+        this.operation = operation;
+        this.columns = Collections.unmodifiableMap(columns);
+        this.lsn = lsn;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public Map<String, String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Log position of the transaction's commit
+     */
+    public long getLsn() {
+        return lsn;
+    }
+
+    public String getString(String column) {
+        return columns.get(column);
+    }
+
+    public UUID getUuid(String column) {
+        String value = columns.get(column);
+        return value != null ? UUID.fromString(value) : null;
+    }
+
+    public Integer getInteger(String column) {
+        String value = columns.get(column);
+        return value != null ? Integer.valueOf(value) : null;
+    }
+
+    public Double getDouble(String column) {
+        String value = columns.get(column);
+        return value != null ? Double.valueOf(value) : null;
+    }
+
+    public boolean getBoolean(String column) {
+        return "t".equals(columns.get(column));
+    }
+
+    /**
+     * A {@code timestamp} column, e.g. {@code 2025-01-31 14:05:00.25}
+     */
+    public LocalDateTime getDateTime(String column) {
+        String value = columns.get(column);
+        return value != null ? LocalDateTime.parse(value.replace(' ', 'T')) : null;
+    }
+
+    @Override
+    public String toString() {
+        return operation + " " + table + " " + columns;
+    }
+}
@@ -0,0 +1,201 @@
+package com.kunal.loadbook.cdc;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decoder for the {@code pgoutput} logical replication protocol, version 1.
+ *
+ * Changes are buffered until their transaction's commit message, so callers only ever
+ * see whole committed transactions. Relation messages describing a table's columns
+ * precede the first change to that table on every connection and are cached here.
+ */
+class PgOutputDecoder {
+
+    /** 2000-01-01T00:00:00Z, the epoch of PostgreSQL timestamps */
+    private static final Instant POSTGRES_EPOCH = Instant.ofEpochSecond(946_684_800L);
+
+    private final Map<Integer, Relation> relations = new HashMap<>();
+    private final List<ChangeEvent> changes = new ArrayList<>();
+    private long transactionLsn;
+
+    /**
+     * Decode one message. Returns the transaction when the message is its commit,
+     * otherwise null.
+     */
+    Transaction decode(ByteBuffer buffer) {
+        char type = (char) buffer.get();
+        switch (type) {
+            case 'B' -> {
+                transactionLsn = buffer.getLong();
+                changes.clear();
+            }
+            case 'C' -> {
+                buffer.get(); // flags, unused
+                long commitLsn = buffer.getLong();
+                long endLsn = buffer.getLong();
+                Instant committedAt = POSTGRES_EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS);
+                Transaction transaction = new Transaction(List.copyOf(changes), commitLsn, endLsn, committedAt);
+                changes.clear();
+                return transaction;
+            }
+            case 'R' -> decodeRelation(buffer);
+            case 'I' -> {
+                Relation relation = relation(buffer.getInt());
+                expect(buffer, 'N');
+                changes.add(change(relation, ChangeEvent.Operation.INSERT, readTuple(buffer, relation)));
+            }
+            case 'U' -> {
+                Relation relation = relation(buffer.getInt());
+                char tuple = (char) buffer.get();
+                if (tuple == 'K' || tuple == 'O') {
+                    readTuple(buffer, relation); // previous key or row, not needed
+                    tuple = (char) buffer.get();
+                }
+                if (tuple != 'N') {
+                    throw new IllegalStateException("Unexpected tuple type '" + tuple + "' in update");
+                }
+                changes.add(change(relation, ChangeEvent.Operation.UPDATE, readTuple(buffer, relation)));
+            }
+            case 'D' -> {
+                Relation relation = relation(buffer.getInt());
+                char tuple = (char) buffer.get();
+                if (tuple != 'K' && tuple != 'O') {
+                    throw new IllegalStateException("Unexpected tuple type '" + tuple + "' in delete");
+                }
+                changes.add(change(relation, ChangeEvent.Operation.DELETE, readTuple(buffer, relation)));
+            }
+            case 'T' -> {
+                int count = buffer.getInt();
+                buffer.get(); // CASCADE / RESTART IDENTITY options, unused
+                for (int i = 0; i < count; i++) {
+                    changes.add(change(relation(buffer.getInt()), ChangeEvent.Operation.TRUNCATE, Map.of()));
+                }
+            }
+            default -> {
+                // Origin ('O'), type ('Y') and logical messages ('M') carry nothing we apply
+            }
+        }
+        return null;
+    }
+
+    private void decodeRelation(ByteBuffer buffer) {
+        int oid = buffer.getInt();
+        readString(buffer); // namespace
+        String name = readString(buffer);
+        buffer.get(); // replica identity setting
+        int columnCount = buffer.getShort();
+        String[] columns = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            buffer.get(); // flags (part of key)
+            columns[i] = readString(buffer);
+            buffer.getInt(); // type oid
+            buffer.getInt(); // type modifier
+        }
+        relations.put(oid, new Relation(name, columns));
+    }
+
+    private Relation relation(int oid) {
+        Relation relation = relations.get(oid);
+        if (relation == null) {
+            throw new IllegalStateException("Change for relation " + oid + " before its description");
+        }
+        return relation;
+    }
+
+    private ChangeEvent change(Relation relation, ChangeEvent.Operation operation, Map<String, String> columns) {
+        return new ChangeEvent(relation.name, operation, columns, transactionLsn);
+    }
+
+    private static Map<String, String> readTuple(ByteBuffer buffer, Relation relation) {
+        int columnCount = buffer.getShort();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            char kind = (char) buffer.get();
+            switch (kind) {
+                case 'n', 'u' -> {
+                    // Null, or an unchanged out-of-line value that is not sent
+                }
+                case 't' -> {
+                    byte[] bytes = new byte[buffer.getInt()];
+                    buffer.get(bytes);
+                    values.put(relation.columns[i], new String(bytes, StandardCharsets.UTF_8));
+                }
+                default -> throw new IllegalStateException("Unsupported column format '" + kind + "'");
+            }
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int start = buffer.position();
+        while (buffer.get() != 0) {
+            // scan to the terminator
+        }
+        byte[] bytes = new byte[buffer.position() - start - 1];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void expect(ByteBuffer buffer, char expected) {
+        char actual = (char) buffer.get();
+        if (actual != expected) {
+            throw new IllegalStateException("Expected '" + expected + "' but got '" + actual + "'");
+        }
+    }
+
+    private static final class Relation {
+
+        private final String name;
+        private final String[] columns;
+
+        private Relation(String name, String[] columns) {
+            this.name = name;
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * The changes of one committed transaction
+     */
+    static final class Transaction {
+
+        private final List<ChangeEvent> changes;
+        private final long commitLsn;
+        private final long endLsn;
+        private final Instant committedAt;
+
+        Transaction(List<ChangeEvent> changes, long commitLsn, long endLsn, Instant committedAt) {
+            this.changes = changes;
+            this.commitLsn = commitLsn;
+            this.endLsn = endLsn;
+            this.committedAt = committedAt;
+        }
+
+        List<ChangeEvent> getChanges() {
+            return changes;
+        }
+
+        long getCommitLsn() {
+            return commitLsn;
+        }
+
+        /**
+         * Position just past the commit; confirming it means the transaction is never resent
+         */
+        long getEndLsn() {
+            return endLsn;
+        }
+
+        Instant getCommittedAt() {
+            return committedAt;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.kunal.loadbook.cdc;
+
+/**
+ * An in-memory view kept current from the database change stream.
+ *
+ * Every bean implementing this receives each committed change to {@code loads} and
+ * {@code bookings}, in commit order, on the replication thread. Changes made by this
+ * instance arrive too, and after a restart the stream replays everything since the
+ * last checkpoint, so applying a change must be idempotent.
+ */
+public interface ReadModel {
+
+    void apply(ChangeEvent event);
+}
@@ -0,0 +1,31 @@
+package com.kunal.loadbook.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * CBOR ({@code application/cbor}) request and response bodies, selected through the
+ * Accept and Content-Type headers.
+ */
+@Configuration
+public class CborConfig {
+
+        /**
+         * Built from Boot's Jackson builder so CBOR matches the JSON mapper's modules and
+         * settings, except that dates are written as numeric arrays instead of ISO strings
+         */
+        @Bean
+        public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+                        Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+                ObjectMapper cborMapper = jackson2ObjectMapperBuilder
+                                .factory(new CBORFactory())
+                                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                                .build();
+                return new MappingJackson2CborHttpMessageConverter(cborMapper);
+        }
+}
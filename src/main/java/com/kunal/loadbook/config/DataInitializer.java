@@ -5,6 +5,8 @@ import com.kunal.loadbook.entity.Facility;
 import com.kunal.loadbook.entity.Load;
 import com.kunal.loadbook.enums.BookingStatus;
 import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.enums.ReferenceKind;
+import com.kunal.loadbook.index.ReferenceDictionary;
 import com.kunal.loadbook.repository.BookingRepository;
 import com.kunal.loadbook.repository.LoadRepository;
 import org.slf4j.Logger;
@@ -28,6 +30,9 @@ public class DataInitializer implements CommandLineRunner {
         @Autowired
         private BookingRepository bookingRepository;
 
+        @Autowired
+        private ReferenceDictionary referenceDictionary;
+
         @Override
         public void run(String... args) throws Exception {
                 logger.info("Initializing sample data...");
@@ -47,16 +52,16 @@ public class DataInitializer implements CommandLineRunner {
         private void createSampleLoads() {
                 // Load 1: Electronics shipment
                 Facility facility1 = new Facility(
-                                "Mumbai Port",
-                                "Delhi Warehouse",
+                                location("Mumbai Port"),
+                                location("Delhi Warehouse"),
                                 LocalDateTime.now().plusDays(2),
                                 LocalDateTime.now().plusDays(5));
 
                 Load load1 = new Load(
                                 "SHIPPER_001",
                                 facility1,
-                                "Electronics",
-                                "Container",
+                                referenceDictionary.idFor(ReferenceKind.PRODUCT_TYPE, "Electronics"),
+                                referenceDictionary.idFor(ReferenceKind.TRUCK_TYPE, "Container"),
                                 2,
                                 15.5,
                                 "Fragile items - handle with care");
@@ -72,16 +77,16 @@ public class DataInitializer implements CommandLineRunner {
 
                 // Load 2: Textile shipment
                 Facility facility2 = new Facility(
-                                "Chennai Port",
-                                "Bangalore Warehouse",
+                                location("Chennai Port"),
+                                location("Bangalore Warehouse"),
                                 LocalDateTime.now().plusDays(1),
                                 LocalDateTime.now().plusDays(3));
 
                 Load load2 = new Load(
                                 "SHIPPER_002",
                                 facility2,
-                                "Textiles",
-                                "Open Truck",
+                                referenceDictionary.idFor(ReferenceKind.PRODUCT_TYPE, "Textiles"),
+                                referenceDictionary.idFor(ReferenceKind.TRUCK_TYPE, "Open Truck"),
                                 1,
                                 8.0,
                                 "Standard textile shipment");
@@ -99,16 +104,16 @@ public class DataInitializer implements CommandLineRunner {
 
                 // Load 3: Machinery shipment
                 Facility facility3 = new Facility(
-                                "Kolkata Port",
-                                "Hyderabad Industrial Area",
+                                location("Kolkata Port"),
+                                location("Hyderabad Industrial Area"),
                                 LocalDateTime.now().plusDays(7),
                                 LocalDateTime.now().plusDays(10));
 
                 Load load3 = new Load(
                                 "SHIPPER_003",
                                 facility3,
-                                "Machinery",
-                                "Flatbed",
+                                referenceDictionary.idFor(ReferenceKind.PRODUCT_TYPE, "Machinery"),
+                                referenceDictionary.idFor(ReferenceKind.TRUCK_TYPE, "Flatbed"),
                                 3,
                                 25.0,
                                 "Heavy machinery - special handling required");
@@ -117,16 +122,16 @@ public class DataInitializer implements CommandLineRunner {
 
                 // Load 4: Food products shipment
                 Facility facility4 = new Facility(
-                                "Pune Distribution Center",
-                                "Ahmedabad Market",
+                                location("Pune Distribution Center"),
+                                location("Ahmedabad Market"),
                                 LocalDateTime.now().plusHours(12),
                                 LocalDateTime.now().plusDays(1));
 
                 Load load4 = new Load(
                                 "SHIPPER_001",
                                 facility4,
-                                "Food Products",
-                                "Refrigerated",
+                                referenceDictionary.idFor(ReferenceKind.PRODUCT_TYPE, "Food Products"),
+                                referenceDictionary.idFor(ReferenceKind.TRUCK_TYPE, "Refrigerated"),
                                 1,
                                 5.5,
                                 "Temperature controlled shipment");
@@ -135,16 +140,16 @@ public class DataInitializer implements CommandLineRunner {
 
                 // Load 5: Cancelled load
                 Facility facility5 = new Facility(
-                                "Goa Port",
-                                "Mangalore Warehouse",
+                                location("Goa Port"),
+                                location("Mangalore Warehouse"),
                                 LocalDateTime.now().plusDays(3),
                                 LocalDateTime.now().plusDays(6));
 
                 Load load5 = new Load(
                                 "SHIPPER_004",
                                 facility5,
-                                "Chemicals",
-                                "Tanker",
+                                referenceDictionary.idFor(ReferenceKind.PRODUCT_TYPE, "Chemicals"),
+                                referenceDictionary.idFor(ReferenceKind.TRUCK_TYPE, "Tanker"),
                                 1,
                                 12.0,
                                 "Chemical products - hazardous");
@@ -155,4 +160,8 @@ public class DataInitializer implements CommandLineRunner {
                 logger.info("Created {} sample loads", 5);
                 logger.info("Created {} sample bookings", 3);
         }
+
+        private Integer location(String value) {
+                return referenceDictionary.idFor(ReferenceKind.LOCATION, value);
+        }
 }
@@ -0,0 +1,49 @@
+package com.kunal.loadbook.config;
+
+import com.kunal.loadbook.shard.ShardRoutingDataSource;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets a start skip migrations through a runtime property. spring.flyway.enabled cannot
+ * do this under Spring AOT, where it is resolved at build time; the CDS training run in
+ * the Dockerfile has no database and sets loadbook.flyway.migrate-on-start=false.
+ *
+ * With sharding enabled Boot's Flyway only reaches shard 0 (the routing default), so the
+ * same migrations are then applied to every other shard.
+ */
+@Configuration
+public class FlywayConfig {
+
+        private static final Logger logger = LoggerFactory.getLogger(FlywayConfig.class);
+
+        @Bean
+        public FlywayMigrationStrategy flywayMigrationStrategy(
+                        @Value("${loadbook.flyway.migrate-on-start:true}") boolean migrateOnStart,
+                        ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource) {
+                return flyway -> {
+                        if (migrateOnStart) {
+                                flyway.migrate();
+                                ShardRoutingDataSource shards = shardRoutingDataSource.getIfAvailable();
+                                if (shards != null) {
+                                        for (int i = 1; i < shards.getShardCount(); i++) {
+                                                logger.info("Migrating shard {}", i);
+                                                Flyway.configure()
+                                                                .configuration(flyway.getConfiguration())
+                                                                .dataSource(shards.getShard(i))
+                                                                .load()
+                                                                .migrate();
+                                        }
+                                }
+                        } else {
+                                logger.info("Skipping database migrations (loadbook.flyway.migrate-on-start=false)");
+                        }
+                };
+        }
+}
@@ -0,0 +1,24 @@
+package com.kunal.loadbook.config;
+
+import com.kunal.loadbook.fields.FieldSelection;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Shared Jackson settings for the JSON and CBOR mappers.
+ */
+@Configuration
+public class JacksonConfig {
+
+        /**
+         * Response DTOs carry the {@link FieldSelection#FILTER_ID} filter for sparse
+         * fieldsets. Outside a request that sets it (logging, caches, tests) an unknown
+         * filter writes every field instead of failing.
+         */
+        @Bean
+        public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilterDefaults() {
+                return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+        }
+}
@@ -0,0 +1,69 @@
+package com.kunal.loadbook.config;
+
+import com.kunal.loadbook.dto.booking.BookingResponse;
+import com.kunal.loadbook.dto.booking.CreateBookingRequest;
+import com.kunal.loadbook.dto.booking.UpdateBookingRequest;
+import com.kunal.loadbook.dto.common.CursorPagedResponse;
+import com.kunal.loadbook.dto.common.ErrorResponse;
+import com.kunal.loadbook.dto.common.PagedResponse;
+import com.kunal.loadbook.dto.load.CreateLoadRequest;
+import com.kunal.loadbook.dto.load.FacilityDto;
+import com.kunal.loadbook.dto.load.LoadResponse;
+import com.kunal.loadbook.dto.load.NearbyLoadResponse;
+import com.kunal.loadbook.dto.load.UpdateLoadRequest;
+import com.kunal.loadbook.entity.Booking;
+import com.kunal.loadbook.entity.Facility;
+import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.entity.ReferenceValue;
+import com.kunal.loadbook.entity.id.UuidV7Generator;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Reflection and resource metadata for the GraalVM native image that Spring AOT cannot
+ * infer on its own. Has no effect on the JVM build.
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.LoadbookRuntimeHints.class)
+public class NativeImageConfig {
+
+        static final List<Class<?>> ENTITY_TYPES = List.of(
+                        Load.class, Booking.class, Facility.class, ReferenceValue.class);
+
+        static final List<Class<?>> DTO_TYPES = List.of(
+                        CreateLoadRequest.class, UpdateLoadRequest.class, LoadResponse.class, FacilityDto.class,
+                        NearbyLoadResponse.class, CreateBookingRequest.class, UpdateBookingRequest.class,
+                        BookingResponse.class, PagedResponse.class, CursorPagedResponse.class, ErrorResponse.class);
+
+        static class LoadbookRuntimeHints implements RuntimeHintsRegistrar {
+
+                @Override
+                public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+                        // Hibernate accesses entity fields directly and instantiates the id generator
+                        for (Class<?> entityType : ENTITY_TYPES) {
+                                hints.reflection().registerType(entityType, MemberCategory.DECLARED_FIELDS,
+                                                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                                                MemberCategory.INVOKE_DECLARED_METHODS);
+                        }
+                        hints.reflection().registerType(UuidV7Generator.class,
+                                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+                        // Jackson, including ErrorResponse written directly by servlet filters;
+                        // Bean Validation and springdoc read the DTO fields and their annotations
+                        BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+                        for (Class<?> dtoType : DTO_TYPES) {
+                                bindingHints.registerReflectionHints(hints.reflection(), dtoType);
+                                hints.reflection().registerType(dtoType, MemberCategory.DECLARED_FIELDS);
+                        }
+
+                        // Boot only registers db/migration/*; the locations are per vendor
+                        hints.resources().registerPattern("db/migration/*/*.sql");
+                }
+        }
+}
@@ -0,0 +1,37 @@
+package com.kunal.loadbook.config;
+
+import com.kunal.loadbook.pool.ConnectionPools;
+import com.kunal.loadbook.shard.ShardRoutingDataSource;
+import com.kunal.loadbook.shard.ShardingProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single spring.datasource with one pool per shard behind a
+ * {@link ShardRoutingDataSource}, or with workload pools enabled one set of pools per shard
+ * (see {@link WorkloadPoolConfig}). Flyway migrates every shard (see {@link FlywayConfig}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "loadbook.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+        @Bean
+        @Primary
+        public ShardRoutingDataSource dataSource(ShardingProperties properties, ConnectionPools connectionPools) {
+                List<DataSource> shards = new ArrayList<>();
+                for (int i = 0; i < properties.getShards().size(); i++) {
+                        ShardingProperties.Shard shard = properties.getShards().get(i);
+                        shards.add(connectionPools.create("loadbook-shard-" + i, shard.getUrl(), shard.getUsername(),
+                                        shard.getPassword(), null, shard.getMaximumPoolSize()));
+                }
+                return new ShardRoutingDataSource(shards);
+        }
+}
@@ -0,0 +1,67 @@
+package com.kunal.loadbook.config;
+
+import com.kunal.loadbook.pool.Bulkhead;
+import com.kunal.loadbook.pool.BulkheadInterceptor;
+import com.kunal.loadbook.pool.ConnectionPools;
+import com.kunal.loadbook.pool.WorkloadPoolProperties;
+import com.kunal.loadbook.pool.WorkloadRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * Bulkheads between workloads: with {@code loadbook.workload-pools.enabled} set, the
+ * single spring.datasource pool is replaced by one pool per
+ * {@link com.kunal.loadbook.pool.Workload} behind a {@link WorkloadRoutingDataSource}, so
+ * exports and background jobs cannot take the connections booking writes need. With
+ * sharding enabled {@link ShardingConfig} does the same for every shard.
+ *
+ * {@link Bulkhead} methods are advised ahead of the transaction advice, so the workload
+ * is selected before the transaction opens its connection.
+ */
+@Configuration
+@EnableConfigurationProperties(WorkloadPoolProperties.class)
+public class WorkloadPoolConfig {
+
+        @Bean
+        public ConnectionPools connectionPools(WorkloadPoolProperties properties,
+                        ObjectProvider<MeterRegistry> meterRegistry) {
+                return new ConnectionPools(properties, meterRegistry.getIfAvailable());
+        }
+
+        @Bean
+        @Primary
+        @ConditionalOnExpression("${loadbook.workload-pools.enabled:false} and !${loadbook.sharding.enabled:false}")
+        public WorkloadRoutingDataSource dataSource(ConnectionPools connectionPools,
+                        DataSourceProperties dataSourceProperties) {
+                return connectionPools.createPerWorkload("loadbook",
+                                dataSourceProperties.determineUrl(),
+                                dataSourceProperties.determineUsername(),
+                                dataSourceProperties.determinePassword(),
+                                dataSourceProperties.determineDriverClassName());
+        }
+
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+        @ConditionalOnProperty(name = "loadbook.workload-pools.enabled", havingValue = "true")
+        public static Advisor bulkheadAdvisor() {
+                ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Bulkhead.class, true))
+                                .union(AnnotationMatchingPointcut.forMethodAnnotation(Bulkhead.class));
+                DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new BulkheadInterceptor());
+                advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+                return advisor;
+        }
+}
@@ -1,11 +1,20 @@
 package com.kunal.loadbook.controller;
 
+import com.kunal.loadbook.audit.AuditLog;
 import com.kunal.loadbook.dto.booking.BookingResponse;
 import com.kunal.loadbook.dto.booking.CreateBookingRequest;
 import com.kunal.loadbook.dto.booking.UpdateBookingRequest;
+import com.kunal.loadbook.dto.common.AuditEntryResponse;
+import com.kunal.loadbook.dto.common.BatchGetRequest;
+import com.kunal.loadbook.dto.common.BatchGetResponse;
 import com.kunal.loadbook.dto.common.PagedResponse;
+import com.kunal.loadbook.dto.common.StreamedPagedResponse;
+import com.kunal.loadbook.enums.AuditEntityType;
 import com.kunal.loadbook.enums.BookingStatus;
+import com.kunal.loadbook.mapper.BookingJsonWriter;
+import com.kunal.loadbook.pipeline.BookingPipeline;
 import com.kunal.loadbook.service.BookingService;
+import com.kunal.loadbook.shard.ShardRouter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,22 +24,44 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
-@RequestMapping("/api/v1/booking")
+@RequestMapping(value = "/api/v1/booking", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
 @Tag(name = "Booking Management", description = "APIs for managing bookings")
 public class BookingController {
 
+        /** Order of the booking listing, used to merge per-shard pages */
+        private static final Comparator<BookingResponse> NEWEST_FIRST = Comparator.comparing(
+                        BookingResponse::getRequestedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
         private final BookingService bookingService;
+        private final BookingPipeline bookingPipeline;
+        private final AuditLog auditLog;
+        private final BookingJsonWriter bookingJsonWriter;
+        private final ShardRouter shardRouter;
+        private final boolean streamingJson;
 
         @Autowired
-        public BookingController(BookingService bookingService) {
+        public BookingController(BookingService bookingService, BookingPipeline bookingPipeline, AuditLog auditLog,
+                        BookingJsonWriter bookingJsonWriter, ShardRouter shardRouter,
+                        @Value("${loadbook.streaming-json.enabled:false}") boolean streamingJson) {
                 this.bookingService = bookingService;
+                this.bookingPipeline = bookingPipeline;
+                this.auditLog = auditLog;
+                this.bookingJsonWriter = bookingJsonWriter;
+                this.shardRouter = shardRouter;
+                this.streamingJson = streamingJson;
         }
 
         @Operation(summary = "Create a new booking", description = "Creates a new booking for a load")
@@ -42,7 +73,9 @@ public class BookingController {
         })
         @PostMapping
         public ResponseEntity<BookingResponse> createBooking(@Valid @RequestBody CreateBookingRequest request) {
-                BookingResponse response = bookingService.createBooking(request);
+                // Bookings live on their load's shard
+                BookingResponse response = shardRouter.forId(request.getLoadId(),
+                                () -> bookingPipeline.createBooking(request));
                 return new ResponseEntity<>(response, HttpStatus.CREATED);
         }
 
@@ -53,19 +86,36 @@ public class BookingController {
                         @ApiResponse(responseCode = "500", description = "Internal server error")
         })
         @GetMapping
-        public ResponseEntity<PagedResponse<BookingResponse>> getBookings(
+        public ResponseEntity<?> getBookings(
                         @Parameter(description = "Filter by load ID") @RequestParam(required = false) UUID loadId,
 
                         @Parameter(description = "Filter by transporter ID") @RequestParam(required = false) String transporterId,
 
                         @Parameter(description = "Filter by booking status") @RequestParam(required = false) BookingStatus status,
 
+                        @Parameter(description = "Include archived bookings") @RequestParam(defaultValue = "false") boolean includeArchived,
+
+                        @Parameter(description = "Comma-separated fields to return (default: all)", example = "id,status,proposedRate") @RequestParam(required = false) String fields,
+
                         @Parameter(description = "Page number (0-indexed)", example = "0") @RequestParam(defaultValue = "0") int page,
 
                         @Parameter(description = "Page size (max 100)", example = "10") @RequestParam(defaultValue = "10") int size) {
 
-                PagedResponse<BookingResponse> response = bookingService.getBookings(loadId, transporterId, status,
-                                page, size);
+                // Full rows from a single shard are written straight from the entities
+                boolean singleShard = loadId != null || !shardRouter.isSharded();
+                if (streamingJson && singleShard && fields == null) {
+                        return ResponseEntity.ok(new StreamedPagedResponse<>(shardRouter.forId(loadId,
+                                        () -> bookingService.getBookingEntities(loadId, transporterId, status,
+                                                        includeArchived, page, size)),
+                                        bookingJsonWriter));
+                }
+
+                PagedResponse<BookingResponse> response = singleShard
+                                ? shardRouter.forId(loadId, () -> bookingService.getBookings(loadId, transporterId,
+                                                status, includeArchived, fields, page, size))
+                                : shardRouter.scatterPages(page, size, NEWEST_FIRST,
+                                                limit -> bookingService.getBookingsWindow(null, transporterId, status,
+                                                                includeArchived, fields, limit));
                 return ResponseEntity.ok(response);
         }
 
@@ -77,12 +127,43 @@ public class BookingController {
         })
         @GetMapping("/{bookingId}")
         public ResponseEntity<BookingResponse> getBookingById(
-                        @Parameter(description = "Booking ID") @PathVariable UUID bookingId) {
+                        @Parameter(description = "Booking ID") @PathVariable UUID bookingId,
 
-                BookingResponse response = bookingService.getBookingById(bookingId);
+                        @Parameter(description = "Comma-separated fields to return (default: all)", example = "id,status,proposedRate") @RequestParam(required = false) String fields) {
+
+                BookingResponse response = shardRouter.forId(bookingId,
+                                () -> bookingService.getBookingById(bookingId, fields));
                 return ResponseEntity.ok(response);
         }
 
+        @Operation(summary = "Get booking status history", description = "Retrieves every recorded status change of a booking, oldest first, including after it was deleted")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "History retrieved successfully"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        @GetMapping("/{bookingId}/history")
+        public ResponseEntity<List<AuditEntryResponse>> getBookingHistory(
+                        @Parameter(description = "Booking ID") @PathVariable UUID bookingId) {
+
+                return ResponseEntity.ok(shardRouter.forId(bookingId,
+                                () -> auditLog.history(AuditEntityType.BOOKING, bookingId)));
+        }
+
+        @Operation(summary = "Get bookings by ID", description = "Retrieves up to 5000 bookings by ID in one call; results follow the request order and IDs that do not exist are marked not found")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Bookings retrieved successfully", content = @Content(schema = @Schema(implementation = BatchGetResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Missing, null or too many IDs"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        @PostMapping("/batch-get")
+        public ResponseEntity<BatchGetResponse<BookingResponse>> getBookingsByIds(
+                        @Valid @RequestBody BatchGetRequest request) {
+                // Each shard is asked only for the IDs it holds
+                Map<UUID, BookingResponse> bookings = new HashMap<>();
+                shardRouter.scatterIds(request.getIds(), bookingService::getBookingsByIds).forEach(bookings::putAll);
+                return ResponseEntity.ok(BatchGetResponse.of(request.getIds(), bookings));
+        }
+
         @Operation(summary = "Update booking", description = "Updates an existing booking with the provided details")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Booking updated successfully", content = @Content(schema = @Schema(implementation = BookingResponse.class))),
@@ -95,7 +176,8 @@ public class BookingController {
                         @Parameter(description = "Booking ID") @PathVariable UUID bookingId,
                         @Valid @RequestBody UpdateBookingRequest request) {
 
-                BookingResponse response = bookingService.updateBooking(bookingId, request);
+                BookingResponse response = shardRouter.forId(bookingId,
+                                () -> bookingPipeline.updateBooking(bookingId, request));
                 return ResponseEntity.ok(response);
         }
 
@@ -110,7 +192,7 @@ public class BookingController {
         public ResponseEntity<BookingResponse> acceptBooking(
                         @Parameter(description = "Booking ID") @PathVariable UUID bookingId) {
 
-                BookingResponse response = bookingService.acceptBooking(bookingId);
+                BookingResponse response = shardRouter.forId(bookingId, () -> bookingPipeline.acceptBooking(bookingId));
                 return ResponseEntity.ok(response);
         }
 
@@ -125,7 +207,7 @@ public class BookingController {
         public ResponseEntity<BookingResponse> rejectBooking(
                         @Parameter(description = "Booking ID") @PathVariable UUID bookingId) {
 
-                BookingResponse response = bookingService.rejectBooking(bookingId);
+                BookingResponse response = shardRouter.forId(bookingId, () -> bookingPipeline.rejectBooking(bookingId));
                 return ResponseEntity.ok(response);
         }
 
@@ -140,7 +222,10 @@ public class BookingController {
         public ResponseEntity<Void> deleteBooking(
                         @Parameter(description = "Booking ID") @PathVariable UUID bookingId) {
 
-                bookingService.deleteBooking(bookingId);
+                shardRouter.forId(bookingId, () -> {
+                        bookingPipeline.deleteBooking(bookingId);
+                        return null;
+                });
                 return ResponseEntity.noContent().build();
         }
 }
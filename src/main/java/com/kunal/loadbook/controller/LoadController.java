@@ -1,11 +1,23 @@
 package com.kunal.loadbook.controller;
 
+import com.kunal.loadbook.audit.AuditLog;
+import com.kunal.loadbook.dto.common.AuditEntryResponse;
+import com.kunal.loadbook.dto.common.BatchGetRequest;
+import com.kunal.loadbook.dto.common.BatchGetResponse;
+import com.kunal.loadbook.dto.common.CursorPagedResponse;
 import com.kunal.loadbook.dto.common.PagedResponse;
+import com.kunal.loadbook.dto.common.StreamedPagedResponse;
+import com.kunal.loadbook.dto.load.BackhaulItineraryResponse;
 import com.kunal.loadbook.dto.load.CreateLoadRequest;
 import com.kunal.loadbook.dto.load.LoadResponse;
+import com.kunal.loadbook.dto.load.NearbyLoadResponse;
 import com.kunal.loadbook.dto.load.UpdateLoadRequest;
+import com.kunal.loadbook.enums.AuditEntityType;
 import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.mapper.LoadJsonWriter;
+import com.kunal.loadbook.service.BackhaulService;
 import com.kunal.loadbook.service.LoadService;
+import com.kunal.loadbook.shard.ShardRouter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,22 +27,44 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
-@RequestMapping("/api/v1/load")
+@RequestMapping(value = "/api/v1/load", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
 @Tag(name = "Load Management", description = "APIs for managing loads")
 public class LoadController {
 
+        /** Order of the load listing, used to merge per-shard pages */
+        private static final Comparator<LoadResponse> NEWEST_FIRST = Comparator.comparing(
+                        LoadResponse::getDatePosted, Comparator.nullsLast(Comparator.reverseOrder()));
+
         private final LoadService loadService;
+        private final BackhaulService backhaulService;
+        private final AuditLog auditLog;
+        private final LoadJsonWriter loadJsonWriter;
+        private final ShardRouter shardRouter;
+        private final boolean streamingJson;
 
         @Autowired
-        public LoadController(LoadService loadService) {
+        public LoadController(LoadService loadService, BackhaulService backhaulService, AuditLog auditLog,
+                        LoadJsonWriter loadJsonWriter, ShardRouter shardRouter,
+                        @Value("${loadbook.streaming-json.enabled:false}") boolean streamingJson) {
                 this.loadService = loadService;
+                this.backhaulService = backhaulService;
+                this.auditLog = auditLog;
+                this.loadJsonWriter = loadJsonWriter;
+                this.shardRouter = shardRouter;
+                this.streamingJson = streamingJson;
         }
 
         @Operation(summary = "Create a new load", description = "Creates a new load with the provided details")
@@ -41,32 +75,141 @@ public class LoadController {
         })
         @PostMapping
         public ResponseEntity<LoadResponse> createLoad(@Valid @RequestBody CreateLoadRequest request) {
-                LoadResponse response = loadService.createLoad(request);
+                LoadResponse response = shardRouter.forShipper(request.getShipperId(),
+                                () -> loadService.createLoad(request));
                 return new ResponseEntity<>(response, HttpStatus.CREATED);
         }
 
-        @Operation(summary = "Get loads with filtering and pagination", description = "Retrieves loads with optional filtering by shipper ID, truck type, and status")
+        @Operation(summary = "Get loads with filtering and pagination", description = "Retrieves loads with optional filtering by shipper ID, truck type, and status, optionally with their bookings embedded")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Loads retrieved successfully", content = @Content(schema = @Schema(implementation = PagedResponse.class))),
                         @ApiResponse(responseCode = "400", description = "Invalid query parameters"),
                         @ApiResponse(responseCode = "500", description = "Internal server error")
         })
         @GetMapping
-        public ResponseEntity<PagedResponse<LoadResponse>> getLoads(
+        public ResponseEntity<?> getLoads(
                         @Parameter(description = "Filter by shipper ID") @RequestParam(required = false) String shipperId,
 
                         @Parameter(description = "Filter by truck type") @RequestParam(required = false) String truckType,
 
                         @Parameter(description = "Filter by load status") @RequestParam(required = false) LoadStatus status,
 
+                        @Parameter(description = "Include archived loads") @RequestParam(defaultValue = "false") boolean includeArchived,
+
+                        @Parameter(description = "Embed each load's bookings: bookings, or bookings:<status> for one status", example = "bookings:PENDING") @RequestParam(required = false) String include,
+
+                        @Parameter(description = "Comma-separated fields to return (default: all)", example = "id,status,facility.loadingPoint") @RequestParam(required = false) String fields,
+
                         @Parameter(description = "Page number (0-indexed)", example = "0") @RequestParam(defaultValue = "0") int page,
 
                         @Parameter(description = "Page size (max 100)", example = "10") @RequestParam(defaultValue = "10") int size) {
 
-                PagedResponse<LoadResponse> response = loadService.getLoads(shipperId, truckType, status, page, size);
+                // Full rows from a single shard are written straight from the entities
+                boolean singleShard = shipperId != null || !shardRouter.isSharded();
+                if (streamingJson && singleShard && fields == null && include == null) {
+                        return ResponseEntity.ok(new StreamedPagedResponse<>(shardRouter.forShipper(shipperId,
+                                        () -> loadService.getLoadEntities(shipperId, truckType, status,
+                                                        includeArchived, page, size)),
+                                        loadJsonWriter));
+                }
+
+                // A shipper's loads live on one shard; anything else is gathered from all of them
+                PagedResponse<LoadResponse> response = singleShard
+                                ? shardRouter.forShipper(shipperId, () -> loadService.getLoads(shipperId, truckType,
+                                                status, includeArchived, include, fields, page, size))
+                                : shardRouter.scatterPages(page, size, NEWEST_FIRST,
+                                                limit -> loadService.getLoadsWindow(null, truckType, status,
+                                                                includeArchived, include, fields, limit));
                 return ResponseEntity.ok(response);
         }
 
+        @Operation(summary = "Search loads", description = "Fuzzy-searches loading point, unloading point, product type and comment, ranked by relevance with keyset pagination")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Search results retrieved successfully", content = @Content(schema = @Schema(implementation = CursorPagedResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid query parameters"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        @GetMapping("/search")
+        public ResponseEntity<CursorPagedResponse<LoadResponse>> searchLoads(
+                        @Parameter(description = "Search text, at least 2 characters", example = "Mumb") @RequestParam String q,
+
+                        @Parameter(description = "Filter by load status") @RequestParam(required = false) LoadStatus status,
+
+                        @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+
+                        @Parameter(description = "Page size (max 100)", example = "10") @RequestParam(defaultValue = "10") int size) {
+
+                // Every shard continues from the same cursor; merge their next hits by rank
+                CursorPagedResponse<LoadResponse> response = !shardRouter.isSharded()
+                                ? loadService.searchLoads(q, status, cursor, size)
+                                : loadService.mergeSearchWindows(
+                                                shardRouter.scatter(() -> loadService.searchLoadsWindow(q, status,
+                                                                cursor, size)),
+                                                size);
+                return ResponseEntity.ok(response);
+        }
+
+        @Operation(summary = "Find nearby loads", description = "Finds POSTED loads whose loading point lies within the given radius, sorted by distance")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Nearby loads retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid query parameters"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        @GetMapping("/nearby")
+        public ResponseEntity<List<NearbyLoadResponse>> findNearbyLoads(
+                        @Parameter(description = "Latitude of the search point", example = "19.0760") @RequestParam double lat,
+
+                        @Parameter(description = "Longitude of the search point", example = "72.8777") @RequestParam double lon,
+
+                        @Parameter(description = "Search radius in kilometres (max 1000)", example = "50") @RequestParam double radiusKm,
+
+                        @Parameter(description = "Filter by truck type") @RequestParam(required = false) String truckType,
+
+                        @Parameter(description = "Maximum number of results (max 100)", example = "20") @RequestParam(defaultValue = "20") int limit) {
+
+                // Each shard returns the index hits it holds; merge them back into distance order
+                List<NearbyLoadResponse> response = shardRouter
+                                .scatter(() -> loadService.findNearbyLoads(lat, lon, radiusKm, truckType, limit))
+                                .stream()
+                                .flatMap(List::stream)
+                                .sorted(Comparator.comparingDouble(NearbyLoadResponse::getDistanceKm))
+                                .limit(limit)
+                                .toList();
+                return ResponseEntity.ok(response);
+        }
+
+        @Operation(summary = "Find backhauls", description = "Finds chains of POSTED loads for the same truck type, each picked up where the previous load is unloaded, ranked by the share of time the truck runs loaded")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Itineraries retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid query parameters"),
+                        @ApiResponse(responseCode = "404", description = "Load not found"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        @GetMapping("/{loadId}/backhauls")
+        public ResponseEntity<List<BackhaulItineraryResponse>> findBackhauls(
+                        @Parameter(description = "The load the truck is currently carrying") @PathVariable UUID loadId,
+
+                        @Parameter(description = "Maximum number of loads to chain (max 4)", example = "2") @RequestParam(defaultValue = "2") int legs,
+
+                        @Parameter(description = "Maximum wait between a delivery and the next pickup, in hours (max 168)", example = "48") @RequestParam(defaultValue = "48") int maxWaitHours,
+
+                        @Parameter(description = "Maximum number of itineraries (max 50)", example = "10") @RequestParam(defaultValue = "10") int limit) {
+
+                return ResponseEntity.ok(backhaulService.findBackhauls(loadId, legs, maxWaitHours, limit));
+        }
+
+        @Operation(summary = "Get load status history", description = "Retrieves every recorded status change of a load, oldest first, including after it was deleted")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "History retrieved successfully"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        @GetMapping("/{loadId}/history")
+        public ResponseEntity<List<AuditEntryResponse>> getLoadHistory(
+                        @Parameter(description = "Load ID") @PathVariable UUID loadId) {
+
+                return ResponseEntity.ok(shardRouter.forId(loadId, () -> auditLog.history(AuditEntityType.LOAD, loadId)));
+        }
+
         @Operation(summary = "Get load by ID", description = "Retrieves a specific load by its ID")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Load found", content = @Content(schema = @Schema(implementation = LoadResponse.class))),
@@ -75,12 +218,28 @@ public class LoadController {
         })
         @GetMapping("/{loadId}")
         public ResponseEntity<LoadResponse> getLoadById(
-                        @Parameter(description = "Load ID") @PathVariable UUID loadId) {
+                        @Parameter(description = "Load ID") @PathVariable UUID loadId,
+
+                        @Parameter(description = "Comma-separated fields to return (default: all)", example = "id,status,facility.loadingPoint") @RequestParam(required = false) String fields) {
 
-                LoadResponse response = loadService.getLoadById(loadId);
+                LoadResponse response = shardRouter.forId(loadId, () -> loadService.getLoadById(loadId, fields));
                 return ResponseEntity.ok(response);
         }
 
+        @Operation(summary = "Get loads by ID", description = "Retrieves up to 5000 loads by ID in one call; results follow the request order and IDs that do not exist are marked not found")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Loads retrieved successfully", content = @Content(schema = @Schema(implementation = BatchGetResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Missing, null or too many IDs"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        @PostMapping("/batch-get")
+        public ResponseEntity<BatchGetResponse<LoadResponse>> getLoadsByIds(@Valid @RequestBody BatchGetRequest request) {
+                // Each shard is asked only for the IDs it holds
+                Map<UUID, LoadResponse> loads = new HashMap<>();
+                shardRouter.scatterIds(request.getIds(), loadService::getLoadsByIds).forEach(loads::putAll);
+                return ResponseEntity.ok(BatchGetResponse.of(request.getIds(), loads));
+        }
+
         @Operation(summary = "Update load", description = "Updates an existing load with the provided details")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Load updated successfully", content = @Content(schema = @Schema(implementation = LoadResponse.class))),
@@ -93,7 +252,7 @@ public class LoadController {
                         @Parameter(description = "Load ID") @PathVariable UUID loadId,
                         @Valid @RequestBody UpdateLoadRequest request) {
 
-                LoadResponse response = loadService.updateLoad(loadId, request);
+                LoadResponse response = shardRouter.forId(loadId, () -> loadService.updateLoad(loadId, request));
                 return ResponseEntity.ok(response);
         }
 
@@ -108,7 +267,10 @@ public class LoadController {
         public ResponseEntity<Void> deleteLoad(
                         @Parameter(description = "Load ID") @PathVariable UUID loadId) {
 
-                loadService.deleteLoad(loadId);
+                shardRouter.forId(loadId, () -> {
+                        loadService.deleteLoad(loadId);
+                        return null;
+                });
                 return ResponseEntity.noContent().build();
         }
 }
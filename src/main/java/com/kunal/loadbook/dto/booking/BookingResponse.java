@@ -1,12 +1,15 @@
 package com.kunal.loadbook.dto.booking;
 
 import com.kunal.loadbook.enums.BookingStatus;
+import com.kunal.loadbook.fields.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Schema(description = "Response DTO for booking information")
+@JsonFilter(FieldSelection.FILTER_ID)
 public class BookingResponse {
 
     @Schema(description = "Unique identifier of the booking")
@@ -24,6 +27,9 @@ public class BookingResponse {
     @Schema(description = "Additional comments or notes")
     private String comment;
 
+    @Schema(description = "Number of the load's trucks this booking takes")
+    private Integer truckCount;
+
     @Schema(description = "Current status of the booking")
     private BookingStatus status;
 
@@ -92,6 +98,14 @@ public class BookingResponse {
         this.comment = comment;
     }
 
+    public Integer getTruckCount() {
+        return truckCount;
+    }
+
+    public void setTruckCount(Integer truckCount) {
+        this.truckCount = truckCount;
+    }
+
     public BookingStatus getStatus() {
         return status;
     }
@@ -26,6 +26,10 @@ public class CreateBookingRequest {
     @Schema(description = "Additional comments or notes", example = "Can deliver within 3 days")
     private String comment;
 
+    @Schema(description = "Number of the load's trucks to take; defaults to one", example = "2")
+    @Positive(message = "Truck count must be positive")
+    private Integer truckCount;
+
     // Default constructor
     public CreateBookingRequest() {
     }
@@ -70,4 +74,12 @@ public class CreateBookingRequest {
     public void setComment(String comment) {
         this.comment = comment;
     }
+
+    public Integer getTruckCount() {
+        return truckCount;
+    }
+
+    public void setTruckCount(Integer truckCount) {
+        this.truckCount = truckCount;
+    }
 }
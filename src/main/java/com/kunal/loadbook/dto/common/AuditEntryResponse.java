@@ -0,0 +1,81 @@
+package com.kunal.loadbook.dto.common;
+
+import com.kunal.loadbook.entity.AuditEntry;
+import com.kunal.loadbook.enums.AuditEntityType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "One status change of a load or booking")
+public class AuditEntryResponse {
+
+    @Schema(description = "Kind of entity that changed")
+    private AuditEntityType entityType;
+
+    @Schema(description = "ID of the load or booking")
+    private UUID entityId;
+
+    @Schema(description = "Status before the change; absent when the entity was created")
+    private String fromStatus;
+
+    @Schema(description = "Status after the change; absent when the entity was deleted")
+    private String toStatus;
+
+    @Schema(description = "When the change was written")
+    private LocalDateTime changedAt;
+
+    // Default constructor
+    public AuditEntryResponse() {
+    }
+
+    // Constructor
+    public AuditEntryResponse(AuditEntry entry) {
+        this.entityType = entry.getEntityType();
+        this.entityId = entry.getEntityId();
+        this.fromStatus = entry.getFromStatus();
+        this.toStatus = entry.getToStatus();
+        this.changedAt = entry.getChangedAt();
+    }
+
+    // Getters and Setters
+    public AuditEntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(AuditEntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public UUID getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(UUID entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(String fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public String getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(String toStatus) {
+        this.toStatus = toStatus;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
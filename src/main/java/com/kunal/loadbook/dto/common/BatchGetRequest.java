@@ -0,0 +1,38 @@
+package com.kunal.loadbook.dto.common;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Request DTO for fetching many loads or bookings by ID")
+public class BatchGetRequest {
+
+    public static final int MAX_IDS = 5000;
+
+    @Schema(description = "IDs to fetch; results come back in this order")
+    @NotEmpty(message = "IDs are required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " IDs can be fetched at once")
+    private List<@NotNull(message = "IDs cannot be null") UUID> ids;
+
+    // Default constructor
+    public BatchGetRequest() {
+    }
+
+    // Constructor
+    public BatchGetRequest(List<UUID> ids) {
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+    public List<UUID> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<UUID> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,112 @@
+package com.kunal.loadbook.dto.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Schema(description = "Batch fetch response wrapper")
+public class BatchGetResponse<T> {
+
+    @Schema(description = "One result per requested ID, in request order")
+    private List<Result<T>> results;
+
+    @Schema(description = "Number of requested IDs that were not found")
+    private int notFound;
+
+    // Default constructor
+    public BatchGetResponse() {
+    }
+
+    // Constructor
+    public BatchGetResponse(List<Result<T>> results, int notFound) {
+        this.results = results;
+        this.notFound = notFound;
+    }
+
+    /**
+     * Results for the requested IDs, in request order, from the items found keyed by ID
+     */
+    public static <T> BatchGetResponse<T> of(List<UUID> ids, Map<UUID, T> found) {
+        List<Result<T>> results = new ArrayList<>(ids.size());
+        int notFound = 0;
+        for (UUID id : ids) {
+            T item = found.get(id);
+            if (item == null) {
+                notFound++;
+            }
+            results.add(new Result<>(id, item != null, item));
+        }
+        return new BatchGetResponse<>(results, notFound);
+    }
+
+    // Getters and Setters
+    public List<Result<T>> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Result<T>> results) {
+        this.results = results;
+    }
+
+    public int getNotFound() {
+        return notFound;
+    }
+
+    public void setNotFound(int notFound) {
+        this.notFound = notFound;
+    }
+
+    @Schema(description = "Result for one requested ID")
+    public static class Result<T> {
+
+        @Schema(description = "Requested ID")
+        private UUID id;
+
+        @Schema(description = "Whether the ID exists; false means not found")
+        private boolean found;
+
+        @Schema(description = "The load or booking, absent when not found")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private T item;
+
+        // Default constructor
+        public Result() {
+        }
+
+        // Constructor
+        public Result(UUID id, boolean found, T item) {
+            this.id = id;
+            this.found = found;
+            this.item = item;
+        }
+
+        // Getters and Setters
+        public UUID getId() {
+            return id;
+        }
+
+        public void setId(UUID id) {
+            this.id = id;
+        }
+
+        public boolean isFound() {
+            return found;
+        }
+
+        public void setFound(boolean found) {
+            this.found = found;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public void setItem(T item) {
+            this.item = item;
+        }
+    }
+}
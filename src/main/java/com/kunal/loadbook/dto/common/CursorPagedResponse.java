@@ -0,0 +1,66 @@
+package com.kunal.loadbook.dto.common;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Keyset-paginated response wrapper")
+public class CursorPagedResponse<T> {
+
+    @Schema(description = "List of items in current page")
+    private List<T> content;
+
+    @Schema(description = "Requested page size")
+    private int size;
+
+    @Schema(description = "Opaque cursor to pass back for the next page, null on the last page")
+    private String nextCursor;
+
+    @Schema(description = "Is there a next page")
+    private boolean hasNext;
+
+    // Default constructor
+    public CursorPagedResponse() {
+    }
+
+    // Constructor
+    public CursorPagedResponse(List<T> content, int size, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
@@ -0,0 +1,97 @@
+package com.kunal.loadbook.dto.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.kunal.loadbook.mapper.JsonScalarWriter;
+import com.kunal.loadbook.mapper.RowWriter;
+import org.springframework.data.domain.Page;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A page of entities that serializes to the same body as a {@link PagedResponse} of their
+ * response DTOs. JSON is streamed row by row through a {@link RowWriter}; binary formats
+ * and numeric dates (CBOR) go through the DTOs and Jackson as usual.
+ */
+public class StreamedPagedResponse<E> implements JsonSerializable {
+
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString PAGE = new SerializedString("page");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializedString FIRST = new SerializedString("first");
+    private static final SerializedString LAST = new SerializedString("last");
+    private static final SerializedString HAS_NEXT = new SerializedString("hasNext");
+    private static final SerializedString HAS_PREVIOUS = new SerializedString("hasPrevious");
+
+    private final Page<E> page;
+    private final RowWriter<E> writer;
+
+    public StreamedPagedResponse(Page<E> page, RowWriter<E> writer) {
+        this.page = page;
+        this.writer = writer;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (gen.canWriteBinaryNatively() || serializers.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            serializers.defaultSerializeValue(toPagedResponse(), gen);
+            return;
+        }
+
+        JsonScalarWriter scalars = new JsonScalarWriter();
+        List<E> rows = page.getContent();
+        gen.writeStartObject();
+        gen.writeFieldName(CONTENT);
+        gen.writeStartArray(page, rows.size());
+        for (E row : rows) {
+            writer.write(gen, row, scalars);
+        }
+        gen.writeEndArray();
+        gen.writeFieldName(PAGE);
+        gen.writeNumber(page.getNumber());
+        gen.writeFieldName(SIZE);
+        gen.writeNumber(page.getSize());
+        gen.writeFieldName(TOTAL_ELEMENTS);
+        gen.writeNumber(page.getTotalElements());
+        gen.writeFieldName(TOTAL_PAGES);
+        gen.writeNumber(page.getTotalPages());
+        gen.writeFieldName(FIRST);
+        gen.writeBoolean(page.isFirst());
+        gen.writeFieldName(LAST);
+        gen.writeBoolean(page.isLast());
+        gen.writeFieldName(HAS_NEXT);
+        gen.writeBoolean(page.hasNext());
+        gen.writeFieldName(HAS_PREVIOUS);
+        gen.writeBoolean(page.hasPrevious());
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+
+    /**
+     * The same page as response DTOs
+     */
+    public PagedResponse<Object> toPagedResponse() {
+        return new PagedResponse<>(
+                page.getContent().stream().map(writer::toResponse).toList(),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.isFirst(),
+                page.isLast(),
+                page.hasNext(),
+                page.hasPrevious());
+    }
+}
@@ -0,0 +1,68 @@
+package com.kunal.loadbook.dto.load;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Chain of POSTED loads a truck can carry after delivering its current load")
+public class BackhaulItineraryResponse {
+
+    @Schema(description = "Loads in pickup order; each is picked up where the previous one is unloaded")
+    private List<LoadResponse> legs;
+
+    @Schema(description = "Share of the time from becoming free to the last delivery spent loaded (0 to 1)", example = "0.82")
+    private Double utilization;
+
+    @Schema(description = "Total time spent waiting for pickups, in minutes", example = "300")
+    private Long waitingMinutes;
+
+    @Schema(description = "Unloading date of the last leg")
+    private LocalDateTime finishesAt;
+
+    // Default constructor
+    public BackhaulItineraryResponse() {
+    }
+
+    // Constructor
+    public BackhaulItineraryResponse(List<LoadResponse> legs, Double utilization, Long waitingMinutes,
+            LocalDateTime finishesAt) {
+        this.legs = legs;
+        this.utilization = utilization;
+        this.waitingMinutes = waitingMinutes;
+        this.finishesAt = finishesAt;
+    }
+
+    // Getters and Setters
+    public List<LoadResponse> getLegs() {
+        return legs;
+    }
+
+    public void setLegs(List<LoadResponse> legs) {
+        this.legs = legs;
+    }
+
+    public Double getUtilization() {
+        return utilization;
+    }
+
+    public void setUtilization(Double utilization) {
+        this.utilization = utilization;
+    }
+
+    public Long getWaitingMinutes() {
+        return waitingMinutes;
+    }
+
+    public void setWaitingMinutes(Long waitingMinutes) {
+        this.waitingMinutes = waitingMinutes;
+    }
+
+    public LocalDateTime getFinishesAt() {
+        return finishesAt;
+    }
+
+    public void setFinishesAt(LocalDateTime finishesAt) {
+        this.finishesAt = finishesAt;
+    }
+}
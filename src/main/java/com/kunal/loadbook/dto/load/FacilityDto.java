@@ -1,12 +1,17 @@
 package com.kunal.loadbook.dto.load;
 
+import com.kunal.loadbook.fields.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
 
 @Schema(description = "Facility information DTO")
+@JsonFilter(FieldSelection.FILTER_ID)
 public class FacilityDto {
 
     @Schema(description = "Loading point location", example = "Mumbai Port")
@@ -25,6 +30,26 @@ public class FacilityDto {
     @NotNull(message = "Unloading date is required")
     private LocalDateTime unloadingDate;
 
+    @Schema(description = "Loading point latitude", example = "18.9490")
+    @DecimalMin(value = "-90.0", message = "Loading latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Loading latitude must be between -90 and 90")
+    private Double loadingLatitude;
+
+    @Schema(description = "Loading point longitude", example = "72.8410")
+    @DecimalMin(value = "-180.0", message = "Loading longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Loading longitude must be between -180 and 180")
+    private Double loadingLongitude;
+
+    @Schema(description = "Unloading point latitude", example = "28.6139")
+    @DecimalMin(value = "-90.0", message = "Unloading latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Unloading latitude must be between -90 and 90")
+    private Double unloadingLatitude;
+
+    @Schema(description = "Unloading point longitude", example = "77.2090")
+    @DecimalMin(value = "-180.0", message = "Unloading longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Unloading longitude must be between -180 and 180")
+    private Double unloadingLongitude;
+
     // Default constructor
     public FacilityDto() {
     }
@@ -70,4 +95,36 @@ public class FacilityDto {
     public void setUnloadingDate(LocalDateTime unloadingDate) {
         this.unloadingDate = unloadingDate;
     }
+
+    public Double getLoadingLatitude() {
+        return loadingLatitude;
+    }
+
+    public void setLoadingLatitude(Double loadingLatitude) {
+        this.loadingLatitude = loadingLatitude;
+    }
+
+    public Double getLoadingLongitude() {
+        return loadingLongitude;
+    }
+
+    public void setLoadingLongitude(Double loadingLongitude) {
+        this.loadingLongitude = loadingLongitude;
+    }
+
+    public Double getUnloadingLatitude() {
+        return unloadingLatitude;
+    }
+
+    public void setUnloadingLatitude(Double unloadingLatitude) {
+        this.unloadingLatitude = unloadingLatitude;
+    }
+
+    public Double getUnloadingLongitude() {
+        return unloadingLongitude;
+    }
+
+    public void setUnloadingLongitude(Double unloadingLongitude) {
+        this.unloadingLongitude = unloadingLongitude;
+    }
 }
@@ -1,12 +1,18 @@
 package com.kunal.loadbook.dto.load;
 
+import com.kunal.loadbook.dto.booking.BookingResponse;
 import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.fields.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Schema(description = "Response DTO for load information")
+@JsonFilter(FieldSelection.FILTER_ID)
 public class LoadResponse {
 
     @Schema(description = "Unique identifier of the load")
@@ -27,6 +33,9 @@ public class LoadResponse {
     @Schema(description = "Number of trucks required")
     private Integer noOfTrucks;
 
+    @Schema(description = "Number of trucks not yet taken by an accepted booking")
+    private Integer remainingTrucks;
+
     @Schema(description = "Weight of the load in tons")
     private Double weight;
 
@@ -42,6 +51,22 @@ public class LoadResponse {
     @Schema(description = "Last updated timestamp")
     private LocalDateTime updatedAt;
 
+    @Schema(description = "Number of pending bookings")
+    private int pendingBookingCount;
+
+    @Schema(description = "ID of the accepted booking, if any")
+    private UUID acceptedBookingId;
+
+    @Schema(description = "Lowest proposed rate among pending bookings")
+    private Double bestPendingRate;
+
+    @Schema(description = "When the most recent booking was requested")
+    private LocalDateTime lastBidAt;
+
+    @Schema(description = "Bookings of the load; only present when requested with include=bookings")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<BookingResponse> bookings;
+
     // Default constructor
     public LoadResponse() {
     }
@@ -112,6 +137,14 @@ public class LoadResponse {
         this.noOfTrucks = noOfTrucks;
     }
 
+    public Integer getRemainingTrucks() {
+        return remainingTrucks;
+    }
+
+    public void setRemainingTrucks(Integer remainingTrucks) {
+        this.remainingTrucks = remainingTrucks;
+    }
+
     public Double getWeight() {
         return weight;
     }
@@ -151,4 +184,44 @@ public class LoadResponse {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public int getPendingBookingCount() {
+        return pendingBookingCount;
+    }
+
+    public void setPendingBookingCount(int pendingBookingCount) {
+        this.pendingBookingCount = pendingBookingCount;
+    }
+
+    public UUID getAcceptedBookingId() {
+        return acceptedBookingId;
+    }
+
+    public void setAcceptedBookingId(UUID acceptedBookingId) {
+        this.acceptedBookingId = acceptedBookingId;
+    }
+
+    public Double getBestPendingRate() {
+        return bestPendingRate;
+    }
+
+    public void setBestPendingRate(Double bestPendingRate) {
+        this.bestPendingRate = bestPendingRate;
+    }
+
+    public LocalDateTime getLastBidAt() {
+        return lastBidAt;
+    }
+
+    public void setLastBidAt(LocalDateTime lastBidAt) {
+        this.lastBidAt = lastBidAt;
+    }
+
+    public List<BookingResponse> getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(List<BookingResponse> bookings) {
+        this.bookings = bookings;
+    }
 }
@@ -0,0 +1,40 @@
+package com.kunal.loadbook.dto.load;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Load found by a radius search with its distance from the search point")
+public class NearbyLoadResponse {
+
+    @Schema(description = "Great-circle distance from the search point to the loading point in kilometres")
+    private Double distanceKm;
+
+    @Schema(description = "Load information")
+    private LoadResponse load;
+
+    // Default constructor
+    public NearbyLoadResponse() {
+    }
+
+    // Constructor
+    public NearbyLoadResponse(Double distanceKm, LoadResponse load) {
+        this.distanceKm = distanceKm;
+        this.load = load;
+    }
+
+    // Getters and Setters
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(Double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    public LoadResponse getLoad() {
+        return load;
+    }
+
+    public void setLoad(LoadResponse load) {
+        this.load = load;
+    }
+}
@@ -0,0 +1,82 @@
+package com.kunal.loadbook.entity;
+
+import com.kunal.loadbook.enums.AuditEntityType;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One status change of a load or booking in the append-only audit log. Rows are only
+ * ever inserted, by {@link com.kunal.loadbook.audit.AuditLog}, on the shard of the
+ * entity they describe.
+ */
+@Entity
+@Immutable
+@Table(name = "audit_log", indexes = {
+        @Index(name = "idx_audit_log_entity", columnList = "entity_id, changed_at")
+})
+public class AuditEntry {
+
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private AuditEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    /** Status before the change; null when the entity was created */
+    @Column(name = "from_status", length = 32)
+    private String fromStatus;
+
+    /** Status after the change; null when the entity was deleted */
+    @Column(name = "to_status", length = 32)
+    private String toStatus;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Default constructor
+    public AuditEntry() {
+    }
+
+    // Constructor
+    public AuditEntry(UUID id, AuditEntityType entityType, UUID entityId, String fromStatus, String toStatus,
+            LocalDateTime changedAt) {
+        this.id = id;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.changedAt = changedAt;
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public AuditEntityType getEntityType() {
+        return entityType;
+    }
+
+    public UUID getEntityId() {
+        return entityId;
+    }
+
+    public String getFromStatus() {
+        return fromStatus;
+    }
+
+    public String getToStatus() {
+        return toStatus;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
@@ -1,10 +1,15 @@
 package com.kunal.loadbook.entity;
 
+import com.kunal.loadbook.audit.AuditEntityListener;
+import com.kunal.loadbook.audit.Audited;
+import com.kunal.loadbook.entity.id.UuidV7Id;
+import com.kunal.loadbook.enums.AuditEntityType;
 import com.kunal.loadbook.enums.BookingStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,11 +17,19 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "bookings")
-public class Booking {
+@EntityListeners(AuditEntityListener.class)
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_archived_requested_at", columnList = "archived, requested_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = Booking.LOAD_TRANSPORTER_CONSTRAINT, columnNames = { "load_id", "transporter_id" })
+})
+public class Booking implements Audited {
+
+    /** One booking per transporter per load */
+    public static final String LOAD_TRANSPORTER_CONSTRAINT = "uk_bookings_load_transporter";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -36,6 +49,12 @@ public class Booking {
     @Column(length = 1000)
     private String comment;
 
+    /** Trucks of the load this booking takes */
+    @Positive(message = "Truck count must be positive")
+    @ColumnDefault("1")
+    @Column(name = "truck_count", nullable = false)
+    private int truckCount = 1;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private BookingStatus status = BookingStatus.PENDING;
@@ -48,6 +67,13 @@ public class Booking {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean archived = false;
+
+    @Transient
+    private String auditedStatus;
+
     // Default constructor
     public Booking() {
     }
@@ -102,6 +128,14 @@ public class Booking {
         this.comment = comment;
     }
 
+    public int getTruckCount() {
+        return truckCount;
+    }
+
+    public void setTruckCount(int truckCount) {
+        this.truckCount = truckCount;
+    }
+
     public BookingStatus getStatus() {
         return status;
     }
@@ -126,6 +160,29 @@ public class Booking {
         this.updatedAt = updatedAt;
     }
 
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+
+    @Override
+    public AuditEntityType auditEntityType() {
+        return AuditEntityType.BOOKING;
+    }
+
+    @Override
+    public String getAuditedStatus() {
+        return auditedStatus;
+    }
+
+    @Override
+    public void setAuditedStatus(String auditedStatus) {
+        this.auditedStatus = auditedStatus;
+    }
+
     @Override
     public String toString() {
         return "Booking{" +
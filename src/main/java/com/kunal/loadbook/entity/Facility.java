@@ -2,7 +2,8 @@ package com.kunal.loadbook.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
-import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
@@ -10,13 +11,15 @@ import java.time.LocalDateTime;
 @Embeddable
 public class Facility {
 
-    @NotBlank(message = "Loading point is required")
-    @Column(name = "loading_point", nullable = false)
-    private String loadingPoint;
+    /** Loading point, as a {@link ReferenceValue} ID */
+    @NotNull(message = "Loading point is required")
+    @Column(name = "loading_point_id", nullable = false)
+    private Integer loadingPointId;
 
-    @NotBlank(message = "Unloading point is required")
-    @Column(name = "unloading_point", nullable = false)
-    private String unloadingPoint;
+    /** Unloading point, as a {@link ReferenceValue} ID */
+    @NotNull(message = "Unloading point is required")
+    @Column(name = "unloading_point_id", nullable = false)
+    private Integer unloadingPointId;
 
     @NotNull(message = "Loading date is required")
     @Column(name = "loading_date", nullable = false)
@@ -26,34 +29,54 @@ public class Facility {
     @Column(name = "unloading_date", nullable = false)
     private LocalDateTime unloadingDate;
 
+    @DecimalMin(value = "-90.0", message = "Loading latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Loading latitude must be between -90 and 90")
+    @Column(name = "loading_latitude")
+    private Double loadingLatitude;
+
+    @DecimalMin(value = "-180.0", message = "Loading longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Loading longitude must be between -180 and 180")
+    @Column(name = "loading_longitude")
+    private Double loadingLongitude;
+
+    @DecimalMin(value = "-90.0", message = "Unloading latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Unloading latitude must be between -90 and 90")
+    @Column(name = "unloading_latitude")
+    private Double unloadingLatitude;
+
+    @DecimalMin(value = "-180.0", message = "Unloading longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Unloading longitude must be between -180 and 180")
+    @Column(name = "unloading_longitude")
+    private Double unloadingLongitude;
+
     // Default constructor
     public Facility() {
     }
 
     // Constructor
-    public Facility(String loadingPoint, String unloadingPoint,
+    public Facility(Integer loadingPointId, Integer unloadingPointId,
             LocalDateTime loadingDate, LocalDateTime unloadingDate) {
-        this.loadingPoint = loadingPoint;
-        this.unloadingPoint = unloadingPoint;
+        this.loadingPointId = loadingPointId;
+        this.unloadingPointId = unloadingPointId;
         this.loadingDate = loadingDate;
         this.unloadingDate = unloadingDate;
     }
 
     // Getters and Setters
-    public String getLoadingPoint() {
-        return loadingPoint;
+    public Integer getLoadingPointId() {
+        return loadingPointId;
     }
 
-    public void setLoadingPoint(String loadingPoint) {
-        this.loadingPoint = loadingPoint;
+    public void setLoadingPointId(Integer loadingPointId) {
+        this.loadingPointId = loadingPointId;
     }
 
-    public String getUnloadingPoint() {
-        return unloadingPoint;
+    public Integer getUnloadingPointId() {
+        return unloadingPointId;
     }
 
-    public void setUnloadingPoint(String unloadingPoint) {
-        this.unloadingPoint = unloadingPoint;
+    public void setUnloadingPointId(Integer unloadingPointId) {
+        this.unloadingPointId = unloadingPointId;
     }
 
     public LocalDateTime getLoadingDate() {
@@ -72,11 +95,50 @@ public class Facility {
         this.unloadingDate = unloadingDate;
     }
 
+    public Double getLoadingLatitude() {
+        return loadingLatitude;
+    }
+
+    public void setLoadingLatitude(Double loadingLatitude) {
+        this.loadingLatitude = loadingLatitude;
+    }
+
+    public Double getLoadingLongitude() {
+        return loadingLongitude;
+    }
+
+    public void setLoadingLongitude(Double loadingLongitude) {
+        this.loadingLongitude = loadingLongitude;
+    }
+
+    public Double getUnloadingLatitude() {
+        return unloadingLatitude;
+    }
+
+    public void setUnloadingLatitude(Double unloadingLatitude) {
+        this.unloadingLatitude = unloadingLatitude;
+    }
+
+    public Double getUnloadingLongitude() {
+        return unloadingLongitude;
+    }
+
+    public void setUnloadingLongitude(Double unloadingLongitude) {
+        this.unloadingLongitude = unloadingLongitude;
+    }
+
+    /**
+     * Whether the loading point has coordinates
+     */
+    public boolean hasLoadingCoordinates() {
+        return loadingLatitude != null && loadingLongitude != null;
+    }
+
     @Override
     public String toString() {
         return "Facility{" +
-                "loadingPoint='" + loadingPoint + '\'' +
-                ", unloadingPoint='" + unloadingPoint + '\'' +
+                "loadingPointId=" + loadingPointId +
+                ", unloadingPointId=" + unloadingPointId +
                 ", loadingDate=" + loadingDate +
                 ", unloadingDate=" + unloadingDate +
                 '}';
@@ -1,11 +1,17 @@
 package com.kunal.loadbook.entity;
 
+import com.kunal.loadbook.audit.AuditEntityListener;
+import com.kunal.loadbook.audit.Audited;
+import com.kunal.loadbook.entity.id.UuidV7Id;
+import com.kunal.loadbook.enums.AuditEntityType;
 import com.kunal.loadbook.enums.LoadStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -13,12 +19,23 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * The booking summary columns (pending count, accepted booking, best pending rate, last
+ * bid) are maintained by atomic UPDATE statements in {@code LoadRepository}, never through
+ * the entity; {@link DynamicUpdate} keeps entity saves from writing back stale copies.
+ * Status changes go to the audit log.
+ */
 @Entity
-@Table(name = "loads")
-public class Load {
+@DynamicUpdate
+@EntityListeners(AuditEntityListener.class)
+@Table(name = "loads", indexes = {
+        @Index(name = "idx_loads_archived_date_posted", columnList = "archived, date_posted"),
+        @Index(name = "idx_loads_truck_type_id", columnList = "truck_type_id")
+})
+public class Load implements Audited {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     @NotBlank(message = "Shipper ID is required")
@@ -28,19 +45,25 @@ public class Load {
     @Embedded
     private Facility facility;
 
-    @NotBlank(message = "Product type is required")
-    @Column(name = "product_type", nullable = false)
-    private String productType;
+    /** Product type, as a {@link ReferenceValue} ID */
+    @NotNull(message = "Product type is required")
+    @Column(name = "product_type_id", nullable = false)
+    private Integer productTypeId;
 
-    @NotBlank(message = "Truck type is required")
-    @Column(name = "truck_type", nullable = false)
-    private String truckType;
+    /** Truck type, as a {@link ReferenceValue} ID */
+    @NotNull(message = "Truck type is required")
+    @Column(name = "truck_type_id", nullable = false)
+    private Integer truckTypeId;
 
     @NotNull(message = "Number of trucks is required")
     @Positive(message = "Number of trucks must be positive")
     @Column(name = "no_of_trucks", nullable = false)
     private Integer noOfTrucks;
 
+    /** Trucks not yet taken by an accepted booking; only changed by conditional updates */
+    @Column(name = "remaining_trucks", nullable = false)
+    private Integer remainingTrucks;
+
     @NotNull(message = "Weight is required")
     @Positive(message = "Weight must be positive")
     @Column(nullable = false)
@@ -61,6 +84,27 @@ public class Load {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean archived = false;
+
+    @ColumnDefault("0")
+    @Column(name = "pending_booking_count", nullable = false)
+    private int pendingBookingCount = 0;
+
+    @Column(name = "accepted_booking_id")
+    private UUID acceptedBookingId;
+
+    /** Lowest proposed rate among PENDING bookings */
+    @Column(name = "best_pending_rate")
+    private Double bestPendingRate;
+
+    @Column(name = "last_bid_at")
+    private LocalDateTime lastBidAt;
+
+    @Transient
+    private String auditedStatus;
+
     @OneToMany(mappedBy = "load", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Booking> bookings = new ArrayList<>();
 
@@ -69,13 +113,14 @@ public class Load {
     }
 
     // Constructor
-    public Load(String shipperId, Facility facility, String productType, String truckType,
+    public Load(String shipperId, Facility facility, Integer productTypeId, Integer truckTypeId,
             Integer noOfTrucks, Double weight, String comment) {
         this.shipperId = shipperId;
         this.facility = facility;
-        this.productType = productType;
-        this.truckType = truckType;
+        this.productTypeId = productTypeId;
+        this.truckTypeId = truckTypeId;
         this.noOfTrucks = noOfTrucks;
+        this.remainingTrucks = noOfTrucks;
         this.weight = weight;
         this.comment = comment;
         this.status = LoadStatus.POSTED;
@@ -106,20 +151,20 @@ public class Load {
         this.facility = facility;
     }
 
-    public String getProductType() {
-        return productType;
+    public Integer getProductTypeId() {
+        return productTypeId;
     }
 
-    public void setProductType(String productType) {
-        this.productType = productType;
+    public void setProductTypeId(Integer productTypeId) {
+        this.productTypeId = productTypeId;
     }
 
-    public String getTruckType() {
-        return truckType;
+    public Integer getTruckTypeId() {
+        return truckTypeId;
     }
 
-    public void setTruckType(String truckType) {
-        this.truckType = truckType;
+    public void setTruckTypeId(Integer truckTypeId) {
+        this.truckTypeId = truckTypeId;
     }
 
     public Integer getNoOfTrucks() {
@@ -130,6 +175,14 @@ public class Load {
         this.noOfTrucks = noOfTrucks;
     }
 
+    public Integer getRemainingTrucks() {
+        return remainingTrucks;
+    }
+
+    public void setRemainingTrucks(Integer remainingTrucks) {
+        this.remainingTrucks = remainingTrucks;
+    }
+
     public Double getWeight() {
         return weight;
     }
@@ -170,6 +223,61 @@ public class Load {
         this.updatedAt = updatedAt;
     }
 
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+
+    public int getPendingBookingCount() {
+        return pendingBookingCount;
+    }
+
+    public void setPendingBookingCount(int pendingBookingCount) {
+        this.pendingBookingCount = pendingBookingCount;
+    }
+
+    public UUID getAcceptedBookingId() {
+        return acceptedBookingId;
+    }
+
+    public void setAcceptedBookingId(UUID acceptedBookingId) {
+        this.acceptedBookingId = acceptedBookingId;
+    }
+
+    public Double getBestPendingRate() {
+        return bestPendingRate;
+    }
+
+    public void setBestPendingRate(Double bestPendingRate) {
+        this.bestPendingRate = bestPendingRate;
+    }
+
+    public LocalDateTime getLastBidAt() {
+        return lastBidAt;
+    }
+
+    public void setLastBidAt(LocalDateTime lastBidAt) {
+        this.lastBidAt = lastBidAt;
+    }
+
+    @Override
+    public AuditEntityType auditEntityType() {
+        return AuditEntityType.LOAD;
+    }
+
+    @Override
+    public String getAuditedStatus() {
+        return auditedStatus;
+    }
+
+    @Override
+    public void setAuditedStatus(String auditedStatus) {
+        this.auditedStatus = auditedStatus;
+    }
+
     public List<Booking> getBookings() {
         return bookings;
     }
@@ -194,8 +302,8 @@ public class Load {
         return "Load{" +
                 "id=" + id +
                 ", shipperId='" + shipperId + '\'' +
-                ", productType='" + productType + '\'' +
-                ", truckType='" + truckType + '\'' +
+                ", productTypeId=" + productTypeId +
+                ", truckTypeId=" + truckTypeId +
                 ", status=" + status +
                 ", datePosted=" + datePosted +
                 '}';
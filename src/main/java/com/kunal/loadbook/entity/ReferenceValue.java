@@ -0,0 +1,71 @@
+package com.kunal.loadbook.entity;
+
+import com.kunal.loadbook.enums.ReferenceKind;
+import jakarta.persistence.*;
+
+/**
+ * Dictionary entry mapping a repeated reference string (truck type, product type,
+ * location) to a compact integer ID stored on loads instead of the string itself.
+ * Entries are append-only: once assigned, an ID never changes meaning.
+ */
+@Entity
+@Table(name = "reference_values", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_reference_values_kind_label", columnNames = { "kind", "label" })
+})
+public class ReferenceValue {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private ReferenceKind kind;
+
+    @Column(nullable = false)
+    private String label;
+
+    // Default constructor
+    public ReferenceValue() {
+    }
+
+    // Constructor
+    public ReferenceValue(ReferenceKind kind, String label) {
+        this.kind = kind;
+        this.label = label;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public ReferenceKind getKind() {
+        return kind;
+    }
+
+    public void setKind(ReferenceKind kind) {
+        this.kind = kind;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceValue{" +
+                "id=" + id +
+                ", kind=" + kind +
+                ", label='" + label + '\'' +
+                '}';
+    }
+}
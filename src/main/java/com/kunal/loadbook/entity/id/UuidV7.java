@@ -0,0 +1,63 @@
+package com.kunal.loadbook.entity.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUID version 7 (RFC 9562) source.
+ *
+ * Layout: 48-bit Unix epoch milliseconds, 4-bit version, 12-bit per-millisecond
+ * counter, 2-bit variant and 62 random bits. The counter keeps ids generated by
+ * this JVM strictly increasing even when several are issued in the same
+ * millisecond, so new rows always land on the right-most leaf of the primary key.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /** Last issued (timestamp << 12 | counter) value. */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    /**
+     * Generate the next time-ordered UUID
+     */
+    public static UUID randomUuid() {
+        return randomUuid(LAST, System.currentTimeMillis());
+    }
+
+    /**
+     * Generate the next UUID after the one recorded in {@code last}, at the given time
+     */
+    static UUID randomUuid(AtomicLong last, long nowMillis) {
+        long timeAndCounter = nextTimeAndCounter(last, nowMillis);
+        long msb = ((timeAndCounter >>> 12) << 16) | 0x7000L | (timeAndCounter & 0xFFFL);
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Extract the embedded Unix epoch milliseconds from a version 7 UUID
+     */
+    public static long timestampMillis(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private static long nextTimeAndCounter(AtomicLong last, long nowMillis) {
+        while (true) {
+            long previous = last.get();
+            // A clock that stepped backwards, or an exhausted counter, keeps counting
+            // on from the previous value instead of reusing an older timestamp.
+            long next = nowMillis > (previous >>> 12) ? nowMillis << 12 : previous + 1;
+            if (last.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.kunal.loadbook.entity.id;
+
+import com.kunal.loadbook.shard.ShardContext;
+import com.kunal.loadbook.shard.ShardIds;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.util.EnumSet;
+
+/**
+ * Hibernate id generator assigning {@link UuidV7} identifiers on insert, tagged with the
+ * shard the row is written to (shard 0 when none is selected)
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+            EventType eventType) {
+        int shard = ShardContext.current();
+        return ShardIds.withShard(UuidV7.randomUuid(), shard == ShardContext.NONE ? 0 : shard);
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EnumSet.of(EventType.INSERT);
+    }
+}
@@ -0,0 +1,6 @@
+package com.kunal.loadbook.enums;
+
+public enum AuditEntityType {
+    LOAD,
+    BOOKING
+}
@@ -3,5 +3,6 @@ package com.kunal.loadbook.enums;
 public enum BookingStatus {
     PENDING,
     ACCEPTED,
-    REJECTED
+    REJECTED,
+    EXPIRED
 }
@@ -3,5 +3,6 @@ package com.kunal.loadbook.enums;
 public enum LoadStatus {
     POSTED,
     BOOKED,
-    CANCELLED
+    CANCELLED,
+    EXPIRED
 }
@@ -0,0 +1,7 @@
+package com.kunal.loadbook.enums;
+
+public enum ReferenceKind {
+    TRUCK_TYPE,
+    PRODUCT_TYPE,
+    LOCATION
+}
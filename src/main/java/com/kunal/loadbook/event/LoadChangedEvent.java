@@ -0,0 +1,34 @@
+package com.kunal.loadbook.event;
+
+import com.kunal.loadbook.entity.Load;
+
+/**
+ * Published by {@code LoadService} whenever a load is created, modified or deleted.
+ * In-memory indexes listen for it after the surrounding transaction commits.
+ */
+public class LoadChangedEvent {
+
+    private final Load load;
+    private final boolean deleted;
+
+    public LoadChangedEvent(Load load, boolean deleted) {
+        this.load = load;
+        this.deleted = deleted;
+    }
+
+    public static LoadChangedEvent saved(Load load) {
+        return new LoadChangedEvent(load, false);
+    }
+
+    public static LoadChangedEvent deleted(Load load) {
+        return new LoadChangedEvent(load, true);
+    }
+
+    public Load getLoad() {
+        return load;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
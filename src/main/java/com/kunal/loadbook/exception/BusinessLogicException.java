@@ -1,9 +1,31 @@
 package com.kunal.loadbook.exception;
 
+/**
+ * An expected business rule violation, answered with 400 by {@link GlobalExceptionHandler}.
+ *
+ * These are outcomes, not faults: under bidding storms most booking requests end with one,
+ * so no stack trace is captured (the message says everything) and the fixed-message ones
+ * are shared instances. Only exceptions wrapping a cause keep their stack trace.
+ */
 public class BusinessLogicException extends RuntimeException {
 
+    private static final BusinessLogicException LOAD_ALREADY_CANCELLED =
+            new BusinessLogicException("Cannot create booking for a cancelled load");
+    private static final BusinessLogicException LOAD_ALREADY_EXPIRED =
+            new BusinessLogicException("Cannot create booking for an expired load");
+    private static final BusinessLogicException LOAD_ALREADY_BOOKED =
+            new BusinessLogicException("Load is already booked");
+    private static final BusinessLogicException LOAD_BOOKED_BY_ANOTHER =
+            new BusinessLogicException("Load is already booked by another transporter");
+    private static final BusinessLogicException LOAD_NO_LONGER_OPEN =
+            new BusinessLogicException("Load is no longer open for booking");
+    private static final BusinessLogicException BOOKING_ALREADY_EXISTS =
+            new BusinessLogicException("Booking already exists for this load and transporter");
+    private static final BusinessLogicException CANNOT_DELETE_ACCEPTED_BOOKING =
+            new BusinessLogicException("Cannot delete an accepted booking");
+
     public BusinessLogicException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public BusinessLogicException(String message, Throwable cause) {
@@ -11,15 +33,27 @@ public class BusinessLogicException extends RuntimeException {
     }
 
     public static BusinessLogicException loadAlreadyCancelled() {
-        return new BusinessLogicException("Cannot create booking for a cancelled load");
+        return LOAD_ALREADY_CANCELLED;
+    }
+
+    public static BusinessLogicException loadAlreadyExpired() {
+        return LOAD_ALREADY_EXPIRED;
     }
 
     public static BusinessLogicException loadAlreadyBooked() {
-        return new BusinessLogicException("Load is already booked");
+        return LOAD_ALREADY_BOOKED;
+    }
+
+    public static BusinessLogicException loadBookedByAnother() {
+        return LOAD_BOOKED_BY_ANOTHER;
+    }
+
+    public static BusinessLogicException loadNoLongerOpen() {
+        return LOAD_NO_LONGER_OPEN;
     }
 
     public static BusinessLogicException bookingAlreadyExists() {
-        return new BusinessLogicException("Booking already exists for this load and transporter");
+        return BOOKING_ALREADY_EXISTS;
     }
 
     public static BusinessLogicException invalidStatusTransition(String from, String to) {
@@ -27,6 +61,6 @@ public class BusinessLogicException extends RuntimeException {
     }
 
     public static BusinessLogicException cannotDeleteAcceptedBooking() {
-        return new BusinessLogicException("Cannot delete an accepted booking");
+        return CANNOT_DELETE_ACCEPTED_BOOKING;
     }
 }
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
@@ -143,6 +144,24 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
         }
 
+        /**
+         * Handle RejectedExecutionException (booking pipeline at capacity)
+         */
+        @ExceptionHandler(RejectedExecutionException.class)
+        public ResponseEntity<ErrorResponse> handleRejectedExecutionException(
+                        RejectedExecutionException ex, WebRequest request) {
+
+                logger.warn("Request rejected: {}", ex.getMessage());
+
+                ErrorResponse errorResponse = new ErrorResponse(
+                                ex.getMessage(),
+                                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                                "SERVICE_UNAVAILABLE",
+                                request.getDescription(false).replace("uri=", ""));
+
+                return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
         /**
          * Handle all other exceptions
          */
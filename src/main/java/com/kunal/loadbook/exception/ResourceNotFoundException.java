@@ -1,9 +1,14 @@
 package com.kunal.loadbook.exception;
 
+/**
+ * A load or booking that does not exist, answered with 404 by
+ * {@link GlobalExceptionHandler}. Expected on lookups by ID, so like
+ * {@link BusinessLogicException} it captures no stack trace unless it wraps a cause.
+ */
 public class ResourceNotFoundException extends RuntimeException {
 
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public ResourceNotFoundException(String message, Throwable cause) {
@@ -0,0 +1,81 @@
+package com.kunal.loadbook.fields;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The response fields a client asked for with {@code fields=}, as dotted paths such as
+ * {@code id,status,facility.loadingDate}. Naming an object ({@code facility}) selects all
+ * of its fields. Without the parameter every field is selected.
+ */
+public final class FieldSelection {
+
+    /** Jackson filter ID carried by response DTOs that support sparse fieldsets */
+    public static final String FILTER_ID = "fields";
+
+    public static final FieldSelection ALL = new FieldSelection(Set.of());
+
+    private final Set<String> paths;
+
+    private FieldSelection(Set<String> paths) {
+        this.paths = paths;
+    }
+
+    /**
+     * Parse a {@code fields} parameter, accepting only the given field paths and the
+     * objects that contain them
+     */
+    public static FieldSelection parse(String fields, Collection<String> allowed) {
+        FieldSelection selection = parse(fields);
+        for (String path : selection.paths) {
+            boolean known = allowed.stream()
+                    .anyMatch(field -> field.equals(path) || field.startsWith(path + "."));
+            if (!known) {
+                throw new IllegalArgumentException("Unknown field: " + path);
+            }
+        }
+        return selection;
+    }
+
+    /**
+     * Parse a {@code fields} parameter without checking the paths
+     */
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> paths = new LinkedHashSet<>();
+        for (String path : fields.split(",")) {
+            if (!path.isBlank()) {
+                paths.add(path.trim());
+            }
+        }
+        return paths.isEmpty() ? ALL : new FieldSelection(paths);
+    }
+
+    public boolean isAll() {
+        return paths.isEmpty();
+    }
+
+    /**
+     * Whether the field at this path is written: it or an enclosing object was selected,
+     * or it is an object containing a selected field
+     */
+    public boolean includes(String path) {
+        if (isAll()) {
+            return true;
+        }
+        for (String selected : paths) {
+            if (selected.equals(path) || path.startsWith(selected + ".") || selected.startsWith(path + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "*" : String.join(",", paths);
+    }
+}
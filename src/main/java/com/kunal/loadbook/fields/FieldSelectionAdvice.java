@@ -0,0 +1,40 @@
+package com.kunal.loadbook.fields;
+
+import com.kunal.loadbook.controller.BookingController;
+import com.kunal.loadbook.controller.LoadController;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Applies the request's {@code fields} parameter to the serialized load and booking
+ * responses (JSON and CBOR). The services have already validated the fields and left
+ * unselected values unread; this drops them from the output.
+ */
+@ControllerAdvice(assignableTypes = { LoadController.class, BookingController.class })
+public class FieldSelectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    static final String FIELDS_PARAMETER = "fields";
+
+    private static final SimpleFilterProvider ALL_FIELDS = filters(FieldSelection.ALL);
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+            MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        String fields = request instanceof ServletServerHttpRequest servletRequest
+                ? servletRequest.getServletRequest().getParameter(FIELDS_PARAMETER)
+                : null;
+        FieldSelection selection = FieldSelection.parse(fields);
+        bodyContainer.setFilters(selection.isAll() ? ALL_FIELDS : filters(selection));
+    }
+
+    private static SimpleFilterProvider filters(FieldSelection selection) {
+        return new SimpleFilterProvider().addFilter(FieldSelection.FILTER_ID, new FieldSelectionFilter(selection));
+    }
+}
@@ -0,0 +1,59 @@
+package com.kunal.loadbook.fields;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+
+/**
+ * Writes only the properties of a {@link FieldSelection}.
+ *
+ * A property's path is built from the output context: the names of the enclosing
+ * filtered objects, skipping arrays, so every element of {@code content} is matched
+ * against top-level paths and a nested {@code facility} against {@code facility.*}.
+ */
+class FieldSelectionFilter extends SimpleBeanPropertyFilter {
+
+    private final FieldSelection selection;
+
+    FieldSelectionFilter(FieldSelection selection) {
+        this.selection = selection;
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer)
+            throws Exception {
+        if (selection.includes(path(gen.getOutputContext(), writer.getName()))) {
+            writer.serializeAsField(pojo, gen, provider);
+        } else if (!gen.canOmitFields()) {
+            writer.serializeAsOmittedField(pojo, gen, provider);
+        }
+    }
+
+    static String path(JsonStreamContext context, String name) {
+        StringBuilder path = new StringBuilder(name);
+        JsonStreamContext parent = context.getParent();
+        while (parent != null) {
+            if (parent.inArray()) {
+                parent = parent.getParent();
+                continue;
+            }
+            if (!parent.inObject() || !isFiltered(parent.getCurrentValue())) {
+                break;
+            }
+            path.insert(0, parent.getCurrentName() + ".");
+            parent = parent.getParent();
+        }
+        return path.toString();
+    }
+
+    private static boolean isFiltered(Object value) {
+        if (value == null) {
+            return false;
+        }
+        JsonFilter filter = value.getClass().getAnnotation(JsonFilter.class);
+        return filter != null && FieldSelection.FILTER_ID.equals(filter.value());
+    }
+}
@@ -0,0 +1,29 @@
+package com.kunal.loadbook.idempotency;
+
+/**
+ * Status, content type and body of a completed request, replayed for retries
+ */
+public final class CachedResponse {
+
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+
+    public CachedResponse(int status, String contentType, byte[] body) {
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+}
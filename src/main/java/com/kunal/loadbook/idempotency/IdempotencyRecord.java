@@ -0,0 +1,45 @@
+package com.kunal.loadbook.idempotency;
+
+/**
+ * What is known about an Idempotency-Key: the request it was first used with and,
+ * once that request has finished, its response
+ */
+public final class IdempotencyRecord {
+
+    private final String fingerprint;
+    private final CachedResponse response;
+    private final long expiresAtMillis;
+
+    private IdempotencyRecord(String fingerprint, CachedResponse response, long expiresAtMillis) {
+        this.fingerprint = fingerprint;
+        this.response = response;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public static IdempotencyRecord inProgress(String fingerprint, long expiresAtMillis) {
+        return new IdempotencyRecord(fingerprint, null, expiresAtMillis);
+    }
+
+    public static IdempotencyRecord completed(String fingerprint, CachedResponse response, long expiresAtMillis) {
+        return new IdempotencyRecord(fingerprint, response, expiresAtMillis);
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * The cached response, or null while the original request is still running
+     */
+    public CachedResponse getResponse() {
+        return response;
+    }
+
+    public boolean isInProgress() {
+        return response == null;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,31 @@
+package com.kunal.loadbook.idempotency;
+
+/**
+ * Storage for Idempotency-Key records. The in-memory store is used unless another
+ * implementation is registered as a bean, e.g. one backed by a shared database or cache
+ * when several instances serve the same clients.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Reserve the key for a new request.
+     *
+     * @return null if the key was free and is now reserved, otherwise the existing record
+     */
+    IdempotencyRecord reserve(String key, String fingerprint);
+
+    /**
+     * Record the response of the request that reserved the key
+     */
+    void complete(String key, String fingerprint, CachedResponse response);
+
+    /**
+     * Free a reserved key so the request can be retried
+     */
+    void release(String key);
+
+    /**
+     * Drop expired records
+     */
+    void purgeExpired();
+}
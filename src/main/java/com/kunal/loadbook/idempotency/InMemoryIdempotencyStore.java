@@ -0,0 +1,67 @@
+package com.kunal.loadbook.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, insertion-ordered store with a fixed TTL per record. When full, the oldest
+ * record is evicted, which with a fixed TTL is also the one closest to expiry.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<String, IdempotencyRecord> records;
+
+    public InMemoryIdempotencyStore(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, Clock.systemUTC());
+    }
+
+    InMemoryIdempotencyStore(Duration ttl, int maxEntries, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Idempotency store size must be positive");
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.records = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized IdempotencyRecord reserve(String key, String fingerprint) {
+        long now = clock.millis();
+        IdempotencyRecord existing = records.get(key);
+        if (existing != null && !existing.isExpired(now)) {
+            return existing;
+        }
+        records.remove(key);
+        records.put(key, IdempotencyRecord.inProgress(fingerprint, now + ttlMillis));
+        return null;
+    }
+
+    @Override
+    public synchronized void complete(String key, String fingerprint, CachedResponse response) {
+        records.put(key, IdempotencyRecord.completed(fingerprint, response, clock.millis() + ttlMillis));
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        records.remove(key);
+    }
+
+    @Override
+    public synchronized void purgeExpired() {
+        long now = clock.millis();
+        records.values().removeIf(record -> record.isExpired(now));
+    }
+
+    public synchronized int size() {
+        return records.size();
+    }
+}
@@ -0,0 +1,173 @@
+package com.kunal.loadbook.index;
+
+import com.kunal.loadbook.cdc.ChangeEvent;
+import com.kunal.loadbook.cdc.ReadModel;
+import com.kunal.loadbook.pool.Bulkhead;
+import com.kunal.loadbook.pool.Workload;
+import com.kunal.loadbook.repository.BookingRepository;
+import com.kunal.loadbook.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node Bloom filter of the (loadId, transporterId) pairs that have a booking.
+ *
+ * {@link #mightContain} returning false means this node has never seen the pair, so
+ * the duplicate check in the database can be skipped. The filter is only a shortcut:
+ * bookings created on other nodes are not in it until change data capture delivers
+ * them (if enabled), nor are ones created while the filter is being rebuilt, and the
+ * unique constraint on bookings (load_id, transporter_id) is what actually rejects
+ * duplicates.
+ *
+ * Bloom filters cannot remove keys, so a deleted booking stays a (harmless) false
+ * positive until the next rebuild.
+ */
+@Component
+public class BookingPairFilter implements ReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingPairFilter.class);
+
+    private static final int WARM_UP_BATCH_SIZE = 5000;
+
+    private final BookingRepository bookingRepository;
+    private final ShardRouter shardRouter;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter pending;
+    private final AtomicLong insertions = new AtomicLong();
+    private final AtomicLong removals = new AtomicLong();
+
+    @Autowired
+    public BookingPairFilter(BookingRepository bookingRepository, ShardRouter shardRouter,
+            @Value("${loadbook.booking-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${loadbook.booking-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.bookingRepository = bookingRepository;
+        this.shardRouter = shardRouter;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * Populate the filter from the bookings table
+     */
+    @Bulkhead(Workload.BACKGROUND)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild once deletions or growth past the sized capacity have made the filter
+     * noticeably less selective
+     */
+    @Bulkhead(Workload.BACKGROUND)
+    @Scheduled(fixedDelayString = "${loadbook.booking-filter.rebuild-check-interval-ms:600000}")
+    public void rebuildIfStale() {
+        if (removals.get() > insertions.get() / 10 || insertions.get() > expectedInsertions) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns false if no booking for the pair has been seen by this node
+     */
+    public boolean mightContain(UUID loadId, String transporterId) {
+        return current.mightContain(hash(loadId, transporterId));
+    }
+
+    /**
+     * Record a newly created booking
+     */
+    public void put(UUID loadId, String transporterId) {
+        long hash = hash(loadId, transporterId);
+        current.put(hash);
+        BloomFilter rebuilding = pending;
+        if (rebuilding != null) {
+            rebuilding.put(hash);
+        }
+        insertions.incrementAndGet();
+    }
+
+    @Override
+    public void apply(ChangeEvent event) {
+        if (!"bookings".equals(event.getTable())) {
+            return;
+        }
+        switch (event.getOperation()) {
+            case INSERT -> put(event.getUuid("load_id"), event.getString("transporter_id"));
+            case DELETE -> recordRemoval();
+            default -> {
+                // Updates never change the pair; truncation is left to the next rebuild
+            }
+        }
+    }
+
+    /**
+     * Record a deleted booking; its pair stays in the filter until the next rebuild
+     */
+    public void recordRemoval() {
+        removals.incrementAndGet();
+    }
+
+    synchronized void rebuild() {
+        logger.info("Building booking pair filter");
+
+        BloomFilter fresh = new BloomFilter(expectedInsertions, falsePositiveRate);
+        pending = fresh;
+        AtomicLong count = new AtomicLong();
+        try {
+            shardRouter.forEachShard(() -> count.addAndGet(loadShard(fresh)));
+
+            current = fresh;
+            insertions.set(count.get());
+            removals.set(0);
+        } finally {
+            pending = null;
+        }
+
+        logger.info("Booking pair filter built with {} bookings ({} bits, {} hashes)",
+                count.get(), fresh.bitCount(), fresh.hashCount());
+    }
+
+    private long loadShard(BloomFilter target) {
+        long count = 0;
+        UUID lastId = new UUID(0L, 0L);
+        List<Object[]> batch;
+        do {
+            batch = bookingRepository.findBookingPairsAfter(lastId, PageRequest.of(0, WARM_UP_BATCH_SIZE));
+            for (Object[] row : batch) {
+                target.put(hash((UUID) row[1], (String) row[2]));
+            }
+            count += batch.size();
+            if (!batch.isEmpty()) {
+                lastId = (UUID) batch.get(batch.size() - 1)[0];
+            }
+        } while (batch.size() == WARM_UP_BATCH_SIZE);
+        return count;
+    }
+
+    static long hash(UUID loadId, String transporterId) {
+        long h = BloomFilter.mix(loadId.getMostSignificantBits())
+                ^ BloomFilter.mix(loadId.getLeastSignificantBits() + 0x9e3779b97f4a7c15L);
+        // FNV-1a over the transporter ID
+        long t = 0xcbf29ce484222325L;
+        for (int i = 0; i < transporterId.length(); i++) {
+            t = (t ^ transporterId.charAt(i)) * 0x100000001b3L;
+        }
+        return BloomFilter.mix(h ^ t);
+    }
+}
@@ -0,0 +1,25 @@
+package com.kunal.loadbook.index;
+
+import java.util.UUID;
+
+/**
+ * A load returned by {@link LoadGeoIndex} with its distance from the query point
+ */
+public class GeoHit {
+
+    private final UUID loadId;
+    private final double distanceKm;
+
+    public GeoHit(UUID loadId, double distanceKm) {
+        this.loadId = loadId;
+        this.distanceKm = distanceKm;
+    }
+
+    public UUID getLoadId() {
+        return loadId;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+}
@@ -0,0 +1,55 @@
+package com.kunal.loadbook.index;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A chain of loads returned by {@link LaneIndex}: each picked up at the previous one's
+ * unloading point after it has been delivered
+ */
+public class Itinerary {
+
+    private final List<UUID> loadIds;
+    private final Duration loaded;
+    private final Duration waiting;
+    private final LocalDateTime finishesAt;
+
+    public Itinerary(List<UUID> loadIds, Duration loaded, Duration waiting, LocalDateTime finishesAt) {
+        this.loadIds = loadIds;
+        this.loaded = loaded;
+        this.waiting = waiting;
+        this.finishesAt = finishesAt;
+    }
+
+    public List<UUID> getLoadIds() {
+        return loadIds;
+    }
+
+    /**
+     * Time spent carrying a load, from each loading date to its unloading date
+     */
+    public Duration getLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Time spent waiting for the next pickup, starting when the truck became free
+     */
+    public Duration getWaiting() {
+        return waiting;
+    }
+
+    public LocalDateTime getFinishesAt() {
+        return finishesAt;
+    }
+
+    /**
+     * Share of the itinerary's time the truck runs loaded, between 0 and 1
+     */
+    public double getUtilization() {
+        long total = loaded.plus(waiting).toSeconds();
+        return total > 0 ? (double) loaded.toSeconds() / total : 0.0;
+    }
+}
@@ -0,0 +1,283 @@
+package com.kunal.loadbook.index;
+
+import com.kunal.loadbook.cdc.ChangeEvent;
+import com.kunal.loadbook.cdc.ReadModel;
+import com.kunal.loadbook.entity.Facility;
+import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.event.LoadChangedEvent;
+import com.kunal.loadbook.pool.Bulkhead;
+import com.kunal.loadbook.pool.Workload;
+import com.kunal.loadbook.repository.LoadRepository;
+import com.kunal.loadbook.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory graph of open lanes for backhaul matching. Every POSTED load is an edge from
+ * its loading point to its unloading point, indexed by loading point and by the time
+ * bucket ({@code loadbook.lane-index.bucket-size}) of its loading date, so "what can be
+ * picked up at X between T1 and T2" only visits that origin's buckets in the window.
+ *
+ * Itineraries are built by following edges whose pickup is at least
+ * {@code loadbook.lane-index.min-turnaround} and at most the caller's maximum wait after
+ * the previous drop-off. Each step only follows the earliest
+ * {@code loadbook.lane-index.max-candidates-per-leg} pickups, which bounds the search.
+ *
+ * Kept current like {@link LoadGeoIndex}: by this instance's load events and, with change
+ * data capture enabled, by the {@code loads} change stream.
+ */
+@Component
+public class LaneIndex implements ReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(LaneIndex.class);
+
+    private static final Comparator<Itinerary> BEST_FIRST = Comparator
+            .comparingDouble(Itinerary::getUtilization).reversed()
+            .thenComparing(itinerary -> -itinerary.getLoadIds().size())
+            .thenComparing(Itinerary::getFinishesAt);
+
+    private final LoadRepository loadRepository;
+    private final ShardRouter shardRouter;
+    private final long bucketSeconds;
+    private final Duration minTurnaround;
+    private final int maxCandidatesPerLeg;
+
+    private final Map<Integer, ConcurrentNavigableMap<Long, Map<UUID, Lane>>> lanesByOrigin = new ConcurrentHashMap<>();
+    private final Map<UUID, Lane> lanes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LaneIndex(LoadRepository loadRepository, ShardRouter shardRouter,
+            @Value("${loadbook.lane-index.bucket-size:6h}") Duration bucketSize,
+            @Value("${loadbook.lane-index.min-turnaround:2h}") Duration minTurnaround,
+            @Value("${loadbook.lane-index.max-candidates-per-leg:20}") int maxCandidatesPerLeg) {
+        this.loadRepository = loadRepository;
+        this.shardRouter = shardRouter;
+        this.bucketSeconds = bucketSize.toSeconds();
+        this.minTurnaround = minTurnaround;
+        this.maxCandidatesPerLeg = maxCandidatesPerLeg;
+    }
+
+    /**
+     * Load all POSTED loads, from every shard
+     */
+    @Bulkhead(Workload.BACKGROUND)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        logger.info("Warming up lane index");
+
+        shardRouter.forEachShard(this::warmUpShard);
+
+        logger.info("Lane index warmed up with {} loads", lanes.size());
+    }
+
+    private void warmUpShard() {
+        UUID lastId = new UUID(0L, 0L);
+        List<Load> batch;
+        do {
+            batch = loadRepository.findTop1000ByStatusAndIdGreaterThanOrderByIdAsc(LoadStatus.POSTED, lastId);
+            batch.forEach(this::upsert);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (!batch.isEmpty());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoadChanged(LoadChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getLoad().getId());
+        } else {
+            upsert(event.getLoad());
+        }
+    }
+
+    @Override
+    public void apply(ChangeEvent event) {
+        if (!"loads".equals(event.getTable())) {
+            return;
+        }
+        switch (event.getOperation()) {
+            case INSERT, UPDATE -> upsert(event.getUuid("id"), LoadStatus.valueOf(event.getString("status")),
+                    event.getBoolean("archived"), event.getInteger("loading_point_id"),
+                    event.getInteger("unloading_point_id"), event.getDateTime("loading_date"),
+                    event.getDateTime("unloading_date"), event.getInteger("truck_type_id"));
+            case DELETE -> remove(event.getUuid("id"));
+            case TRUNCATE -> {
+                lanes.clear();
+                lanesByOrigin.clear();
+            }
+        }
+    }
+
+    /**
+     * Index the load if it is POSTED, otherwise drop it
+     */
+    public void upsert(Load load) {
+        Facility facility = load.getFacility();
+        if (facility == null) {
+            remove(load.getId());
+            return;
+        }
+        upsert(load.getId(), load.getStatus(), load.isArchived(), facility.getLoadingPointId(),
+                facility.getUnloadingPointId(), facility.getLoadingDate(), facility.getUnloadingDate(),
+                load.getTruckTypeId());
+    }
+
+    private void upsert(UUID loadId, LoadStatus status, boolean archived, Integer origin, Integer destination,
+            LocalDateTime loadingDate, LocalDateTime unloadingDate, Integer truckTypeId) {
+        if (status != LoadStatus.POSTED || archived || origin == null || destination == null
+                || loadingDate == null || unloadingDate == null || truckTypeId == null) {
+            remove(loadId);
+            return;
+        }
+
+        Lane lane = new Lane(loadId, origin, destination, loadingDate, unloadingDate, truckTypeId,
+                bucketOf(loadingDate));
+
+        Lane previous = lanes.put(loadId, lane);
+        if (previous != null && (previous.origin != lane.origin || previous.bucket != lane.bucket)) {
+            removeFromBucket(previous);
+        }
+        lanesByOrigin.computeIfAbsent(lane.origin, key -> new ConcurrentSkipListMap<>())
+                .compute(lane.bucket, (key, bucket) -> {
+                    Map<UUID, Lane> target = bucket != null ? bucket : new ConcurrentHashMap<>();
+                    target.put(loadId, lane);
+                    return target;
+                });
+    }
+
+    public void remove(UUID loadId) {
+        Lane previous = lanes.remove(loadId);
+        if (previous != null) {
+            removeFromBucket(previous);
+        }
+    }
+
+    public int size() {
+        return lanes.size();
+    }
+
+    /**
+     * Best itineraries of one to {@code maxLegs} loads for a truck that becomes free at
+     * {@code origin} at {@code availableFrom}, each pickup within {@code maxWait} of the
+     * previous drop-off. Ranked by the share of time spent loaded, then by more legs,
+     * then by earlier finish.
+     */
+    public List<Itinerary> findItineraries(int origin, LocalDateTime availableFrom, Integer truckTypeId,
+            int maxLegs, Duration maxWait, Set<UUID> excluded, int limit) {
+        List<Itinerary> found = new ArrayList<>();
+        extend(new ArrayList<>(), new HashSet<>(excluded), origin, availableFrom, availableFrom, truckTypeId,
+                maxLegs, maxWait, found);
+
+        found.sort(BEST_FIRST);
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    private void extend(List<Lane> path, Set<UUID> used, int origin, LocalDateTime freeAt,
+            LocalDateTime availableFrom, Integer truckTypeId, int maxLegs, Duration maxWait, List<Itinerary> found) {
+        if (path.size() == maxLegs) {
+            return;
+        }
+        for (Lane lane : pickups(origin, freeAt.plus(minTurnaround), freeAt.plus(maxWait), truckTypeId)) {
+            if (!used.add(lane.loadId)) {
+                continue;
+            }
+            path.add(lane);
+            found.add(itinerary(path, availableFrom));
+            extend(path, used, lane.destination, lane.unloadingDate, availableFrom, truckTypeId, maxLegs, maxWait,
+                    found);
+            path.remove(path.size() - 1);
+            used.remove(lane.loadId);
+        }
+    }
+
+    /**
+     * The earliest loads picked up at the origin between the two times
+     */
+    private List<Lane> pickups(int origin, LocalDateTime from, LocalDateTime to, Integer truckTypeId) {
+        ConcurrentNavigableMap<Long, Map<UUID, Lane>> buckets = lanesByOrigin.get(origin);
+        if (buckets == null || to.isBefore(from)) {
+            return List.of();
+        }
+        List<Lane> pickups = new ArrayList<>();
+        for (Map<UUID, Lane> bucket : buckets.subMap(bucketOf(from), true, bucketOf(to), true).values()) {
+            for (Lane lane : bucket.values()) {
+                if ((truckTypeId == null || truckTypeId == lane.truckTypeId)
+                        && !lane.loadingDate.isBefore(from) && !lane.loadingDate.isAfter(to)
+                        && lane.unloadingDate.isAfter(lane.loadingDate)) {
+                    pickups.add(lane);
+                }
+            }
+        }
+        pickups.sort(Comparator.comparing(lane -> lane.loadingDate));
+        return pickups.size() > maxCandidatesPerLeg ? pickups.subList(0, maxCandidatesPerLeg) : pickups;
+    }
+
+    private static Itinerary itinerary(List<Lane> path, LocalDateTime availableFrom) {
+        Duration loaded = Duration.ZERO;
+        for (Lane lane : path) {
+            loaded = loaded.plus(Duration.between(lane.loadingDate, lane.unloadingDate));
+        }
+        LocalDateTime finishesAt = path.get(path.size() - 1).unloadingDate;
+        Duration waiting = Duration.between(availableFrom, finishesAt).minus(loaded);
+        return new Itinerary(path.stream().map(lane -> lane.loadId).toList(), loaded, waiting, finishesAt);
+    }
+
+    private void removeFromBucket(Lane lane) {
+        ConcurrentNavigableMap<Long, Map<UUID, Lane>> buckets = lanesByOrigin.get(lane.origin);
+        if (buckets == null) {
+            return;
+        }
+        buckets.computeIfPresent(lane.bucket, (key, bucket) -> {
+            bucket.remove(lane.loadId, lane);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    private long bucketOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), bucketSeconds);
+    }
+
+    private static final class Lane {
+
+        private final UUID loadId;
+        private final int origin;
+        private final int destination;
+        private final LocalDateTime loadingDate;
+        private final LocalDateTime unloadingDate;
+        private final int truckTypeId;
+        private final long bucket;
+
+        private Lane(UUID loadId, int origin, int destination, LocalDateTime loadingDate,
+                LocalDateTime unloadingDate, int truckTypeId, long bucket) {
+            this.loadId = loadId;
+            this.origin = origin;
+            this.destination = destination;
+            this.loadingDate = loadingDate;
+            this.unloadingDate = unloadingDate;
+            this.truckTypeId = truckTypeId;
+            this.bucket = bucket;
+        }
+    }
+}
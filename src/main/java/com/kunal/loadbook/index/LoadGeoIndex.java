@@ -0,0 +1,254 @@
+package com.kunal.loadbook.index;
+
+import com.kunal.loadbook.cdc.ChangeEvent;
+import com.kunal.loadbook.cdc.ReadModel;
+import com.kunal.loadbook.entity.Facility;
+import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.event.LoadChangedEvent;
+import com.kunal.loadbook.pool.Bulkhead;
+import com.kunal.loadbook.pool.Workload;
+import com.kunal.loadbook.repository.LoadRepository;
+import com.kunal.loadbook.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory grid index of POSTED loads by pickup (loading point) coordinates.
+ *
+ * The globe is cut into square cells of {@code loadbook.geo-index.cell-size-degrees};
+ * a radius query only visits the cells overlapping the query's bounding box and then
+ * filters by exact great-circle distance.
+ *
+ * Kept current by this instance's load events and, with change data capture enabled,
+ * by the {@code loads} change stream, which also covers other instances and direct SQL.
+ */
+@Component
+public class LoadGeoIndex implements ReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGeoIndex.class);
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private final LoadRepository loadRepository;
+    private final ShardRouter shardRouter;
+    private final double cellSizeDegrees;
+    private final int lonCellCount;
+
+    private final Map<Long, Map<UUID, Entry>> cells = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LoadGeoIndex(LoadRepository loadRepository, ShardRouter shardRouter,
+            @Value("${loadbook.geo-index.cell-size-degrees:0.5}") double cellSizeDegrees) {
+        this.loadRepository = loadRepository;
+        this.shardRouter = shardRouter;
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.lonCellCount = (int) Math.ceil(360.0 / cellSizeDegrees);
+    }
+
+    /**
+     * Load all POSTED loads with pickup coordinates, from every shard
+     */
+    @Bulkhead(Workload.BACKGROUND)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        logger.info("Warming up load geo index");
+
+        shardRouter.forEachShard(this::warmUpShard);
+
+        logger.info("Load geo index warmed up with {} loads", entries.size());
+    }
+
+    private void warmUpShard() {
+        UUID lastId = new UUID(0L, 0L);
+        List<Load> batch;
+        do {
+            batch = loadRepository.findTop1000ByStatusAndIdGreaterThanOrderByIdAsc(LoadStatus.POSTED, lastId);
+            batch.forEach(this::upsert);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (!batch.isEmpty());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoadChanged(LoadChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getLoad().getId());
+        } else {
+            upsert(event.getLoad());
+        }
+    }
+
+    @Override
+    public void apply(ChangeEvent event) {
+        if (!"loads".equals(event.getTable())) {
+            return;
+        }
+        switch (event.getOperation()) {
+            case INSERT, UPDATE -> upsert(event.getUuid("id"), LoadStatus.valueOf(event.getString("status")),
+                    event.getBoolean("archived"), event.getDouble("loading_latitude"),
+                    event.getDouble("loading_longitude"), event.getInteger("truck_type_id"));
+            case DELETE -> remove(event.getUuid("id"));
+            case TRUNCATE -> {
+                entries.clear();
+                cells.clear();
+            }
+        }
+    }
+
+    /**
+     * Index the load if it is POSTED with pickup coordinates, otherwise drop it
+     */
+    public void upsert(Load load) {
+        Facility facility = load.getFacility();
+        upsert(load.getId(), load.getStatus(), load.isArchived(),
+                facility != null ? facility.getLoadingLatitude() : null,
+                facility != null ? facility.getLoadingLongitude() : null,
+                load.getTruckTypeId());
+    }
+
+    private void upsert(UUID loadId, LoadStatus status, boolean archived, Double latitude, Double longitude,
+            Integer truckTypeId) {
+        if (status != LoadStatus.POSTED || archived || latitude == null || longitude == null) {
+            remove(loadId);
+            return;
+        }
+
+        Entry entry = new Entry(loadId, latitude, longitude, truckTypeId,
+                cellKey(latCell(latitude), lonCell(longitude)));
+
+        Entry previous = entries.put(entry.loadId, entry);
+        if (previous != null && previous.cellKey != entry.cellKey) {
+            removeFromCell(previous);
+        }
+        cells.compute(entry.cellKey, (key, cell) -> {
+            Map<UUID, Entry> target = cell != null ? cell : new ConcurrentHashMap<>();
+            target.put(entry.loadId, entry);
+            return target;
+        });
+    }
+
+    public void remove(UUID loadId) {
+        Entry previous = entries.remove(loadId);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Find indexed loads within {@code radiusKm} of the point, nearest first
+     */
+    public List<GeoHit> findWithin(double latitude, double longitude, double radiusKm, Integer truckTypeId,
+            int limit) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        int minLatCell = latCell(Math.max(-90.0, latitude - latDelta));
+        int maxLatCell = latCell(Math.min(90.0, latitude + latDelta));
+
+        // Meridians converge, so the longitude span is widest at the band's pole-most edge
+        double poleMostLatitude = Math.min(90.0, Math.abs(latitude) + latDelta);
+        double cosLatitude = Math.cos(Math.toRadians(poleMostLatitude));
+        double lonDelta = cosLatitude > 1e-6 ? radiusKm / (KM_PER_DEGREE * cosLatitude) : 360.0;
+
+        int lonCellsToScan;
+        int firstLonCell;
+        if (lonDelta >= 180.0) {
+            firstLonCell = 0;
+            lonCellsToScan = lonCellCount;
+        } else {
+            firstLonCell = lonCell(longitude - lonDelta);
+            int spanCells = (int) Math.floor((longitude + lonDelta + 180.0) / cellSizeDegrees)
+                    - (int) Math.floor((longitude - lonDelta + 180.0) / cellSizeDegrees) + 1;
+            lonCellsToScan = Math.min(spanCells, lonCellCount);
+        }
+
+        List<GeoHit> hits = new ArrayList<>();
+        for (int latIndex = minLatCell; latIndex <= maxLatCell; latIndex++) {
+            for (int offset = 0; offset < lonCellsToScan; offset++) {
+                Map<UUID, Entry> cell = cells.get(cellKey(latIndex, (firstLonCell + offset) % lonCellCount));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry entry : cell.values()) {
+                    if (truckTypeId != null && truckTypeId != entry.truckTypeId) {
+                        continue;
+                    }
+                    double distance = distanceKm(latitude, longitude, entry.latitude, entry.longitude);
+                    if (distance <= radiusKm) {
+                        hits.add(new GeoHit(entry.loadId, distance));
+                    }
+                }
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(GeoHit::getDistanceKm));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Great-circle (haversine) distance between two points
+     */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void removeFromCell(Entry entry) {
+        cells.computeIfPresent(entry.cellKey, (key, cell) -> {
+            cell.remove(entry.loadId, entry);
+            return cell.isEmpty() ? null : cell;
+        });
+    }
+
+    private int latCell(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / cellSizeDegrees);
+    }
+
+    private int lonCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180.0) / cellSizeDegrees), lonCellCount);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | lonCell;
+    }
+
+    private static final class Entry {
+
+        private final UUID loadId;
+        private final double latitude;
+        private final double longitude;
+        private final int truckTypeId;
+        private final long cellKey;
+
+        private Entry(UUID loadId, double latitude, double longitude, int truckTypeId, long cellKey) {
+            this.loadId = loadId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.truckTypeId = truckTypeId;
+            this.cellKey = cellKey;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.kunal.loadbook.index;
+
+import com.kunal.loadbook.entity.ReferenceValue;
+import com.kunal.loadbook.enums.ReferenceKind;
+import com.kunal.loadbook.pool.Bulkhead;
+import com.kunal.loadbook.pool.Workload;
+import com.kunal.loadbook.repository.ReferenceValueRepository;
+import com.kunal.loadbook.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory bidirectional dictionary over {@link ReferenceValue}.
+ *
+ * Loaded in full at startup. Because entries are append-only, a cached mapping is
+ * never stale; values added by other instances are picked up on the first miss.
+ * Returned strings are the cached instances, so every response shares one copy.
+ *
+ * With sharding, shard 0 assigns the IDs and every entry is copied to the other shards
+ * under the same ID, so loads on any shard resolve (and can be searched) locally.
+ */
+@Component
+public class ReferenceDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDictionary.class);
+
+    private static final String REPLICATE_SQL =
+            "INSERT INTO reference_values (id, kind, label) VALUES (?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private final ReferenceValueRepository referenceValueRepository;
+    private final ShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    private final Map<ReferenceKind, Map<String, Integer>> idsByValue = new EnumMap<>(ReferenceKind.class);
+    private final Map<ReferenceKind, Map<Integer, String>> valuesById = new EnumMap<>(ReferenceKind.class);
+
+    @Autowired
+    public ReferenceDictionary(ReferenceValueRepository referenceValueRepository, ShardRouter shardRouter,
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.referenceValueRepository = referenceValueRepository;
+        this.shardRouter = shardRouter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (ReferenceKind kind : ReferenceKind.values()) {
+            idsByValue.put(kind, new ConcurrentHashMap<>());
+            valuesById.put(kind, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Load every dictionary entry
+     */
+    @Bulkhead(Workload.BACKGROUND)
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        List<ReferenceValue> entries = shardRouter.onShard(0, referenceValueRepository::findAll);
+        entries.forEach(this::cache);
+        if (shardRouter.isSharded()) {
+            // Shards added since the last start catch up here
+            entries.forEach(this::replicate);
+        }
+        logger.info("Reference dictionary loaded - truck types: {}, product types: {}, locations: {}",
+                valuesById.get(ReferenceKind.TRUCK_TYPE).size(),
+                valuesById.get(ReferenceKind.PRODUCT_TYPE).size(),
+                valuesById.get(ReferenceKind.LOCATION).size());
+    }
+
+    /**
+     * Get the ID for a value, creating the dictionary entry if it does not exist yet.
+     *
+     * A new entry is written in its own transaction on shard 0, so callers that may pass
+     * new values should do so before opening a transaction (see
+     * {@code LoadMapper#resolveReferences}); inside one, each connection of the outer
+     * transaction would wait on a second from the same pool.
+     */
+    public int idFor(ReferenceKind kind, String value) {
+        Integer id = idsByValue.get(kind).get(value);
+        if (id != null) {
+            return id;
+        }
+
+        ReferenceValue entry = shardRouter.onShard(0, () -> findOrCreate(kind, value));
+        if (shardRouter.isSharded()) {
+            replicate(entry);
+        }
+        return cache(entry);
+    }
+
+    private ReferenceValue findOrCreate(ReferenceKind kind, String value) {
+        try {
+            // Own transaction, so the entry survives a rollback of the caller
+            return newTransaction.execute(status -> referenceValueRepository.findByKindAndLabel(kind, value)
+                    .orElseGet(() -> referenceValueRepository.saveAndFlush(new ReferenceValue(kind, value))));
+        } catch (DataIntegrityViolationException e) {
+            // Another thread or instance inserted the same value concurrently
+            return newTransaction.execute(status -> referenceValueRepository.findByKindAndLabel(kind, value)
+                    .orElseThrow(() -> e));
+        }
+    }
+
+    /**
+     * Copy an entry to every shard but 0, each in its own transaction so the insert goes
+     * to that shard's connection rather than the caller's
+     */
+    private void replicate(ReferenceValue entry) {
+        for (int shard = 1; shard < shardRouter.shardCount(); shard++) {
+            shardRouter.onShard(shard, () -> newTransaction.execute(status -> jdbcTemplate.update(REPLICATE_SQL,
+                    entry.getId(), entry.getKind().name(), entry.getLabel())));
+        }
+    }
+
+    /**
+     * Get the ID for an existing value, or null if the value has never been stored
+     */
+    public Integer findId(ReferenceKind kind, String value) {
+        if (value == null) {
+            return null;
+        }
+        Integer id = idsByValue.get(kind).get(value);
+        if (id != null) {
+            return id;
+        }
+        return referenceValueRepository.findByKindAndLabel(kind, value)
+                .map(this::cache)
+                .orElse(null);
+    }
+
+    /**
+     * Resolve an ID back to its value
+     */
+    public String valueOf(ReferenceKind kind, Integer id) {
+        if (id == null) {
+            return null;
+        }
+        String value = valuesById.get(kind).get(id);
+        if (value != null) {
+            return value;
+        }
+
+        ReferenceValue entry = referenceValueRepository.findById(id)
+                .filter(candidate -> candidate.getKind() == kind)
+                .orElseThrow(() -> new IllegalStateException("Unknown " + kind + " reference ID: " + id));
+        cache(entry);
+        return valuesById.get(kind).get(id);
+    }
+
+    private int cache(ReferenceValue entry) {
+        // putIfAbsent keeps the first String instance as the canonical copy
+        valuesById.get(entry.getKind()).putIfAbsent(entry.getId(), entry.getLabel());
+        idsByValue.get(entry.getKind()).putIfAbsent(entry.getLabel(), entry.getId());
+        return entry.getId();
+    }
+}
@@ -0,0 +1,82 @@
+package com.kunal.loadbook.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.kunal.loadbook.dto.booking.BookingResponse;
+import com.kunal.loadbook.entity.Booking;
+import com.kunal.loadbook.enums.BookingStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link Booking} straight to JSON, with the same fields, order and values as
+ * {@link BookingMapper#toResponse(Booking)} serialized by Jackson, but without a
+ * {@link BookingResponse} per row. The load ID is read from the uninitialized load
+ * reference, so the load is not fetched.
+ */
+@Component
+public class BookingJsonWriter implements RowWriter<Booking> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString LOAD_ID = new SerializedString("loadId");
+    private static final SerializedString TRANSPORTER_ID = new SerializedString("transporterId");
+    private static final SerializedString PROPOSED_RATE = new SerializedString("proposedRate");
+    private static final SerializedString COMMENT = new SerializedString("comment");
+    private static final SerializedString TRUCK_COUNT = new SerializedString("truckCount");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString REQUESTED_AT = new SerializedString("requestedAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+
+    /** Status values by ordinal */
+    private static final SerializedString[] STATUSES;
+
+    static {
+        BookingStatus[] statuses = BookingStatus.values();
+        STATUSES = new SerializedString[statuses.length];
+        for (BookingStatus status : statuses) {
+            STATUSES[status.ordinal()] = new SerializedString(status.name());
+        }
+    }
+
+    private final BookingMapper bookingMapper;
+
+    @Autowired
+    public BookingJsonWriter(BookingMapper bookingMapper) {
+        this.bookingMapper = bookingMapper;
+    }
+
+    @Override
+    public void write(JsonGenerator gen, Booking booking, JsonScalarWriter scalars) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(ID);
+        scalars.writeUuid(gen, booking.getId());
+        gen.writeFieldName(LOAD_ID);
+        scalars.writeUuid(gen, booking.getLoad() != null ? booking.getLoad().getId() : null);
+        gen.writeFieldName(TRANSPORTER_ID);
+        JsonScalarWriter.writeString(gen, booking.getTransporterId());
+        gen.writeFieldName(PROPOSED_RATE);
+        JsonScalarWriter.writeNumber(gen, booking.getProposedRate());
+        gen.writeFieldName(COMMENT);
+        JsonScalarWriter.writeString(gen, booking.getComment());
+        gen.writeFieldName(TRUCK_COUNT);
+        gen.writeNumber(booking.getTruckCount());
+        gen.writeFieldName(STATUS);
+        if (booking.getStatus() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(STATUSES[booking.getStatus().ordinal()]);
+        }
+        gen.writeFieldName(REQUESTED_AT);
+        scalars.writeDateTime(gen, booking.getRequestedAt());
+        gen.writeFieldName(UPDATED_AT);
+        scalars.writeDateTime(gen, booking.getUpdatedAt());
+        gen.writeEndObject();
+    }
+
+    @Override
+    public BookingResponse toResponse(Booking booking) {
+        return bookingMapper.toResponse(booking);
+    }
+}
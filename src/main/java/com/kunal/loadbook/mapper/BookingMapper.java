@@ -4,11 +4,39 @@ import com.kunal.loadbook.dto.booking.BookingResponse;
 import com.kunal.loadbook.dto.booking.CreateBookingRequest;
 import com.kunal.loadbook.dto.booking.UpdateBookingRequest;
 import com.kunal.loadbook.entity.Booking;
+import com.kunal.loadbook.enums.BookingStatus;
+import com.kunal.loadbook.fields.FieldSelection;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
 @Component
 public class BookingMapper {
 
+    /** Response field (as used by {@code fields=}) to the Booking attribute it is read from */
+    private static final Map<String, String> ATTRIBUTES = new LinkedHashMap<>();
+
+    static {
+        ATTRIBUTES.put("id", "id");
+        ATTRIBUTES.put("loadId", "load.id");
+        ATTRIBUTES.put("transporterId", "transporterId");
+        ATTRIBUTES.put("proposedRate", "proposedRate");
+        ATTRIBUTES.put("comment", "comment");
+        ATTRIBUTES.put("truckCount", "truckCount");
+        ATTRIBUTES.put("status", "status");
+        ATTRIBUTES.put("requestedAt", "requestedAt");
+        ATTRIBUTES.put("updatedAt", "updatedAt");
+    }
+
+    /** Fields a booking response can be narrowed to */
+    public static final Set<String> FIELDS = Set.copyOf(ATTRIBUTES.keySet());
+
     /**
      * Convert CreateBookingRequest to Booking entity
      */
@@ -21,6 +49,9 @@ public class BookingMapper {
         booking.setTransporterId(request.getTransporterId());
         booking.setProposedRate(request.getProposedRate());
         booking.setComment(request.getComment());
+        if (request.getTruckCount() != null) {
+            booking.setTruckCount(request.getTruckCount());
+        }
 
         return booking;
     }
@@ -39,6 +70,7 @@ public class BookingMapper {
         response.setTransporterId(booking.getTransporterId());
         response.setProposedRate(booking.getProposedRate());
         response.setComment(booking.getComment());
+        response.setTruckCount(booking.getTruckCount());
         response.setStatus(booking.getStatus());
         response.setRequestedAt(booking.getRequestedAt());
         response.setUpdatedAt(booking.getUpdatedAt());
@@ -46,6 +78,51 @@ public class BookingMapper {
         return response;
     }
 
+    /**
+     * Fields to read for a selection, in row order. The ID and request time are always
+     * read, since cross-shard listings merge by request time.
+     */
+    public static List<String> selectedFields(FieldSelection selection) {
+        List<String> fields = new ArrayList<>(List.of("id", "requestedAt"));
+        for (String field : ATTRIBUTES.keySet()) {
+            if (!fields.contains(field) && selection.includes(field)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Booking attributes holding the given fields, in the same order
+     */
+    public static List<String> attributes(List<String> fields) {
+        return fields.stream().map(ATTRIBUTES::get).toList();
+    }
+
+    /**
+     * Convert a projected row (see {@link #selectedFields}) to a BookingResponse with only
+     * those fields set
+     */
+    public BookingResponse toResponse(Object[] row, List<String> fields) {
+        BookingResponse response = new BookingResponse();
+        for (int i = 0; i < fields.size(); i++) {
+            Object value = row[i];
+            switch (fields.get(i)) {
+                case "id" -> response.setId((UUID) value);
+                case "loadId" -> response.setLoadId((UUID) value);
+                case "transporterId" -> response.setTransporterId((String) value);
+                case "proposedRate" -> response.setProposedRate((Double) value);
+                case "comment" -> response.setComment((String) value);
+                case "truckCount" -> response.setTruckCount((Integer) value);
+                case "status" -> response.setStatus((BookingStatus) value);
+                case "requestedAt" -> response.setRequestedAt((LocalDateTime) value);
+                case "updatedAt" -> response.setUpdatedAt((LocalDateTime) value);
+                default -> throw new IllegalArgumentException("Unknown field: " + fields.get(i));
+            }
+        }
+        return response;
+    }
+
     /**
      * Update Booking entity from UpdateBookingRequest
      */
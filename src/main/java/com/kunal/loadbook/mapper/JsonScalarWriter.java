@@ -0,0 +1,118 @@
+package com.kunal.loadbook.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Writes the scalar values of streamed rows exactly as Jackson's JSON mapper would, but
+ * formats UUIDs and ISO date-times into a reused buffer instead of a String per value.
+ * Not thread-safe: one instance per serialized response.
+ */
+public final class JsonScalarWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** Longest fast-path value: a UUID (36) or yyyy-MM-ddTHH:mm:ss.nnnnnnnnn (29) */
+    private final char[] buffer = new char[36];
+
+    public void writeUuid(JsonGenerator gen, UUID value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        long msb = value.getMostSignificantBits();
+        long lsb = value.getLeastSignificantBits();
+        hex(msb >>> 32, 8, 0);
+        buffer[8] = '-';
+        hex(msb >>> 16, 4, 9);
+        buffer[13] = '-';
+        hex(msb, 4, 14);
+        buffer[18] = '-';
+        hex(lsb >>> 48, 4, 19);
+        buffer[23] = '-';
+        hex(lsb, 12, 24);
+        gen.writeString(buffer, 0, 36);
+    }
+
+    /**
+     * Same text as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}: seconds always written,
+     * the fraction only when non-zero and without trailing zeros
+     */
+    public void writeDateTime(JsonGenerator gen, LocalDateTime value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed and five-digit years are rare enough for the formatter
+            gen.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+        digits(year, 4, 0);
+        buffer[4] = '-';
+        digits(value.getMonthValue(), 2, 5);
+        buffer[7] = '-';
+        digits(value.getDayOfMonth(), 2, 8);
+        buffer[10] = 'T';
+        digits(value.getHour(), 2, 11);
+        buffer[13] = ':';
+        digits(value.getMinute(), 2, 14);
+        buffer[16] = ':';
+        digits(value.getSecond(), 2, 17);
+
+        int length = 19;
+        int nano = value.getNano();
+        if (nano > 0) {
+            buffer[19] = '.';
+            digits(nano, 9, 20);
+            length = 29;
+            while (buffer[length - 1] == '0') {
+                length--;
+            }
+        }
+        gen.writeString(buffer, 0, length);
+    }
+
+    public static void writeString(JsonGenerator gen, String value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    public static void writeNumber(JsonGenerator gen, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    public static void writeNumber(JsonGenerator gen, Double value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.doubleValue());
+        }
+    }
+
+    private void digits(int value, int width, int offset) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private void hex(long value, int width, int offset) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.kunal.loadbook.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.kunal.loadbook.dto.load.LoadResponse;
+import com.kunal.loadbook.entity.Facility;
+import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.enums.ReferenceKind;
+import com.kunal.loadbook.index.ReferenceDictionary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link Load} straight to JSON, with the same fields, order and values as
+ * {@link LoadMapper#toResponse(Load)} serialized by Jackson, but without a
+ * {@link LoadResponse} and facility DTO per row. Field names are encoded once.
+ */
+@Component
+public class LoadJsonWriter implements RowWriter<Load> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString SHIPPER_ID = new SerializedString("shipperId");
+    private static final SerializedString FACILITY = new SerializedString("facility");
+    private static final SerializedString LOADING_POINT = new SerializedString("loadingPoint");
+    private static final SerializedString UNLOADING_POINT = new SerializedString("unloadingPoint");
+    private static final SerializedString LOADING_DATE = new SerializedString("loadingDate");
+    private static final SerializedString UNLOADING_DATE = new SerializedString("unloadingDate");
+    private static final SerializedString LOADING_LATITUDE = new SerializedString("loadingLatitude");
+    private static final SerializedString LOADING_LONGITUDE = new SerializedString("loadingLongitude");
+    private static final SerializedString UNLOADING_LATITUDE = new SerializedString("unloadingLatitude");
+    private static final SerializedString UNLOADING_LONGITUDE = new SerializedString("unloadingLongitude");
+    private static final SerializedString PRODUCT_TYPE = new SerializedString("productType");
+    private static final SerializedString TRUCK_TYPE = new SerializedString("truckType");
+    private static final SerializedString NO_OF_TRUCKS = new SerializedString("noOfTrucks");
+    private static final SerializedString REMAINING_TRUCKS = new SerializedString("remainingTrucks");
+    private static final SerializedString WEIGHT = new SerializedString("weight");
+    private static final SerializedString COMMENT = new SerializedString("comment");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString DATE_POSTED = new SerializedString("datePosted");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializedString PENDING_BOOKING_COUNT = new SerializedString("pendingBookingCount");
+    private static final SerializedString ACCEPTED_BOOKING_ID = new SerializedString("acceptedBookingId");
+    private static final SerializedString BEST_PENDING_RATE = new SerializedString("bestPendingRate");
+    private static final SerializedString LAST_BID_AT = new SerializedString("lastBidAt");
+
+    /** Status values by ordinal */
+    private static final SerializedString[] STATUSES;
+
+    static {
+        LoadStatus[] statuses = LoadStatus.values();
+        STATUSES = new SerializedString[statuses.length];
+        for (LoadStatus status : statuses) {
+            STATUSES[status.ordinal()] = new SerializedString(status.name());
+        }
+    }
+
+    private final ReferenceDictionary referenceDictionary;
+    private final LoadMapper loadMapper;
+
+    @Autowired
+    public LoadJsonWriter(ReferenceDictionary referenceDictionary, LoadMapper loadMapper) {
+        this.referenceDictionary = referenceDictionary;
+        this.loadMapper = loadMapper;
+    }
+
+    @Override
+    public void write(JsonGenerator gen, Load load, JsonScalarWriter scalars) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(ID);
+        scalars.writeUuid(gen, load.getId());
+        gen.writeFieldName(SHIPPER_ID);
+        JsonScalarWriter.writeString(gen, load.getShipperId());
+        gen.writeFieldName(FACILITY);
+        writeFacility(gen, load.getFacility(), scalars);
+        gen.writeFieldName(PRODUCT_TYPE);
+        JsonScalarWriter.writeString(gen,
+                referenceDictionary.valueOf(ReferenceKind.PRODUCT_TYPE, load.getProductTypeId()));
+        gen.writeFieldName(TRUCK_TYPE);
+        JsonScalarWriter.writeString(gen, referenceDictionary.valueOf(ReferenceKind.TRUCK_TYPE, load.getTruckTypeId()));
+        gen.writeFieldName(NO_OF_TRUCKS);
+        JsonScalarWriter.writeNumber(gen, load.getNoOfTrucks());
+        gen.writeFieldName(REMAINING_TRUCKS);
+        JsonScalarWriter.writeNumber(gen, load.getRemainingTrucks());
+        gen.writeFieldName(WEIGHT);
+        JsonScalarWriter.writeNumber(gen, load.getWeight());
+        gen.writeFieldName(COMMENT);
+        JsonScalarWriter.writeString(gen, load.getComment());
+        gen.writeFieldName(STATUS);
+        if (load.getStatus() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(STATUSES[load.getStatus().ordinal()]);
+        }
+        gen.writeFieldName(DATE_POSTED);
+        scalars.writeDateTime(gen, load.getDatePosted());
+        gen.writeFieldName(UPDATED_AT);
+        scalars.writeDateTime(gen, load.getUpdatedAt());
+        gen.writeFieldName(PENDING_BOOKING_COUNT);
+        gen.writeNumber(load.getPendingBookingCount());
+        gen.writeFieldName(ACCEPTED_BOOKING_ID);
+        scalars.writeUuid(gen, load.getAcceptedBookingId());
+        gen.writeFieldName(BEST_PENDING_RATE);
+        JsonScalarWriter.writeNumber(gen, load.getBestPendingRate());
+        gen.writeFieldName(LAST_BID_AT);
+        scalars.writeDateTime(gen, load.getLastBidAt());
+        gen.writeEndObject();
+    }
+
+    private void writeFacility(JsonGenerator gen, Facility facility, JsonScalarWriter scalars) throws IOException {
+        if (facility == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(LOADING_POINT);
+        JsonScalarWriter.writeString(gen,
+                referenceDictionary.valueOf(ReferenceKind.LOCATION, facility.getLoadingPointId()));
+        gen.writeFieldName(UNLOADING_POINT);
+        JsonScalarWriter.writeString(gen,
+                referenceDictionary.valueOf(ReferenceKind.LOCATION, facility.getUnloadingPointId()));
+        gen.writeFieldName(LOADING_DATE);
+        scalars.writeDateTime(gen, facility.getLoadingDate());
+        gen.writeFieldName(UNLOADING_DATE);
+        scalars.writeDateTime(gen, facility.getUnloadingDate());
+        gen.writeFieldName(LOADING_LATITUDE);
+        JsonScalarWriter.writeNumber(gen, facility.getLoadingLatitude());
+        gen.writeFieldName(LOADING_LONGITUDE);
+        JsonScalarWriter.writeNumber(gen, facility.getLoadingLongitude());
+        gen.writeFieldName(UNLOADING_LATITUDE);
+        JsonScalarWriter.writeNumber(gen, facility.getUnloadingLatitude());
+        gen.writeFieldName(UNLOADING_LONGITUDE);
+        JsonScalarWriter.writeNumber(gen, facility.getUnloadingLongitude());
+        gen.writeEndObject();
+    }
+
+    @Override
+    public LoadResponse toResponse(Load load) {
+        return loadMapper.toResponse(load);
+    }
+}
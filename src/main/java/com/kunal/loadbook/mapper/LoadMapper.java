@@ -6,11 +6,71 @@ import com.kunal.loadbook.dto.load.LoadResponse;
 import com.kunal.loadbook.dto.load.UpdateLoadRequest;
 import com.kunal.loadbook.entity.Facility;
 import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.enums.ReferenceKind;
+import com.kunal.loadbook.fields.FieldSelection;
+import com.kunal.loadbook.index.ReferenceDictionary;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
 @Component
 public class LoadMapper {
 
+    /** Response field (as used by {@code fields=}) to the Load attribute it is read from */
+    private static final Map<String, String> ATTRIBUTES = new LinkedHashMap<>();
+
+    static {
+        ATTRIBUTES.put("id", "id");
+        ATTRIBUTES.put("shipperId", "shipperId");
+        ATTRIBUTES.put("facility.loadingPoint", "facility.loadingPointId");
+        ATTRIBUTES.put("facility.unloadingPoint", "facility.unloadingPointId");
+        ATTRIBUTES.put("facility.loadingDate", "facility.loadingDate");
+        ATTRIBUTES.put("facility.unloadingDate", "facility.unloadingDate");
+        ATTRIBUTES.put("facility.loadingLatitude", "facility.loadingLatitude");
+        ATTRIBUTES.put("facility.loadingLongitude", "facility.loadingLongitude");
+        ATTRIBUTES.put("facility.unloadingLatitude", "facility.unloadingLatitude");
+        ATTRIBUTES.put("facility.unloadingLongitude", "facility.unloadingLongitude");
+        ATTRIBUTES.put("productType", "productTypeId");
+        ATTRIBUTES.put("truckType", "truckTypeId");
+        ATTRIBUTES.put("noOfTrucks", "noOfTrucks");
+        ATTRIBUTES.put("remainingTrucks", "remainingTrucks");
+        ATTRIBUTES.put("weight", "weight");
+        ATTRIBUTES.put("comment", "comment");
+        ATTRIBUTES.put("status", "status");
+        ATTRIBUTES.put("datePosted", "datePosted");
+        ATTRIBUTES.put("updatedAt", "updatedAt");
+        ATTRIBUTES.put("pendingBookingCount", "pendingBookingCount");
+        ATTRIBUTES.put("acceptedBookingId", "acceptedBookingId");
+        ATTRIBUTES.put("bestPendingRate", "bestPendingRate");
+        ATTRIBUTES.put("lastBidAt", "lastBidAt");
+    }
+
+    /** Fields a load response can be narrowed to; {@code bookings} is only filled with include=bookings */
+    public static final Set<String> FIELDS;
+
+    static {
+        Set<String> fields = new LinkedHashSet<>(ATTRIBUTES.keySet());
+        fields.add("bookings");
+        FIELDS = Collections.unmodifiableSet(fields);
+    }
+
+    private final ReferenceDictionary referenceDictionary;
+
+    @Autowired
+    public LoadMapper(ReferenceDictionary referenceDictionary) {
+        this.referenceDictionary = referenceDictionary;
+    }
+
     /**
      * Convert CreateLoadRequest to Load entity
      */
@@ -22,9 +82,10 @@ public class LoadMapper {
         Load load = new Load();
         load.setShipperId(request.getShipperId());
         load.setFacility(toFacilityEntity(request.getFacility()));
-        load.setProductType(request.getProductType());
-        load.setTruckType(request.getTruckType());
+        load.setProductTypeId(referenceDictionary.idFor(ReferenceKind.PRODUCT_TYPE, request.getProductType()));
+        load.setTruckTypeId(referenceDictionary.idFor(ReferenceKind.TRUCK_TYPE, request.getTruckType()));
         load.setNoOfTrucks(request.getNoOfTrucks());
+        load.setRemainingTrucks(request.getNoOfTrucks());
         load.setWeight(request.getWeight());
         load.setComment(request.getComment());
 
@@ -43,18 +104,122 @@ public class LoadMapper {
         response.setId(load.getId());
         response.setShipperId(load.getShipperId());
         response.setFacility(toFacilityDto(load.getFacility()));
-        response.setProductType(load.getProductType());
-        response.setTruckType(load.getTruckType());
+        response.setProductType(referenceDictionary.valueOf(ReferenceKind.PRODUCT_TYPE, load.getProductTypeId()));
+        response.setTruckType(referenceDictionary.valueOf(ReferenceKind.TRUCK_TYPE, load.getTruckTypeId()));
         response.setNoOfTrucks(load.getNoOfTrucks());
+        response.setRemainingTrucks(load.getRemainingTrucks());
         response.setWeight(load.getWeight());
         response.setComment(load.getComment());
         response.setStatus(load.getStatus());
         response.setDatePosted(load.getDatePosted());
         response.setUpdatedAt(load.getUpdatedAt());
+        response.setPendingBookingCount(load.getPendingBookingCount());
+        response.setAcceptedBookingId(load.getAcceptedBookingId());
+        response.setBestPendingRate(load.getBestPendingRate());
+        response.setLastBidAt(load.getLastBidAt());
+
+        return response;
+    }
+
+    /**
+     * Fields to read for a selection, in row order. The ID and posting date are always
+     * read, since listings embed bookings by ID and merge shards by date.
+     */
+    public static List<String> selectedFields(FieldSelection selection) {
+        List<String> fields = new ArrayList<>(List.of("id", "datePosted"));
+        for (String field : ATTRIBUTES.keySet()) {
+            if (!fields.contains(field) && selection.includes(field)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Load attributes holding the given fields, in the same order
+     */
+    public static List<String> attributes(List<String> fields) {
+        return fields.stream().map(ATTRIBUTES::get).toList();
+    }
 
+    /**
+     * Convert a projected row (see {@link #selectedFields}) to a LoadResponse with only
+     * those fields set
+     */
+    public LoadResponse toResponse(Object[] row, List<String> fields) {
+        LoadResponse response = new LoadResponse();
+        for (int i = 0; i < fields.size(); i++) {
+            Object value = row[i];
+            switch (fields.get(i)) {
+                case "id" -> response.setId((UUID) value);
+                case "shipperId" -> response.setShipperId((String) value);
+                case "facility.loadingPoint" -> facilityOf(response).setLoadingPoint(
+                        referenceDictionary.valueOf(ReferenceKind.LOCATION, (Integer) value));
+                case "facility.unloadingPoint" -> facilityOf(response).setUnloadingPoint(
+                        referenceDictionary.valueOf(ReferenceKind.LOCATION, (Integer) value));
+                case "facility.loadingDate" -> facilityOf(response).setLoadingDate((LocalDateTime) value);
+                case "facility.unloadingDate" -> facilityOf(response).setUnloadingDate((LocalDateTime) value);
+                case "facility.loadingLatitude" -> facilityOf(response).setLoadingLatitude((Double) value);
+                case "facility.loadingLongitude" -> facilityOf(response).setLoadingLongitude((Double) value);
+                case "facility.unloadingLatitude" -> facilityOf(response).setUnloadingLatitude((Double) value);
+                case "facility.unloadingLongitude" -> facilityOf(response).setUnloadingLongitude((Double) value);
+                case "productType" -> response.setProductType(
+                        referenceDictionary.valueOf(ReferenceKind.PRODUCT_TYPE, (Integer) value));
+                case "truckType" -> response.setTruckType(
+                        referenceDictionary.valueOf(ReferenceKind.TRUCK_TYPE, (Integer) value));
+                case "noOfTrucks" -> response.setNoOfTrucks((Integer) value);
+                case "remainingTrucks" -> response.setRemainingTrucks((Integer) value);
+                case "weight" -> response.setWeight((Double) value);
+                case "comment" -> response.setComment((String) value);
+                case "status" -> response.setStatus((LoadStatus) value);
+                case "datePosted" -> response.setDatePosted((LocalDateTime) value);
+                case "updatedAt" -> response.setUpdatedAt((LocalDateTime) value);
+                case "pendingBookingCount" -> response.setPendingBookingCount((Integer) value);
+                case "acceptedBookingId" -> response.setAcceptedBookingId((UUID) value);
+                case "bestPendingRate" -> response.setBestPendingRate((Double) value);
+                case "lastBidAt" -> response.setLastBidAt((LocalDateTime) value);
+                default -> throw new IllegalArgumentException("Unknown field: " + fields.get(i));
+            }
+        }
         return response;
     }
 
+    private static FacilityDto facilityOf(LoadResponse response) {
+        if (response.getFacility() == null) {
+            response.setFacility(new FacilityDto());
+        }
+        return response.getFacility();
+    }
+
+    /**
+     * Create the dictionary entries a request introduces. Call this before opening the
+     * transaction that maps the request: new entries are written in a transaction of their
+     * own, which would otherwise need a second connection while the first is held.
+     */
+    public void resolveReferences(CreateLoadRequest request) {
+        resolveReferences(request.getProductType(), request.getTruckType(), request.getFacility());
+    }
+
+    /**
+     * Same as {@link #resolveReferences(CreateLoadRequest)}, for the fields being updated
+     */
+    public void resolveReferences(UpdateLoadRequest request) {
+        resolveReferences(request.getProductType(), request.getTruckType(), request.getFacility());
+    }
+
+    private void resolveReferences(String productType, String truckType, FacilityDto facilityDto) {
+        if (productType != null) {
+            referenceDictionary.idFor(ReferenceKind.PRODUCT_TYPE, productType);
+        }
+        if (truckType != null) {
+            referenceDictionary.idFor(ReferenceKind.TRUCK_TYPE, truckType);
+        }
+        if (facilityDto != null) {
+            referenceDictionary.idFor(ReferenceKind.LOCATION, facilityDto.getLoadingPoint());
+            referenceDictionary.idFor(ReferenceKind.LOCATION, facilityDto.getUnloadingPoint());
+        }
+    }
+
     /**
      * Update Load entity from UpdateLoadRequest
      */
@@ -68,11 +233,11 @@ public class LoadMapper {
         }
 
         if (request.getProductType() != null) {
-            load.setProductType(request.getProductType());
+            load.setProductTypeId(referenceDictionary.idFor(ReferenceKind.PRODUCT_TYPE, request.getProductType()));
         }
 
         if (request.getTruckType() != null) {
-            load.setTruckType(request.getTruckType());
+            load.setTruckTypeId(referenceDictionary.idFor(ReferenceKind.TRUCK_TYPE, request.getTruckType()));
         }
 
         if (request.getNoOfTrucks() != null) {
@@ -97,10 +262,15 @@ public class LoadMapper {
         }
 
         Facility facility = new Facility();
-        facility.setLoadingPoint(facilityDto.getLoadingPoint());
-        facility.setUnloadingPoint(facilityDto.getUnloadingPoint());
+        facility.setLoadingPointId(referenceDictionary.idFor(ReferenceKind.LOCATION, facilityDto.getLoadingPoint()));
+        facility.setUnloadingPointId(
+                referenceDictionary.idFor(ReferenceKind.LOCATION, facilityDto.getUnloadingPoint()));
         facility.setLoadingDate(facilityDto.getLoadingDate());
         facility.setUnloadingDate(facilityDto.getUnloadingDate());
+        facility.setLoadingLatitude(facilityDto.getLoadingLatitude());
+        facility.setLoadingLongitude(facilityDto.getLoadingLongitude());
+        facility.setUnloadingLatitude(facilityDto.getUnloadingLatitude());
+        facility.setUnloadingLongitude(facilityDto.getUnloadingLongitude());
 
         return facility;
     }
@@ -114,10 +284,15 @@ public class LoadMapper {
         }
 
         FacilityDto facilityDto = new FacilityDto();
-        facilityDto.setLoadingPoint(facility.getLoadingPoint());
-        facilityDto.setUnloadingPoint(facility.getUnloadingPoint());
+        facilityDto.setLoadingPoint(referenceDictionary.valueOf(ReferenceKind.LOCATION, facility.getLoadingPointId()));
+        facilityDto.setUnloadingPoint(
+                referenceDictionary.valueOf(ReferenceKind.LOCATION, facility.getUnloadingPointId()));
         facilityDto.setLoadingDate(facility.getLoadingDate());
         facilityDto.setUnloadingDate(facility.getUnloadingDate());
+        facilityDto.setLoadingLatitude(facility.getLoadingLatitude());
+        facilityDto.setLoadingLongitude(facility.getLoadingLongitude());
+        facilityDto.setUnloadingLatitude(facility.getUnloadingLatitude());
+        facilityDto.setUnloadingLongitude(facility.getUnloadingLongitude());
 
         return facilityDto;
     }
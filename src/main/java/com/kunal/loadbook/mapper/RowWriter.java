@@ -0,0 +1,19 @@
+package com.kunal.loadbook.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Writes one entity as the JSON object its response DTO would serialize to, without
+ * building the DTO
+ */
+public interface RowWriter<E> {
+
+    void write(JsonGenerator gen, E row, JsonScalarWriter scalars) throws IOException;
+
+    /**
+     * The response DTO for the row, for output formats the writer does not handle
+     */
+    Object toResponse(E row);
+}
@@ -0,0 +1,311 @@
+package com.kunal.loadbook.pipeline;
+
+import com.kunal.loadbook.dto.booking.BookingResponse;
+import com.kunal.loadbook.dto.booking.CreateBookingRequest;
+import com.kunal.loadbook.dto.booking.UpdateBookingRequest;
+import com.kunal.loadbook.exception.BusinessLogicException;
+import com.kunal.loadbook.exception.ResourceNotFoundException;
+import com.kunal.loadbook.repository.BookingRepository;
+import com.kunal.loadbook.service.BookingService;
+import com.kunal.loadbook.shard.ShardContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Optional single-writer execution of booking commands.
+ *
+ * When {@code loadbook.booking-pipeline.enabled} is set, every booking write is routed
+ * to one of a fixed set of worker threads by its load ID, so all writes for a load run
+ * one after another on the same thread while different loads proceed in parallel.
+ * Each worker drains up to {@code max-batch} queued commands and runs them in a single
+ * transaction (group commit); callers are only answered once that transaction has
+ * committed. Each command runs in a savepoint of its own: a command refused by a business
+ * rule is rolled back to its savepoint and answered with its error while the rest of the
+ * batch commits. Any other failure rolls the whole batch back and its commands are re-run
+ * one transaction each, so a failing command cannot take others down with it.
+ *
+ * Commands keep the caller's {@link ShardContext}; a batch spanning shards commits once
+ * per shard.
+ *
+ * Callers wait at most {@code loadbook.booking-pipeline.timeout} for a worker to take up
+ * their command, then get the same 503 as for a full queue and the command is dropped,
+ * so a 503 always means nothing was written. Once a worker has taken the command up, the
+ * caller waits for its batch to finish and gets the actual outcome.
+ *
+ * When disabled, commands run directly on the calling thread as before.
+ */
+@Component
+public class BookingPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingPipeline.class);
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate savepointTemplate;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final long timeoutNanos;
+    private final List<BlockingQueue<Command<?>>> queues = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public BookingPipeline(BookingService bookingService, BookingRepository bookingRepository,
+            EntityManager entityManager, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${loadbook.booking-pipeline.enabled:false}") boolean enabled,
+            @Value("${loadbook.booking-pipeline.shards:0}") int shards,
+            @Value("${loadbook.booking-pipeline.queue-capacity:1000}") int queueCapacity,
+            @Value("${loadbook.booking-pipeline.max-batch:32}") int maxBatch,
+            @Value("${loadbook.booking-pipeline.timeout:10s}") Duration timeout) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.savepointTemplate = new TransactionTemplate(transactionManager);
+        this.savepointTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.timeoutNanos = timeout.toNanos();
+        this.batchSizes = DistributionSummary.builder("loadbook.booking-pipeline.batch-size")
+                .description("Booking commands committed per transaction")
+                .register(meterRegistry);
+
+        if (enabled) {
+            int shardCount = shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+            for (int i = 0; i < shardCount; i++) {
+                BlockingQueue<Command<?>> queue = new ArrayBlockingQueue<>(queueCapacity);
+                queues.add(queue);
+                meterRegistry.gauge("loadbook.booking-pipeline.queue-depth",
+                        List.of(Tag.of("shard", String.valueOf(i))),
+                        queue, BlockingQueue::size);
+                Thread worker = Thread.ofPlatform()
+                        .name("booking-pipeline-" + i)
+                        .daemon()
+                        .start(() -> drain(queue));
+                workers.add(worker);
+            }
+            logger.info("Booking pipeline started with {} shards", shardCount);
+        }
+    }
+
+    public BookingResponse createBooking(CreateBookingRequest request) {
+        return submit(request.getLoadId(), () -> bookingService.createBooking(request));
+    }
+
+    public BookingResponse updateBooking(UUID bookingId, UpdateBookingRequest request) {
+        return submit(loadIdOf(bookingId), () -> bookingService.updateBooking(bookingId, request));
+    }
+
+    public BookingResponse acceptBooking(UUID bookingId) {
+        return submit(loadIdOf(bookingId), () -> bookingService.acceptBooking(bookingId));
+    }
+
+    public BookingResponse rejectBooking(UUID bookingId) {
+        return submit(loadIdOf(bookingId), () -> bookingService.rejectBooking(bookingId));
+    }
+
+    public void deleteBooking(UUID bookingId) {
+        submit(loadIdOf(bookingId), () -> {
+            bookingService.deleteBooking(bookingId);
+            return null;
+        });
+    }
+
+    /**
+     * Run the command on the load's worker and wait for its batch to commit
+     */
+    <T> T submit(UUID loadId, Supplier<T> command) {
+        if (!enabled || loadId == null) {
+            return command.get();
+        }
+
+        Command<T> queued = new Command<>(command, ShardContext.current());
+        BlockingQueue<Command<?>> queue = queues.get(Math.floorMod(loadId.hashCode(), queues.size()));
+        if (!running || !queue.offer(queued)) {
+            throw new RejectedExecutionException("Booking pipeline is at capacity, retry later");
+        }
+
+        try {
+            queued.result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Still queued: claiming it keeps the worker from ever starting it. Otherwise
+            // it is running and may commit, so only its outcome is a safe answer.
+            if (queued.claim()) {
+                queued.result.completeExceptionally(
+                        new RejectedExecutionException("Booking pipeline did not answer in time, retry later"));
+                logger.warn("Booking command for load {} not taken up within {} ms", loadId,
+                        TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+            }
+        } catch (ExecutionException e) {
+            // Rethrown below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for booking command", e);
+        }
+
+        try {
+            return queued.result.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Without a known load the command cannot be routed; the service then reports the
+     * missing booking itself
+     */
+    private UUID loadIdOf(UUID bookingId) {
+        return enabled ? bookingRepository.findLoadIdById(bookingId).orElse(null) : null;
+    }
+
+    private void drain(BlockingQueue<Command<?>> queue) {
+        List<Command<?>> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            // Callers that timed out have claimed their command and been answered already
+            batch.removeIf(command -> !command.claim());
+            if (!batch.isEmpty()) {
+                execute(batch);
+            }
+            batch.clear();
+        }
+
+        // Shutting down: fail whatever is still queued
+        queue.drainTo(batch);
+        batch.forEach(command -> command.result.completeExceptionally(
+                new RejectedExecutionException("Booking pipeline is shutting down")));
+    }
+
+    private void execute(List<Command<?>> batch) {
+        Map<Integer, List<Command<?>>> byShard = new LinkedHashMap<>();
+        batch.forEach(command -> byShard.computeIfAbsent(command.shard, shard -> new ArrayList<>()).add(command));
+        byShard.forEach((shard, commands) -> ShardContext.callOn(shard, () -> {
+            executeOnShard(commands);
+            return null;
+        }));
+    }
+
+    private void executeOnShard(List<Command<?>> batch) {
+        batchSizes.record(batch.size());
+        if (batch.size() == 1) {
+            executeAlone(batch.get(0));
+            return;
+        }
+
+        Object[] results = new Object[batch.size()];
+        RuntimeException[] refusals = new RuntimeException[batch.size()];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    Command<?> command = batch.get(i);
+                    try {
+                        results[i] = savepointTemplate.execute(savepoint -> {
+                            Object result = command.command.get();
+                            // Constraint violations belong to this command, not to the commit
+                            savepoint.flush();
+                            return result;
+                        });
+                    } catch (BusinessLogicException | ResourceNotFoundException | IllegalArgumentException e) {
+                        // Rolled back to the savepoint; whatever the command changed in memory
+                        // is dropped too, the other commands' changes are flushed already
+                        entityManager.clear();
+                        refusals[i] = e;
+                    }
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            logger.debug("Group commit of {} booking commands failed, retrying individually", batch.size(), e);
+            batch.forEach(this::executeAlone);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (refusals[i] != null) {
+                batch.get(i).result.completeExceptionally(refusals[i]);
+            } else {
+                batch.get(i).complete(results[i]);
+            }
+        }
+    }
+
+    private void executeAlone(Command<?> command) {
+        try {
+            command.complete(transactionTemplate.execute(status -> command.command.get()));
+        } catch (RuntimeException | Error e) {
+            command.result.completeExceptionally(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    private static final class Command<T> {
+
+        private final Supplier<T> command;
+        private final int shard;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        /** Taken by the worker that runs the command, or by its caller giving up first */
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Command(Supplier<T> command, int shard) {
+            this.command = command;
+            this.shard = shard;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(Object value) {
+            result.complete((T) value);
+        }
+    }
+}
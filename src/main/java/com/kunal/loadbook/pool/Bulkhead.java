@@ -0,0 +1,23 @@
+package com.kunal.loadbook.pool;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a bean method, or every method of a bean, against the connection pool of a
+ * {@link Workload}. A method annotation overrides the class annotation.
+ *
+ * The first annotated method on the call stack picks the pool: by the time a nested
+ * call is made its transaction already holds a connection, and background jobs should
+ * stay in the background pool whatever service methods they call.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+
+    Workload value();
+}
@@ -0,0 +1,52 @@
+package com.kunal.loadbook.pool;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Selects the workload of a {@link Bulkhead} method for the duration of the call, unless
+ * an outer call already selected one. Must be ordered ahead of the transaction advice.
+ */
+public class BulkheadInterceptor implements MethodInterceptor {
+
+    private final Map<MethodClassKey, Optional<Workload>> workloads = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Workload workload = WorkloadContext.current() == null ? workloadOf(invocation) : null;
+        if (workload == null) {
+            return invocation.proceed();
+        }
+
+        WorkloadContext.select(workload);
+        try {
+            return invocation.proceed();
+        } finally {
+            WorkloadContext.clear();
+        }
+    }
+
+    private Workload workloadOf(MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        Method method = invocation.getMethod();
+        return workloads.computeIfAbsent(new MethodClassKey(method, targetClass),
+                key -> Optional.ofNullable(resolve(method, targetClass))).orElse(null);
+    }
+
+    private static Workload resolve(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        Bulkhead bulkhead = AnnotatedElementUtils.findMergedAnnotation(specificMethod, Bulkhead.class);
+        if (bulkhead == null && targetClass != null) {
+            bulkhead = AnnotatedElementUtils.findMergedAnnotation(targetClass, Bulkhead.class);
+        }
+        return bulkhead != null ? bulkhead.value() : null;
+    }
+}
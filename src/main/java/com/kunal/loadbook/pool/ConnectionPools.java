@@ -0,0 +1,97 @@
+package com.kunal.loadbook.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Creates the application's connection pools: one per workload when
+ * {@code loadbook.workload-pools.enabled} is set, otherwise a single pool.
+ *
+ * Every pool reports Hikari's metrics, tagged with the pool name:
+ * {@code hikaricp.connections.acquire} (time spent waiting for a connection),
+ * {@code .pending}, {@code .active}, {@code .timeout} and {@code .usage}; plus
+ * {@code loadbook.db.pool.saturation}, connections in use or waited for per connection
+ * the pool may open, which goes above 1 once callers queue.
+ */
+public class ConnectionPools {
+
+    private final WorkloadPoolProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public ConnectionPools(WorkloadPoolProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Pools for one database; {@code maximumPoolSize} sizes the single pool used when
+     * workload pools are disabled
+     */
+    public DataSource create(String name, String url, String username, String password, String driverClassName,
+            int maximumPoolSize) {
+        if (!properties.isEnabled()) {
+            HikariDataSource pool = pool(name, url, username, password, driverClassName, null);
+            pool.setMaximumPoolSize(maximumPoolSize);
+            return pool;
+        }
+
+        return createPerWorkload(name, url, username, password, driverClassName);
+    }
+
+    /**
+     * One pool per workload for one database, sized by {@code loadbook.workload-pools.*}
+     */
+    public WorkloadRoutingDataSource createPerWorkload(String name, String url, String username, String password,
+            String driverClassName) {
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            String poolName = name + "-" + workload.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            HikariDataSource pool = pool(poolName, url, username, password, driverClassName, workload);
+            WorkloadPoolProperties.Pool sizing = properties.pool(workload);
+            pool.setMaximumPoolSize(sizing.getMaximumPoolSize());
+            pool.setMinimumIdle(sizing.getMinimumIdle());
+            pool.setConnectionTimeout(sizing.getConnectionTimeout().toMillis());
+            pools.put(workload, pool);
+        }
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    private HikariDataSource pool(String name, String url, String username, String password, String driverClassName,
+            Workload workload) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        if (driverClassName != null) {
+            pool.setDriverClassName(driverClassName);
+        }
+        if (meterRegistry != null) {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            Gauge.builder("loadbook.db.pool.saturation", pool, ConnectionPools::saturation)
+                    .description("Connections in use or waited for, per connection the pool may open")
+                    .tag("pool", name)
+                    .tag("workload", workload != null ? workload.name() : "ALL")
+                    .register(meterRegistry);
+        }
+        return pool;
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        // Null until the pool starts, on its first connection request
+        HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+        if (stats == null) {
+            return 0;
+        }
+        return (stats.getActiveConnections() + stats.getThreadsAwaitingConnection())
+                / (double) pool.getMaximumPoolSize();
+    }
+}
@@ -0,0 +1,20 @@
+package com.kunal.loadbook.pool;
+
+/**
+ * Class of database work, each with its own connection pool when
+ * {@code loadbook.workload-pools.enabled} is set
+ */
+public enum Workload {
+
+    /** Request-path writes: posting loads, bidding, accepting bookings */
+    WRITE,
+
+    /** Single-page listings and lookups a user is waiting on */
+    INTERACTIVE_READ,
+
+    /** Large windows and batch lookups: cross-shard scatters, batch-get */
+    BULK,
+
+    /** Scheduled jobs, index warm-ups and the audit writer */
+    BACKGROUND
+}
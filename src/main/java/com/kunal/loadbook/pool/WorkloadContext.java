@@ -0,0 +1,59 @@
+package com.kunal.loadbook.pool;
+
+import java.util.function.Supplier;
+
+/**
+ * The workload the current thread's database work belongs to.
+ *
+ * Read by {@link WorkloadRoutingDataSource} when a transaction opens its connection, so,
+ * like the shard, it has to be set before the transaction starts; {@link Bulkhead}
+ * methods are advised ahead of {@code @Transactional} for that reason.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * The current workload, or null when none is selected
+     */
+    public static Workload current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run the work with the given workload selected, restoring the previous selection
+     * afterwards; null clears the selection
+     */
+    public static <T> T callAs(Workload workload, Supplier<T> work) {
+        Workload previous = CURRENT.get();
+        if (workload == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(workload);
+        }
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Select the workload on a thread that has none selected; for advice, which cannot
+     * pass its invocation as a {@link Supplier}
+     */
+    static void select(Workload workload) {
+        CURRENT.set(workload);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,108 @@
+package com.kunal.loadbook.pool;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * {@code loadbook.workload-pools.*}: the connection pool of each {@link Workload}. With
+ * sharding enabled every shard gets all four pools, sized the same.
+ */
+@ConfigurationProperties(prefix = "loadbook.workload-pools")
+public class WorkloadPoolProperties {
+
+    private boolean enabled;
+    private Pool write = new Pool(8, 8, Duration.ofSeconds(5));
+    private Pool interactiveRead = new Pool(6, 2, Duration.ofSeconds(3));
+    private Pool bulk = new Pool(3, 0, Duration.ofSeconds(10));
+    private Pool background = new Pool(3, 0, Duration.ofSeconds(30));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Pool getWrite() {
+        return write;
+    }
+
+    public void setWrite(Pool write) {
+        this.write = write;
+    }
+
+    public Pool getInteractiveRead() {
+        return interactiveRead;
+    }
+
+    public void setInteractiveRead(Pool interactiveRead) {
+        this.interactiveRead = interactiveRead;
+    }
+
+    public Pool getBulk() {
+        return bulk;
+    }
+
+    public void setBulk(Pool bulk) {
+        this.bulk = bulk;
+    }
+
+    public Pool getBackground() {
+        return background;
+    }
+
+    public void setBackground(Pool background) {
+        this.background = background;
+    }
+
+    public Pool pool(Workload workload) {
+        return switch (workload) {
+            case WRITE -> write;
+            case INTERACTIVE_READ -> interactiveRead;
+            case BULK -> bulk;
+            case BACKGROUND -> background;
+        };
+    }
+
+    public static class Pool {
+
+        private int maximumPoolSize;
+        private int minimumIdle;
+        private Duration connectionTimeout;
+
+        public Pool() {
+        }
+
+        public Pool(int maximumPoolSize, int minimumIdle, Duration connectionTimeout) {
+            this.maximumPoolSize = maximumPoolSize;
+            this.minimumIdle = minimumIdle;
+            this.connectionTimeout = connectionTimeout;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public int getMinimumIdle() {
+            return minimumIdle;
+        }
+
+        public void setMinimumIdle(int minimumIdle) {
+            this.minimumIdle = minimumIdle;
+        }
+
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+    }
+}
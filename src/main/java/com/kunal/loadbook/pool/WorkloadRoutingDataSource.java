@@ -0,0 +1,47 @@
+package com.kunal.loadbook.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Data source that hands out connections from the pool of the workload selected in
+ * {@link WorkloadContext}, or from the {@link Workload#WRITE} pool when none is selected
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<Workload, HikariDataSource> pools;
+
+    public WorkloadRoutingDataSource(Map<Workload, HikariDataSource> pools) {
+        for (Workload workload : Workload.values()) {
+            if (!pools.containsKey(workload)) {
+                throw new IllegalArgumentException("No connection pool for workload " + workload);
+            }
+        }
+        this.pools = new EnumMap<>(pools);
+
+        setTargetDataSources(new HashMap<>(this.pools));
+        setDefaultTargetDataSource(this.pools.get(Workload.WRITE));
+        setLenientFallback(false);
+        // Also used per shard, outside the application context
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Workload workload = WorkloadContext.current();
+        return workload != null ? workload : Workload.WRITE;
+    }
+
+    public HikariDataSource getPool(Workload workload) {
+        return pools.get(workload);
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
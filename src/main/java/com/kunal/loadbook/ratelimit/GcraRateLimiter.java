@@ -0,0 +1,95 @@
+package com.kunal.loadbook.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per key, implemented as GCRA (generic cell rate algorithm).
+ *
+ * Each key holds a single "theoretical arrival time" in an {@link AtomicLong} instead of
+ * a token count plus a refill timestamp, so a bucket is one CAS to update and about
+ * 100 bytes to store. A key whose arrival time has passed has a full bucket, which is
+ * the same as having no entry, so idle keys can be evicted without changing behaviour.
+ *
+ * At most {@code maxKeys} keys are tracked; while the map is full, new keys share one
+ * overflow bucket until {@link #evictIdle} frees space, so a flood of distinct keys costs
+ * bounded memory and only throttles the newcomers.
+ */
+public class GcraRateLimiter {
+
+    static final String OVERFLOW_KEY = "";
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong> arrivalTimes = new ConcurrentHashMap<>();
+
+    public GcraRateLimiter(double ratePerSecond, int burst, int maxKeys) {
+        this(ratePerSecond, burst, maxKeys, System::nanoTime);
+    }
+
+    GcraRateLimiter(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        this(ratePerSecond, burst, Integer.MAX_VALUE, nanoClock);
+    }
+
+    GcraRateLimiter(double ratePerSecond, int burst, int maxKeys, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1");
+        }
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("Max keys must be at least 1");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Take one token for the key.
+     *
+     * @return 0 if the request is admitted, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong arrivalTime = arrivalTimes.get(key);
+        if (arrivalTime == null) {
+            String trackedKey = arrivalTimes.size() < maxKeys ? key : OVERFLOW_KEY;
+            arrivalTime = arrivalTimes.computeIfAbsent(trackedKey, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long current = arrivalTime.get();
+            long arrival = current - now > 0 ? current : now;
+            long waitNanos = arrival - burstToleranceNanos - now;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (arrivalTime.compareAndSet(current, arrival + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drop keys whose bucket has fully refilled.
+     *
+     * A request racing with the eviction may update a removed entry; the worst case is
+     * one extra request admitted for a client that was idle anyway.
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = arrivalTimes.size();
+        arrivalTimes.values().removeIf(arrivalTime -> arrivalTime.get() - now <= 0);
+        return before - arrivalTimes.size();
+    }
+
+    public int size() {
+        return arrivalTimes.size();
+    }
+}
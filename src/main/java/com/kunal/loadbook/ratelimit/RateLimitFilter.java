@@ -0,0 +1,215 @@
+package com.kunal.loadbook.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.loadbook.dto.common.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limiting followed by a global cap on concurrent API requests.
+ *
+ * Clients are identified by remote address. Requests relayed by one of
+ * {@code loadbook.rate-limit.trusted-proxies}, which is expected to authenticate callers,
+ * are identified by {@code X-Api-Key}, then {@code X-Shipper-Id} or
+ * {@code X-Transporter-Id}, then the last {@code X-Forwarded-For} address; from anyone
+ * else these headers are ignored, as a client could send a new value with every request
+ * to get a fresh budget. Each client has separate READ, WRITE
+ * and EXPORT budgets; a client over budget gets 429 with Retry-After. Requests within
+ * budget then wait briefly for one of {@code loadbook.admission.max-concurrent-requests}
+ * slots, so a burst across many clients queues here instead of on the connection pool,
+ * and gets 503 if no slot frees up in time.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    public static final String API_KEY_HEADER = "X-Api-Key";
+    public static final String SHIPPER_ID_HEADER = "X-Shipper-Id";
+    public static final String TRANSPORTER_ID_HEADER = "X-Transporter-Id";
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private static final String THROTTLED_METRIC = "loadbook.requests.throttled";
+
+    private final boolean enabled;
+    private final int exportPageSize;
+    private final Set<String> trustedProxies;
+    private final Map<RequestClass, GcraRateLimiter> limiters = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Counter> throttledCounters = new EnumMap<>(RequestClass.class);
+    private final Counter rejectedByAdmissionCounter;
+    private final Semaphore admissionPermits;
+    private final long admissionTimeoutMillis;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public RateLimitFilter(ObjectProvider<MeterRegistry> meterRegistry, ObjectMapper objectMapper,
+            @Value("${loadbook.rate-limit.enabled:true}") boolean enabled,
+            @Value("${loadbook.rate-limit.read.rate-per-second:20}") double readRate,
+            @Value("${loadbook.rate-limit.read.burst:40}") int readBurst,
+            @Value("${loadbook.rate-limit.write.rate-per-second:5}") double writeRate,
+            @Value("${loadbook.rate-limit.write.burst:10}") int writeBurst,
+            @Value("${loadbook.rate-limit.export.rate-per-second:0.2}") double exportRate,
+            @Value("${loadbook.rate-limit.export.burst:2}") int exportBurst,
+            @Value("${loadbook.rate-limit.export.page-size:50}") int exportPageSize,
+            @Value("${loadbook.rate-limit.trusted-proxies:}") Set<String> trustedProxies,
+            @Value("${loadbook.rate-limit.max-clients:100000}") int maxClients,
+            @Value("${loadbook.admission.max-concurrent-requests:40}") int maxConcurrentRequests,
+            @Value("${loadbook.admission.queue-timeout-ms:200}") long admissionTimeoutMillis) {
+        this.enabled = enabled;
+        this.exportPageSize = exportPageSize;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+        this.limiters.put(RequestClass.READ, new GcraRateLimiter(readRate, readBurst, maxClients));
+        this.limiters.put(RequestClass.WRITE, new GcraRateLimiter(writeRate, writeBurst, maxClients));
+        this.limiters.put(RequestClass.EXPORT, new GcraRateLimiter(exportRate, exportBurst, maxClients));
+        this.admissionPermits = new Semaphore(maxConcurrentRequests);
+        this.admissionTimeoutMillis = admissionTimeoutMillis;
+        this.objectMapper = objectMapper;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        for (RequestClass requestClass : RequestClass.values()) {
+            throttledCounters.put(requestClass, Counter.builder(THROTTLED_METRIC)
+                    .description("Requests rejected by rate limiting or admission control")
+                    .tag("class", requestClass.name().toLowerCase())
+                    .tag("reason", "rate_limit")
+                    .register(registry));
+        }
+        this.rejectedByAdmissionCounter = Counter.builder(THROTTLED_METRIC)
+                .description("Requests rejected by rate limiting or admission control")
+                .tag("class", "any")
+                .tag("reason", "admission")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        RequestClass requestClass = classify(request);
+        String clientId = clientId(request);
+
+        long waitNanos = limiters.get(requestClass).tryAcquire(clientId);
+        if (waitNanos > 0) {
+            throttledCounters.get(requestClass).increment();
+            logger.debug("Rate limited {} request from {}", requestClass, clientId);
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, "RATE_LIMITED", retryAfterSeconds,
+                    "Too many " + requestClass.name().toLowerCase() + " requests, retry after "
+                            + retryAfterSeconds + " seconds");
+            return;
+        }
+
+        boolean admitted;
+        try {
+            admitted = admissionPermits.tryAcquire(admissionTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            rejectedByAdmissionCounter.increment();
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "OVERLOADED", 1,
+                    "Server is busy, retry after 1 second");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            admissionPermits.release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${loadbook.rate-limit.evict-interval-ms:60000}")
+    public void evictIdleClients() {
+        limiters.values().forEach(GcraRateLimiter::evictIdle);
+    }
+
+    /**
+     * Large list pages count as exports, since they cost the most database time
+     */
+    RequestClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return RequestClass.WRITE;
+        }
+        if (request.getRequestURI().endsWith("/export")) {
+            return RequestClass.EXPORT;
+        }
+        String size = request.getParameter("size");
+        if (size != null) {
+            try {
+                if (Integer.parseInt(size) >= exportPageSize) {
+                    return RequestClass.EXPORT;
+                }
+            } catch (NumberFormatException e) {
+                // Rejected by the controller
+            }
+        }
+        return RequestClass.READ;
+    }
+
+    String clientId(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (!trustedProxies.contains(remoteAddress)) {
+            return "ip:" + remoteAddress;
+        }
+
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && !apiKey.isBlank()) {
+            return "key:" + apiKey;
+        }
+        String shipperId = request.getHeader(SHIPPER_ID_HEADER);
+        if (shipperId != null && !shipperId.isBlank()) {
+            return "shipper:" + shipperId;
+        }
+        String transporterId = request.getHeader(TRANSPORTER_ID_HEADER);
+        if (transporterId != null && !transporterId.isBlank()) {
+            return "transporter:" + transporterId;
+        }
+        // The proxy appends the address it saw; earlier entries came from the client
+        String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            return "ip:" + forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+        }
+        return "ip:" + remoteAddress;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+            String error, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(message, status.value(), error, request.getRequestURI()));
+    }
+}
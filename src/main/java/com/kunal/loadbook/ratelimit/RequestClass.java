@@ -0,0 +1,10 @@
+package com.kunal.loadbook.ratelimit;
+
+/**
+ * Rate limit budget a request is charged against
+ */
+public enum RequestClass {
+    READ,
+    WRITE,
+    EXPORT
+}
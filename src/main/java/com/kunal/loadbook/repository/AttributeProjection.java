@@ -0,0 +1,79 @@
+package com.kunal.loadbook.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * JPQL queries that select a chosen list of entity attributes instead of whole
+ * entities, for sparse fieldsets. Each row holds the attribute values in the order given.
+ */
+final class AttributeProjection {
+
+    /** Attribute paths are spliced into JPQL, so only plain dotted identifiers pass */
+    private static final Pattern ATTRIBUTE_PATH = Pattern.compile("[A-Za-z][A-Za-z0-9]*(\\.[A-Za-z][A-Za-z0-9]*)*");
+
+    private AttributeProjection() {
+    }
+
+    static Page<Object[]> findPage(EntityManager entityManager, String entity, String alias,
+            List<String> attributes, String condition, Map<String, ?> parameters, Pageable pageable) {
+        String from = " FROM " + entity + " " + alias + " WHERE " + condition;
+
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                select(alias, attributes) + from + orderBy(alias, pageable.getSort()), Object[].class);
+        parameters.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Object[]> rows = query.getResultList();
+
+        return PageableExecutionUtils.getPage(rows, pageable, () -> {
+            TypedQuery<Long> count = entityManager.createQuery("SELECT COUNT(" + alias + ")" + from, Long.class);
+            parameters.forEach(count::setParameter);
+            return count.getSingleResult();
+        });
+    }
+
+    static List<Object[]> find(EntityManager entityManager, String entity, String alias,
+            List<String> attributes, String condition, Map<String, ?> parameters) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                select(alias, attributes) + " FROM " + entity + " " + alias + " WHERE " + condition, Object[].class);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    private static String select(String alias, List<String> attributes) {
+        if (attributes.isEmpty()) {
+            throw new IllegalArgumentException("No attributes to select");
+        }
+        return attributes.stream()
+                .map(attribute -> qualify(alias, attribute))
+                .collect(Collectors.joining(", ", "SELECT ", ""));
+    }
+
+    private static String orderBy(String alias, Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        return sort.stream()
+                .map(order -> qualify(alias, order.getProperty()) + (order.isAscending() ? " ASC" : " DESC"))
+                .collect(Collectors.joining(", ", " ORDER BY ", ""));
+    }
+
+    private static String qualify(String alias, String attribute) {
+        if (!ATTRIBUTE_PATH.matcher(attribute).matches()) {
+            throw new IllegalArgumentException("Invalid attribute: " + attribute);
+        }
+        return alias + "." + attribute;
+    }
+}
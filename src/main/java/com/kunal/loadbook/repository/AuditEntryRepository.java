@@ -0,0 +1,18 @@
+package com.kunal.loadbook.repository;
+
+import com.kunal.loadbook.entity.AuditEntry;
+import com.kunal.loadbook.enums.AuditEntityType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AuditEntryRepository extends JpaRepository<AuditEntry, UUID> {
+
+    /**
+     * Status history of a load or booking, oldest first
+     */
+    List<AuditEntry> findByEntityTypeAndEntityIdOrderByChangedAtAscIdAsc(AuditEntityType entityType, UUID entityId);
+}
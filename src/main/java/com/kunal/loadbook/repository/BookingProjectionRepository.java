@@ -0,0 +1,24 @@
+package com.kunal.loadbook.repository;
+
+import com.kunal.loadbook.enums.BookingStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BookingProjectionRepository {
+
+    /**
+     * {@link BookingRepository#findBookingsWithFilters} reading only the given attributes
+     * (e.g. {@code status}, {@code load.id}); each row holds their values in that order
+     */
+    Page<Object[]> findBookingAttributesWithFilters(List<String> attributes, UUID loadId, String transporterId,
+            BookingStatus status, boolean includeArchived, Pageable pageable);
+
+    /**
+     * The given attributes of one booking, in order
+     */
+    Optional<Object[]> findBookingAttributesById(List<String> attributes, UUID bookingId);
+}
@@ -0,0 +1,40 @@
+package com.kunal.loadbook.repository;
+
+import com.kunal.loadbook.enums.BookingStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public class BookingProjectionRepositoryImpl implements BookingProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Object[]> findBookingAttributesWithFilters(List<String> attributes, UUID loadId,
+            String transporterId, BookingStatus status, boolean includeArchived, Pageable pageable) {
+        // HashMap rather than Map.of, which rejects the null "no filter" values
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("loadId", loadId);
+        parameters.put("transporterId", transporterId);
+        parameters.put("status", status);
+        parameters.put("includeArchived", includeArchived);
+        return AttributeProjection.findPage(entityManager, "Booking", "b", attributes, BookingRepository.FILTERS,
+                parameters, pageable);
+    }
+
+    @Override
+    public Optional<Object[]> findBookingAttributesById(List<String> attributes, UUID bookingId) {
+        return AttributeProjection.find(entityManager, "Booking", "b", attributes, "b.id = :id",
+                Map.of("id", bookingId))
+                .stream()
+                .findFirst();
+    }
+}
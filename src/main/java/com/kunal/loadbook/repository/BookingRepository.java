@@ -5,28 +5,54 @@ import com.kunal.loadbook.enums.BookingStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, UUID> {
+public interface BookingRepository extends JpaRepository<Booking, UUID>, BookingProjectionRepository {
+
+    /** Listing filters over alias {@code b}, shared with {@link BookingProjectionRepository} */
+    String FILTERS = "(:loadId IS NULL OR b.load.id = :loadId) AND " +
+            "(:transporterId IS NULL OR b.transporterId = :transporterId) AND " +
+            "(:status IS NULL OR b.status = :status) AND " +
+            "(:includeArchived = true OR b.archived = false)";
 
     /**
      * Find bookings with optional filtering and pagination
      */
-    @Query("SELECT b FROM Booking b WHERE " +
-            "(:loadId IS NULL OR b.load.id = :loadId) AND " +
-            "(:transporterId IS NULL OR b.transporterId = :transporterId) AND " +
-            "(:status IS NULL OR b.status = :status)")
+    @Query("SELECT b FROM Booking b WHERE " + FILTERS)
     Page<Booking> findBookingsWithFilters(@Param("loadId") UUID loadId,
             @Param("transporterId") String transporterId,
             @Param("status") BookingStatus status,
+            @Param("includeArchived") boolean includeArchived,
             Pageable pageable);
 
+    /**
+     * Find the load ID of a booking
+     */
+    @Query("SELECT b.load.id FROM Booking b WHERE b.id = :bookingId")
+    Optional<UUID> findLoadIdById(@Param("bookingId") UUID bookingId);
+
+    /**
+     * Bookings of several loads in one query, oldest first; used to embed bookings in a
+     * page of loads
+     */
+    @Query("SELECT b FROM Booking b WHERE b.load.id IN :loadIds AND " +
+            "(:status IS NULL OR b.status = :status) AND " +
+            "(:includeArchived = true OR b.archived = false) " +
+            "ORDER BY b.requestedAt")
+    List<Booking> findByLoadIds(@Param("loadIds") Collection<UUID> loadIds,
+            @Param("status") BookingStatus status,
+            @Param("includeArchived") boolean includeArchived);
+
     /**
      * Find bookings by load ID
      */
@@ -67,6 +93,12 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
      */
     boolean existsByLoadIdAndTransporterId(UUID loadId, String transporterId);
 
+    /**
+     * Keyset page of (id, loadId, transporterId) rows with ID greater than the given one
+     */
+    @Query("SELECT b.id, b.load.id, b.transporterId FROM Booking b WHERE b.id > :afterId ORDER BY b.id")
+    List<Object[]> findBookingPairsAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
     /**
      * Count bookings by load ID
      */
@@ -82,4 +114,69 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
      */
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.load.id = :loadId AND b.status = 'ACCEPTED'")
     long countAcceptedBookingsByLoadId(@Param("loadId") UUID loadId);
+
+    /**
+     * Find IDs of live bookings in the given statuses requested before the cutoff
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.archived = false AND b.status IN :statuses AND b.requestedAt < :cutoff")
+    List<UUID> findArchivableBookingIds(@Param("statuses") Collection<BookingStatus> statuses,
+            @Param("cutoff") LocalDateTime cutoff,
+            Pageable pageable);
+
+    /**
+     * Mark bookings as archived
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.archived = true WHERE b.id IN :ids")
+    int archiveByIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Mark all bookings of the given loads as archived
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.archived = true WHERE b.archived = false AND b.load.id IN :loadIds")
+    int archiveByLoadIds(@Param("loadIds") Collection<UUID> loadIds);
+
+    /**
+     * Find IDs of a load's bookings in the given status that ask for more trucks than it has left
+     */
+    @Query("SELECT b.id FROM Booking b " +
+            "WHERE b.load.id = :loadId AND b.status = :status AND b.truckCount > :remainingTrucks")
+    List<UUID> findIdsExceedingTrucks(@Param("loadId") UUID loadId,
+            @Param("status") BookingStatus status,
+            @Param("remainingTrucks") int remainingTrucks);
+
+    /**
+     * Find IDs of the bookings of the given loads in the given status
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.load.id IN :loadIds AND b.status = :status")
+    List<UUID> findIdsByLoadIdsAndStatus(@Param("loadIds") Collection<UUID> loadIds,
+            @Param("status") BookingStatus status);
+
+    /**
+     * Find which of the given bookings are in the given status
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids AND b.status = :status")
+    List<UUID> findIdsByIdsAndStatus(@Param("ids") Collection<UUID> ids,
+            @Param("status") BookingStatus status);
+
+    /**
+     * Find (id, loadId, requestedAt) of live bookings in the given status requested before the cutoff
+     */
+    @Query("SELECT b.id, b.load.id, b.requestedAt FROM Booking b " +
+            "WHERE b.status = :status AND b.archived = false AND b.requestedAt < :cutoff " +
+            "ORDER BY b.requestedAt")
+    List<Object[]> findStaleBookings(@Param("status") BookingStatus status,
+            @Param("cutoff") LocalDateTime cutoff,
+            Pageable pageable);
+
+    /**
+     * Move bookings from one status to another, skipping any that changed status meanwhile
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :to, b.updatedAt = :now WHERE b.id IN :ids AND b.status = :from")
+    int transitionByIds(@Param("ids") Collection<UUID> ids,
+            @Param("from") BookingStatus from,
+            @Param("to") BookingStatus to,
+            @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,25 @@
+package com.kunal.loadbook.repository;
+
+import com.kunal.loadbook.enums.LoadStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface LoadProjectionRepository {
+
+    /**
+     * {@link LoadRepository#findLoadsWithFilters} reading only the given attributes
+     * (e.g. {@code status}, {@code facility.loadingDate}); each row holds their values
+     * in that order
+     */
+    Page<Object[]> findLoadAttributesWithFilters(List<String> attributes, String shipperId, Integer truckTypeId,
+            LoadStatus status, boolean includeArchived, Pageable pageable);
+
+    /**
+     * The given attributes of one load, in order
+     */
+    Optional<Object[]> findLoadAttributesById(List<String> attributes, UUID loadId);
+}
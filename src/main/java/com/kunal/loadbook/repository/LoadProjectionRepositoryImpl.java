@@ -0,0 +1,39 @@
+package com.kunal.loadbook.repository;
+
+import com.kunal.loadbook.enums.LoadStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public class LoadProjectionRepositoryImpl implements LoadProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Object[]> findLoadAttributesWithFilters(List<String> attributes, String shipperId,
+            Integer truckTypeId, LoadStatus status, boolean includeArchived, Pageable pageable) {
+        // HashMap rather than Map.of, which rejects the null "no filter" values
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("shipperId", shipperId);
+        parameters.put("truckTypeId", truckTypeId);
+        parameters.put("status", status);
+        parameters.put("includeArchived", includeArchived);
+        return AttributeProjection.findPage(entityManager, "Load", "l", attributes, LoadRepository.FILTERS,
+                parameters, pageable);
+    }
+
+    @Override
+    public Optional<Object[]> findLoadAttributesById(List<String> attributes, UUID loadId) {
+        return AttributeProjection.find(entityManager, "Load", "l", attributes, "l.id = :id", Map.of("id", loadId))
+                .stream()
+                .findFirst();
+    }
+}
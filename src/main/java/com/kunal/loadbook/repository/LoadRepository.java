@@ -2,39 +2,59 @@ package com.kunal.loadbook.repository;
 
 import com.kunal.loadbook.entity.Load;
 import com.kunal.loadbook.enums.LoadStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface LoadRepository extends JpaRepository<Load, UUID> {
+public interface LoadRepository extends JpaRepository<Load, UUID>, LoadSearchRepository,
+        LoadProjectionRepository {
+
+    /** Listing filters over alias {@code l}, shared with {@link LoadProjectionRepository} */
+    String FILTERS = "(:shipperId IS NULL OR l.shipperId = :shipperId) AND " +
+            "(:truckTypeId IS NULL OR l.truckTypeId = :truckTypeId) AND " +
+            "(:status IS NULL OR l.status = :status) AND " +
+            "(:includeArchived = true OR l.archived = false)";
 
     /**
      * Find loads with optional filtering and pagination
      */
-    @Query("SELECT l FROM Load l WHERE " +
-            "(:shipperId IS NULL OR l.shipperId = :shipperId) AND " +
-            "(:truckType IS NULL OR l.truckType = :truckType) AND " +
-            "(:status IS NULL OR l.status = :status)")
+    @Query("SELECT l FROM Load l WHERE " + FILTERS)
     Page<Load> findLoadsWithFilters(@Param("shipperId") String shipperId,
-            @Param("truckType") String truckType,
+            @Param("truckTypeId") Integer truckTypeId,
             @Param("status") LoadStatus status,
+            @Param("includeArchived") boolean includeArchived,
             Pageable pageable);
 
+    /**
+     * Find a load and lock its row until the transaction ends, so no booking can take
+     * trucks from it meanwhile
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Load l WHERE l.id = :loadId")
+    Optional<Load> findByIdForUpdate(@Param("loadId") UUID loadId);
+
     /**
      * Find loads by shipper ID
      */
     Page<Load> findByShipperId(String shipperId, Pageable pageable);
 
     /**
-     * Find loads by truck type
+     * Find loads by truck type ID
      */
-    Page<Load> findByTruckType(String truckType, Pageable pageable);
+    Page<Load> findByTruckTypeId(Integer truckTypeId, Pageable pageable);
 
     /**
      * Find loads by status
@@ -47,14 +67,14 @@ public interface LoadRepository extends JpaRepository<Load, UUID> {
     Page<Load> findByShipperIdAndStatus(String shipperId, LoadStatus status, Pageable pageable);
 
     /**
-     * Find loads by truck type and status
+     * Find loads by truck type ID and status
      */
-    Page<Load> findByTruckTypeAndStatus(String truckType, LoadStatus status, Pageable pageable);
+    Page<Load> findByTruckTypeIdAndStatus(Integer truckTypeId, LoadStatus status, Pageable pageable);
 
     /**
-     * Find loads by shipper ID and truck type
+     * Find loads by shipper ID and truck type ID
      */
-    Page<Load> findByShipperIdAndTruckType(String shipperId, String truckType, Pageable pageable);
+    Page<Load> findByShipperIdAndTruckTypeId(String shipperId, Integer truckTypeId, Pageable pageable);
 
     /**
      * Count loads by shipper ID
@@ -65,4 +85,152 @@ public interface LoadRepository extends JpaRepository<Load, UUID> {
      * Count loads by status
      */
     long countByStatus(LoadStatus status);
+
+    /**
+     * Find the next batch of loads in a status, ordered by ID, for index warm-up
+     */
+    List<Load> findTop1000ByStatusAndIdGreaterThanOrderByIdAsc(LoadStatus status, UUID id);
+
+    /**
+     * Find IDs of live loads in the given statuses posted before the cutoff
+     */
+    @Query("SELECT l.id FROM Load l WHERE l.archived = false AND l.status IN :statuses AND l.datePosted < :cutoff")
+    List<UUID> findArchivableLoadIds(@Param("statuses") Collection<LoadStatus> statuses,
+            @Param("cutoff") LocalDateTime cutoff,
+            Pageable pageable);
+
+    /**
+     * Mark loads as archived
+     */
+    @Modifying
+    @Query("UPDATE Load l SET l.archived = true WHERE l.id IN :ids")
+    int archiveByIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Count a new PENDING booking into the load's booking summary
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Load l SET l.pendingBookingCount = l.pendingBookingCount + 1, " +
+            "l.bestPendingRate = CASE WHEN l.bestPendingRate IS NULL OR :rate < l.bestPendingRate " +
+            "THEN :rate ELSE l.bestPendingRate END, " +
+            "l.lastBidAt = :bidAt " +
+            "WHERE l.id = :loadId")
+    int incrementPendingBookings(@Param("loadId") UUID loadId,
+            @Param("rate") Double rate,
+            @Param("bidAt") LocalDateTime bidAt);
+
+    /**
+     * Take a booking that left PENDING out of the summary; the best rate is recomputed
+     * from the remaining PENDING bookings
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Load l SET l.pendingBookingCount = l.pendingBookingCount - 1, " +
+            "l.bestPendingRate = (SELECT MIN(b.proposedRate) FROM Booking b " +
+            "WHERE b.load.id = :loadId AND b.status = 'PENDING') " +
+            "WHERE l.id = :loadId AND l.pendingBookingCount > 0")
+    int decrementPendingBookings(@Param("loadId") UUID loadId);
+
+    /**
+     * Take several bookings that left PENDING out of the summary at once
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Load l SET l.pendingBookingCount = CASE WHEN l.pendingBookingCount > :count " +
+            "THEN l.pendingBookingCount - :count ELSE 0 END, " +
+            "l.bestPendingRate = (SELECT MIN(b.proposedRate) FROM Booking b " +
+            "WHERE b.load.id = :loadId AND b.status = 'PENDING') " +
+            "WHERE l.id = :loadId")
+    int decrementPendingBookingsBy(@Param("loadId") UUID loadId, @Param("count") int count);
+
+    /**
+     * Recompute the best pending rate after a PENDING booking's rate changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Load l SET l.bestPendingRate = (SELECT MIN(b.proposedRate) FROM Booking b " +
+            "WHERE b.load.id = :loadId AND b.status = 'PENDING') " +
+            "WHERE l.id = :loadId")
+    int refreshBestPendingRate(@Param("loadId") UUID loadId);
+
+    /**
+     * Take trucks for an accepted booking, if the load is still POSTED and has that many
+     * left; the load becomes BOOKED when its last truck is taken. One conditional update,
+     * so concurrent accepts can never take more trucks than the load has.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Load l SET l.remainingTrucks = l.remainingTrucks - :trucks, " +
+            "l.acceptedBookingId = COALESCE(l.acceptedBookingId, :bookingId), " +
+            "l.status = CASE WHEN l.remainingTrucks = :trucks THEN :booked ELSE l.status END, " +
+            "l.updatedAt = :now " +
+            "WHERE l.id = :loadId AND l.status = :posted AND l.remainingTrucks >= :trucks")
+    int allocateTrucks(@Param("loadId") UUID loadId,
+            @Param("bookingId") UUID bookingId,
+            @Param("trucks") int trucks,
+            @Param("posted") LoadStatus posted,
+            @Param("booked") LoadStatus booked,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Add to (or take from) the trucks still open on a load that is not BOOKED, as long as
+     * at least one stays open
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Load l SET l.remainingTrucks = l.remainingTrucks + :delta " +
+            "WHERE l.id = :loadId AND l.status <> :booked AND l.remainingTrucks + :delta > 0")
+    int adjustRemainingTrucks(@Param("loadId") UUID loadId,
+            @Param("delta") int delta,
+            @Param("booked") LoadStatus booked);
+
+    /**
+     * Find (id, loadingDate, remainingTrucks, noOfTrucks) of live loads in the given status
+     * whose loading date has passed
+     */
+    @Query("SELECT l.id, l.facility.loadingDate, l.remainingTrucks, l.noOfTrucks FROM Load l " +
+            "WHERE l.status = :status AND l.archived = false AND l.facility.loadingDate < :now " +
+            "ORDER BY l.facility.loadingDate")
+    List<Object[]> findOverdueLoads(@Param("status") LoadStatus status,
+            @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    /**
+     * Move loads none of whose trucks are booked from one status to another, skipping any
+     * that changed meanwhile; the pending summary is cleared because their pending
+     * bookings expire with them
+     */
+    @Modifying
+    @Query("UPDATE Load l SET l.status = :to, l.pendingBookingCount = 0, l.bestPendingRate = NULL, " +
+            "l.updatedAt = :now WHERE l.id IN :ids AND l.status = :from AND l.remainingTrucks = l.noOfTrucks")
+    int expireByIds(@Param("ids") Collection<UUID> ids,
+            @Param("from") LoadStatus from,
+            @Param("to") LoadStatus to,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Close an overdue POSTED load some of whose trucks are booked: it goes ahead with
+     * those, so it becomes BOOKED instead of expiring. Returns 0 if the load changed
+     * meanwhile.
+     */
+    @Modifying
+    @Query("UPDATE Load l SET l.status = :booked, l.pendingBookingCount = 0, l.bestPendingRate = NULL, " +
+            "l.updatedAt = :now WHERE l.id = :loadId AND l.status = :posted AND l.remainingTrucks < l.noOfTrucks")
+    int closePartlyBooked(@Param("loadId") UUID loadId,
+            @Param("posted") LoadStatus posted,
+            @Param("booked") LoadStatus booked,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Find which of the given loads are in the given status
+     */
+    @Query("SELECT l.id FROM Load l WHERE l.id IN :ids AND l.status = :status")
+    List<UUID> findIdsByIdsAndStatus(@Param("ids") Collection<UUID> ids, @Param("status") LoadStatus status);
+
+    /**
+     * Recompute the pending summary of the given loads from their bookings
+     */
+    @Modifying
+    @Query("UPDATE Load l SET " +
+            "l.pendingBookingCount = (SELECT CAST(COUNT(b) AS Integer) FROM Booking b " +
+            "WHERE b.load.id = l.id AND b.status = 'PENDING'), " +
+            "l.bestPendingRate = (SELECT MIN(b.proposedRate) FROM Booking b " +
+            "WHERE b.load.id = l.id AND b.status = 'PENDING') " +
+            "WHERE l.id IN :loadIds")
+    int recomputePendingSummary(@Param("loadIds") Collection<UUID> loadIds);
 }
@@ -0,0 +1,28 @@
+package com.kunal.loadbook.repository;
+
+import java.util.UUID;
+
+/**
+ * A load matched by a fuzzy search together with its relevance rank
+ */
+public class LoadSearchHit {
+
+    private final UUID loadId;
+    private final int rank;
+
+    public LoadSearchHit(UUID loadId, int rank) {
+        this.loadId = loadId;
+        this.rank = rank;
+    }
+
+    public UUID getLoadId() {
+        return loadId;
+    }
+
+    /**
+     * Best word similarity across the searched columns, scaled to 0..1000
+     */
+    public int getRank() {
+        return rank;
+    }
+}
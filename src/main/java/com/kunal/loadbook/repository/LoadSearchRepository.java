@@ -0,0 +1,16 @@
+package com.kunal.loadbook.repository;
+
+import com.kunal.loadbook.enums.LoadStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface LoadSearchRepository {
+
+    /**
+     * Fuzzy-search live loads by loading/unloading point, product type and comment,
+     * ordered by rank descending then ID. Pass the last hit of the previous page as
+     * {@code afterRank}/{@code afterId} to continue from it, or nulls for the first page.
+     */
+    List<LoadSearchHit> searchLoads(String query, LoadStatus status, Integer afterRank, UUID afterId, int limit);
+}
@@ -0,0 +1,77 @@
+package com.kunal.loadbook.repository;
+
+import com.kunal.loadbook.enums.LoadStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PostgreSQL implementation backed by the pg_trgm GIN indexes from
+ * {@code db/migration/postgresql/V1__baseline_schema.sql}
+ */
+public class LoadSearchRepositoryImpl implements LoadSearchRepository {
+
+    /** Lower than the pg_trgm default of 0.6 so that typos like "Banglore" still match */
+    private static final String WORD_SIMILARITY_THRESHOLD = "0.4";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<LoadSearchHit> searchLoads(String query, LoadStatus status, Integer afterRank, UUID afterId,
+            int limit) {
+        // Transaction-local, so it never leaks to other users of the pooled connection
+        entityManager.createNativeQuery("SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)")
+                .setParameter("threshold", WORD_SIMILARITY_THRESHOLD)
+                .getSingleResult();
+
+        // Match the small reference dictionary first, then find loads by integer ID
+        StringBuilder sql = new StringBuilder()
+                .append("WITH matched AS (")
+                .append(" SELECT r.id, word_similarity(:q, r.label) AS sim FROM reference_values r")
+                .append(" WHERE r.kind IN ('LOCATION', 'PRODUCT_TYPE') AND :q <% r.label)")
+                .append(" SELECT s.id, s.rank FROM (")
+                .append(" SELECT l.id AS id, CAST(round(1000 * GREATEST(")
+                .append("  COALESCE((SELECT m.sim FROM matched m WHERE m.id = l.loading_point_id), 0),")
+                .append("  COALESCE((SELECT m.sim FROM matched m WHERE m.id = l.unloading_point_id), 0),")
+                .append("  COALESCE((SELECT m.sim FROM matched m WHERE m.id = l.product_type_id), 0),")
+                .append("  COALESCE(word_similarity(:q, l.comment), 0))) AS integer) AS rank")
+                .append(" FROM loads l")
+                .append(" WHERE l.archived = false")
+                .append(" AND (l.loading_point_id IN (SELECT id FROM matched)")
+                .append("  OR l.unloading_point_id IN (SELECT id FROM matched)")
+                .append("  OR l.product_type_id IN (SELECT id FROM matched)")
+                .append("  OR :q <% l.comment)");
+        if (status != null) {
+            sql.append(" AND l.status = :status");
+        }
+        sql.append(") s");
+        if (afterId != null) {
+            sql.append(" WHERE s.rank < :afterRank OR (s.rank = :afterRank AND s.id > :afterId)");
+        }
+        sql.append(" ORDER BY s.rank DESC, s.id LIMIT :limit");
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString())
+                .setParameter("q", query)
+                .setParameter("limit", limit);
+        if (status != null) {
+            nativeQuery.setParameter("status", status.name());
+        }
+        if (afterId != null) {
+            nativeQuery.setParameter("afterRank", afterRank);
+            nativeQuery.setParameter("afterId", afterId);
+        }
+
+        List<Object[]> rows = nativeQuery.getResultList();
+        List<LoadSearchHit> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            hits.add(new LoadSearchHit((UUID) row[0], ((Number) row[1]).intValue()));
+        }
+        return hits;
+    }
+}
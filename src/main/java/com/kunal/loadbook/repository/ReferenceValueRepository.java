@@ -0,0 +1,17 @@
+package com.kunal.loadbook.repository;
+
+import com.kunal.loadbook.entity.ReferenceValue;
+import com.kunal.loadbook.enums.ReferenceKind;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReferenceValueRepository extends JpaRepository<ReferenceValue, Integer> {
+
+    /**
+     * Find a dictionary entry by kind and label
+     */
+    Optional<ReferenceValue> findByKindAndLabel(ReferenceKind kind, String label);
+}
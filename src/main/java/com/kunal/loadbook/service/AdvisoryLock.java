@@ -0,0 +1,39 @@
+package com.kunal.loadbook.service;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Transaction-scoped PostgreSQL advisory lock, so a scheduled job runs on one instance at
+ * a time. Databases without advisory locks (H2 in development and tests) run a single
+ * instance, so the lock is treated as held.
+ */
+final class AdvisoryLock {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long key;
+
+    private volatile Boolean supported;
+
+    AdvisoryLock(JdbcTemplate jdbcTemplate, long key) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.key = key;
+    }
+
+    /**
+     * Take the lock for the current transaction, without waiting
+     *
+     * @return false if another transaction holds it
+     */
+    boolean tryLock() {
+        if (supported == null) {
+            supported = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        if (!supported) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, key));
+    }
+}
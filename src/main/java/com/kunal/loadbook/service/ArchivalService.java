@@ -0,0 +1,146 @@
+package com.kunal.loadbook.service;
+
+import com.kunal.loadbook.enums.BookingStatus;
+import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.pool.Bulkhead;
+import com.kunal.loadbook.pool.Workload;
+import com.kunal.loadbook.repository.BookingRepository;
+import com.kunal.loadbook.repository.LoadRepository;
+import com.kunal.loadbook.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Moves closed loads and bookings older than the retention window out of the live
+ * data set. Archived rows are excluded from list queries unless explicitly requested.
+ *
+ * Every instance schedules the job, so on PostgreSQL each batch first takes an advisory
+ * lock (as {@link ExpiryService} does, under its own key): while one instance archives,
+ * the others skip the shard instead of fighting over the same rows.
+ */
+@Service
+public class ArchivalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchivalService.class);
+
+    /** Advisory lock key shared by all instances */
+    static final long ADVISORY_LOCK_KEY = 0x6c6f616461726368L;
+
+    private static final int LOCKED_ELSEWHERE = -1;
+
+    /** Load statuses after which a load no longer takes part in bidding */
+    static final Set<LoadStatus> CLOSED_LOAD_STATUSES = EnumSet.of(LoadStatus.BOOKED, LoadStatus.CANCELLED,
+            LoadStatus.EXPIRED);
+
+    /** Booking statuses that can be archived on their own, ahead of their load */
+    static final Set<BookingStatus> CLOSED_BOOKING_STATUSES = EnumSet.of(BookingStatus.REJECTED,
+            BookingStatus.EXPIRED);
+
+    private final LoadRepository loadRepository;
+    private final BookingRepository bookingRepository;
+    private final ShardRouter shardRouter;
+    private final AdvisoryLock advisoryLock;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int batchSize;
+
+    @Autowired
+    public ArchivalService(LoadRepository loadRepository, BookingRepository bookingRepository,
+            ShardRouter shardRouter, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${loadbook.archival.retention-days:365}") int retentionDays,
+            @Value("${loadbook.archival.batch-size:1000}") int batchSize) {
+        this.loadRepository = loadRepository;
+        this.bookingRepository = bookingRepository;
+        this.shardRouter = shardRouter;
+        this.advisoryLock = new AdvisoryLock(jdbcTemplate, ADVISORY_LOCK_KEY);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Archive closed records older than the retention window on every shard, one batch
+     * per transaction
+     */
+    @Bulkhead(Workload.BACKGROUND)
+    @Scheduled(cron = "${loadbook.archival.cron:0 30 2 * * *}")
+    public void archiveClosedRecords() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        logger.info("Archiving closed loads and bookings older than {}", cutoff);
+
+        shardRouter.forEachShard(() -> archiveShard(cutoff));
+    }
+
+    private void archiveShard(LocalDateTime cutoff) {
+        long archivedLoads = runBatches(() -> archiveLoadBatch(cutoff));
+        if (archivedLoads == LOCKED_ELSEWHERE) {
+            logger.info("Archival is running on another instance, skipping");
+            return;
+        }
+        long archivedBookings = runBatches(() -> archiveClosedBookingBatch(cutoff));
+        if (archivedBookings == LOCKED_ELSEWHERE) {
+            logger.info("Archival is running on another instance, skipping");
+            return;
+        }
+
+        logger.info("Archival completed - loads: {}, rejected/expired bookings: {}", archivedLoads, archivedBookings);
+    }
+
+    /**
+     * Run batches until one comes back short
+     *
+     * @return the rows archived, or {@link #LOCKED_ELSEWHERE} if another instance holds the
+     *         lock before the first batch
+     */
+    private long runBatches(Supplier<Integer> batchWork) {
+        long total = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> advisoryLock.tryLock() ? batchWork.get() : LOCKED_ELSEWHERE);
+            if (batch == LOCKED_ELSEWHERE) {
+                return total == 0 ? LOCKED_ELSEWHERE : total;
+            }
+            total += batch;
+        } while (batch == batchSize);
+        return total;
+    }
+
+    private int archiveLoadBatch(LocalDateTime cutoff) {
+        List<UUID> loadIds = loadRepository.findArchivableLoadIds(CLOSED_LOAD_STATUSES, cutoff,
+                PageRequest.of(0, batchSize));
+        if (loadIds.isEmpty()) {
+            return 0;
+        }
+
+        // Bookings travel with their load so the live tables never reference archived rows
+        bookingRepository.archiveByLoadIds(loadIds);
+        loadRepository.archiveByIds(loadIds);
+        return loadIds.size();
+    }
+
+    private int archiveClosedBookingBatch(LocalDateTime cutoff) {
+        List<UUID> bookingIds = bookingRepository.findArchivableBookingIds(CLOSED_BOOKING_STATUSES, cutoff,
+                PageRequest.of(0, batchSize));
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+
+        bookingRepository.archiveByIds(bookingIds);
+        return bookingIds.size();
+    }
+}
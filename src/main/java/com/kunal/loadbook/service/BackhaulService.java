@@ -0,0 +1,107 @@
+package com.kunal.loadbook.service;
+
+import com.kunal.loadbook.dto.load.BackhaulItineraryResponse;
+import com.kunal.loadbook.dto.load.LoadResponse;
+import com.kunal.loadbook.entity.Facility;
+import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.exception.ResourceNotFoundException;
+import com.kunal.loadbook.index.Itinerary;
+import com.kunal.loadbook.index.LaneIndex;
+import com.kunal.loadbook.pool.Bulkhead;
+import com.kunal.loadbook.pool.Workload;
+import com.kunal.loadbook.repository.LoadRepository;
+import com.kunal.loadbook.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Finds return trips: chains of POSTED loads a truck can pick up after delivering its
+ * current load, so it does not run empty.
+ *
+ * The chains come from the in-memory {@link LaneIndex}; only the current load and the
+ * loads of the returned itineraries are read from the database, each from its own shard.
+ */
+@Service
+public class BackhaulService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackhaulService.class);
+
+    static final int MAX_LEGS = 4;
+    static final int MAX_WAIT_HOURS = 168;
+    static final int MAX_LIMIT = 50;
+
+    private final LoadRepository loadRepository;
+    private final LoadService loadService;
+    private final LaneIndex laneIndex;
+    private final ShardRouter shardRouter;
+
+    @Autowired
+    public BackhaulService(LoadRepository loadRepository, LoadService loadService, LaneIndex laneIndex,
+            ShardRouter shardRouter) {
+        this.loadRepository = loadRepository;
+        this.loadService = loadService;
+        this.laneIndex = laneIndex;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Itineraries of up to {@code legs} POSTED loads starting where the given load is
+     * unloaded, on the same truck type, each picked up within {@code maxWaitHours} of the
+     * previous delivery; best use of the truck's time first
+     */
+    @Bulkhead(Workload.INTERACTIVE_READ)
+    public List<BackhaulItineraryResponse> findBackhauls(UUID loadId, int legs, int maxWaitHours, int limit) {
+        logger.info("Finding backhauls for load {} - legs: {}, maxWaitHours: {}, limit: {}",
+                loadId, legs, maxWaitHours, limit);
+
+        if (legs < 1 || legs > MAX_LEGS) {
+            throw new IllegalArgumentException("Legs must be between 1 and " + MAX_LEGS);
+        }
+        if (maxWaitHours < 1 || maxWaitHours > MAX_WAIT_HOURS) {
+            throw new IllegalArgumentException("Maximum wait must be between 1 and " + MAX_WAIT_HOURS + " hours");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        Load current = shardRouter.forId(loadId, () -> loadRepository.findById(loadId))
+                .orElseThrow(() -> ResourceNotFoundException.load(loadId.toString()));
+        Facility facility = current.getFacility();
+
+        List<Itinerary> itineraries = laneIndex.findItineraries(facility.getUnloadingPointId(),
+                facility.getUnloadingDate(), current.getTruckTypeId(), legs, Duration.ofHours(maxWaitHours),
+                Set.of(loadId), limit);
+        if (itineraries.isEmpty()) {
+            return List.of();
+        }
+
+        Set<UUID> legIds = new LinkedHashSet<>();
+        itineraries.forEach(itinerary -> legIds.addAll(itinerary.getLoadIds()));
+        Map<UUID, LoadResponse> loads = new HashMap<>();
+        shardRouter.scatterIds(legIds, loadService::getLoadsByIds).forEach(loads::putAll);
+
+        // The index is updated after commit, so drop itineraries with a leg no longer POSTED
+        return itineraries.stream()
+                .filter(itinerary -> itinerary.getLoadIds().stream().allMatch(id -> {
+                    LoadResponse load = loads.get(id);
+                    return load != null && load.getStatus() == LoadStatus.POSTED;
+                }))
+                .map(itinerary -> new BackhaulItineraryResponse(
+                        itinerary.getLoadIds().stream().map(loads::get).toList(),
+                        itinerary.getUtilization(),
+                        itinerary.getWaiting().toMinutes(),
+                        itinerary.getFinishesAt()))
+                .toList();
+    }
+}
@@ -1,20 +1,28 @@
 package com.kunal.loadbook.service;
 
+import com.kunal.loadbook.audit.AuditLog;
 import com.kunal.loadbook.dto.booking.BookingResponse;
 import com.kunal.loadbook.dto.booking.CreateBookingRequest;
 import com.kunal.loadbook.dto.booking.UpdateBookingRequest;
 import com.kunal.loadbook.dto.common.PagedResponse;
 import com.kunal.loadbook.entity.Booking;
 import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.enums.AuditEntityType;
 import com.kunal.loadbook.enums.BookingStatus;
 import com.kunal.loadbook.enums.LoadStatus;
 import com.kunal.loadbook.exception.BusinessLogicException;
 import com.kunal.loadbook.exception.ResourceNotFoundException;
+import com.kunal.loadbook.fields.FieldSelection;
+import com.kunal.loadbook.index.BookingPairFilter;
 import com.kunal.loadbook.mapper.BookingMapper;
+import com.kunal.loadbook.pool.Bulkhead;
+import com.kunal.loadbook.pool.Workload;
 import com.kunal.loadbook.repository.BookingRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -22,26 +30,39 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
+@Bulkhead(Workload.WRITE)
 @Transactional
 public class BookingService {
 
     private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
 
+    /** IDs per IN query in {@link #getBookingsByIds} */
+    static final int BATCH_GET_CHUNK_SIZE = 1000;
+
     private final BookingRepository bookingRepository;
     private final LoadService loadService;
     private final BookingMapper bookingMapper;
+    private final BookingPairFilter bookingPairFilter;
+    private final AuditLog auditLog;
 
     @Autowired
     public BookingService(BookingRepository bookingRepository, LoadService loadService,
-            BookingMapper bookingMapper) {
+            BookingMapper bookingMapper, BookingPairFilter bookingPairFilter, AuditLog auditLog) {
         this.bookingRepository = bookingRepository;
         this.loadService = loadService;
         this.bookingMapper = bookingMapper;
+        this.bookingPairFilter = bookingPairFilter;
+        this.auditLog = auditLog;
     }
 
     /**
@@ -58,9 +79,21 @@ public class BookingService {
         if (load.getStatus() == LoadStatus.CANCELLED) {
             throw BusinessLogicException.loadAlreadyCancelled();
         }
+        if (load.getStatus() == LoadStatus.EXPIRED) {
+            throw BusinessLogicException.loadAlreadyExpired();
+        }
+        if (load.getStatus() == LoadStatus.BOOKED) {
+            throw BusinessLogicException.loadAlreadyBooked();
+        }
+        int truckCount = request.getTruckCount() != null ? request.getTruckCount() : 1;
+        if (truckCount > load.getRemainingTrucks()) {
+            throw trucksUnavailable(load);
+        }
 
-        // Check if booking already exists for this load and transporter
-        if (bookingRepository.existsByLoadIdAndTransporterId(request.getLoadId(), request.getTransporterId())) {
+        // Check if booking already exists for this load and transporter; the query is
+        // only needed when the pair filter has seen the pair before
+        if (bookingPairFilter.mightContain(request.getLoadId(), request.getTransporterId())
+                && bookingRepository.existsByLoadIdAndTransporterId(request.getLoadId(), request.getTransporterId())) {
             throw BusinessLogicException.bookingAlreadyExists();
         }
 
@@ -68,37 +101,99 @@ public class BookingService {
         Booking booking = bookingMapper.toEntity(request);
         booking.setLoad(load);
 
-        Booking savedBooking = bookingRepository.save(booking);
+        // Flush so a duplicate missed by the filter fails on the unique constraint here
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isLoadTransporterViolation(e)) {
+                throw BusinessLogicException.bookingAlreadyExists();
+            }
+            throw e;
+        }
+        bookingPairFilter.put(request.getLoadId(), request.getTransporterId());
+        loadService.recordPendingBooking(load.getId(), savedBooking.getProposedRate(), savedBooking.getRequestedAt());
 
         logger.info("Booking created successfully with ID: {}", savedBooking.getId());
         return bookingMapper.toResponse(savedBooking);
     }
 
     /**
-     * Get bookings with filtering and pagination
+     * Get bookings with filtering and pagination, narrowed to the comma-separated {@code fields}
      */
+    @Bulkhead(Workload.INTERACTIVE_READ)
     @Transactional(readOnly = true)
     public PagedResponse<BookingResponse> getBookings(UUID loadId, String transporterId,
-            BookingStatus status, int page, int size) {
+            BookingStatus status, boolean includeArchived, String fields, int page, int size) {
+
+        logger.info("Fetching bookings with filters - loadId: {}, transporterId: {}, status: {}, includeArchived: {}, fields: {}, page: {}, size: {}",
+                loadId, transporterId, status, includeArchived, fields, page, size);
+
+        validatePage(page, size);
+
+        FieldSelection fieldSelection = FieldSelection.parse(fields, BookingMapper.FIELDS);
+        Pageable pageable = PageRequest.of(page, size, Sort.by("requestedAt").descending());
+        return toPagedResponse(findBookings(loadId, transporterId, status, includeArchived, fieldSelection,
+                pageable));
+    }
+
+    /**
+     * The same page as {@link #getBookings} with every field, as entities, for callers
+     * that write the response rows themselves
+     */
+    @Bulkhead(Workload.INTERACTIVE_READ)
+    @Transactional(readOnly = true)
+    public Page<Booking> getBookingEntities(UUID loadId, String transporterId, BookingStatus status,
+            boolean includeArchived, int page, int size) {
+
+        logger.info("Fetching booking entities with filters - loadId: {}, transporterId: {}, status: {}, includeArchived: {}, page: {}, size: {}",
+                loadId, transporterId, status, includeArchived, page, size);
 
-        logger.info("Fetching bookings with filters - loadId: {}, transporterId: {}, status: {}, page: {}, size: {}",
-                loadId, transporterId, status, page, size);
+        validatePage(page, size);
 
-        // Validate pagination parameters
+        Pageable pageable = PageRequest.of(page, size, Sort.by("requestedAt").descending());
+        return bookingRepository.findBookingsWithFilters(loadId, transporterId, status, includeArchived, pageable);
+    }
+
+    private static void validatePage(int page, int size) {
         if (page < 0) {
             throw new IllegalArgumentException("Page number cannot be negative");
         }
         if (size <= 0 || size > 100) {
             throw new IllegalArgumentException("Page size must be between 1 and 100");
         }
+    }
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("requestedAt").descending());
-        Page<Booking> bookingPage = bookingRepository.findBookingsWithFilters(loadId, transporterId, status, pageable);
+    /**
+     * First {@code limit} bookings matching the filters, newest first, with the total match
+     * count; one shard's share of a cross-shard listing (page size is not capped here)
+     */
+    @Bulkhead(Workload.BULK)
+    @Transactional(readOnly = true)
+    public PagedResponse<BookingResponse> getBookingsWindow(UUID loadId, String transporterId,
+            BookingStatus status, boolean includeArchived, String fields, int limit) {
+        FieldSelection fieldSelection = FieldSelection.parse(fields, BookingMapper.FIELDS);
+        Pageable pageable = PageRequest.of(0, limit, Sort.by("requestedAt").descending());
+        return toPagedResponse(findBookings(loadId, transporterId, status, includeArchived, fieldSelection,
+                pageable));
+    }
+
+    private Page<BookingResponse> findBookings(UUID loadId, String transporterId, BookingStatus status,
+            boolean includeArchived, FieldSelection fieldSelection, Pageable pageable) {
+        if (fieldSelection.isAll()) {
+            return bookingRepository.findBookingsWithFilters(loadId, transporterId, status, includeArchived, pageable)
+                    .map(bookingMapper::toResponse);
+        }
 
-        List<BookingResponse> bookingResponses = bookingPage.getContent()
-                .stream()
-                .map(bookingMapper::toResponse)
-                .collect(Collectors.toList());
+        // Only read the selected columns
+        List<String> selected = BookingMapper.selectedFields(fieldSelection);
+        return bookingRepository.findBookingAttributesWithFilters(BookingMapper.attributes(selected), loadId,
+                transporterId, status, includeArchived, pageable)
+                .map(row -> bookingMapper.toResponse(row, selected));
+    }
+
+    private PagedResponse<BookingResponse> toPagedResponse(Page<BookingResponse> bookingPage) {
+        List<BookingResponse> bookingResponses = bookingPage.getContent();
 
         return new PagedResponse<>(
                 bookingResponses,
@@ -115,9 +210,27 @@ public class BookingService {
     /**
      * Get booking by ID
      */
+    @Bulkhead(Workload.INTERACTIVE_READ)
     @Transactional(readOnly = true)
     public BookingResponse getBookingById(UUID bookingId) {
-        logger.info("Fetching booking with ID: {}", bookingId);
+        return getBookingById(bookingId, null);
+    }
+
+    /**
+     * Get booking by ID, narrowed to the comma-separated {@code fields}
+     */
+    @Bulkhead(Workload.INTERACTIVE_READ)
+    @Transactional(readOnly = true)
+    public BookingResponse getBookingById(UUID bookingId, String fields) {
+        logger.info("Fetching booking with ID: {}, fields: {}", bookingId, fields);
+
+        FieldSelection fieldSelection = FieldSelection.parse(fields, BookingMapper.FIELDS);
+        if (!fieldSelection.isAll()) {
+            List<String> selected = BookingMapper.selectedFields(fieldSelection);
+            return bookingRepository.findBookingAttributesById(BookingMapper.attributes(selected), bookingId)
+                    .map(row -> bookingMapper.toResponse(row, selected))
+                    .orElseThrow(() -> ResourceNotFoundException.booking(bookingId.toString()));
+        }
 
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> ResourceNotFoundException.booking(bookingId.toString()));
@@ -125,6 +238,26 @@ public class BookingService {
         return bookingMapper.toResponse(booking);
     }
 
+    /**
+     * Get the bookings with the given IDs, keyed by ID; IDs that do not exist are left out.
+     * One transaction, with an IN query per {@value #BATCH_GET_CHUNK_SIZE} IDs.
+     */
+    @Bulkhead(Workload.BULK)
+    @Transactional(readOnly = true)
+    public Map<UUID, BookingResponse> getBookingsByIds(Collection<UUID> bookingIds) {
+        logger.info("Fetching {} bookings by ID", bookingIds.size());
+
+        List<UUID> distinctIds = List.copyOf(new LinkedHashSet<>(bookingIds));
+        Map<UUID, BookingResponse> bookings = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += BATCH_GET_CHUNK_SIZE) {
+            List<UUID> chunk = distinctIds.subList(from, Math.min(from + BATCH_GET_CHUNK_SIZE, distinctIds.size()));
+            for (Booking booking : bookingRepository.findAllById(chunk)) {
+                bookings.put(booking.getId(), bookingMapper.toResponse(booking));
+            }
+        }
+        return bookings;
+    }
+
     /**
      * Update booking
      */
@@ -141,9 +274,15 @@ public class BookingService {
         if (booking.getStatus() == BookingStatus.REJECTED) {
             throw new BusinessLogicException("Cannot update a rejected booking");
         }
+        if (booking.getStatus() == BookingStatus.EXPIRED) {
+            throw new BusinessLogicException("Cannot update an expired booking");
+        }
 
         bookingMapper.updateEntity(booking, request);
         Booking updatedBooking = bookingRepository.save(booking);
+        if (request.getProposedRate() != null) {
+            loadService.refreshBestPendingRate(booking.getLoad().getId());
+        }
 
         logger.info("Booking updated successfully with ID: {}", updatedBooking.getId());
         return bookingMapper.toResponse(updatedBooking);
@@ -169,30 +308,44 @@ public class BookingService {
         if (load.getStatus() == LoadStatus.CANCELLED) {
             throw new BusinessLogicException("Cannot accept booking for a cancelled load");
         }
+        if (load.getStatus() == LoadStatus.EXPIRED) {
+            throw new BusinessLogicException("Cannot accept booking for an expired load");
+        }
+
+        UUID loadId = load.getId();
+
+        // Take the trucks first: a conditional update, so concurrent accepts can never take
+        // more trucks than the load has. It also locks the load row before any booking row,
+        // so concurrent accepts queue on the load instead of deadlocking on each other's bookings.
+        Load allocated = loadService.allocateTrucks(loadId, bookingId, booking.getTruckCount())
+                .orElseThrow(() -> trucksUnavailable(loadService.getLoadEntityById(loadId)));
 
-        // Check if load is already booked (has another accepted booking)
-        long acceptedBookingsCount = bookingRepository.countAcceptedBookingsByLoadId(load.getId());
-        if (acceptedBookingsCount > 0) {
-            throw new BusinessLogicException("Load is already booked by another transporter");
+        // Claim the booking under the load lock. A concurrent accept of the same booking read
+        // it as PENDING too, but waited for that lock and finds it ACCEPTED here; failing
+        // rolls back its allocation, so the trucks are never taken twice.
+        if (bookingRepository.transitionByIds(List.of(bookingId), BookingStatus.PENDING, BookingStatus.ACCEPTED,
+                LocalDateTime.now()) == 0) {
+            throw new BusinessLogicException("Booking is no longer pending");
         }
 
-        // Update booking status
+        // Update booking status; saving the entity records the change in the audit log
         booking.setStatus(BookingStatus.ACCEPTED);
         Booking updatedBooking = bookingRepository.save(booking);
 
-        // Update load status to BOOKED
-        loadService.updateLoadStatus(load.getId(), LoadStatus.BOOKED);
-
-        // Reject all other pending bookings for this load
-        List<Booking> otherPendingBookings = bookingRepository.findByLoadIdAndStatus(
-                load.getId(), BookingStatus.PENDING);
-
-        for (Booking otherBooking : otherPendingBookings) {
-            if (!otherBooking.getId().equals(bookingId)) {
-                otherBooking.setStatus(BookingStatus.REJECTED);
-                bookingRepository.save(otherBooking);
-            }
+        // Reject the pending bookings that no longer fit in the trucks left (all of them
+        // once the load is BOOKED), and take them out of the pending summary with this one
+        List<UUID> exceeding = bookingRepository.findIdsExceedingTrucks(loadId, BookingStatus.PENDING,
+                allocated.getRemainingTrucks());
+        int rejected = 0;
+        if (!exceeding.isEmpty()) {
+            rejected = bookingRepository.transitionByIds(exceeding, BookingStatus.PENDING, BookingStatus.REJECTED,
+                    LocalDateTime.now());
+            List<UUID> rejectedIds = rejected == exceeding.size() ? exceeding
+                    : bookingRepository.findIdsByIdsAndStatus(exceeding, BookingStatus.REJECTED);
+            auditLog.recordAll(AuditEntityType.BOOKING, rejectedIds, BookingStatus.PENDING.name(),
+                    BookingStatus.REJECTED.name());
         }
+        loadService.releasePendingBookings(loadId, 1 + rejected);
 
         logger.info("Booking accepted successfully with ID: {}", bookingId);
         return bookingMapper.toResponse(updatedBooking);
@@ -213,12 +366,12 @@ public class BookingService {
                     booking.getStatus().toString(), BookingStatus.REJECTED.toString());
         }
 
+        UUID loadId = booking.getLoad().getId();
+
         // Update booking status
         booking.setStatus(BookingStatus.REJECTED);
         Booking updatedBooking = bookingRepository.save(booking);
-
-        // Check if all bookings are rejected/deleted, revert load status to POSTED
-        checkAndRevertLoadStatus(booking.getLoad().getId());
+        loadService.releasePendingBooking(loadId);
 
         logger.info("Booking rejected successfully with ID: {}", bookingId);
         return bookingMapper.toResponse(updatedBooking);
@@ -239,28 +392,37 @@ public class BookingService {
         }
 
         UUID loadId = booking.getLoad().getId();
+        boolean wasPending = booking.getStatus() == BookingStatus.PENDING;
         bookingRepository.delete(booking);
-
-        // Check if all bookings are deleted/rejected, revert load status to POSTED
-        checkAndRevertLoadStatus(loadId);
+        bookingPairFilter.recordRemoval();
+        if (wasPending) {
+            loadService.releasePendingBooking(loadId);
+        }
 
         logger.info("Booking deleted successfully with ID: {}", bookingId);
     }
 
     /**
-     * Check and revert load status to POSTED if all bookings are rejected/deleted
+     * Why a booking cannot get its trucks from the load
      */
-    private void checkAndRevertLoadStatus(UUID loadId) {
-        List<Booking> activeBookings = bookingRepository.findByLoadIdAndStatus(loadId, BookingStatus.PENDING);
-        List<Booking> acceptedBookings = bookingRepository.findByLoadIdAndStatus(loadId, BookingStatus.ACCEPTED);
-
-        // If no pending or accepted bookings, revert load status to POSTED
-        if (activeBookings.isEmpty() && acceptedBookings.isEmpty()) {
-            Load load = loadService.getLoadEntityById(loadId);
-            if (load.getStatus() == LoadStatus.BOOKED) {
-                loadService.updateLoadStatus(loadId, LoadStatus.POSTED);
-                logger.info("Load status reverted to POSTED for load ID: {}", loadId);
-            }
+    private static BusinessLogicException trucksUnavailable(Load load) {
+        if (load.getStatus() == LoadStatus.BOOKED || load.getRemainingTrucks() == 0) {
+            return BusinessLogicException.loadBookedByAnother();
         }
+        if (load.getStatus() != LoadStatus.POSTED) {
+            return BusinessLogicException.loadNoLongerOpen();
+        }
+        return new BusinessLogicException("Only " + load.getRemainingTrucks() + " truck(s) left on this load");
+    }
+
+    /**
+     * Whether the failure is the one-booking-per-transporter constraint (drivers
+     * report the name with schema or index decorations, so match on containment)
+     */
+    private static boolean isLoadTransporterViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT)
+                        .contains(Booking.LOAD_TRANSPORTER_CONSTRAINT);
     }
 }
@@ -0,0 +1,212 @@
+package com.kunal.loadbook.service;
+
+import com.kunal.loadbook.audit.AuditLog;
+import com.kunal.loadbook.enums.AuditEntityType;
+import com.kunal.loadbook.enums.BookingStatus;
+import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.index.LaneIndex;
+import com.kunal.loadbook.index.LoadGeoIndex;
+import com.kunal.loadbook.pool.Bulkhead;
+import com.kunal.loadbook.pool.Workload;
+import com.kunal.loadbook.repository.BookingRepository;
+import com.kunal.loadbook.repository.LoadRepository;
+import com.kunal.loadbook.shard.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Expires POSTED loads whose loading date has passed (with their pending bookings) and
+ * PENDING bookings nobody answered within {@code loadbook.expiry.pending-booking-ttl}.
+ * An overdue load some of whose trucks were accepted becomes BOOKED instead: those
+ * trucks are committed, and only its pending bookings expire.
+ *
+ * Due rows are found by an indexed scan on the due date and transitioned in set-based
+ * batches, one transaction per batch. On PostgreSQL every batch first takes a
+ * transaction-scoped advisory lock, so with several instances only one expires at a time
+ * and the others skip the run. Shards are expired one after another, each under its own
+ * database's lock.
+ */
+@Service
+public class ExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiryService.class);
+
+    /** Advisory lock key shared by all instances */
+    static final long ADVISORY_LOCK_KEY = 0x6c6f6164626f6f6bL;
+
+    private static final int LOCKED_ELSEWHERE = -1;
+
+    private final LoadRepository loadRepository;
+    private final BookingRepository bookingRepository;
+    private final LoadGeoIndex loadGeoIndex;
+    private final LaneIndex laneIndex;
+    private final ShardRouter shardRouter;
+    private final AuditLog auditLog;
+    private final AdvisoryLock advisoryLock;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer loadLag;
+    private final Timer bookingLag;
+    private final Duration pendingBookingTtl;
+    private final int batchSize;
+
+    @Autowired
+    public ExpiryService(LoadRepository loadRepository, BookingRepository bookingRepository,
+            LoadGeoIndex loadGeoIndex, LaneIndex laneIndex, ShardRouter shardRouter, AuditLog auditLog,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${loadbook.expiry.pending-booking-ttl:72h}") Duration pendingBookingTtl,
+            @Value("${loadbook.expiry.batch-size:500}") int batchSize) {
+        this.loadRepository = loadRepository;
+        this.bookingRepository = bookingRepository;
+        this.loadGeoIndex = loadGeoIndex;
+        this.laneIndex = laneIndex;
+        this.shardRouter = shardRouter;
+        this.auditLog = auditLog;
+        this.advisoryLock = new AdvisoryLock(jdbcTemplate, ADVISORY_LOCK_KEY);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.loadLag = lagTimer(meterRegistry, "load");
+        this.bookingLag = lagTimer(meterRegistry, "booking");
+        this.pendingBookingTtl = pendingBookingTtl;
+        this.batchSize = batchSize;
+    }
+
+    private static Timer lagTimer(MeterRegistry meterRegistry, String type) {
+        return Timer.builder("loadbook.expiry.lag")
+                .description("Time between a record falling due and being expired")
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Expire everything that is due on every shard, one batch per transaction
+     */
+    @Scheduled(fixedDelayString = "${loadbook.expiry.interval-ms:60000}",
+            initialDelayString = "${loadbook.expiry.initial-delay-ms:60000}")
+    @Bulkhead(Workload.BACKGROUND)
+    public void expireDueRecords() {
+        LocalDateTime now = LocalDateTime.now();
+        shardRouter.forEachShard(() -> expireShard(now));
+    }
+
+    private void expireShard(LocalDateTime now) {
+        long expiredLoads = runBatches(() -> expireLoadBatch(now));
+        long expiredBookings = runBatches(() -> expireBookingBatch(now));
+
+        if (expiredLoads > 0 || expiredBookings > 0) {
+            logger.info("Expiry completed - loads: {}, pending bookings: {}", expiredLoads, expiredBookings);
+        }
+    }
+
+    private long runBatches(Supplier<Integer> batchWork) {
+        long total = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> advisoryLock.tryLock() ? batchWork.get() : LOCKED_ELSEWHERE);
+            if (batch == LOCKED_ELSEWHERE) {
+                logger.debug("Expiry is running on another instance, skipping");
+                break;
+            }
+            total += batch;
+        } while (batch == batchSize);
+        return total;
+    }
+
+    private int expireLoadBatch(LocalDateTime now) {
+        List<Object[]> due = loadRepository.findOverdueLoads(LoadStatus.POSTED, now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        List<UUID> loadIds = due.stream().map(row -> (UUID) row[0]).toList();
+        List<UUID> bookingIds = bookingRepository.findIdsByLoadIdsAndStatus(loadIds, BookingStatus.PENDING);
+        if (!bookingIds.isEmpty()) {
+            bookingRepository.transitionByIds(bookingIds, BookingStatus.PENDING, BookingStatus.EXPIRED, now);
+            recordExpired(AuditEntityType.BOOKING, BookingStatus.PENDING.name(),
+                    bookingRepository.findIdsByIdsAndStatus(bookingIds, BookingStatus.EXPIRED));
+        }
+        loadRepository.expireByIds(loadIds, LoadStatus.POSTED, LoadStatus.EXPIRED, now);
+        recordExpired(AuditEntityType.LOAD, LoadStatus.POSTED.name(),
+                loadRepository.findIdsByIdsAndStatus(loadIds, LoadStatus.EXPIRED));
+
+        // Loads with accepted trucks go ahead with those instead of expiring. Rare, so one
+        // update each, which tells exactly which ones this batch closed.
+        List<UUID> closedIds = new ArrayList<>();
+        for (Object[] row : due) {
+            if ((Integer) row[2] < (Integer) row[3] && loadRepository.closePartlyBooked((UUID) row[0],
+                    LoadStatus.POSTED, LoadStatus.BOOKED, now) == 1) {
+                closedIds.add((UUID) row[0]);
+            }
+        }
+        if (!closedIds.isEmpty()) {
+            auditLog.recordAll(AuditEntityType.LOAD, closedIds, LoadStatus.POSTED.name(), LoadStatus.BOOKED.name());
+        }
+
+        for (Object[] row : due) {
+            loadLag.record(Duration.between((LocalDateTime) row[1], now));
+        }
+
+        // Expired and closed loads no longer take part in matching
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                loadIds.forEach(loadGeoIndex::remove);
+                loadIds.forEach(laneIndex::remove);
+            }
+        });
+        return due.size();
+    }
+
+    private int expireBookingBatch(LocalDateTime now) {
+        List<Object[]> due = bookingRepository.findStaleBookings(BookingStatus.PENDING,
+                now.minus(pendingBookingTtl), PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        List<UUID> bookingIds = due.stream().map(row -> (UUID) row[0]).toList();
+        Set<UUID> loadIds = new LinkedHashSet<>();
+        due.forEach(row -> loadIds.add((UUID) row[1]));
+
+        bookingRepository.transitionByIds(bookingIds, BookingStatus.PENDING, BookingStatus.EXPIRED, now);
+        recordExpired(AuditEntityType.BOOKING, BookingStatus.PENDING.name(),
+                bookingRepository.findIdsByIdsAndStatus(bookingIds, BookingStatus.EXPIRED));
+        loadRepository.recomputePendingSummary(loadIds);
+
+        for (Object[] row : due) {
+            LocalDateTime dueAt = ((LocalDateTime) row[2]).plus(pendingBookingTtl);
+            bookingLag.record(Duration.between(dueAt, now));
+        }
+        return due.size();
+    }
+
+    /**
+     * Record the expiry of the rows the batch actually moved; a concurrent write may have
+     * taken some of the selected rows out of their status first. Nothing else sets
+     * EXPIRED, so rows in it now were expired by this batch.
+     */
+    private void recordExpired(AuditEntityType entityType, String from, List<UUID> expiredIds) {
+        auditLog.recordAll(entityType, expiredIds, from, "EXPIRED");
+    }
+}
@@ -0,0 +1,50 @@
+package com.kunal.loadbook.service;
+
+import com.kunal.loadbook.enums.BookingStatus;
+
+/**
+ * Related data to embed in load responses, parsed from the {@code include} parameter:
+ * {@code bookings} for all of each load's bookings, {@code bookings:PENDING} (or any
+ * other status) for only those
+ */
+final class LoadInclude {
+
+    static final LoadInclude NONE = new LoadInclude(false, null);
+
+    private final boolean bookings;
+    private final BookingStatus bookingStatus;
+
+    private LoadInclude(boolean bookings, BookingStatus bookingStatus) {
+        this.bookings = bookings;
+        this.bookingStatus = bookingStatus;
+    }
+
+    boolean isBookings() {
+        return bookings;
+    }
+
+    /**
+     * Only embed bookings in this status; null for all
+     */
+    BookingStatus getBookingStatus() {
+        return bookingStatus;
+    }
+
+    static LoadInclude parse(String include) {
+        if (include == null || include.isBlank()) {
+            return NONE;
+        }
+        String[] parts = include.trim().split(":", 2);
+        if (!parts[0].equals("bookings")) {
+            throw new IllegalArgumentException("Unsupported include: " + include);
+        }
+        if (parts.length == 1) {
+            return new LoadInclude(true, null);
+        }
+        try {
+            return new LoadInclude(true, BookingStatus.valueOf(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown booking status in include: " + parts[1]);
+        }
+    }
+}
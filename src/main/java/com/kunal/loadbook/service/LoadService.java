@@ -1,47 +1,100 @@
 package com.kunal.loadbook.service;
 
+import com.kunal.loadbook.audit.AuditLog;
+import com.kunal.loadbook.dto.booking.BookingResponse;
+import com.kunal.loadbook.dto.common.CursorPagedResponse;
 import com.kunal.loadbook.dto.common.PagedResponse;
 import com.kunal.loadbook.dto.load.CreateLoadRequest;
 import com.kunal.loadbook.dto.load.LoadResponse;
+import com.kunal.loadbook.dto.load.NearbyLoadResponse;
 import com.kunal.loadbook.dto.load.UpdateLoadRequest;
 import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.enums.AuditEntityType;
 import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.enums.ReferenceKind;
+import com.kunal.loadbook.event.LoadChangedEvent;
 import com.kunal.loadbook.exception.BusinessLogicException;
 import com.kunal.loadbook.exception.ResourceNotFoundException;
+import com.kunal.loadbook.fields.FieldSelection;
+import com.kunal.loadbook.index.GeoHit;
+import com.kunal.loadbook.index.LoadGeoIndex;
+import com.kunal.loadbook.index.ReferenceDictionary;
+import com.kunal.loadbook.mapper.BookingMapper;
 import com.kunal.loadbook.mapper.LoadMapper;
+import com.kunal.loadbook.pool.Bulkhead;
+import com.kunal.loadbook.pool.Workload;
+import com.kunal.loadbook.repository.BookingRepository;
 import com.kunal.loadbook.repository.LoadRepository;
+import com.kunal.loadbook.repository.LoadSearchHit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Bulkhead(Workload.WRITE)
 @Transactional
 public class LoadService {
 
     private static final Logger logger = LoggerFactory.getLogger(LoadService.class);
 
+    /** IDs per IN query in {@link #getLoadsByIds} */
+    static final int BATCH_GET_CHUNK_SIZE = 1000;
+
     private final LoadRepository loadRepository;
     private final LoadMapper loadMapper;
+    private final LoadGeoIndex loadGeoIndex;
+    private final ReferenceDictionary referenceDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final AuditLog auditLog;
+    private final TransactionTemplate writeTransaction;
 
     @Autowired
-    public LoadService(LoadRepository loadRepository, LoadMapper loadMapper) {
+    public LoadService(LoadRepository loadRepository, LoadMapper loadMapper, LoadGeoIndex loadGeoIndex,
+            ReferenceDictionary referenceDictionary, ApplicationEventPublisher eventPublisher,
+            BookingRepository bookingRepository, BookingMapper bookingMapper, AuditLog auditLog,
+            PlatformTransactionManager transactionManager) {
         this.loadRepository = loadRepository;
         this.loadMapper = loadMapper;
+        this.loadGeoIndex = loadGeoIndex;
+        this.referenceDictionary = referenceDictionary;
+        this.eventPublisher = eventPublisher;
+        this.bookingRepository = bookingRepository;
+        this.bookingMapper = bookingMapper;
+        this.auditLog = auditLog;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
     }
 
     /**
-     * Create a new load
+     * Create a new load. New dictionary values are stored first, so the load's own
+     * transaction holds one connection at a time; a caller's transaction is joined rather
+     * than suspended.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public LoadResponse createLoad(CreateLoadRequest request) {
         logger.info("Creating new load for shipper: {}", request.getShipperId());
 
@@ -50,38 +103,111 @@ public class LoadService {
             throw new BusinessLogicException("Loading date cannot be after unloading date");
         }
 
-        Load load = loadMapper.toEntity(request);
-        Load savedLoad = loadRepository.save(load);
+        loadMapper.resolveReferences(request);
+        return writeTransaction.execute(status -> {
+            Load load = loadMapper.toEntity(request);
+            Load savedLoad = loadRepository.save(load);
+            eventPublisher.publishEvent(LoadChangedEvent.saved(savedLoad));
 
-        logger.info("Load created successfully with ID: {}", savedLoad.getId());
-        return loadMapper.toResponse(savedLoad);
+            logger.info("Load created successfully with ID: {}", savedLoad.getId());
+            return loadMapper.toResponse(savedLoad);
+        });
     }
 
     /**
-     * Get loads with filtering and pagination
+     * Get loads with filtering and pagination, optionally with their bookings embedded
+     * ({@code include=bookings} or {@code include=bookings:<status>}) and narrowed to the
+     * comma-separated {@code fields}
      */
+    @Bulkhead(Workload.INTERACTIVE_READ)
     @Transactional(readOnly = true)
     public PagedResponse<LoadResponse> getLoads(String shipperId, String truckType,
-            LoadStatus status, int page, int size) {
+            LoadStatus status, boolean includeArchived, String include, String fields, int page, int size) {
+
+        logger.info("Fetching loads with filters - shipperId: {}, truckType: {}, status: {}, includeArchived: {}, include: {}, fields: {}, page: {}, size: {}",
+                shipperId, truckType, status, includeArchived, include, fields, page, size);
+
+        validatePage(page, size);
+
+        LoadInclude loadInclude = LoadInclude.parse(include);
+        FieldSelection fieldSelection = FieldSelection.parse(fields, LoadMapper.FIELDS);
+        Pageable pageable = PageRequest.of(page, size, Sort.by("datePosted").descending());
+        return toPagedResponse(findLoads(shipperId, truckType, status, includeArchived, fieldSelection, pageable),
+                loadInclude, includeArchived);
+    }
+
+    /**
+     * The same page as {@link #getLoads} with every field, as entities, for callers that
+     * write the response rows themselves
+     */
+    @Bulkhead(Workload.INTERACTIVE_READ)
+    @Transactional(readOnly = true)
+    public Page<Load> getLoadEntities(String shipperId, String truckType, LoadStatus status,
+            boolean includeArchived, int page, int size) {
+
+        logger.info("Fetching load entities with filters - shipperId: {}, truckType: {}, status: {}, includeArchived: {}, page: {}, size: {}",
+                shipperId, truckType, status, includeArchived, page, size);
 
-        logger.info("Fetching loads with filters - shipperId: {}, truckType: {}, status: {}, page: {}, size: {}",
-                shipperId, truckType, status, page, size);
+        validatePage(page, size);
 
-        // Validate pagination parameters
+        Pageable pageable = PageRequest.of(page, size, Sort.by("datePosted").descending());
+        Integer truckTypeId = referenceDictionary.findId(ReferenceKind.TRUCK_TYPE, truckType);
+        if (truckType != null && truckTypeId == null) {
+            return Page.empty(pageable);
+        }
+        return loadRepository.findLoadsWithFilters(shipperId, truckTypeId, status, includeArchived, pageable);
+    }
+
+    private static void validatePage(int page, int size) {
         if (page < 0) {
             throw new IllegalArgumentException("Page number cannot be negative");
         }
         if (size <= 0 || size > 100) {
             throw new IllegalArgumentException("Page size must be between 1 and 100");
         }
+    }
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("datePosted").descending());
-        Page<Load> loadPage = loadRepository.findLoadsWithFilters(shipperId, truckType, status, pageable);
+    /**
+     * First {@code limit} loads matching the filters, newest first, with the total match
+     * count; one shard's share of a cross-shard listing (page size is not capped here)
+     */
+    @Bulkhead(Workload.BULK)
+    @Transactional(readOnly = true)
+    public PagedResponse<LoadResponse> getLoadsWindow(String shipperId, String truckType,
+            LoadStatus status, boolean includeArchived, String include, String fields, int limit) {
+        LoadInclude loadInclude = LoadInclude.parse(include);
+        FieldSelection fieldSelection = FieldSelection.parse(fields, LoadMapper.FIELDS);
+        Pageable pageable = PageRequest.of(0, limit, Sort.by("datePosted").descending());
+        return toPagedResponse(findLoads(shipperId, truckType, status, includeArchived, fieldSelection, pageable),
+                loadInclude, includeArchived);
+    }
 
-        List<LoadResponse> loadResponses = loadPage.getContent()
-                .stream()
-                .map(loadMapper::toResponse)
-                .collect(Collectors.toList());
+    private Page<LoadResponse> findLoads(String shipperId, String truckType, LoadStatus status,
+            boolean includeArchived, FieldSelection fieldSelection, Pageable pageable) {
+        Integer truckTypeId = referenceDictionary.findId(ReferenceKind.TRUCK_TYPE, truckType);
+
+        // A truck type that was never stored cannot match any load
+        if (truckType != null && truckTypeId == null) {
+            return Page.empty(pageable);
+        }
+        if (fieldSelection.isAll()) {
+            return loadRepository.findLoadsWithFilters(shipperId, truckTypeId, status, includeArchived, pageable)
+                    .map(loadMapper::toResponse);
+        }
+
+        // Only read the selected columns, skipping e.g. the comment and the facility
+        List<String> selected = LoadMapper.selectedFields(fieldSelection);
+        return loadRepository.findLoadAttributesWithFilters(LoadMapper.attributes(selected), shipperId,
+                truckTypeId, status, includeArchived, pageable)
+                .map(row -> loadMapper.toResponse(row, selected));
+    }
+
+    private PagedResponse<LoadResponse> toPagedResponse(Page<LoadResponse> loadPage, LoadInclude include,
+            boolean includeArchived) {
+        List<LoadResponse> loadResponses = loadPage.getContent();
+        if (include.isBookings()) {
+            embedBookings(loadResponses, include, includeArchived);
+        }
 
         return new PagedResponse<>(
                 loadResponses,
@@ -96,48 +222,248 @@ public class LoadService {
     }
 
     /**
-     * Get load by ID
+     * Attach the bookings of every load on the page, fetched with a single IN query
+     * rather than one query (or HTTP call) per load
+     */
+    private void embedBookings(List<LoadResponse> loadResponses, LoadInclude include, boolean includeArchived) {
+        if (loadResponses.isEmpty()) {
+            return;
+        }
+        List<UUID> loadIds = loadResponses.stream().map(LoadResponse::getId).toList();
+        Map<UUID, List<BookingResponse>> bookingsByLoad = bookingRepository
+                .findByLoadIds(loadIds, include.getBookingStatus(), includeArchived)
+                .stream()
+                .map(bookingMapper::toResponse)
+                .collect(Collectors.groupingBy(BookingResponse::getLoadId));
+        for (LoadResponse loadResponse : loadResponses) {
+            loadResponse.setBookings(bookingsByLoad.getOrDefault(loadResponse.getId(), List.of()));
+        }
+    }
+
+    /**
+     * Fuzzy-search loads with keyset pagination
      */
+    @Bulkhead(Workload.INTERACTIVE_READ)
     @Transactional(readOnly = true)
-    public LoadResponse getLoadById(UUID loadId) {
-        logger.info("Fetching load with ID: {}", loadId);
+    public CursorPagedResponse<LoadResponse> searchLoads(String query, LoadStatus status, String cursor, int size) {
+        return mergeSearchWindows(List.of(searchLoadsWindow(query, status, cursor, size)), size);
+    }
 
-        Load load = loadRepository.findById(loadId)
-                .orElseThrow(() -> ResourceNotFoundException.load(loadId.toString()));
+    /**
+     * The next {@code size + 1} search hits after the cursor, with their loads; one shard's
+     * share of a cross-shard search. The cursor is valid on every shard, as it only holds the
+     * rank and ID of the last hit returned.
+     */
+    @Bulkhead(Workload.INTERACTIVE_READ)
+    @Transactional(readOnly = true)
+    public List<RankedLoad> searchLoadsWindow(String query, LoadStatus status, String cursor, int size) {
+        logger.info("Searching loads - query: {}, status: {}, size: {}", query, status, size);
 
-        return loadMapper.toResponse(load);
+        String trimmedQuery = query == null ? "" : query.trim();
+        if (trimmedQuery.length() < 2) {
+            throw new IllegalArgumentException("Search query must be at least 2 characters");
+        }
+        if (size <= 0 || size > 100) {
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+        }
+
+        SearchCursor after = cursor != null ? SearchCursor.decode(cursor) : null;
+        List<LoadSearchHit> hits = loadRepository.searchLoads(trimmedQuery, status,
+                after != null ? after.getRank() : null,
+                after != null ? after.getLoadId() : null,
+                size + 1);
+
+        Map<UUID, Load> loadsById = loadRepository.findAllById(
+                hits.stream().map(LoadSearchHit::getLoadId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Load::getId, Function.identity()));
+
+        return hits.stream()
+                .map(hit -> {
+                    Load load = loadsById.get(hit.getLoadId());
+                    return new RankedLoad(hit.getRank(), hit.getLoadId(),
+                            load != null ? loadMapper.toResponse(load) : null);
+                })
+                .collect(Collectors.toList());
     }
 
     /**
-     * Update load
+     * Merge search windows into one page of at most {@code size} loads in search order, with
+     * the cursor of the next page
      */
-    public LoadResponse updateLoad(UUID loadId, UpdateLoadRequest request) {
-        logger.info("Updating load with ID: {}", loadId);
+    public CursorPagedResponse<LoadResponse> mergeSearchWindows(List<List<RankedLoad>> windows, int size) {
+        List<RankedLoad> hits = windows.stream()
+                .flatMap(List::stream)
+                .sorted(RankedLoad.SEARCH_ORDER)
+                .collect(Collectors.toList());
 
-        Load load = loadRepository.findById(loadId)
-                .orElseThrow(() -> ResourceNotFoundException.load(loadId.toString()));
+        boolean hasNext = hits.size() > size;
+        if (hasNext) {
+            hits = hits.subList(0, size);
+        }
 
-        // Check if load can be updated
-        if (load.getStatus() == LoadStatus.BOOKED) {
-            throw new BusinessLogicException("Cannot update a booked load");
+        List<LoadResponse> loadResponses = hits.stream()
+                .map(RankedLoad::getLoad)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasNext) {
+            RankedLoad last = hits.get(hits.size() - 1);
+            nextCursor = new SearchCursor(last.getRank(), last.getLoadId()).encode();
+        }
+
+        return new CursorPagedResponse<>(loadResponses, size, nextCursor, hasNext);
+    }
+
+    /**
+     * Find POSTED loads whose loading point is within the radius, nearest first
+     */
+    @Bulkhead(Workload.INTERACTIVE_READ)
+    @Transactional(readOnly = true)
+    public List<NearbyLoadResponse> findNearbyLoads(double latitude, double longitude, double radiusKm,
+            String truckType, int limit) {
+        logger.info("Finding loads within {} km of ({}, {}) - truckType: {}, limit: {}",
+                radiusKm, latitude, longitude, truckType, limit);
+
+        if (latitude < -90 || latitude > 90) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90");
+        }
+        if (longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
         }
-        if (load.getStatus() == LoadStatus.CANCELLED) {
-            throw new BusinessLogicException("Cannot update a cancelled load");
+        if (radiusKm <= 0 || radiusKm > 1000) {
+            throw new IllegalArgumentException("Radius must be between 0 and 1000 km");
+        }
+        if (limit <= 0 || limit > 100) {
+            throw new IllegalArgumentException("Limit must be between 1 and 100");
         }
 
-        // Validate facility dates if being updated
-        if (request.getFacility() != null &&
-                request.getFacility().getLoadingDate() != null &&
-                request.getFacility().getUnloadingDate() != null &&
-                request.getFacility().getLoadingDate().isAfter(request.getFacility().getUnloadingDate())) {
-            throw new BusinessLogicException("Loading date cannot be after unloading date");
+        Integer truckTypeId = referenceDictionary.findId(ReferenceKind.TRUCK_TYPE, truckType);
+        if (truckType != null && truckTypeId == null) {
+            return Collections.emptyList();
+        }
+
+        List<GeoHit> hits = loadGeoIndex.findWithin(latitude, longitude, radiusKm, truckTypeId, limit);
+
+        Map<UUID, Load> loadsById = loadRepository.findAllById(
+                hits.stream().map(GeoHit::getLoadId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Load::getId, Function.identity()));
+
+        // The index is updated after commit, so re-check the status of what it returned
+        return hits.stream()
+                .filter(hit -> {
+                    Load load = loadsById.get(hit.getLoadId());
+                    return load != null && load.getStatus() == LoadStatus.POSTED;
+                })
+                .map(hit -> new NearbyLoadResponse(hit.getDistanceKm(),
+                        loadMapper.toResponse(loadsById.get(hit.getLoadId()))))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get load by ID
+     */
+    @Bulkhead(Workload.INTERACTIVE_READ)
+    @Transactional(readOnly = true)
+    public LoadResponse getLoadById(UUID loadId) {
+        return getLoadById(loadId, null);
+    }
+
+    /**
+     * Get load by ID, narrowed to the comma-separated {@code fields}
+     */
+    @Bulkhead(Workload.INTERACTIVE_READ)
+    @Transactional(readOnly = true)
+    public LoadResponse getLoadById(UUID loadId, String fields) {
+        logger.info("Fetching load with ID: {}, fields: {}", loadId, fields);
+
+        FieldSelection fieldSelection = FieldSelection.parse(fields, LoadMapper.FIELDS);
+        if (!fieldSelection.isAll()) {
+            List<String> selected = LoadMapper.selectedFields(fieldSelection);
+            return loadRepository.findLoadAttributesById(LoadMapper.attributes(selected), loadId)
+                    .map(row -> loadMapper.toResponse(row, selected))
+                    .orElseThrow(() -> ResourceNotFoundException.load(loadId.toString()));
+        }
+
+        Load load = loadRepository.findById(loadId)
+                .orElseThrow(() -> ResourceNotFoundException.load(loadId.toString()));
+
+        return loadMapper.toResponse(load);
+    }
+
+    /**
+     * Get the loads with the given IDs, keyed by ID; IDs that do not exist are left out.
+     * One transaction, with an IN query per {@value #BATCH_GET_CHUNK_SIZE} IDs.
+     */
+    @Bulkhead(Workload.BULK)
+    @Transactional(readOnly = true)
+    public Map<UUID, LoadResponse> getLoadsByIds(Collection<UUID> loadIds) {
+        logger.info("Fetching {} loads by ID", loadIds.size());
+
+        List<UUID> distinctIds = List.copyOf(new LinkedHashSet<>(loadIds));
+        Map<UUID, LoadResponse> loads = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += BATCH_GET_CHUNK_SIZE) {
+            List<UUID> chunk = distinctIds.subList(from, Math.min(from + BATCH_GET_CHUNK_SIZE, distinctIds.size()));
+            for (Load load : loadRepository.findAllById(chunk)) {
+                loads.put(load.getId(), loadMapper.toResponse(load));
+            }
         }
+        return loads;
+    }
 
-        loadMapper.updateEntity(load, request);
-        Load updatedLoad = loadRepository.save(load);
+    /**
+     * Update load; like {@link #createLoad}, new dictionary values are stored first
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public LoadResponse updateLoad(UUID loadId, UpdateLoadRequest request) {
+        logger.info("Updating load with ID: {}", loadId);
 
-        logger.info("Load updated successfully with ID: {}", updatedLoad.getId());
-        return loadMapper.toResponse(updatedLoad);
+        loadMapper.resolveReferences(request);
+        return writeTransaction.execute(status -> {
+            Load load = loadRepository.findById(loadId)
+                    .orElseThrow(() -> ResourceNotFoundException.load(loadId.toString()));
+
+            // Check if load can be updated
+            if (load.getStatus() == LoadStatus.BOOKED) {
+                throw new BusinessLogicException("Cannot update a booked load");
+            }
+            if (load.getStatus() == LoadStatus.CANCELLED) {
+                throw new BusinessLogicException("Cannot update a cancelled load");
+            }
+            // Nothing leads out of EXPIRED, so a new loading date could never take effect
+            if (load.getStatus() == LoadStatus.EXPIRED) {
+                throw new BusinessLogicException("Cannot update an expired load");
+            }
+
+            // Validate facility dates if being updated
+            if (request.getFacility() != null &&
+                    request.getFacility().getLoadingDate() != null &&
+                    request.getFacility().getUnloadingDate() != null &&
+                    request.getFacility().getLoadingDate().isAfter(request.getFacility().getUnloadingDate())) {
+                throw new BusinessLogicException("Loading date cannot be after unloading date");
+            }
+
+            // Trucks already taken by accepted bookings stay taken; the open count moves with the total
+            if (request.getNoOfTrucks() != null && !request.getNoOfTrucks().equals(load.getNoOfTrucks())) {
+                int taken = load.getNoOfTrucks() - load.getRemainingTrucks();
+                if (loadRepository.adjustRemainingTrucks(loadId, request.getNoOfTrucks() - load.getNoOfTrucks(),
+                        LoadStatus.BOOKED) == 0) {
+                    throw new BusinessLogicException("Number of trucks must be more than the " + taken
+                            + " already booked");
+                }
+                load = loadRepository.findById(loadId)
+                        .orElseThrow(() -> ResourceNotFoundException.load(loadId.toString()));
+            }
+
+            loadMapper.updateEntity(load, request);
+            Load updatedLoad = loadRepository.save(load);
+            eventPublisher.publishEvent(LoadChangedEvent.saved(updatedLoad));
+
+            logger.info("Load updated successfully with ID: {}", updatedLoad.getId());
+            return loadMapper.toResponse(updatedLoad);
+        });
     }
 
     /**
@@ -146,15 +472,22 @@ public class LoadService {
     public void deleteLoad(UUID loadId) {
         logger.info("Deleting load with ID: {}", loadId);
 
-        Load load = loadRepository.findById(loadId)
+        // Locked, so a booking cannot be accepted between the checks and the delete
+        Load load = loadRepository.findByIdForUpdate(loadId)
                 .orElseThrow(() -> ResourceNotFoundException.load(loadId.toString()));
 
-        // Check if load can be deleted
+        // Check if load can be deleted; a multi-truck load stays POSTED while partly
+        // booked, and deleting it would take the accepted bookings with it
         if (load.getStatus() == LoadStatus.BOOKED) {
             throw new BusinessLogicException("Cannot delete a booked load");
         }
+        if (allocatedTrucks(load) > 0) {
+            throw new BusinessLogicException("Cannot delete a load with accepted bookings ("
+                    + allocatedTrucks(load) + " of " + load.getNoOfTrucks() + " trucks booked)");
+        }
 
         loadRepository.delete(load);
+        eventPublisher.publishEvent(LoadChangedEvent.deleted(load));
         logger.info("Load deleted successfully with ID: {}", loadId);
     }
 
@@ -164,7 +497,7 @@ public class LoadService {
     public void updateLoadStatus(UUID loadId, LoadStatus newStatus) {
         logger.info("Updating load status for ID: {} to {}", loadId, newStatus);
 
-        Load load = loadRepository.findById(loadId)
+        Load load = loadRepository.findByIdForUpdate(loadId)
                 .orElseThrow(() -> ResourceNotFoundException.load(loadId.toString()));
 
         LoadStatus oldStatus = load.getStatus();
@@ -173,13 +506,68 @@ public class LoadService {
         if (!isValidStatusTransition(oldStatus, newStatus)) {
             throw new BusinessLogicException("Invalid status transition from " + oldStatus + " to " + newStatus);
         }
+        if (oldStatus == LoadStatus.POSTED && newStatus == LoadStatus.CANCELLED && allocatedTrucks(load) > 0) {
+            throw new BusinessLogicException("Cannot cancel a load with accepted bookings ("
+                    + allocatedTrucks(load) + " of " + load.getNoOfTrucks() + " trucks booked)");
+        }
 
         load.setStatus(newStatus);
         loadRepository.save(load);
+        eventPublisher.publishEvent(LoadChangedEvent.saved(load));
 
         logger.info("Load status updated from {} to {} for ID: {}", oldStatus, newStatus, loadId);
     }
 
+    /**
+     * Count a new PENDING booking into the load's booking summary
+     */
+    public void recordPendingBooking(UUID loadId, Double rate, LocalDateTime bidAt) {
+        loadRepository.incrementPendingBookings(loadId, rate, bidAt);
+    }
+
+    /**
+     * Take a booking that is no longer PENDING out of the load's booking summary
+     */
+    public void releasePendingBooking(UUID loadId) {
+        loadRepository.decrementPendingBookings(loadId);
+    }
+
+    /**
+     * Recompute the load's best pending rate
+     */
+    public void refreshBestPendingRate(UUID loadId) {
+        loadRepository.refreshBestPendingRate(loadId);
+    }
+
+    /**
+     * Take several bookings that are no longer PENDING out of the load's booking summary
+     */
+    public void releasePendingBookings(UUID loadId, int count) {
+        loadRepository.decrementPendingBookingsBy(loadId, count);
+    }
+
+    /**
+     * Take trucks from the load for an accepted booking; returns the load afterwards, or
+     * empty if the load is no longer POSTED or has fewer trucks left
+     */
+    public Optional<Load> allocateTrucks(UUID loadId, UUID bookingId, int trucks) {
+        if (loadRepository.allocateTrucks(loadId, bookingId, trucks, LoadStatus.POSTED, LoadStatus.BOOKED,
+                LocalDateTime.now()) == 0) {
+            return Optional.empty();
+        }
+
+        Load load = loadRepository.findById(loadId)
+                .orElseThrow(() -> ResourceNotFoundException.load(loadId.toString()));
+        if (load.getStatus() == LoadStatus.BOOKED) {
+            auditLog.record(AuditEntityType.LOAD, loadId, LoadStatus.POSTED.name(), LoadStatus.BOOKED.name());
+        }
+        eventPublisher.publishEvent(LoadChangedEvent.saved(load));
+
+        logger.info("Allocated {} truck(s) of load {} to booking {}, {} left", trucks, loadId, bookingId,
+                load.getRemainingTrucks());
+        return Optional.of(load);
+    }
+
     /**
      * Get load entity by ID (for internal use)
      */
@@ -189,6 +577,16 @@ public class LoadService {
                 .orElseThrow(() -> ResourceNotFoundException.load(loadId.toString()));
     }
 
+    /**
+     * Trucks taken by accepted bookings
+     */
+    private static int allocatedTrucks(Load load) {
+        if (load.getNoOfTrucks() == null || load.getRemainingTrucks() == null) {
+            return 0;
+        }
+        return load.getNoOfTrucks() - load.getRemainingTrucks();
+    }
+
     /**
      * Validate status transition
      */
@@ -200,6 +598,8 @@ public class LoadService {
                 return to == LoadStatus.CANCELLED || to == LoadStatus.POSTED;
             case CANCELLED:
                 return false; // Cannot transition from cancelled to any other status
+            case EXPIRED:
+                return false; // Expired loads are only closed out by archival
             default:
                 return false;
         }
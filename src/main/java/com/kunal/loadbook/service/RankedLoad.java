@@ -0,0 +1,48 @@
+package com.kunal.loadbook.service;
+
+import com.kunal.loadbook.dto.load.LoadResponse;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * A search hit with its load; one shard's share of a cross-shard search, merged back
+ * into a page by {@link LoadService#mergeSearchWindows}
+ */
+public final class RankedLoad {
+
+    /** Search order: best rank first, ties by ID as PostgreSQL compares UUIDs (unsigned) */
+    static final Comparator<RankedLoad> SEARCH_ORDER = Comparator
+            .comparingInt((RankedLoad hit) -> hit.rank).reversed()
+            .thenComparing((a, b) -> compareUnsigned(a.loadId, b.loadId));
+
+    private final int rank;
+    private final UUID loadId;
+    private final LoadResponse load;
+
+    RankedLoad(int rank, UUID loadId, LoadResponse load) {
+        this.rank = rank;
+        this.loadId = loadId;
+        this.load = load;
+    }
+
+    int getRank() {
+        return rank;
+    }
+
+    UUID getLoadId() {
+        return loadId;
+    }
+
+    /**
+     * Null when the load was deleted between the search and the lookup
+     */
+    LoadResponse getLoad() {
+        return load;
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
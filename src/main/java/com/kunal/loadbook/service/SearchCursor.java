@@ -0,0 +1,43 @@
+package com.kunal.loadbook.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for load search: the rank and ID of the last hit returned
+ */
+final class SearchCursor {
+
+    private final int rank;
+    private final UUID loadId;
+
+    SearchCursor(int rank, UUID loadId) {
+        this.rank = rank;
+        this.loadId = loadId;
+    }
+
+    int getRank() {
+        return rank;
+    }
+
+    UUID getLoadId() {
+        return loadId;
+    }
+
+    String encode() {
+        String raw = rank + ":" + loadId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new SearchCursor(Integer.parseInt(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.kunal.loadbook.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * The database shard the current thread works against.
+ *
+ * Read by {@link ShardRoutingDataSource} when a transaction opens its connection, so it
+ * has to be set before the transaction starts; {@link ShardRouter} does that at the
+ * controller and scheduler entry points.
+ */
+public final class ShardContext {
+
+    /** No shard selected; the routing data source falls back to shard 0 */
+    public static final int NONE = -1;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * The current shard, or {@link #NONE}
+     */
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : NONE;
+    }
+
+    /**
+     * Run the work with the given shard selected, restoring the previous selection afterwards
+     */
+    public static <T> T callOn(int shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        if (shard == NONE) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
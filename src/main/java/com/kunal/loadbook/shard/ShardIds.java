@@ -0,0 +1,64 @@
+package com.kunal.loadbook.shard;
+
+import java.util.UUID;
+
+/**
+ * Shard placement encoded in identifiers.
+ *
+ * Loads and bookings carry their shard in 10 of the 62 random bits of their UUIDv7
+ * (bits 52-61 of the least significant half, just below the variant), so any ID can be
+ * routed without a lookup. Loads are placed by a hash of their shipper ID; bookings
+ * inherit the shard of their load.
+ *
+ * Nothing marks an ID as minted with a shard: the same bits of a UUIDv7 created before
+ * sharding was enabled are random, so sharding needs a deployment without such rows.
+ * IDs of other versions carry no shard and belong to shard 0.
+ */
+public final class ShardIds {
+
+    public static final int SHARD_BITS = 10;
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private static final int SHARD_SHIFT = 52;
+    private static final long SHARD_MASK = (long) (MAX_SHARDS - 1) << SHARD_SHIFT;
+
+    private ShardIds() {
+    }
+
+    /**
+     * Replace the shard bits of a UUIDv7
+     */
+    public static UUID withShard(UUID id, int shard) {
+        if (shard < 0 || shard >= MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard must be between 0 and " + (MAX_SHARDS - 1));
+        }
+        long lsb = (id.getLeastSignificantBits() & ~SHARD_MASK) | ((long) shard << SHARD_SHIFT);
+        return new UUID(id.getMostSignificantBits(), lsb);
+    }
+
+    /**
+     * The shard encoded in an ID; 0 for anything but a UUIDv7
+     */
+    public static int shardOf(UUID id) {
+        if (id.version() != 7) {
+            return 0;
+        }
+        return (int) ((id.getLeastSignificantBits() & SHARD_MASK) >>> SHARD_SHIFT);
+    }
+
+    /**
+     * The shard a shipper's loads are placed on. The mapping changes with the shard
+     * count, so the count is fixed once a deployment holds data.
+     */
+    public static int shardForShipper(String shipperId, int shardCount) {
+        // String.hashCode is specified, so the placement is stable across JVMs;
+        // the murmur3 finalizer spreads its low bits
+        int h = shipperId.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, shardCount);
+    }
+}
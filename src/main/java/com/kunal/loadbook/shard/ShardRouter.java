@@ -0,0 +1,196 @@
+package com.kunal.loadbook.shard;
+
+import com.kunal.loadbook.dto.common.PagedResponse;
+import com.kunal.loadbook.pool.Workload;
+import com.kunal.loadbook.pool.WorkloadContext;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Entry point for shard-aware work: selects the shard for a shipper or an ID before any
+ * transaction starts, and fans queries out to every shard.
+ *
+ * Without {@code loadbook.sharding.enabled} there is a single shard and every method
+ * simply runs the work on the calling thread.
+ */
+@Component
+public class ShardRouter {
+
+    private final int shardCount;
+    private final int maxScatterWindow;
+    private final ExecutorService scatterExecutor;
+
+    @Autowired
+    public ShardRouter(ObjectProvider<ShardRoutingDataSource> routingDataSource,
+            @Value("${loadbook.sharding.max-scatter-window:1000}") int maxScatterWindow) {
+        ShardRoutingDataSource dataSource = routingDataSource.getIfAvailable();
+        this.shardCount = dataSource != null ? dataSource.getShardCount() : 1;
+        this.maxScatterWindow = maxScatterWindow;
+        this.scatterExecutor = shardCount > 1 ? Executors.newVirtualThreadPerTaskExecutor() : null;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    /**
+     * Run the work on the given shard
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        return isSharded() ? ShardContext.callOn(shard, work) : work.get();
+    }
+
+    /**
+     * Run the work on the shard holding the shipper's loads
+     */
+    public <T> T forShipper(String shipperId, Supplier<T> work) {
+        if (!isSharded() || shipperId == null) {
+            return work.get();
+        }
+        return onShard(ShardIds.shardForShipper(shipperId, shardCount), work);
+    }
+
+    /**
+     * Run the work on the shard encoded in a load or booking ID; IDs that are not UUIDv7
+     * or name a shard this deployment does not have go to shard 0, where they are simply
+     * not found unless they predate sharding
+     */
+    public <T> T forId(UUID id, Supplier<T> work) {
+        if (!isSharded() || id == null) {
+            return work.get();
+        }
+        int shard = ShardIds.shardOf(id);
+        return onShard(shard < shardCount ? shard : 0, work);
+    }
+
+    /**
+     * Run the work once per shard, in parallel; results are in shard order
+     */
+    public <T> List<T> scatter(Supplier<T> work) {
+        if (!isSharded()) {
+            return List.of(work.get());
+        }
+
+        // The scatter threads work in the caller's connection pool
+        Workload workload = WorkloadContext.current();
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> WorkloadContext.callAs(workload, () -> ShardContext.callOn(target, work)), scatterExecutor));
+        }
+        return join(futures);
+    }
+
+    /**
+     * Run the work, in parallel, on each shard holding some of the load or booking IDs,
+     * with that shard's share of them; results are in shard order. IDs are routed as in
+     * {@link #forId}.
+     */
+    public <T> List<T> scatterIds(Collection<UUID> ids, Function<List<UUID>, T> work) {
+        if (!isSharded()) {
+            return List.of(work.apply(List.copyOf(ids)));
+        }
+
+        Map<Integer, List<UUID>> idsByShard = new TreeMap<>();
+        for (UUID id : ids) {
+            int shard = ShardIds.shardOf(id);
+            idsByShard.computeIfAbsent(shard < shardCount ? shard : 0, key -> new ArrayList<>()).add(id);
+        }
+        Workload workload = WorkloadContext.current();
+        List<CompletableFuture<T>> futures = new ArrayList<>(idsByShard.size());
+        idsByShard.forEach((shard, shardIds) -> futures.add(CompletableFuture.supplyAsync(
+                () -> WorkloadContext.callAs(workload, () -> ShardContext.callOn(shard, () -> work.apply(shardIds))),
+                scatterExecutor)));
+        return join(futures);
+    }
+
+    private static <T> List<T> join(List<CompletableFuture<T>> futures) {
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Run the work once per shard, one shard after another (background jobs)
+     */
+    public void forEachShard(Runnable work) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            onShard(shard, () -> {
+                work.run();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Cross-shard page of a listing ordered by {@code order}: every shard returns its first
+     * {@code (page + 1) * size} rows and total count, and the merged rows are cut to the page
+     */
+    public <T> PagedResponse<T> scatterPages(int page, int size, Comparator<? super T> order,
+            IntFunction<PagedResponse<T>> firstRowsOfShard) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page number cannot be negative");
+        }
+        if (size <= 0 || size > 100) {
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+        }
+        int window = (page + 1) * size;
+        if (window > maxScatterWindow) {
+            throw new IllegalArgumentException("Page is too deep for a cross-shard listing ("
+                    + maxScatterWindow + " rows max); narrow the filters or filter by shipper");
+        }
+
+        List<PagedResponse<T>> shardPages = scatter(() -> firstRowsOfShard.apply(window));
+
+        long totalElements = 0;
+        List<T> merged = new ArrayList<>();
+        for (PagedResponse<T> shardPage : shardPages) {
+            totalElements += shardPage.getTotalElements();
+            merged.addAll(shardPage.getContent());
+        }
+        merged.sort(order);
+
+        int from = Math.min(page * size, merged.size());
+        int to = Math.min(from + size, merged.size());
+        int totalPages = (int) ((totalElements + size - 1) / size);
+        boolean last = (long) (page + 1) * size >= totalElements;
+
+        return new PagedResponse<>(new ArrayList<>(merged.subList(from, to)), page, size, totalElements,
+                totalPages, page == 0, last, !last, page > 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+-- Baseline schema: reference dictionary, loads and bookings, matching the JPA entities
+-- (validated at startup with spring.jpa.hibernate.ddl-auto=validate)
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE TABLE reference_values (
+    id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    kind varchar(32) NOT NULL,
+    label varchar(255) NOT NULL,
+    CONSTRAINT ck_reference_values_kind CHECK (kind IN ('TRUCK_TYPE', 'PRODUCT_TYPE', 'LOCATION')),
+    CONSTRAINT uk_reference_values_kind_label UNIQUE (kind, label)
+);
+
+CREATE TABLE loads (
+    id uuid PRIMARY KEY,
+    shipper_id varchar(255) NOT NULL,
+    loading_point_id integer NOT NULL,
+    unloading_point_id integer NOT NULL,
+    loading_date timestamp(6) NOT NULL,
+    unloading_date timestamp(6) NOT NULL,
+    loading_latitude double precision,
+    loading_longitude double precision,
+    unloading_latitude double precision,
+    unloading_longitude double precision,
+    product_type_id integer NOT NULL,
+    truck_type_id integer NOT NULL,
+    no_of_trucks integer NOT NULL,
+    weight double precision NOT NULL,
+    comment varchar(1000),
+    status varchar(255) NOT NULL,
+    date_posted timestamp(6) NOT NULL,
+    updated_at timestamp(6),
+    archived boolean NOT NULL DEFAULT false,
+    CONSTRAINT ck_loads_status CHECK (status IN ('POSTED', 'BOOKED', 'CANCELLED'))
+);
+
+CREATE TABLE bookings (
+    id uuid PRIMARY KEY,
+    load_id uuid NOT NULL,
+    transporter_id varchar(255) NOT NULL,
+    proposed_rate double precision NOT NULL,
+    comment varchar(1000),
+    status varchar(255) NOT NULL,
+    requested_at timestamp(6) NOT NULL,
+    updated_at timestamp(6),
+    archived boolean NOT NULL DEFAULT false,
+    CONSTRAINT fk_booking_load FOREIGN KEY (load_id) REFERENCES loads (id),
+    CONSTRAINT ck_bookings_status CHECK (status IN ('PENDING', 'ACCEPTED', 'REJECTED'))
+);
+
+-- Listing, filtering and archival
+CREATE INDEX idx_loads_archived_date_posted ON loads (archived, date_posted);
+CREATE INDEX idx_loads_truck_type_id ON loads (truck_type_id);
+CREATE INDEX idx_bookings_archived_requested_at ON bookings (archived, requested_at);
+CREATE INDEX idx_bookings_load_id ON bookings (load_id);
+
+-- Fuzzy search (LoadSearchRepositoryImpl): trigram match on the dictionary and comments,
+-- joined back to loads by ID
+CREATE INDEX idx_reference_values_label_trgm ON reference_values USING gin (label gin_trgm_ops);
+CREATE INDEX idx_loads_comment_trgm ON loads USING gin (comment gin_trgm_ops);
+CREATE INDEX idx_loads_loading_point_id ON loads (loading_point_id);
+CREATE INDEX idx_loads_unloading_point_id ON loads (unloading_point_id);
+CREATE INDEX idx_loads_product_type_id ON loads (product_type_id);
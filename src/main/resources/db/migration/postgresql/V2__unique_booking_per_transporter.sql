@@ -0,0 +1,33 @@
+-- One booking per (load, transporter). BookingService only skips its duplicate check
+-- when the per-node Bloom filter has never seen the pair; this constraint is what
+-- rejects duplicates created concurrently or on other nodes.
+
+-- Pre-existing duplicates (from races before the constraint) are bookings someone may
+-- act on, so stop here instead of picking one to keep; see "Duplicate Bookings" in the
+-- README for the query that lists them and the manual cleanup
+DO $$
+DECLARE
+    duplicate_pairs bigint;
+BEGIN
+    SELECT count(*) INTO duplicate_pairs
+    FROM (
+        SELECT 1
+        FROM bookings
+        GROUP BY load_id, transporter_id
+        HAVING count(*) > 1
+    ) duplicates;
+
+    IF duplicate_pairs > 0 THEN
+        RAISE EXCEPTION '% (load_id, transporter_id) pairs have more than one booking', duplicate_pairs
+            USING HINT = 'List them with: SELECT load_id, transporter_id, array_agg(id || '':'' || status '
+                || 'ORDER BY requested_at) FROM bookings GROUP BY load_id, transporter_id HAVING count(*) > 1; '
+                || 'resolve them by hand, then restart to rerun this migration';
+    END IF;
+END
+$$;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT uk_bookings_load_transporter UNIQUE (load_id, transporter_id);
+
+-- The unique index leads with load_id, so it also serves lookups by load
+DROP INDEX IF EXISTS idx_bookings_load_id;
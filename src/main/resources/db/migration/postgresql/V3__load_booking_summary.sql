@@ -0,0 +1,24 @@
+-- Denormalized booking summary on loads, kept current by BookingService with atomic
+-- UPDATEs so load listings need no per-row booking queries
+
+ALTER TABLE loads
+    ADD COLUMN pending_booking_count integer NOT NULL DEFAULT 0,
+    ADD COLUMN accepted_booking_id uuid,
+    ADD COLUMN best_pending_rate double precision,
+    ADD COLUMN last_bid_at timestamp(6);
+
+UPDATE loads l
+SET pending_booking_count = s.pending_count,
+    best_pending_rate = s.best_rate,
+    accepted_booking_id = s.accepted_id,
+    last_bid_at = s.last_bid_at
+FROM (
+    SELECT load_id,
+           count(*) FILTER (WHERE status = 'PENDING') AS pending_count,
+           min(proposed_rate) FILTER (WHERE status = 'PENDING') AS best_rate,
+           (array_agg(id) FILTER (WHERE status = 'ACCEPTED'))[1] AS accepted_id,
+           max(requested_at) AS last_bid_at
+    FROM bookings
+    GROUP BY load_id
+) s
+WHERE l.id = s.load_id;
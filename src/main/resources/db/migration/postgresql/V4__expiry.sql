@@ -0,0 +1,33 @@
+-- EXPIRED status for POSTED loads past their loading date and PENDING bookings nobody
+-- answered, plus partial indexes that keep the expiry scans proportional to the
+-- number of due rows
+
+-- Drop the status checks by what they constrain rather than by name, so a check that
+-- did not come from V1 (e.g. one named by Hibernate) is replaced as well
+DO $$
+DECLARE
+    status_check record;
+BEGIN
+    FOR status_check IN
+        SELECT c.conrelid::regclass AS table_name, c.conname
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY (c.conkey)
+        WHERE c.contype = 'c'
+          AND c.conrelid IN ('loads'::regclass, 'bookings'::regclass)
+          AND a.attname = 'status'
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', status_check.table_name, status_check.conname);
+    END LOOP;
+END
+$$;
+
+ALTER TABLE loads
+    ADD CONSTRAINT ck_loads_status CHECK (status IN ('POSTED', 'BOOKED', 'CANCELLED', 'EXPIRED'));
+
+ALTER TABLE bookings
+    ADD CONSTRAINT ck_bookings_status CHECK (status IN ('PENDING', 'ACCEPTED', 'REJECTED', 'EXPIRED'));
+
+CREATE INDEX idx_loads_posted_loading_date ON loads (loading_date)
+    WHERE status = 'POSTED' AND archived = false;
+CREATE INDEX idx_bookings_pending_requested_at ON bookings (requested_at)
+    WHERE status = 'PENDING' AND archived = false;
@@ -0,0 +1,4 @@
+-- Publication for the change data capture consumer (loadbook.cdc.*). It costs nothing
+-- until a replication slot reads it, which also needs wal_level=logical on the server
+
+CREATE PUBLICATION loadbook_cdc FOR TABLE loads, bookings;
@@ -0,0 +1,22 @@
+-- Bookings take some of a load's trucks; loads track how many are still open, changed
+-- only by conditional UPDATEs so concurrent accepts never take more than there are
+
+ALTER TABLE bookings
+    ADD COLUMN truck_count integer NOT NULL DEFAULT 1,
+    ADD CONSTRAINT ck_bookings_truck_count CHECK (truck_count > 0);
+
+ALTER TABLE loads
+    ADD COLUMN remaining_trucks integer;
+
+-- Before this, the first accepted booking took the whole load
+UPDATE bookings b
+SET truck_count = l.no_of_trucks
+FROM loads l
+WHERE b.load_id = l.id AND b.status = 'ACCEPTED';
+
+UPDATE loads
+SET remaining_trucks = CASE WHEN accepted_booking_id IS NULL THEN no_of_trucks ELSE 0 END;
+
+ALTER TABLE loads
+    ALTER COLUMN remaining_trucks SET NOT NULL,
+    ADD CONSTRAINT ck_loads_remaining_trucks CHECK (remaining_trucks >= 0);
@@ -0,0 +1,14 @@
+-- Append-only history of load and booking status changes, written in batches by
+-- AuditLog on the shard of the entity each row describes
+
+CREATE TABLE audit_log (
+    id uuid PRIMARY KEY,
+    entity_type varchar(32) NOT NULL,
+    entity_id uuid NOT NULL,
+    from_status varchar(32),
+    to_status varchar(32),
+    changed_at timestamp(6) NOT NULL,
+    CONSTRAINT ck_audit_log_entity_type CHECK (entity_type IN ('LOAD', 'BOOKING'))
+);
+
+CREATE INDEX idx_audit_log_entity ON audit_log (entity_id, changed_at);
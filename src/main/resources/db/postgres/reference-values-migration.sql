@@ -0,0 +1,52 @@
+-- One-off migration of existing loads to dictionary-encoded reference columns.
+-- Run once against databases created before reference_values existed, before
+-- starting the application; ddl-auto=update only adds columns, it does not move data.
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS reference_values (
+    id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    kind varchar(32) NOT NULL,
+    label varchar(255) NOT NULL,
+    CONSTRAINT uk_reference_values_kind_label UNIQUE (kind, label)
+);
+
+INSERT INTO reference_values (kind, label)
+SELECT 'TRUCK_TYPE', truck_type FROM loads
+UNION SELECT 'PRODUCT_TYPE', product_type FROM loads
+UNION SELECT 'LOCATION', loading_point FROM loads
+UNION SELECT 'LOCATION', unloading_point FROM loads
+ON CONFLICT (kind, label) DO NOTHING;
+
+ALTER TABLE loads
+    ADD COLUMN IF NOT EXISTS truck_type_id integer,
+    ADD COLUMN IF NOT EXISTS product_type_id integer,
+    ADD COLUMN IF NOT EXISTS loading_point_id integer,
+    ADD COLUMN IF NOT EXISTS unloading_point_id integer;
+
+UPDATE loads l
+SET truck_type_id = t.id,
+    product_type_id = p.id,
+    loading_point_id = lp.id,
+    unloading_point_id = up.id
+FROM reference_values t, reference_values p, reference_values lp, reference_values up
+WHERE t.kind = 'TRUCK_TYPE' AND t.label = l.truck_type
+  AND p.kind = 'PRODUCT_TYPE' AND p.label = l.product_type
+  AND lp.kind = 'LOCATION' AND lp.label = l.loading_point
+  AND up.kind = 'LOCATION' AND up.label = l.unloading_point;
+
+ALTER TABLE loads
+    ALTER COLUMN truck_type_id SET NOT NULL,
+    ALTER COLUMN product_type_id SET NOT NULL,
+    ALTER COLUMN loading_point_id SET NOT NULL,
+    ALTER COLUMN unloading_point_id SET NOT NULL;
+
+-- Also drops the old trigram indexes on these columns
+ALTER TABLE loads
+    DROP COLUMN truck_type,
+    DROP COLUMN product_type,
+    DROP COLUMN loading_point,
+    DROP COLUMN unloading_point;
+
+CREATE INDEX IF NOT EXISTS idx_loads_truck_type_id ON loads (truck_type_id);
+
+COMMIT;
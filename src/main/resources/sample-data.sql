@@ -1,17 +1,35 @@
 -- Sample data for LoadBook application
 
+-- Reference values
+INSERT INTO reference_values (kind, label)
+VALUES
+  ('LOCATION', 'Mumbai Port'), ('LOCATION', 'Delhi Warehouse'),
+  ('LOCATION', 'Chennai Port'), ('LOCATION', 'Bangalore Hub'),
+  ('LOCATION', 'Kolkata Port'), ('LOCATION', 'Hyderabad Center'),
+  ('PRODUCT_TYPE', 'Electronics'), ('PRODUCT_TYPE', 'Textiles'), ('PRODUCT_TYPE', 'Machinery'),
+  ('TRUCK_TYPE', 'Container'), ('TRUCK_TYPE', 'Truck'), ('TRUCK_TYPE', 'Heavy Vehicle')
+ON CONFLICT (kind, label) DO NOTHING;
+
 -- Sample Loads
-INSERT INTO loads (id, shipper_id, loading_point, unloading_point, loading_date, unloading_date, 
-                  product_type, truck_type, no_of_trucks, weight, comment, status, date_posted, updated_at)
-VALUES 
-  (gen_random_uuid(), 'SHIPPER_001', 'Mumbai Port', 'Delhi Warehouse', 
-   '2025-08-15 10:00:00', '2025-08-18 14:00:00', 'Electronics', 'Container', 
-   2, 15.5, 'Handle with care', 'POSTED', now(), now()),
+INSERT INTO loads (id, shipper_id, loading_point_id, unloading_point_id, loading_date, unloading_date, 
+                  product_type_id, truck_type_id, no_of_trucks, weight, comment, status, date_posted, updated_at)
+SELECT gen_random_uuid(), v.shipper_id, lp.id, up.id, v.loading_date, v.unloading_date,
+       p.id, t.id, v.no_of_trucks, v.weight, v.comment, 'POSTED', now(), now()
+FROM (VALUES 
+  ('SHIPPER_001', 'Mumbai Port', 'Delhi Warehouse', 
+   TIMESTAMP '2025-08-15 10:00:00', TIMESTAMP '2025-08-18 14:00:00', 'Electronics', 'Container', 
+   2, 15.5, 'Handle with care'),
   
-  (gen_random_uuid(), 'SHIPPER_002', 'Chennai Port', 'Bangalore Hub', 
-   '2025-08-16 08:00:00', '2025-08-19 12:00:00', 'Textiles', 'Truck', 
-   1, 8.2, 'Fragile items', 'POSTED', now(), now()),
+  ('SHIPPER_002', 'Chennai Port', 'Bangalore Hub', 
+   TIMESTAMP '2025-08-16 08:00:00', TIMESTAMP '2025-08-19 12:00:00', 'Textiles', 'Truck', 
+   1, 8.2, 'Fragile items'),
   
-  (gen_random_uuid(), 'SHIPPER_003', 'Kolkata Port', 'Hyderabad Center', 
-   '2025-08-17 12:00:00', '2025-08-20 16:00:00', 'Machinery', 'Heavy Vehicle', 
-   3, 25.0, 'Heavy machinery transport', 'POSTED', now(), now());
+  ('SHIPPER_003', 'Kolkata Port', 'Hyderabad Center', 
+   TIMESTAMP '2025-08-17 12:00:00', TIMESTAMP '2025-08-20 16:00:00', 'Machinery', 'Heavy Vehicle', 
+   3, 25.0, 'Heavy machinery transport')
+) AS v (shipper_id, loading_point, unloading_point, loading_date, unloading_date,
+        product_type, truck_type, no_of_trucks, weight, comment)
+JOIN reference_values lp ON lp.kind = 'LOCATION' AND lp.label = v.loading_point
+JOIN reference_values up ON up.kind = 'LOCATION' AND up.label = v.unloading_point
+JOIN reference_values p ON p.kind = 'PRODUCT_TYPE' AND p.label = v.product_type
+JOIN reference_values t ON t.kind = 'TRUCK_TYPE' AND t.label = v.truck_type;
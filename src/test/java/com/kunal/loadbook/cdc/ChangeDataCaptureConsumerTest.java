@@ -0,0 +1,126 @@
+package com.kunal.loadbook.cdc;
+
+import com.kunal.loadbook.index.LoadGeoIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streams from a real PostgreSQL with logical decoding enabled. Skipped when Docker is
+ * unavailable.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ChangeDataCaptureConsumerTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15")
+            .withCommand("postgres", "-c", "wal_level=logical");
+
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+    }
+
+    @Test
+    void appliesDirectSqlChangesToReadModels() throws Exception {
+        LoadGeoIndex geoIndex = new LoadGeoIndex(null, null, 0.5);
+        RecordingReadModel recorder = new RecordingReadModel();
+        ChangeDataCaptureConsumer consumer = consumer("apply_test", geoIndex, recorder);
+        consumer.createSlots();
+        consumer.start();
+        try {
+            UUID loadId = insertLoad();
+            ChangeEvent inserted = recorder.next();
+            assertEquals(ChangeEvent.Operation.INSERT, inserted.getOperation());
+            assertEquals(loadId, inserted.getUuid("id"));
+            assertEquals(1, geoIndex.size());
+
+            jdbc.update("UPDATE loads SET status = 'BOOKED' WHERE id = ?", loadId);
+            assertEquals(ChangeEvent.Operation.UPDATE, recorder.next().getOperation());
+            assertEquals(0, geoIndex.size());
+        } finally {
+            consumer.stop();
+        }
+    }
+
+    @Test
+    void resumesFromCheckpointAfterRestart() throws Exception {
+        RecordingReadModel first = new RecordingReadModel();
+        ChangeDataCaptureConsumer consumer = consumer("resume_test", first);
+        consumer.createSlots();
+        consumer.start();
+        UUID applied = insertLoad();
+        assertEquals(applied, first.next().getUuid("id"));
+        consumer.stop();
+
+        // Committed while no consumer is running
+        UUID missed = insertLoad();
+
+        RecordingReadModel second = new RecordingReadModel();
+        ChangeDataCaptureConsumer restarted = consumer("resume_test", second);
+        restarted.createSlots();
+        restarted.start();
+        try {
+            // The applied change is not replayed; the missed one is delivered
+            assertEquals(missed, second.next().getUuid("id"));
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    private static ChangeDataCaptureConsumer consumer(String slotName, ReadModel... readModels) {
+        ChangeDataCaptureConsumer.Source source = new ChangeDataCaptureConsumer.Source(
+                "test", POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        return new ChangeDataCaptureConsumer(List.of(readModels), List.of(source), slotName, "loadbook_cdc",
+                Duration.ofMillis(200), new SimpleMeterRegistry(), true);
+    }
+
+    private static UUID insertLoad() {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO loads (id, shipper_id, loading_point_id, unloading_point_id, loading_date, "
+                + "unloading_date, loading_latitude, loading_longitude, product_type_id, truck_type_id, "
+                + "no_of_trucks, weight, status, date_posted) VALUES (?, 'SHIPPER_SQL', 1, 2, "
+                + "now() + interval '1 day', now() + interval '3 days', 19.07, 72.87, 3, 4, 1, 10.0, "
+                + "'POSTED', now())", id);
+        return id;
+    }
+
+    private static final class RecordingReadModel implements ReadModel {
+
+        private final BlockingQueue<ChangeEvent> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void apply(ChangeEvent event) {
+            events.add(event);
+        }
+
+        ChangeEvent next() throws InterruptedException {
+            ChangeEvent event = events.poll(30, TimeUnit.SECONDS);
+            assertNotNull(event, "No change received");
+            return event;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.kunal.loadbook.cdc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PgOutputDecoderTest {
+
+    private static final int LOADS_OID = 16384;
+
+    private PgOutputDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        decoder = new PgOutputDecoder();
+        assertNull(decoder.decode(relation(LOADS_OID, "loads", "id", "status", "comment")));
+    }
+
+    @Test
+    void decode_BuffersChangesUntilCommit() {
+        assertNull(decoder.decode(begin(0x100)));
+        assertNull(decoder.decode(insert(LOADS_OID, "a", "POSTED", null)));
+        assertNull(decoder.decode(update(LOADS_OID, "a", "BOOKED")));
+        assertNull(decoder.decode(delete(LOADS_OID, "a")));
+
+        PgOutputDecoder.Transaction transaction = decoder.decode(commit(0x100, 0x180, 0));
+
+        assertNotNull(transaction);
+        assertEquals(0x180, transaction.getEndLsn());
+        assertEquals(Instant.parse("2000-01-01T00:00:00Z"), transaction.getCommittedAt());
+        List<ChangeEvent> changes = transaction.getChanges();
+        assertEquals(3, changes.size());
+
+        ChangeEvent inserted = changes.get(0);
+        assertEquals("loads", inserted.getTable());
+        assertEquals(ChangeEvent.Operation.INSERT, inserted.getOperation());
+        assertEquals(Map.of("id", "a", "status", "POSTED"), inserted.getColumns());
+        assertEquals(0x100, inserted.getLsn());
+
+        ChangeEvent updated = changes.get(1);
+        assertEquals(ChangeEvent.Operation.UPDATE, updated.getOperation());
+        // The unchanged out-of-line comment is not sent
+        assertEquals(Map.of("id", "a", "status", "BOOKED"), updated.getColumns());
+
+        ChangeEvent deleted = changes.get(2);
+        assertEquals(ChangeEvent.Operation.DELETE, deleted.getOperation());
+        assertEquals("a", deleted.getString("id"));
+    }
+
+    @Test
+    void decode_StartsEachTransactionEmpty() {
+        decoder.decode(begin(0x100));
+        decoder.decode(insert(LOADS_OID, "a", "POSTED", "x"));
+        decoder.decode(commit(0x100, 0x180, 0));
+
+        decoder.decode(begin(0x200));
+        PgOutputDecoder.Transaction transaction = decoder.decode(commit(0x200, 0x280, 0));
+
+        assertTrue(transaction.getChanges().isEmpty());
+    }
+
+    @Test
+    void decode_RejectsChangesToUndescribedRelations() {
+        decoder.decode(begin(0x100));
+
+        assertThrows(IllegalStateException.class, () -> decoder.decode(insert(LOADS_OID + 1, "a", "POSTED", null)));
+    }
+
+    private static ByteBuffer begin(long lsn) {
+        return message(out -> {
+            out.writeByte('B');
+            out.writeLong(lsn);
+            out.writeLong(0);
+            out.writeInt(1);
+        });
+    }
+
+    private static ByteBuffer commit(long commitLsn, long endLsn, long timestampMicros) {
+        return message(out -> {
+            out.writeByte('C');
+            out.writeByte(0);
+            out.writeLong(commitLsn);
+            out.writeLong(endLsn);
+            out.writeLong(timestampMicros);
+        });
+    }
+
+    private static ByteBuffer relation(int oid, String name, String... columns) {
+        return message(out -> {
+            out.writeByte('R');
+            out.writeInt(oid);
+            writeString(out, "public");
+            writeString(out, name);
+            out.writeByte('d');
+            out.writeShort(columns.length);
+            for (String column : columns) {
+                out.writeByte(0);
+                writeString(out, column);
+                out.writeInt(25);
+                out.writeInt(-1);
+            }
+        });
+    }
+
+    private static ByteBuffer insert(int oid, String id, String status, String comment) {
+        return message(out -> {
+            out.writeByte('I');
+            out.writeInt(oid);
+            out.writeByte('N');
+            out.writeShort(3);
+            writeText(out, id);
+            writeText(out, status);
+            if (comment == null) {
+                out.writeByte('n');
+            } else {
+                writeText(out, comment);
+            }
+        });
+    }
+
+    private static ByteBuffer update(int oid, String id, String status) {
+        return message(out -> {
+            out.writeByte('U');
+            out.writeInt(oid);
+            out.writeByte('N');
+            out.writeShort(3);
+            writeText(out, id);
+            writeText(out, status);
+            out.writeByte('u');
+        });
+    }
+
+    private static ByteBuffer delete(int oid, String id) {
+        return message(out -> {
+            out.writeByte('D');
+            out.writeInt(oid);
+            out.writeByte('K');
+            out.writeShort(3);
+            writeText(out, id);
+            out.writeByte('n');
+            out.writeByte('n');
+        });
+    }
+
+    private static void writeText(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte('t');
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.write(value.getBytes(StandardCharsets.UTF_8));
+        out.writeByte(0);
+    }
+
+    private static ByteBuffer message(MessageWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private interface MessageWriter {
+
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,46 @@
+package com.kunal.loadbook.config;
+
+import com.kunal.loadbook.dto.common.ErrorResponse;
+import com.kunal.loadbook.dto.load.CreateLoadRequest;
+import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.entity.id.UuidV7Generator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeImageConfigTest {
+
+        private RuntimeHints hints;
+
+        @BeforeEach
+        void setUp() {
+                hints = new RuntimeHints();
+                new NativeImageConfig.LoadbookRuntimeHints().registerHints(hints, getClass().getClassLoader());
+        }
+
+        @Test
+        void registersEntityFieldsAndIdGenerator() throws Exception {
+                assertTrue(RuntimeHintsPredicates.reflection().onField(Load.class.getDeclaredField("truckTypeId"))
+                                .test(hints));
+                assertTrue(RuntimeHintsPredicates.reflection().onType(UuidV7Generator.class)
+                                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        }
+
+        @Test
+        void registersDtoBindingAndValidationHints() throws Exception {
+                assertTrue(RuntimeHintsPredicates.reflection()
+                                .onMethod(ErrorResponse.class.getMethod("getMessage")).test(hints));
+                assertTrue(RuntimeHintsPredicates.reflection()
+                                .onField(CreateLoadRequest.class.getDeclaredField("shipperId")).test(hints));
+        }
+
+        @Test
+        void registersVendorMigrations() {
+                assertTrue(RuntimeHintsPredicates.resource()
+                                .forResource("db/migration/postgresql/V1__baseline_schema.sql").test(hints));
+        }
+}
@@ -1,32 +1,45 @@
 package com.kunal.loadbook.controller;
 
+import com.kunal.loadbook.audit.AuditLog;
+import com.kunal.loadbook.config.CborConfig;
+import com.kunal.loadbook.config.JacksonConfig;
+import com.kunal.loadbook.dto.common.BatchGetRequest;
 import com.kunal.loadbook.dto.load.CreateLoadRequest;
 import com.kunal.loadbook.dto.load.FacilityDto;
 import com.kunal.loadbook.dto.load.LoadResponse;
 import com.kunal.loadbook.dto.load.UpdateLoadRequest;
 import com.kunal.loadbook.dto.common.PagedResponse;
 import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.mapper.LoadJsonWriter;
+import com.kunal.loadbook.service.BackhaulService;
 import com.kunal.loadbook.service.LoadService;
+import com.kunal.loadbook.shard.ShardRouter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(LoadController.class)
+@Import({CborConfig.class, JacksonConfig.class, ShardRouter.class})
 class LoadControllerTest {
 
         @Autowired
@@ -35,6 +48,15 @@ class LoadControllerTest {
         @MockBean
         private LoadService loadService;
 
+        @MockBean
+        private BackhaulService backhaulService;
+
+        @MockBean
+        private AuditLog auditLog;
+
+        @MockBean
+        private LoadJsonWriter loadJsonWriter;
+
         @Autowired
         private ObjectMapper objectMapper;
 
@@ -109,7 +131,7 @@ class LoadControllerTest {
                                 List.of(loadResponse), 0, 10, 1, 1, true, true, false, false);
 
                 when(loadService.getLoads(eq("SHIPPER_001"), eq("Container"),
-                                eq(LoadStatus.POSTED), eq(0), eq(10))).thenReturn(pagedResponse);
+                                eq(LoadStatus.POSTED), eq(false), isNull(), isNull(), eq(0), eq(10))).thenReturn(pagedResponse);
 
                 // Act & Assert
                 mockMvc.perform(get("/api/v1/load")
@@ -129,7 +151,7 @@ class LoadControllerTest {
         @Test
         void getLoadById_Success() throws Exception {
                 // Arrange
-                when(loadService.getLoadById(testLoadId)).thenReturn(loadResponse);
+                when(loadService.getLoadById(testLoadId, null)).thenReturn(loadResponse);
 
                 // Act & Assert
                 mockMvc.perform(get("/api/v1/load/{loadId}", testLoadId))
@@ -138,6 +160,69 @@ class LoadControllerTest {
                                 .andExpect(jsonPath("$.shipperId").value("SHIPPER_001"));
         }
 
+        @Test
+        void getLoadById_WithFields_WritesOnlySelectedFields() throws Exception {
+                // Arrange
+                String fields = "id,status,facility.loadingPoint";
+                when(loadService.getLoadById(testLoadId, fields)).thenReturn(loadResponse);
+
+                // Act & Assert
+                mockMvc.perform(get("/api/v1/load/{loadId}", testLoadId).param("fields", fields))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.id").value(testLoadId.toString()))
+                                .andExpect(jsonPath("$.status").value("POSTED"))
+                                .andExpect(jsonPath("$.facility.loadingPoint").value("Mumbai Port"))
+                                .andExpect(jsonPath("$.facility.unloadingPoint").doesNotExist())
+                                .andExpect(jsonPath("$.shipperId").doesNotExist());
+        }
+
+        @Test
+        void getLoadsByIds_ReturnsResultsInRequestOrderWithNotFoundMarkers() throws Exception {
+                // Arrange
+                UUID missingId = UUID.randomUUID();
+                List<UUID> ids = List.of(missingId, testLoadId);
+                when(loadService.getLoadsByIds(ids)).thenReturn(Map.of(testLoadId, loadResponse));
+
+                // Act & Assert
+                mockMvc.perform(post("/api/v1/load/batch-get")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new BatchGetRequest(ids))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.notFound").value(1))
+                                .andExpect(jsonPath("$.results[0].id").value(missingId.toString()))
+                                .andExpect(jsonPath("$.results[0].found").value(false))
+                                .andExpect(jsonPath("$.results[0].item").doesNotExist())
+                                .andExpect(jsonPath("$.results[1].found").value(true))
+                                .andExpect(jsonPath("$.results[1].item.shipperId").value("SHIPPER_001"));
+        }
+
+        @Test
+        void getLoadsByIds_EmptyIds_ReturnsBadRequest() throws Exception {
+                // Act & Assert
+                mockMvc.perform(post("/api/v1/load/batch-get")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new BatchGetRequest(List.of()))))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void getLoadById_AcceptCbor_ReturnsCbor() throws Exception {
+                // Arrange
+                when(loadService.getLoadById(testLoadId, null)).thenReturn(loadResponse);
+
+                // Act
+                byte[] body = mockMvc.perform(get("/api/v1/load/{loadId}", testLoadId)
+                                .accept(MediaType.APPLICATION_CBOR))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                                .andReturn().getResponse().getContentAsByteArray();
+
+                // Assert
+                LoadResponse load = Jackson2ObjectMapperBuilder.cbor().build().readValue(body, LoadResponse.class);
+                assertEquals(testLoadId, load.getId());
+                assertEquals("SHIPPER_001", load.getShipperId());
+        }
+
         @Test
         void updateLoad_Success() throws Exception {
                 // Arrange
@@ -0,0 +1,72 @@
+package com.kunal.loadbook.entity.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void randomUuid_HasVersionAndVariant() {
+        UUID uuid = UuidV7.randomUuid();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void randomUuid_EmbedsCurrentTimestamp() {
+        long now = 1_750_000_000_000L;
+        UUID uuid = UuidV7.randomUuid(new AtomicLong(), now);
+
+        assertEquals(now, UuidV7.timestampMillis(uuid));
+    }
+
+    @Test
+    void randomUuid_CounterCarriesIntoTimestampWhenExhausted() {
+        long now = 1_750_000_000_000L;
+        AtomicLong last = new AtomicLong();
+
+        UUID uuid = null;
+        for (int i = 0; i < 4096; i++) {
+            uuid = UuidV7.randomUuid(last, now);
+        }
+        assertEquals(now, UuidV7.timestampMillis(uuid));
+
+        // The 4097th ID in the same millisecond borrows the next one
+        assertEquals(now + 1, UuidV7.timestampMillis(UuidV7.randomUuid(last, now)));
+    }
+
+    @Test
+    void randomUuid_ClockStepsBack_KeepsCountingFromPrevious() {
+        long now = 1_750_000_000_000L;
+        AtomicLong last = new AtomicLong();
+        UUID first = UuidV7.randomUuid(last, now);
+
+        UUID second = UuidV7.randomUuid(last, now - 5_000);
+
+        assertEquals(now, UuidV7.timestampMillis(second));
+        assertTrue(Long.compareUnsigned(second.getMostSignificantBits(), first.getMostSignificantBits()) > 0);
+    }
+
+    @Test
+    void randomUuid_IsStrictlyIncreasing() {
+        UUID previous = UuidV7.randomUuid();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7.randomUuid();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+                    "Expected " + next + " to sort after " + previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void timestampMillis_RejectsOtherVersions() {
+        UUID uuid = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestampMillis(uuid));
+    }
+}
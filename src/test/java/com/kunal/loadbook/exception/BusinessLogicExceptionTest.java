@@ -0,0 +1,37 @@
+package com.kunal.loadbook.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessLogicExceptionTest {
+
+    @Test
+    void expectedFailures_CaptureNoStackTrace() {
+        assertEquals(0, new BusinessLogicException("Cannot update a booked load").getStackTrace().length);
+        assertEquals(0, BusinessLogicException.invalidStatusTransition("BOOKED", "POSTED").getStackTrace().length);
+        assertEquals(0, ResourceNotFoundException.load("42").getStackTrace().length);
+        assertEquals("Load not found with ID: 42", ResourceNotFoundException.load("42").getMessage());
+    }
+
+    @Test
+    void fixedMessageFailures_AreSharedAndImmutable() {
+        BusinessLogicException booked = BusinessLogicException.loadAlreadyBooked();
+        booked.addSuppressed(new IllegalStateException("ignored"));
+        booked.setStackTrace(new Throwable().getStackTrace());
+
+        assertSame(booked, BusinessLogicException.loadAlreadyBooked());
+        assertEquals("Load is already booked", booked.getMessage());
+        assertEquals(0, booked.getSuppressed().length);
+        assertEquals(0, booked.getStackTrace().length);
+        assertThrows(IllegalStateException.class, () -> booked.initCause(new RuntimeException()));
+    }
+
+    @Test
+    void wrappedFailures_KeepStackTrace() {
+        RuntimeException cause = new RuntimeException("constraint");
+
+        assertTrue(new BusinessLogicException("Booking already exists", cause).getStackTrace().length > 0);
+        assertTrue(new ResourceNotFoundException("Load not found", cause).getStackTrace().length > 0);
+    }
+}
@@ -0,0 +1,40 @@
+package com.kunal.loadbook.fields;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSelectionTest {
+
+    private static final Set<String> ALLOWED = Set.of("id", "status", "facility.loadingPoint",
+            "facility.unloadingPoint");
+
+    @Test
+    void parse_MissingOrBlank_SelectsEverything() {
+        assertTrue(FieldSelection.parse(null, ALLOWED).isAll());
+        assertTrue(FieldSelection.parse(" , ", ALLOWED).isAll());
+    }
+
+    @Test
+    void includes_MatchesSelectedPathsTheirParentsAndChildren() {
+        FieldSelection selection = FieldSelection.parse("id, facility.loadingPoint", ALLOWED);
+
+        assertTrue(selection.includes("id"));
+        assertTrue(selection.includes("facility"));
+        assertTrue(selection.includes("facility.loadingPoint"));
+        assertFalse(selection.includes("facility.unloadingPoint"));
+        assertFalse(selection.includes("status"));
+
+        FieldSelection facility = FieldSelection.parse("facility", ALLOWED);
+        assertTrue(facility.includes("facility.unloadingPoint"));
+    }
+
+    @Test
+    void parse_UnknownField_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> FieldSelection.parse("id,facility.price", ALLOWED));
+        assertEquals("Unknown field: facility.price", exception.getMessage());
+    }
+}
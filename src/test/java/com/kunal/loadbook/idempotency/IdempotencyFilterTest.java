@@ -0,0 +1,112 @@
+package com.kunal.loadbook.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private InMemoryIdempotencyStore store;
+    private IdempotencyFilter filter;
+    private AtomicInteger invocations;
+    private FilterChain createLoad;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore(Duration.ofHours(1), 100);
+        filter = new IdempotencyFilter(store, new ObjectMapper());
+        invocations = new AtomicInteger();
+        createLoad = (request, response) -> {
+            int call = invocations.incrementAndGet();
+            String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            ((HttpServletResponse) response).setStatus(201);
+            response.getWriter().write("{\"call\":" + call + ",\"echo\":" + body + "}");
+        };
+    }
+
+    @Test
+    void retryWithSameKey_ReplaysResponseWithoutReExecuting() throws Exception {
+        MockHttpServletResponse first = perform("key-1", "{\"shipperId\":\"SHIPPER_001\"}");
+        MockHttpServletResponse retry = perform("key-1", "{\"shipperId\":\"SHIPPER_001\"}");
+
+        assertEquals(1, invocations.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void sameKeyDifferentBody_Returns422() throws Exception {
+        perform("key-1", "{\"shipperId\":\"SHIPPER_001\"}");
+
+        MockHttpServletResponse reused = perform("key-1", "{\"shipperId\":\"SHIPPER_002\"}");
+
+        assertEquals(422, reused.getStatus());
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void retryWhileInProgress_Returns409() throws Exception {
+        String body = "{\"shipperId\":\"SHIPPER_001\"}";
+        MockHttpServletRequest original = request("key-1", body);
+        filter.doFilter(original, new MockHttpServletResponse(), (request, response) -> {
+            // The retry arrives while the original request is still in the controller
+            MockHttpServletResponse retry = perform("key-1", body);
+            assertEquals(409, retry.getStatus());
+        });
+
+        assertEquals(0, invocations.get());
+    }
+
+    @Test
+    void serverError_ReleasesKeyForRetry() throws Exception {
+        filter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(),
+                (request, response) -> ((HttpServletResponse) response).setStatus(503));
+
+        MockHttpServletResponse retry = perform("key-1", "{}");
+
+        assertEquals(201, retry.getStatus());
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void requestWithoutKey_IsNotCached() throws Exception {
+        MockHttpServletRequest request = request(null, "{}");
+        filter.doFilter(request, new MockHttpServletResponse(), createLoad);
+        filter.doFilter(request(null, "{}"), new MockHttpServletResponse(), createLoad);
+
+        assertEquals(2, invocations.get());
+        assertEquals(0, store.size());
+    }
+
+    private MockHttpServletResponse perform(String key, String body) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(key, body), response, createLoad);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/load");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,57 @@
+package com.kunal.loadbook.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingPairFilterTest {
+
+    @Test
+    void mightContain_NeverMissesInsertedPairs() {
+        // Arrange
+        BookingPairFilter filter = new BookingPairFilter(null, null, 10_000, 0.01);
+        List<UUID> loadIds = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            loadIds.add(UUID.randomUUID());
+        }
+
+        // Act
+        for (UUID loadId : loadIds) {
+            for (int t = 0; t < 10; t++) {
+                filter.put(loadId, "TRANSPORTER_" + t);
+            }
+        }
+
+        // Assert
+        for (UUID loadId : loadIds) {
+            for (int t = 0; t < 10; t++) {
+                assertTrue(filter.mightContain(loadId, "TRANSPORTER_" + t));
+            }
+        }
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateStaysNearTarget() {
+        // Arrange
+        BookingPairFilter filter = new BookingPairFilter(null, null, 10_000, 0.01);
+        UUID loadId = UUID.randomUUID();
+        for (int t = 0; t < 10_000; t++) {
+            filter.put(loadId, "TRANSPORTER_" + t);
+        }
+
+        // Act - same load, transporters that never bid
+        int falsePositives = 0;
+        for (int t = 10_000; t < 110_000; t++) {
+            if (filter.mightContain(loadId, "TRANSPORTER_" + t)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+}
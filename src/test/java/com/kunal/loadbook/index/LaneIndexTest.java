@@ -0,0 +1,124 @@
+package com.kunal.loadbook.index;
+
+import com.kunal.loadbook.cdc.ChangeEvent;
+import com.kunal.loadbook.entity.Facility;
+import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.enums.LoadStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LaneIndexTest {
+
+    private static final int MUMBAI = 1;
+    private static final int DELHI = 2;
+    private static final int JAIPUR = 3;
+    private static final int PUNE = 4;
+
+    private static final int CONTAINER = 1;
+    private static final int FLATBED = 2;
+
+    private static final LocalDateTime FREE_AT = LocalDateTime.of(2025, 3, 10, 8, 0);
+    private static final Duration MAX_WAIT = Duration.ofHours(24);
+
+    private LaneIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LaneIndex(null, null, Duration.ofHours(6), Duration.ofHours(2), 20);
+    }
+
+    @Test
+    void findItineraries_ChainsLegsAndRanksByLoadedShare() {
+        // Arrange - free in Delhi at 08:00
+        Load toJaipur = postedLoad(DELHI, JAIPUR, FREE_AT.plusHours(3), FREE_AT.plusHours(9), CONTAINER);
+        Load toMumbai = postedLoad(JAIPUR, MUMBAI, FREE_AT.plusHours(12), FREE_AT.plusHours(36), CONTAINER);
+        Load lateToPune = postedLoad(DELHI, PUNE, FREE_AT.plusHours(20), FREE_AT.plusHours(44), CONTAINER);
+        index.upsert(toJaipur);
+        index.upsert(toMumbai);
+        index.upsert(lateToPune);
+
+        // Act
+        List<Itinerary> itineraries = index.findItineraries(DELHI, FREE_AT, CONTAINER, 2, MAX_WAIT, Set.of(), 10);
+
+        // Assert - Delhi->Jaipur->Mumbai is loaded 30 of 36 hours
+        assertEquals(3, itineraries.size());
+        Itinerary best = itineraries.get(0);
+        assertEquals(List.of(toJaipur.getId(), toMumbai.getId()), best.getLoadIds());
+        assertEquals(Duration.ofHours(30), best.getLoaded());
+        assertEquals(Duration.ofHours(6), best.getWaiting());
+        assertEquals(FREE_AT.plusHours(36), best.getFinishesAt());
+        assertTrue(best.getUtilization() > itineraries.get(1).getUtilization());
+    }
+
+    @Test
+    void findItineraries_RespectsTurnaroundWaitTruckTypeAndLegLimit() {
+        Load tooSoon = postedLoad(DELHI, JAIPUR, FREE_AT.plusHours(1), FREE_AT.plusHours(7), CONTAINER);
+        Load tooLate = postedLoad(DELHI, JAIPUR, FREE_AT.plusHours(30), FREE_AT.plusHours(36), CONTAINER);
+        Load flatbed = postedLoad(DELHI, JAIPUR, FREE_AT.plusHours(4), FREE_AT.plusHours(10), FLATBED);
+        Load match = postedLoad(DELHI, JAIPUR, FREE_AT.plusHours(4), FREE_AT.plusHours(10), CONTAINER);
+        Load onward = postedLoad(JAIPUR, MUMBAI, FREE_AT.plusHours(14), FREE_AT.plusHours(38), CONTAINER);
+        List.of(tooSoon, tooLate, flatbed, match, onward).forEach(index::upsert);
+
+        List<Itinerary> itineraries = index.findItineraries(DELHI, FREE_AT, CONTAINER, 1, MAX_WAIT, Set.of(), 10);
+
+        assertEquals(1, itineraries.size());
+        assertEquals(List.of(match.getId()), itineraries.get(0).getLoadIds());
+    }
+
+    @Test
+    void findItineraries_SkipsExcludedAndNoLongerPostedLoads() {
+        Load excluded = postedLoad(DELHI, JAIPUR, FREE_AT.plusHours(4), FREE_AT.plusHours(10), CONTAINER);
+        Load booked = postedLoad(DELHI, MUMBAI, FREE_AT.plusHours(5), FREE_AT.plusHours(29), CONTAINER);
+        index.upsert(excluded);
+        index.upsert(booked);
+        booked.setStatus(LoadStatus.BOOKED);
+        index.upsert(booked);
+
+        List<Itinerary> itineraries = index.findItineraries(DELHI, FREE_AT, CONTAINER, 2, MAX_WAIT,
+                Set.of(excluded.getId()), 10);
+
+        assertTrue(itineraries.isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void apply_MovesLaneWhenLoadingPointChanges() {
+        UUID loadId = UUID.randomUUID();
+        index.apply(change(loadId, DELHI, "2025-03-10 12:00:00"));
+        index.apply(change(loadId, MUMBAI, "2025-03-10 12:00:00.5"));
+
+        assertTrue(index.findItineraries(DELHI, FREE_AT, CONTAINER, 1, MAX_WAIT, Set.of(), 10).isEmpty());
+        assertEquals(1, index.findItineraries(MUMBAI, FREE_AT, CONTAINER, 1, MAX_WAIT, Set.of(), 10).size());
+    }
+
+    private static Load postedLoad(int origin, int destination, LocalDateTime loadingDate,
+            LocalDateTime unloadingDate, int truckTypeId) {
+        Facility facility = new Facility(origin, destination, loadingDate, unloadingDate);
+
+        Load load = new Load("SHIPPER_001", facility, 20, truckTypeId, 1, 10.0, null);
+        load.setId(UUID.randomUUID());
+        load.setStatus(LoadStatus.POSTED);
+        return load;
+    }
+
+    private static ChangeEvent change(UUID loadId, int origin, String loadingDate) {
+        return new ChangeEvent("loads", ChangeEvent.Operation.UPDATE, Map.of(
+                "id", loadId.toString(),
+                "status", "POSTED",
+                "archived", "f",
+                "loading_point_id", String.valueOf(origin),
+                "unloading_point_id", String.valueOf(PUNE),
+                "loading_date", loadingDate,
+                "unloading_date", "2025-03-11 06:00:00",
+                "truck_type_id", String.valueOf(CONTAINER)), 0L);
+    }
+}
@@ -0,0 +1,118 @@
+package com.kunal.loadbook.index;
+
+import com.kunal.loadbook.entity.Facility;
+import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.event.LoadChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeoIndexTest {
+
+    private static final int CONTAINER = 1;
+    private static final int FLATBED = 2;
+
+    private LoadGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LoadGeoIndex(null, null, 0.5);
+    }
+
+    @Test
+    void findWithin_ReturnsLoadsInsideRadiusSortedByDistance() {
+        // Arrange - Mumbai, Thane (~25 km), Pune (~120 km)
+        Load mumbai = postedLoad(18.9490, 72.8410, CONTAINER);
+        Load thane = postedLoad(19.2183, 72.9781, CONTAINER);
+        Load pune = postedLoad(18.5204, 73.8567, CONTAINER);
+        index.upsert(pune);
+        index.upsert(thane);
+        index.upsert(mumbai);
+
+        // Act
+        List<GeoHit> hits = index.findWithin(18.9600, 72.8200, 50, null, 10);
+
+        // Assert
+        assertEquals(2, hits.size());
+        assertEquals(mumbai.getId(), hits.get(0).getLoadId());
+        assertEquals(thane.getId(), hits.get(1).getLoadId());
+        assertTrue(hits.get(0).getDistanceKm() < hits.get(1).getDistanceKm());
+    }
+
+    @Test
+    void findWithin_FiltersByTruckTypeAndLimit() {
+        index.upsert(postedLoad(12.9716, 77.5946, CONTAINER));
+        index.upsert(postedLoad(12.9800, 77.6000, FLATBED));
+        index.upsert(postedLoad(12.9900, 77.6100, CONTAINER));
+
+        List<GeoHit> hits = index.findWithin(12.9716, 77.5946, 20, CONTAINER, 1);
+
+        assertEquals(1, hits.size());
+        assertEquals(0.0, hits.get(0).getDistanceKm(), 0.001);
+    }
+
+    @Test
+    void findWithin_HandlesAntimeridian() {
+        Load east = postedLoad(-17.0, 179.9, CONTAINER);
+        index.upsert(east);
+
+        List<GeoHit> hits = index.findWithin(-17.0, -179.9, 50, null, 10);
+
+        assertEquals(1, hits.size());
+        assertEquals(east.getId(), hits.get(0).getLoadId());
+    }
+
+    @Test
+    void onLoadChanged_RemovesLoadsThatAreNoLongerPosted() {
+        Load load = postedLoad(28.6139, 77.2090, CONTAINER);
+        index.onLoadChanged(LoadChangedEvent.saved(load));
+        assertEquals(1, index.size());
+
+        load.setStatus(LoadStatus.BOOKED);
+        index.onLoadChanged(LoadChangedEvent.saved(load));
+
+        assertEquals(0, index.size());
+        assertTrue(index.findWithin(28.6139, 77.2090, 10, null, 10).isEmpty());
+    }
+
+    @Test
+    void onLoadChanged_MovesUpdatedLoadToNewCell() {
+        Load load = postedLoad(28.6139, 77.2090, CONTAINER);
+        index.upsert(load);
+
+        load.getFacility().setLoadingLatitude(22.5726);
+        load.getFacility().setLoadingLongitude(88.3639);
+        index.onLoadChanged(LoadChangedEvent.saved(load));
+
+        assertTrue(index.findWithin(28.6139, 77.2090, 10, null, 10).isEmpty());
+        assertEquals(1, index.findWithin(22.5726, 88.3639, 10, null, 10).size());
+    }
+
+    @Test
+    void upsert_IgnoresLoadsWithoutCoordinates() {
+        Load load = postedLoad(0, 0, CONTAINER);
+        load.getFacility().setLoadingLatitude(null);
+
+        index.upsert(load);
+
+        assertEquals(0, index.size());
+    }
+
+    private Load postedLoad(double latitude, double longitude, int truckTypeId) {
+        Facility facility = new Facility(10, 11,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(3));
+        facility.setLoadingLatitude(latitude);
+        facility.setLoadingLongitude(longitude);
+
+        Load load = new Load("SHIPPER_001", facility, 20, truckTypeId, 1, 10.0, null);
+        load.setId(UUID.randomUUID());
+        load.setStatus(LoadStatus.POSTED);
+        return load;
+    }
+}
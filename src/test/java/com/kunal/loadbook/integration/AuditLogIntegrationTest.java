@@ -0,0 +1,107 @@
+package com.kunal.loadbook.integration;
+
+import com.kunal.loadbook.audit.AuditLog;
+import com.kunal.loadbook.dto.booking.BookingResponse;
+import com.kunal.loadbook.dto.booking.CreateBookingRequest;
+import com.kunal.loadbook.dto.common.AuditEntryResponse;
+import com.kunal.loadbook.dto.load.CreateLoadRequest;
+import com.kunal.loadbook.dto.load.FacilityDto;
+import com.kunal.loadbook.enums.AuditEntityType;
+import com.kunal.loadbook.exception.BusinessLogicException;
+import com.kunal.loadbook.service.BookingService;
+import com.kunal.loadbook.service.LoadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Status history as written by the audit log. Not {@code @Transactional}: entries are only
+ * handed over once a transaction commits, and synchronous durability makes every call
+ * return after its entries are written.
+ */
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:auditlog",
+                "loadbook.audit.durability=sync"
+})
+@ActiveProfiles("test")
+class AuditLogIntegrationTest {
+
+        @Autowired
+        private LoadService loadService;
+
+        @Autowired
+        private BookingService bookingService;
+
+        @Autowired
+        private AuditLog auditLog;
+
+        @Test
+        void history_RecordsEntityAndBulkStatusChanges() {
+                // Arrange
+                UUID loadId = createLoad(1);
+                BookingResponse accepted = createBooking(loadId, "TRANSPORTER_A");
+                BookingResponse outbid = createBooking(loadId, "TRANSPORTER_B");
+
+                // Act - booking the last truck rejects the other pending booking in bulk
+                bookingService.acceptBooking(accepted.getId());
+
+                // Assert
+                assertTransitions(auditLog.history(AuditEntityType.LOAD, loadId), "null>POSTED", "POSTED>BOOKED");
+                assertTransitions(auditLog.history(AuditEntityType.BOOKING, accepted.getId()),
+                                "null>PENDING", "PENDING>ACCEPTED");
+                assertTransitions(auditLog.history(AuditEntityType.BOOKING, outbid.getId()),
+                                "null>PENDING", "PENDING>REJECTED");
+        }
+
+        @Test
+        void history_KeptAfterDeleteAndSkipsRolledBackChanges() {
+                // Arrange
+                UUID loadId = createLoad(1);
+                BookingResponse booking = createBooking(loadId, "TRANSPORTER_A");
+                bookingService.acceptBooking(booking.getId());
+                UUID openLoadId = createLoad(1);
+
+                // Act
+                assertThrows(BusinessLogicException.class, () -> loadService.deleteLoad(loadId));
+                loadService.deleteLoad(openLoadId);
+
+                // Assert
+                assertTransitions(auditLog.history(AuditEntityType.LOAD, loadId), "null>POSTED", "POSTED>BOOKED");
+                assertTransitions(auditLog.history(AuditEntityType.LOAD, openLoadId), "null>POSTED", "POSTED>null");
+        }
+
+        private static void assertTransitions(List<AuditEntryResponse> history, String... expected) {
+                assertEquals(Arrays.asList(expected), history.stream()
+                                .map(entry -> entry.getFromStatus() + ">" + entry.getToStatus())
+                                .toList());
+        }
+
+        private UUID createLoad(int trucks) {
+                FacilityDto facility = new FacilityDto(
+                                "Mumbai Port",
+                                "Delhi Warehouse",
+                                LocalDateTime.now().plusDays(1),
+                                LocalDateTime.now().plusDays(3));
+
+                return loadService.createLoad(new CreateLoadRequest(
+                                "SHIPPER_001",
+                                facility,
+                                "Electronics",
+                                "Container",
+                                trucks,
+                                15.5,
+                                null)).getId();
+        }
+
+        private BookingResponse createBooking(UUID loadId, String transporterId) {
+                return bookingService.createBooking(new CreateBookingRequest(loadId, transporterId, 25000.0, null));
+        }
+}
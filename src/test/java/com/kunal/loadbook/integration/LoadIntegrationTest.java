@@ -16,7 +16,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -114,6 +117,34 @@ class LoadIntegrationTest {
                                 .andExpect(jsonPath("$.totalElements").value(2));
         }
 
+        @Test
+        void getLoads_ArchivedLoad_ListedOnlyWhenRequested() throws Exception {
+                // Arrange - two loads, one of them archived
+                createTestLoad("SHIPPER_ARCHIVE", "Container", LoadStatus.POSTED);
+                createTestLoad("SHIPPER_ARCHIVE", "Container", LoadStatus.POSTED);
+                UUID archivedId = loadRepository.findAll().get(0).getId();
+                loadRepository.archiveByIds(List.of(archivedId));
+
+                // Act & Assert - Hidden from listings by default
+                mockMvc.perform(get("/api/v1/load")
+                                .param("shipperId", "SHIPPER_ARCHIVE"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.totalElements").value(1))
+                                .andExpect(jsonPath("$.content[0].id").value(not(archivedId.toString())));
+
+                // Act & Assert - Listed with includeArchived
+                mockMvc.perform(get("/api/v1/load")
+                                .param("shipperId", "SHIPPER_ARCHIVE")
+                                .param("includeArchived", "true"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.totalElements").value(2));
+
+                // Act & Assert - Still found by ID
+                mockMvc.perform(get("/api/v1/load/{loadId}", archivedId))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.id").value(archivedId.toString()));
+        }
+
         private void createTestLoad(String shipperId, String truckType, LoadStatus status) throws Exception {
                 FacilityDto facilityDto = new FacilityDto(
                                 "Loading Point",
@@ -0,0 +1,207 @@
+package com.kunal.loadbook.integration;
+
+import com.kunal.loadbook.dto.booking.BookingResponse;
+import com.kunal.loadbook.dto.booking.CreateBookingRequest;
+import com.kunal.loadbook.dto.load.CreateLoadRequest;
+import com.kunal.loadbook.dto.load.FacilityDto;
+import com.kunal.loadbook.entity.Booking;
+import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.enums.BookingStatus;
+import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.exception.BusinessLogicException;
+import com.kunal.loadbook.repository.BookingRepository;
+import com.kunal.loadbook.repository.LoadRepository;
+import com.kunal.loadbook.service.BookingService;
+import com.kunal.loadbook.service.LoadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Accepts bookings of one multi-truck load from many threads at once. Not
+ * {@code @Transactional}: every accept commits on its own, like concurrent requests, so the
+ * test runs against its own in-memory database.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:truckallocation;LOCK_TIMEOUT=10000")
+@ActiveProfiles("test")
+class TruckAllocationIntegrationTest {
+
+        private static final int TRUCKS = 5;
+        private static final int BOOKINGS = 60;
+        private static final int THREADS = 16;
+
+        @Autowired
+        private LoadService loadService;
+
+        @Autowired
+        private BookingService bookingService;
+
+        @Autowired
+        private LoadRepository loadRepository;
+
+        @Autowired
+        private BookingRepository bookingRepository;
+
+        @Test
+        void acceptBooking_PartialBookings_BookLoadWhenLastTruckTaken() {
+                // Arrange
+                UUID loadId = createLoad(3);
+                BookingResponse two = createBooking(loadId, "TRANSPORTER_A", 2);
+                BookingResponse alsoTwo = createBooking(loadId, "TRANSPORTER_B", 2);
+                BookingResponse one = createBooking(loadId, "TRANSPORTER_C", 1);
+
+                // Act & Assert - the first takes two trucks, which leaves too few for the second
+                bookingService.acceptBooking(two.getId());
+                Load load = loadRepository.findById(loadId).orElseThrow();
+                assertEquals(LoadStatus.POSTED, load.getStatus());
+                assertEquals(1, load.getRemainingTrucks());
+                assertEquals(1, load.getPendingBookingCount());
+                assertEquals(BookingStatus.REJECTED, bookingRepository.findById(alsoTwo.getId()).orElseThrow().getStatus());
+
+                // Act & Assert - the last truck books the load
+                bookingService.acceptBooking(one.getId());
+                load = loadRepository.findById(loadId).orElseThrow();
+                assertEquals(LoadStatus.BOOKED, load.getStatus());
+                assertEquals(0, load.getRemainingTrucks());
+                assertEquals(0, load.getPendingBookingCount());
+                assertEquals(two.getId(), load.getAcceptedBookingId());
+        }
+
+        @Test
+        void acceptBooking_ConcurrentAccepts_NeverOverbookTrucks() throws Exception {
+                // Arrange - many more trucks asked for than the load has
+                UUID loadId = createLoad(TRUCKS);
+                List<BookingResponse> bookings = new ArrayList<>();
+                for (int i = 0; i < BOOKINGS; i++) {
+                        bookings.add(createBooking(loadId, "TRANSPORTER_" + i, 1 + i % 3));
+                }
+
+                // Act - accept them all at once
+                ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicInteger acceptedTrucks = new AtomicInteger();
+                AtomicInteger refused = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>();
+                try {
+                        for (BookingResponse booking : bookings) {
+                                futures.add(executor.submit(() -> {
+                                        start.await();
+                                        try {
+                                                acceptedTrucks.addAndGet(
+                                                                bookingService.acceptBooking(booking.getId()).getTruckCount());
+                                        } catch (BusinessLogicException e) {
+                                                refused.incrementAndGet();
+                                        }
+                                        return null;
+                                }));
+                        }
+                        start.countDown();
+                        for (Future<?> future : futures) {
+                                future.get(60, TimeUnit.SECONDS);
+                        }
+                } finally {
+                        executor.shutdownNow();
+                }
+
+                // Assert - the trucks taken add up, on the load and across the bookings
+                Load load = loadRepository.findById(loadId).orElseThrow();
+                List<Booking> stored = bookingRepository.findByLoadId(loadId);
+                int acceptedInDb = stored.stream()
+                                .filter(booking -> booking.getStatus() == BookingStatus.ACCEPTED)
+                                .mapToInt(Booking::getTruckCount)
+                                .sum();
+                long pending = stored.stream().filter(booking -> booking.getStatus() == BookingStatus.PENDING).count();
+
+                assertTrue(acceptedTrucks.get() > 0);
+                assertEquals(acceptedTrucks.get(), acceptedInDb);
+                assertTrue(acceptedInDb <= TRUCKS);
+                assertEquals(TRUCKS - acceptedInDb, load.getRemainingTrucks());
+                assertEquals(BOOKINGS, refused.get() + stored.stream()
+                                .filter(booking -> booking.getStatus() == BookingStatus.ACCEPTED).count());
+                assertEquals(load.getRemainingTrucks() == 0, load.getStatus() == LoadStatus.BOOKED);
+                assertEquals(pending, load.getPendingBookingCount());
+                assertTrue(stored.stream()
+                                .filter(booking -> booking.getStatus() == BookingStatus.PENDING)
+                                .allMatch(booking -> booking.getTruckCount() <= load.getRemainingTrucks()));
+        }
+
+        @Test
+        void acceptBooking_SameBookingTwiceConcurrently_TakesTrucksOnce() throws Exception {
+                // Arrange
+                UUID loadId = createLoad(TRUCKS);
+                BookingResponse booking = createBooking(loadId, "TRANSPORTER_A", 2);
+                createBooking(loadId, "TRANSPORTER_B", 1);
+
+                // Act - both requests read the booking as PENDING before either commits
+                ExecutorService executor = Executors.newFixedThreadPool(2);
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicInteger accepted = new AtomicInteger();
+                AtomicInteger refused = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>();
+                try {
+                        for (int i = 0; i < 2; i++) {
+                                futures.add(executor.submit(() -> {
+                                        start.await();
+                                        try {
+                                                bookingService.acceptBooking(booking.getId());
+                                                accepted.incrementAndGet();
+                                        } catch (BusinessLogicException e) {
+                                                refused.incrementAndGet();
+                                        }
+                                        return null;
+                                }));
+                        }
+                        start.countDown();
+                        for (Future<?> future : futures) {
+                                future.get(60, TimeUnit.SECONDS);
+                        }
+                } finally {
+                        executor.shutdownNow();
+                }
+
+                // Assert
+                Load load = loadRepository.findById(loadId).orElseThrow();
+                assertEquals(1, accepted.get());
+                assertEquals(1, refused.get());
+                assertEquals(TRUCKS - 2, load.getRemainingTrucks());
+                assertEquals(1, load.getPendingBookingCount());
+                assertEquals(BookingStatus.ACCEPTED, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+        }
+
+        private UUID createLoad(int trucks) {
+                FacilityDto facility = new FacilityDto(
+                                "Mumbai Port",
+                                "Delhi Warehouse",
+                                LocalDateTime.now().plusDays(1),
+                                LocalDateTime.now().plusDays(3));
+
+                return loadService.createLoad(new CreateLoadRequest(
+                                "SHIPPER_001",
+                                facility,
+                                "Electronics",
+                                "Container",
+                                trucks,
+                                15.5,
+                                null)).getId();
+        }
+
+        private BookingResponse createBooking(UUID loadId, String transporterId, int trucks) {
+                CreateBookingRequest request = new CreateBookingRequest(loadId, transporterId, 25000.0, null);
+                request.setTruckCount(trucks);
+                return bookingService.createBooking(request);
+        }
+}
@@ -0,0 +1,98 @@
+package com.kunal.loadbook.integration;
+
+import com.kunal.loadbook.dto.load.CreateLoadRequest;
+import com.kunal.loadbook.dto.load.FacilityDto;
+import com.kunal.loadbook.pool.Workload;
+import com.kunal.loadbook.pool.WorkloadRoutingDataSource;
+import com.kunal.loadbook.service.LoadService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Service methods take their connections from the pool of their {@code @Bulkhead}
+ * workload, which is only possible if the workload is selected before the transaction
+ * opens its connection.
+ */
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:workloadpools",
+                "loadbook.workload-pools.enabled=true"
+})
+@ActiveProfiles("test")
+class WorkloadPoolsIntegrationTest {
+
+        @Autowired
+        private LoadService loadService;
+
+        @Autowired
+        private DataSource dataSource;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Test
+        void serviceMethods_UseTheirWorkloadPool() {
+                assertInstanceOf(WorkloadRoutingDataSource.class, dataSource);
+                double reads = acquisitions("loadbook-interactive-read");
+                double bulk = acquisitions("loadbook-bulk");
+
+                // Write
+                double writes = acquisitions("loadbook-write");
+                UUID loadId = createLoad();
+                assertTrue(acquisitions("loadbook-write") > writes);
+                assertEquals(reads, acquisitions("loadbook-interactive-read"));
+
+                // Interactive read
+                writes = acquisitions("loadbook-write");
+                loadService.getLoads("SHIPPER_001", null, null, false, null, null, 0, 10);
+                assertTrue(acquisitions("loadbook-interactive-read") > reads);
+                assertEquals(writes, acquisitions("loadbook-write"));
+
+                // Bulk
+                assertTrue(loadService.getLoadsByIds(List.of(loadId)).containsKey(loadId));
+                assertTrue(acquisitions("loadbook-bulk") > bulk);
+
+                // Background, by the index warm-ups at startup
+                assertTrue(acquisitions("loadbook-background") > 0);
+        }
+
+        @Test
+        void everyPool_ReportsSaturation() {
+                for (Workload workload : Workload.values()) {
+                        String pool = "loadbook-" + workload.name().toLowerCase().replace('_', '-');
+                        assertNotNull(meterRegistry.find("loadbook.db.pool.saturation").tag("pool", pool).gauge(), pool);
+                }
+        }
+
+        private double acquisitions(String pool) {
+                Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+                return acquire != null ? acquire.count() : 0;
+        }
+
+        private UUID createLoad() {
+                FacilityDto facility = new FacilityDto(
+                                "Mumbai Port",
+                                "Delhi Warehouse",
+                                LocalDateTime.now().plusDays(1),
+                                LocalDateTime.now().plusDays(3));
+
+                return loadService.createLoad(new CreateLoadRequest(
+                                "SHIPPER_001",
+                                facility,
+                                "Electronics",
+                                "Container",
+                                2,
+                                15.5,
+                                null)).getId();
+        }
+}
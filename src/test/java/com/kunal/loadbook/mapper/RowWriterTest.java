@@ -0,0 +1,161 @@
+package com.kunal.loadbook.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.kunal.loadbook.dto.common.StreamedPagedResponse;
+import com.kunal.loadbook.entity.Booking;
+import com.kunal.loadbook.entity.Facility;
+import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.enums.BookingStatus;
+import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.enums.ReferenceKind;
+import com.kunal.loadbook.index.ReferenceDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * The streamed rows must serialize exactly like the mapped DTOs they replace.
+ */
+@ExtendWith(MockitoExtension.class)
+class RowWriterTest {
+
+    private static final LocalDateTime POSTED_AT = LocalDateTime.of(2025, 8, 15, 10, 0);
+
+    @Mock
+    private ReferenceDictionary referenceDictionary;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private LoadJsonWriter loadJsonWriter;
+    private BookingJsonWriter bookingJsonWriter;
+
+    @BeforeEach
+    void setUp() {
+        // Configured like the application's JSON mapper and CborConfig
+        jsonMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false))
+                .build();
+        cborMapper = Jackson2ObjectMapperBuilder.cbor()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false))
+                .build();
+
+        lenient().when(referenceDictionary.valueOf(any(ReferenceKind.class), any())).thenAnswer(invocation -> {
+            Integer id = invocation.getArgument(1);
+            return id == null ? null : invocation.getArgument(0) + " \"" + id + "\"";
+        });
+        LoadMapper loadMapper = new LoadMapper(referenceDictionary);
+        loadJsonWriter = new LoadJsonWriter(referenceDictionary, loadMapper);
+        bookingJsonWriter = new BookingJsonWriter(new BookingMapper());
+    }
+
+    @Test
+    void loadJsonWriter_WritesSameJsonAsMapper() throws Exception {
+        // Arrange - every field set, then mostly nulls and unusual dates
+        Load full = load(1);
+        full.setComment("Fragile\nhandle with care");
+        full.getFacility().setLoadingLatitude(18.949);
+        full.getFacility().setLoadingLongitude(72.841);
+        full.setAcceptedBookingId(UUID.fromString("0190f4d2-7c1e-7000-8000-00000000abcd"));
+        full.setBestPendingRate(24999.5);
+        full.setLastBidAt(POSTED_AT.withNano(120_000_000));
+
+        Load sparse = load(2);
+        sparse.setFacility(null);
+        sparse.setStatus(null);
+        sparse.setDatePosted(POSTED_AT.withNano(1));
+        sparse.setUpdatedAt(POSTED_AT.withYear(12025));
+
+        StreamedPagedResponse<Load> page = new StreamedPagedResponse<>(
+                new PageImpl<>(List.of(full, sparse), PageRequest.of(1, 2), 7), loadJsonWriter);
+
+        // Act & Assert
+        assertEquals(jsonMapper.writeValueAsString(page.toPagedResponse()), jsonMapper.writeValueAsString(page));
+    }
+
+    @Test
+    void bookingJsonWriter_WritesSameJsonAsMapper() throws Exception {
+        // Arrange
+        Booking accepted = new Booking(load(1), "TRANSPORTER_001", 25000.0, "Can deliver in 3 days");
+        accepted.setId(UUID.randomUUID());
+        accepted.setTruckCount(2);
+        accepted.setStatus(BookingStatus.ACCEPTED);
+        accepted.setRequestedAt(POSTED_AT.withNano(123_456_000));
+        accepted.setUpdatedAt(POSTED_AT.plusHours(1));
+
+        Booking detached = new Booking(null, null, null, null);
+        detached.setId(UUID.randomUUID());
+
+        StreamedPagedResponse<Booking> page = new StreamedPagedResponse<>(
+                new PageImpl<>(List.of(accepted, detached), PageRequest.of(0, 10), 2), bookingJsonWriter);
+
+        // Act & Assert
+        assertEquals(jsonMapper.writeValueAsString(page.toPagedResponse()), jsonMapper.writeValueAsString(page));
+    }
+
+    @Test
+    void streamedPagedResponse_Cbor_FallsBackToMapper() throws Exception {
+        StreamedPagedResponse<Load> page = new StreamedPagedResponse<>(
+                new PageImpl<>(List.of(load(1), load(2))), loadJsonWriter);
+
+        assertArrayEquals(cborMapper.writeValueAsBytes(page.toPagedResponse()), cborMapper.writeValueAsBytes(page));
+    }
+
+    @Test
+    void jsonScalarWriter_MatchesIsoFormatterAndUuidText() throws Exception {
+        List<LocalDateTime> dates = List.of(
+                POSTED_AT,
+                POSTED_AT.withSecond(7),
+                POSTED_AT.withNano(500_000_000),
+                POSTED_AT.withNano(10),
+                POSTED_AT.withNano(999_999_999),
+                LocalDateTime.of(5, 1, 2, 3, 4),
+                LocalDateTime.of(-5, 1, 2, 3, 4));
+        UUID uuid = UUID.randomUUID();
+
+        StringWriter out = new StringWriter();
+        JsonScalarWriter scalars = new JsonScalarWriter();
+        try (JsonGenerator gen = jsonMapper.getFactory().createGenerator(out)) {
+            gen.writeStartArray();
+            for (LocalDateTime date : dates) {
+                scalars.writeDateTime(gen, date);
+            }
+            scalars.writeUuid(gen, uuid);
+            gen.writeEndArray();
+        }
+
+        StringBuilder expected = new StringBuilder("[");
+        dates.forEach(date -> expected.append('"').append(date.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).append("\","));
+        expected.append('"').append(uuid).append("\"]");
+        assertEquals(expected.toString(), out.toString());
+    }
+
+    private static Load load(int index) {
+        Facility facility = new Facility(index, index + 1, POSTED_AT.plusDays(1), POSTED_AT.plusDays(3));
+        Load load = new Load("SHIPPER_00" + index, facility, 10 + index, 20 + index, 3, 15.5, null);
+        load.setId(UUID.randomUUID());
+        load.setStatus(LoadStatus.POSTED);
+        load.setDatePosted(POSTED_AT.minusHours(index));
+        load.setUpdatedAt(POSTED_AT.minusHours(index));
+        return load;
+    }
+}
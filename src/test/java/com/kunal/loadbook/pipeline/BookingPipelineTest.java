@@ -0,0 +1,237 @@
+package com.kunal.loadbook.pipeline;
+
+import com.kunal.loadbook.exception.BusinessLogicException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class BookingPipelineTest {
+
+    private EntityManager entityManager;
+    private CountingTransactionManager transactionManager;
+    private BookingPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        transactionManager = new CountingTransactionManager();
+        pipeline = new BookingPipeline(null, null, entityManager, transactionManager, new SimpleMeterRegistry(),
+                true, 4, 100, 32, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void submit_SameLoad_RunsOneAtATimeInSubmissionOrder() throws Exception {
+        // Arrange
+        UUID loadId = UUID.randomUUID();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+        // Act
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int n = i;
+            futures.add(CompletableFuture.supplyAsync(() -> pipeline.submit(loadId, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                order.add(n);
+                running.decrementAndGet();
+                return n;
+            })));
+            Thread.sleep(1);
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i, futures.get(i).get(5, TimeUnit.SECONDS));
+        }
+
+        // Assert
+        assertEquals(1, maxRunning.get());
+        assertEquals(50, order.size());
+    }
+
+    @Test
+    void submit_RefusedCommandInBatch_RollsBackToItsSavepointOnly() throws Exception {
+        // Arrange - hold the worker so the next commands queue up into one batch
+        UUID loadId = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> blocker = CompletableFuture.supplyAsync(() -> pipeline.submit(loadId, () -> {
+            awaitQuietly(release);
+            return "blocker";
+        }));
+        Thread.sleep(50);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> pipeline.submit(loadId, () -> "first"));
+        CompletableFuture<String> failing = CompletableFuture.supplyAsync(() -> pipeline.submit(loadId, () -> {
+            throw new BusinessLogicException("Load is already booked");
+        }));
+        CompletableFuture<String> last = CompletableFuture.supplyAsync(() -> pipeline.submit(loadId, () -> "last"));
+        Thread.sleep(50);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        assertEquals("blocker", blocker.get(5, TimeUnit.SECONDS));
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("last", last.get(5, TimeUnit.SECONDS));
+        Exception exception = assertThrows(Exception.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BusinessLogicException.class, exception.getCause());
+        // The blocker alone, then one commit for the rest of the batch without re-runs
+        assertEquals(2, transactionManager.commits.get());
+        assertEquals(0, transactionManager.rollbacks.get());
+        assertEquals(1, transactionManager.savepointRollbacks.get());
+        verify(entityManager).clear();
+    }
+
+    @Test
+    void submit_InfrastructureFailureInBatch_RerunsEachCommandAlone() throws Exception {
+        // Arrange - hold the worker so the next commands queue up into one batch
+        UUID loadId = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> blocker = CompletableFuture.supplyAsync(() -> pipeline.submit(loadId, () -> {
+            awaitQuietly(release);
+            return "blocker";
+        }));
+        Thread.sleep(50);
+
+        AtomicInteger firstRuns = new AtomicInteger();
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(
+                () -> pipeline.submit(loadId, firstRuns::incrementAndGet));
+        CompletableFuture<String> failing = CompletableFuture.supplyAsync(() -> pipeline.submit(loadId, () -> {
+            throw new IllegalStateException("Connection reset");
+        }));
+        Thread.sleep(50);
+
+        // Act
+        release.countDown();
+
+        // Assert - the batch is rolled back, so the first command runs again on its own
+        assertEquals("blocker", blocker.get(5, TimeUnit.SECONDS));
+        assertEquals(2, first.get(5, TimeUnit.SECONDS));
+        Exception exception = assertThrows(Exception.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals(2, transactionManager.rollbacks.get());
+    }
+
+    @Test
+    void submit_WorkerStalled_TimesOutAndSkipsTheCommand() throws Exception {
+        // Arrange - a short timeout and a worker held by an earlier command
+        pipeline.shutdown();
+        pipeline = new BookingPipeline(null, null, entityManager, transactionManager, new SimpleMeterRegistry(),
+                true, 1, 100, 32, Duration.ofMillis(100));
+        UUID loadId = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> blocker = CompletableFuture.supplyAsync(() -> pipeline.submit(loadId, () -> {
+            awaitQuietly(release);
+            return "blocker";
+        }));
+        Thread.sleep(50);
+        AtomicInteger ran = new AtomicInteger();
+
+        // Act
+        RejectedExecutionException exception = assertThrows(RejectedExecutionException.class,
+                () -> pipeline.submit(loadId, ran::incrementAndGet));
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(exception.getMessage().contains("did not answer in time"));
+        assertEquals("after", pipeline.submit(loadId, () -> "after"));
+        assertEquals(0, ran.get());
+    }
+
+    @Test
+    void submit_CommandRunningPastTimeout_WaitsForItsOutcome() {
+        // Arrange - a short timeout and a command that takes longer once started
+        pipeline.shutdown();
+        pipeline = new BookingPipeline(null, null, entityManager, transactionManager, new SimpleMeterRegistry(),
+                true, 1, 100, 32, Duration.ofMillis(100));
+
+        // Act
+        String result = pipeline.submit(UUID.randomUUID(), () -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(300));
+            return "committed";
+        });
+
+        // Assert - a 503 here would invite a retry of a write that commits anyway
+        assertEquals("committed", result);
+        assertEquals(1, transactionManager.commits.get());
+    }
+
+    @Test
+    void submit_Disabled_RunsOnCallingThread() {
+        // Arrange
+        BookingPipeline disabled = new BookingPipeline(null, null, entityManager, transactionManager,
+                new SimpleMeterRegistry(), false, 4, 100, 32, Duration.ofSeconds(5));
+        Thread caller = Thread.currentThread();
+
+        // Act
+        Thread ranOn = disabled.submit(UUID.randomUUID(), Thread::currentThread);
+
+        // Assert
+        assertSame(caller, ranOn);
+        assertEquals(0, transactionManager.commits.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Counts transactions; a nested one stands for a savepoint of the enclosing transaction
+     */
+    private static class CountingTransactionManager implements PlatformTransactionManager {
+
+        private final AtomicInteger commits = new AtomicInteger();
+        private final AtomicInteger rollbacks = new AtomicInteger();
+        private final AtomicInteger savepointRollbacks = new AtomicInteger();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus(
+                    definition.getPropagationBehavior() != TransactionDefinition.PROPAGATION_NESTED);
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            if (status.isNewTransaction()) {
+                commits.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            (status.isNewTransaction() ? rollbacks : savepointRollbacks).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.kunal.loadbook.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GcraRateLimiterTest {
+
+    private AtomicLong now;
+    private GcraRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(TimeUnit.SECONDS.toNanos(1_000));
+        // 10 requests per second, bursts of up to 5
+        limiter = new GcraRateLimiter(10, 5, now::get);
+    }
+
+    @Test
+    void tryAcquire_AdmitsBurstThenRejectsWithWaitTime() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("client-1"), "request " + i);
+        }
+
+        long waitNanos = limiter.tryAcquire("client-1");
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), waitNanos);
+    }
+
+    @Test
+    void tryAcquire_RefillsAtConfiguredRate() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("client-1");
+        }
+        assertTrue(limiter.tryAcquire("client-1") > 0);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals(0, limiter.tryAcquire("client-1"));
+        assertTrue(limiter.tryAcquire("client-1") > 0);
+    }
+
+    @Test
+    void tryAcquire_KeepsSeparateBucketsPerKey() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("client-1");
+        }
+
+        assertTrue(limiter.tryAcquire("client-1") > 0);
+        assertEquals(0, limiter.tryAcquire("client-2"));
+    }
+
+    @Test
+    void evictIdle_RemovesOnlyFullyRefilledKeys() {
+        limiter.tryAcquire("idle");
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("busy");
+        }
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+        assertEquals(0, limiter.tryAcquire("busy"));
+    }
+
+    @Test
+    void tryAcquire_AtMaxKeys_NewKeysShareOverflowBucket() {
+        GcraRateLimiter bounded = new GcraRateLimiter(10, 5, 2, now::get);
+        bounded.tryAcquire("client-1");
+        bounded.tryAcquire("client-2");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bounded.tryAcquire("new-" + i), "request " + i);
+        }
+
+        assertTrue(bounded.tryAcquire("new-5") > 0);
+        assertEquals(0, bounded.tryAcquire("client-1"));
+        assertEquals(3, bounded.size());
+    }
+}
@@ -0,0 +1,164 @@
+package com.kunal.loadbook.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private static final String PROXY = "10.0.0.1";
+
+    private SimpleMeterRegistry registry;
+    private RateLimitFilter filter;
+    private AtomicInteger invocations;
+    private FilterChain handler;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        // One write per client at a time, plenty of reads, one request in flight overall
+        filter = newFilter(1, 10);
+        invocations = new AtomicInteger();
+        handler = (request, response) -> invocations.incrementAndGet();
+    }
+
+    @Test
+    void classify_WritesByMethod() {
+        assertEquals(RequestClass.WRITE, filter.classify(request("POST", "/api/v1/load")));
+        assertEquals(RequestClass.WRITE, filter.classify(request("DELETE", "/api/v1/booking/1")));
+        assertEquals(RequestClass.READ, filter.classify(request("GET", "/api/v1/load")));
+        assertEquals(RequestClass.READ, filter.classify(request("HEAD", "/api/v1/load")));
+    }
+
+    @Test
+    void classify_ExportsByPathOrPageSize() {
+        MockHttpServletRequest largePage = request("GET", "/api/v1/load");
+        largePage.setParameter("size", "50");
+        MockHttpServletRequest smallPage = request("GET", "/api/v1/load");
+        smallPage.setParameter("size", "49");
+        MockHttpServletRequest badSize = request("GET", "/api/v1/load");
+        badSize.setParameter("size", "many");
+
+        assertEquals(RequestClass.EXPORT, filter.classify(request("GET", "/api/v1/load/export")));
+        assertEquals(RequestClass.EXPORT, filter.classify(largePage));
+        assertEquals(RequestClass.READ, filter.classify(smallPage));
+        assertEquals(RequestClass.READ, filter.classify(badSize));
+    }
+
+    @Test
+    void overBudget_Returns429WithRetryAfter() throws Exception {
+        MockHttpServletResponse first = perform(request("POST", "/api/v1/load"));
+        MockHttpServletResponse second = perform(request("POST", "/api/v1/load"));
+
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+        assertEquals("1", second.getHeader("Retry-After"));
+        assertTrue(second.getContentAsString().contains("RATE_LIMITED"));
+        assertEquals(1, invocations.get());
+        assertEquals(1.0, registry.get("loadbook.requests.throttled").tag("class", "write").counter().count());
+    }
+
+    @Test
+    void overBudget_OtherClassStillAdmitted() throws Exception {
+        perform(request("POST", "/api/v1/load"));
+
+        MockHttpServletResponse read = perform(request("GET", "/api/v1/load"));
+
+        assertEquals(200, read.getStatus());
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    void identityHeadersFromClient_AreIgnored() throws Exception {
+        MockHttpServletRequest first = request("POST", "/api/v1/load");
+        first.addHeader(RateLimitFilter.SHIPPER_ID_HEADER, "SHIPPER_001");
+        MockHttpServletRequest second = request("POST", "/api/v1/load");
+        second.addHeader(RateLimitFilter.SHIPPER_ID_HEADER, "SHIPPER_002");
+
+        perform(first);
+        MockHttpServletResponse throttled = perform(second);
+
+        assertEquals(429, throttled.getStatus());
+        assertEquals("ip:127.0.0.1", filter.clientId(second));
+    }
+
+    @Test
+    void identityHeadersFromTrustedProxy_KeyTheBudget() throws Exception {
+        MockHttpServletRequest first = request("POST", "/api/v1/load");
+        first.setRemoteAddr(PROXY);
+        first.addHeader(RateLimitFilter.SHIPPER_ID_HEADER, "SHIPPER_001");
+        MockHttpServletRequest second = request("POST", "/api/v1/load");
+        second.setRemoteAddr(PROXY);
+        second.addHeader(RateLimitFilter.SHIPPER_ID_HEADER, "SHIPPER_002");
+
+        assertEquals(200, perform(first).getStatus());
+        assertEquals(200, perform(second).getStatus());
+        assertEquals("shipper:SHIPPER_002", filter.clientId(second));
+    }
+
+    @Test
+    void forwardedForFromTrustedProxy_UsesAddressTheProxySaw() {
+        MockHttpServletRequest request = request("GET", "/api/v1/load");
+        request.setRemoteAddr(PROXY);
+        request.addHeader(RateLimitFilter.FORWARDED_FOR_HEADER, "1.2.3.4, 203.0.113.7");
+
+        assertEquals("ip:203.0.113.7", filter.clientId(request));
+    }
+
+    @Test
+    void noFreeSlot_Returns503() throws Exception {
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/v1/load"), outer, (request, response) -> {
+            // The only slot is held by this request while the next one arrives
+            MockHttpServletRequest next = request("GET", "/api/v1/load");
+            next.setRemoteAddr("192.0.2.1");
+            MockHttpServletResponse rejected = perform(next);
+            assertEquals(503, rejected.getStatus());
+            assertEquals("1", rejected.getHeader("Retry-After"));
+            assertTrue(rejected.getContentAsString().contains("OVERLOADED"));
+        });
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(0, invocations.get());
+        assertEquals(1.0, registry.get("loadbook.requests.throttled").tag("reason", "admission").counter().count());
+    }
+
+    @Test
+    void nonApiPath_IsNotLimited() throws Exception {
+        perform(request("POST", "/actuator/refresh"));
+        MockHttpServletResponse second = perform(request("POST", "/actuator/refresh"));
+
+        assertEquals(200, second.getStatus());
+        assertEquals(2, invocations.get());
+    }
+
+    private RateLimitFilter newFilter(int writeBurst, long admissionTimeoutMillis) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("meterRegistry", registry));
+        return new RateLimitFilter(beans.getBeanProvider(MeterRegistry.class), new ObjectMapper(), true,
+                100, 100, 1, writeBurst, 0.01, 1, 50, Set.of(PROXY), 1000, 1, admissionTimeoutMillis);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, handler);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
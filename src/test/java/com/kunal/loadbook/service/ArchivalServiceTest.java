@@ -0,0 +1,147 @@
+package com.kunal.loadbook.service;
+
+import com.kunal.loadbook.repository.BookingRepository;
+import com.kunal.loadbook.repository.LoadRepository;
+import com.kunal.loadbook.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Archival batches against mocked repositories, each batch in a transaction from a
+ * mocked transaction manager
+ */
+@ExtendWith(MockitoExtension.class)
+class ArchivalServiceTest {
+
+    @Mock
+    private LoadRepository loadRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ArchivalService archivalService;
+
+    @BeforeEach
+    void setUp() {
+        archivalService = new ArchivalService(loadRepository, bookingRepository, shardRouter, jdbcTemplate,
+                transactionManager, 365, 2);
+
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // Not PostgreSQL: no advisory lock to take
+        lenient().when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(false);
+        lenient().doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(shardRouter).forEachShard(any());
+    }
+
+    @Test
+    void archiveClosedRecords_FullBatch_RunsAnotherUntilShortBatch() {
+        // Arrange - batch size 2: three closed loads take two batches
+        List<UUID> firstBatch = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> secondBatch = List.of(UUID.randomUUID());
+        when(loadRepository.findArchivableLoadIds(eq(ArchivalService.CLOSED_LOAD_STATUSES), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(firstBatch, secondBatch);
+        when(bookingRepository.findArchivableBookingIds(eq(ArchivalService.CLOSED_BOOKING_STATUSES),
+                any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        archivalService.archiveClosedRecords();
+
+        // Assert - a load's bookings go with it, in the same batch
+        verify(bookingRepository).archiveByLoadIds(firstBatch);
+        verify(loadRepository).archiveByIds(firstBatch);
+        verify(bookingRepository).archiveByLoadIds(secondBatch);
+        verify(loadRepository).archiveByIds(secondBatch);
+        verify(bookingRepository, never()).archiveByIds(anyList());
+        // Loads (two batches) and bookings (one empty batch)
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void archiveClosedRecords_UsesRetentionCutoffAndBatchSize() {
+        // Arrange
+        UUID bookingId = UUID.randomUUID();
+        when(loadRepository.findArchivableLoadIds(any(), any(), any())).thenReturn(List.of());
+        when(bookingRepository.findArchivableBookingIds(any(), any(), any())).thenReturn(List.of(bookingId));
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+
+        // Act
+        LocalDateTime before = LocalDateTime.now().minusDays(365);
+        archivalService.archiveClosedRecords();
+        LocalDateTime after = LocalDateTime.now().minusDays(365);
+
+        // Assert
+        verify(bookingRepository).findArchivableBookingIds(eq(ArchivalService.CLOSED_BOOKING_STATUSES),
+                cutoff.capture(), page.capture());
+        assertFalse(cutoff.getValue().isBefore(before));
+        assertFalse(cutoff.getValue().isAfter(after));
+        assertEquals(2, page.getValue().getPageSize());
+        verify(bookingRepository).archiveByIds(List.of(bookingId));
+    }
+
+    @Test
+    void archiveClosedRecords_AdvisoryLockHeldElsewhere_SkipsRun() {
+        // Arrange - PostgreSQL, and another instance holds the lock
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+        when(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                ArchivalService.ADVISORY_LOCK_KEY)).thenReturn(false);
+
+        // Act
+        archivalService.archiveClosedRecords();
+
+        // Assert
+        verify(loadRepository, never()).findArchivableLoadIds(any(), any(), any());
+        verify(bookingRepository, never()).findArchivableBookingIds(any(), any(), any());
+        verify(loadRepository, never()).archiveByIds(anyList());
+    }
+
+    @Test
+    void archiveClosedRecords_AdvisoryLockTaken_ArchivesAsUsual() {
+        // Arrange
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+        when(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                ArchivalService.ADVISORY_LOCK_KEY)).thenReturn(true);
+        when(loadRepository.findArchivableLoadIds(any(), any(), any())).thenReturn(List.of());
+        when(bookingRepository.findArchivableBookingIds(any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        archivalService.archiveClosedRecords();
+
+        // Assert - one lock per batch transaction, under a key of its own
+        verify(jdbcTemplate, times(2)).queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                ArchivalService.ADVISORY_LOCK_KEY);
+        assertNotEquals(ExpiryService.ADVISORY_LOCK_KEY, ArchivalService.ADVISORY_LOCK_KEY);
+        verify(loadRepository).findArchivableLoadIds(any(), any(), any());
+        verify(bookingRepository).findArchivableBookingIds(any(), any(), any());
+    }
+}
@@ -1,23 +1,28 @@
 package com.kunal.loadbook.service;
 
+import com.kunal.loadbook.audit.AuditLog;
 import com.kunal.loadbook.dto.booking.BookingResponse;
 import com.kunal.loadbook.dto.booking.CreateBookingRequest;
 import com.kunal.loadbook.dto.booking.UpdateBookingRequest;
 import com.kunal.loadbook.dto.common.PagedResponse;
 import com.kunal.loadbook.entity.Booking;
 import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.enums.AuditEntityType;
 import com.kunal.loadbook.enums.BookingStatus;
 import com.kunal.loadbook.enums.LoadStatus;
 import com.kunal.loadbook.exception.BusinessLogicException;
 import com.kunal.loadbook.exception.ResourceNotFoundException;
+import com.kunal.loadbook.index.BookingPairFilter;
 import com.kunal.loadbook.mapper.BookingMapper;
 import com.kunal.loadbook.repository.BookingRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -30,6 +35,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -45,6 +51,12 @@ class BookingServiceTest {
         @Mock
         private BookingMapper bookingMapper;
 
+        @Mock
+        private BookingPairFilter bookingPairFilter;
+
+        @Mock
+        private AuditLog auditLog;
+
         @InjectMocks
         private BookingService bookingService;
 
@@ -59,6 +71,8 @@ class BookingServiceTest {
                 testLoad.setId(UUID.randomUUID());
                 testLoad.setShipperId("SHIPPER_001");
                 testLoad.setStatus(LoadStatus.POSTED);
+                testLoad.setNoOfTrucks(3);
+                testLoad.setRemainingTrucks(3);
 
                 testBooking = new Booking();
                 testBooking.setId(UUID.randomUUID());
@@ -86,10 +100,11 @@ class BookingServiceTest {
         void createBooking_Success() {
                 // Arrange
                 when(loadService.getLoadEntityById(testLoad.getId())).thenReturn(testLoad);
+                when(bookingPairFilter.mightContain(testLoad.getId(), "TRANSPORTER_001")).thenReturn(true);
                 when(bookingRepository.existsByLoadIdAndTransporterId(testLoad.getId(), "TRANSPORTER_001"))
                                 .thenReturn(false);
                 when(bookingMapper.toEntity(createRequest)).thenReturn(testBooking);
-                when(bookingRepository.save(testBooking)).thenReturn(testBooking);
+                when(bookingRepository.saveAndFlush(testBooking)).thenReturn(testBooking);
                 when(bookingMapper.toResponse(testBooking)).thenReturn(bookingResponse);
 
                 // Act
@@ -99,8 +114,50 @@ class BookingServiceTest {
                 assertNotNull(result);
                 assertEquals(testBooking.getId(), result.getId());
                 assertEquals("TRANSPORTER_001", result.getTransporterId());
-                verify(loadService).updateLoadStatus(testLoad.getId(), LoadStatus.BOOKED);
-                verify(bookingRepository).save(testBooking);
+                assertSame(testLoad, testBooking.getLoad());
+                verify(bookingRepository).saveAndFlush(testBooking);
+                verify(bookingPairFilter).put(testLoad.getId(), "TRANSPORTER_001");
+                // A new booking only updates the load's pending summary; trucks are
+                // allocated and the status changes on acceptance
+                verify(loadService).recordPendingBooking(testLoad.getId(), 25000.0, testBooking.getRequestedAt());
+                verify(loadService, never()).allocateTrucks(any(), any(), anyInt());
+                verify(loadService, never()).updateLoadStatus(any(), any());
+        }
+
+        @Test
+        void createBooking_PairNotInFilter_SkipsExistsQuery() {
+                // Arrange
+                when(loadService.getLoadEntityById(testLoad.getId())).thenReturn(testLoad);
+                when(bookingPairFilter.mightContain(testLoad.getId(), "TRANSPORTER_001")).thenReturn(false);
+                when(bookingMapper.toEntity(createRequest)).thenReturn(testBooking);
+                when(bookingRepository.saveAndFlush(testBooking)).thenReturn(testBooking);
+                when(bookingMapper.toResponse(testBooking)).thenReturn(bookingResponse);
+
+                // Act
+                bookingService.createBooking(createRequest);
+
+                // Assert
+                verify(bookingRepository, never()).existsByLoadIdAndTransporterId(any(), any());
+                verify(bookingPairFilter).put(testLoad.getId(), "TRANSPORTER_001");
+        }
+
+        @Test
+        void createBooking_DuplicateMissedByFilter_ThrowsException() {
+                // Arrange
+                when(loadService.getLoadEntityById(testLoad.getId())).thenReturn(testLoad);
+                when(bookingPairFilter.mightContain(testLoad.getId(), "TRANSPORTER_001")).thenReturn(false);
+                when(bookingMapper.toEntity(createRequest)).thenReturn(testBooking);
+                when(bookingRepository.saveAndFlush(testBooking)).thenThrow(new DataIntegrityViolationException(
+                                "duplicate",
+                                new ConstraintViolationException("duplicate", null,
+                                                "PUBLIC.UK_BOOKINGS_LOAD_TRANSPORTER_INDEX_A")));
+
+                // Act & Assert
+                BusinessLogicException exception = assertThrows(
+                                BusinessLogicException.class,
+                                () -> bookingService.createBooking(createRequest));
+                assertEquals("Booking already exists for this load and transporter", exception.getMessage());
+                verify(bookingPairFilter, never()).put(any(), any());
         }
 
         @Test
@@ -114,7 +171,7 @@ class BookingServiceTest {
                                 BusinessLogicException.class,
                                 () -> bookingService.createBooking(createRequest));
                 assertEquals("Cannot create booking for a cancelled load", exception.getMessage());
-                verify(bookingRepository, never()).save(any());
+                verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -128,13 +185,14 @@ class BookingServiceTest {
                                 BusinessLogicException.class,
                                 () -> bookingService.createBooking(createRequest));
                 assertEquals("Load is already booked", exception.getMessage());
-                verify(bookingRepository, never()).save(any());
+                verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
         void createBooking_BookingAlreadyExists_ThrowsException() {
                 // Arrange
                 when(loadService.getLoadEntityById(testLoad.getId())).thenReturn(testLoad);
+                when(bookingPairFilter.mightContain(testLoad.getId(), "TRANSPORTER_001")).thenReturn(true);
                 when(bookingRepository.existsByLoadIdAndTransporterId(testLoad.getId(), "TRANSPORTER_001"))
                                 .thenReturn(true);
 
@@ -143,7 +201,7 @@ class BookingServiceTest {
                                 BusinessLogicException.class,
                                 () -> bookingService.createBooking(createRequest));
                 assertEquals("Booking already exists for this load and transporter", exception.getMessage());
-                verify(bookingRepository, never()).save(any());
+                verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -153,12 +211,12 @@ class BookingServiceTest {
                 Page<Booking> bookingPage = new PageImpl<>(List.of(testBooking), pageable, 1);
 
                 when(bookingRepository.findBookingsWithFilters(eq(testLoad.getId()), eq("TRANSPORTER_001"),
-                                eq(BookingStatus.PENDING), any(Pageable.class))).thenReturn(bookingPage);
+                                eq(BookingStatus.PENDING), eq(false), any(Pageable.class))).thenReturn(bookingPage);
                 when(bookingMapper.toResponse(testBooking)).thenReturn(bookingResponse);
 
                 // Act
                 PagedResponse<BookingResponse> result = bookingService.getBookings(
-                                testLoad.getId(), "TRANSPORTER_001", BookingStatus.PENDING, 0, 10);
+                                testLoad.getId(), "TRANSPORTER_001", BookingStatus.PENDING, false, null, 0, 10);
 
                 // Assert
                 assertNotNull(result);
@@ -185,6 +243,24 @@ class BookingServiceTest {
                 verify(bookingMapper).toResponse(testBooking);
         }
 
+        @Test
+        void getBookingById_WithFields_ReadsOnlySelectedAttributes() {
+                // Arrange
+                UUID bookingId = testBooking.getId();
+                List<String> fields = List.of("id", "requestedAt", "status");
+                Object[] row = { bookingId, testBooking.getRequestedAt(), BookingStatus.PENDING };
+                when(bookingRepository.findBookingAttributesById(List.of("id", "requestedAt", "status"), bookingId))
+                                .thenReturn(Optional.of(row));
+                when(bookingMapper.toResponse(row, fields)).thenReturn(bookingResponse);
+
+                // Act
+                BookingResponse result = bookingService.getBookingById(bookingId, "status");
+
+                // Assert
+                assertEquals(bookingResponse, result);
+                verify(bookingRepository, never()).findById(any());
+        }
+
         @Test
         void getBookingById_NotFound_ThrowsException() {
                 // Arrange
@@ -239,19 +315,100 @@ class BookingServiceTest {
         void acceptBooking_Success() {
                 // Arrange
                 UUID bookingId = testBooking.getId();
+                testBooking.setTruckCount(2);
+                Load allocated = loadWithTrucksLeft(1, LoadStatus.POSTED);
                 when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
+                when(loadService.allocateTrucks(testLoad.getId(), bookingId, 2)).thenReturn(Optional.of(allocated));
                 when(bookingRepository.save(testBooking)).thenReturn(testBooking);
+                List<UUID> exceeding = List.of(UUID.randomUUID(), UUID.randomUUID());
+                when(bookingRepository.findIdsExceedingTrucks(testLoad.getId(), BookingStatus.PENDING, 1))
+                                .thenReturn(exceeding);
+                when(bookingRepository.transitionByIds(eq(List.of(bookingId)), eq(BookingStatus.PENDING),
+                                eq(BookingStatus.ACCEPTED), any(LocalDateTime.class))).thenReturn(1);
+                when(bookingRepository.transitionByIds(eq(exceeding), eq(BookingStatus.PENDING),
+                                eq(BookingStatus.REJECTED), any(LocalDateTime.class))).thenReturn(2);
                 when(bookingMapper.toResponse(testBooking)).thenReturn(bookingResponse);
-                when(bookingRepository.findByLoadIdAndStatus(testLoad.getId(), BookingStatus.PENDING))
-                                .thenReturn(List.of());
 
                 // Act
                 BookingResponse result = bookingService.acceptBooking(bookingId);
 
-                // Assert
+                // Assert - the two pending bookings wanting more than one truck are rejected
                 assertNotNull(result);
                 assertEquals(BookingStatus.ACCEPTED, testBooking.getStatus());
                 verify(bookingRepository).save(testBooking);
+                verify(loadService).releasePendingBookings(testLoad.getId(), 3);
+                verify(loadService, never()).updateLoadStatus(any(), any());
+                verify(auditLog).recordAll(AuditEntityType.BOOKING, exceeding, "PENDING", "REJECTED");
+        }
+
+        @Test
+        void acceptBooking_AcceptedMeanwhile_ThrowsException() {
+                // Arrange - a concurrent accept of the same booking committed while this one
+                // waited for the load, so the conditional claim moves no row
+                UUID bookingId = testBooking.getId();
+                when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
+                when(loadService.allocateTrucks(testLoad.getId(), bookingId, 1))
+                                .thenReturn(Optional.of(loadWithTrucksLeft(1, LoadStatus.POSTED)));
+                when(bookingRepository.transitionByIds(eq(List.of(bookingId)), eq(BookingStatus.PENDING),
+                                eq(BookingStatus.ACCEPTED), any(LocalDateTime.class))).thenReturn(0);
+
+                // Act & Assert
+                BusinessLogicException exception = assertThrows(
+                                BusinessLogicException.class,
+                                () -> bookingService.acceptBooking(bookingId));
+                assertEquals("Booking is no longer pending", exception.getMessage());
+                verify(bookingRepository, never()).save(any());
+                verify(loadService, never()).releasePendingBookings(any(), anyInt());
+        }
+
+        @Test
+        void acceptBooking_LoadAlreadyClaimed_ThrowsException() {
+                // Arrange
+                UUID bookingId = testBooking.getId();
+                when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
+                when(loadService.allocateTrucks(testLoad.getId(), bookingId, 1)).thenReturn(Optional.empty());
+                when(loadService.getLoadEntityById(testLoad.getId()))
+                                .thenReturn(loadWithTrucksLeft(0, LoadStatus.BOOKED));
+
+                // Act & Assert
+                BusinessLogicException exception = assertThrows(
+                                BusinessLogicException.class,
+                                () -> bookingService.acceptBooking(bookingId));
+                assertEquals("Load is already booked by another transporter", exception.getMessage());
+                assertEquals(BookingStatus.PENDING, testBooking.getStatus());
+                verify(bookingRepository, never()).save(any());
+        }
+
+        @Test
+        void acceptBooking_MoreTrucksThanLeft_ThrowsException() {
+                // Arrange
+                UUID bookingId = testBooking.getId();
+                testBooking.setTruckCount(3);
+                when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
+                when(loadService.allocateTrucks(testLoad.getId(), bookingId, 3)).thenReturn(Optional.empty());
+                when(loadService.getLoadEntityById(testLoad.getId()))
+                                .thenReturn(loadWithTrucksLeft(2, LoadStatus.POSTED));
+
+                // Act & Assert
+                BusinessLogicException exception = assertThrows(
+                                BusinessLogicException.class,
+                                () -> bookingService.acceptBooking(bookingId));
+                assertEquals("Only 2 truck(s) left on this load", exception.getMessage());
+                verify(bookingRepository, never()).save(any());
+        }
+
+        @Test
+        void createBooking_MoreTrucksThanLeft_ThrowsException() {
+                // Arrange
+                createRequest.setTruckCount(4);
+                when(loadService.getLoadEntityById(testLoad.getId())).thenReturn(testLoad);
+
+                // Act & Assert
+                BusinessLogicException exception = assertThrows(
+                                BusinessLogicException.class,
+                                () -> bookingService.createBooking(createRequest));
+                assertEquals("Only 3 truck(s) left on this load", exception.getMessage());
+                verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -275,11 +432,6 @@ class BookingServiceTest {
                 when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
                 when(bookingRepository.save(testBooking)).thenReturn(testBooking);
                 when(bookingMapper.toResponse(testBooking)).thenReturn(bookingResponse);
-                when(bookingRepository.findByLoadIdAndStatus(testLoad.getId(), BookingStatus.PENDING))
-                                .thenReturn(List.of());
-                when(bookingRepository.findByLoadIdAndStatus(testLoad.getId(), BookingStatus.ACCEPTED))
-                                .thenReturn(List.of());
-                when(loadService.getLoadEntityById(testLoad.getId())).thenReturn(testLoad);
 
                 // Act
                 BookingResponse result = bookingService.rejectBooking(bookingId);
@@ -288,6 +440,24 @@ class BookingServiceTest {
                 assertNotNull(result);
                 assertEquals(BookingStatus.REJECTED, testBooking.getStatus());
                 verify(bookingRepository).save(testBooking);
+                verify(loadService).releasePendingBooking(testLoad.getId());
+        }
+
+        @Test
+        void rejectBooking_LastPendingBooking_LeavesLoadStatus() {
+                // Arrange - a load is only BOOKED once all its trucks are taken, which
+                // rejecting a pending booking does not change
+                UUID bookingId = testBooking.getId();
+                when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
+                when(bookingRepository.save(testBooking)).thenReturn(testBooking);
+                when(bookingMapper.toResponse(testBooking)).thenReturn(bookingResponse);
+
+                // Act
+                bookingService.rejectBooking(bookingId);
+
+                // Assert
+                verify(loadService).releasePendingBooking(testLoad.getId());
+                verify(loadService, never()).updateLoadStatus(any(), any());
         }
 
         @Test
@@ -295,17 +465,13 @@ class BookingServiceTest {
                 // Arrange
                 UUID bookingId = testBooking.getId();
                 when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
-                when(bookingRepository.findByLoadIdAndStatus(testLoad.getId(), BookingStatus.PENDING))
-                                .thenReturn(List.of());
-                when(bookingRepository.findByLoadIdAndStatus(testLoad.getId(), BookingStatus.ACCEPTED))
-                                .thenReturn(List.of());
-                when(loadService.getLoadEntityById(testLoad.getId())).thenReturn(testLoad);
 
                 // Act
                 bookingService.deleteBooking(bookingId);
 
                 // Assert
                 verify(bookingRepository).delete(testBooking);
+                verify(loadService).releasePendingBooking(testLoad.getId());
         }
 
         @Test
@@ -322,4 +488,13 @@ class BookingServiceTest {
                 assertEquals("Cannot delete an accepted booking", exception.getMessage());
                 verify(bookingRepository, never()).delete(any());
         }
+
+        private Load loadWithTrucksLeft(int remainingTrucks, LoadStatus status) {
+                Load load = new Load();
+                load.setId(testLoad.getId());
+                load.setNoOfTrucks(3);
+                load.setRemainingTrucks(remainingTrucks);
+                load.setStatus(status);
+                return load;
+        }
 }
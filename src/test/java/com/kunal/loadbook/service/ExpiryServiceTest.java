@@ -0,0 +1,295 @@
+package com.kunal.loadbook.service;
+
+import com.kunal.loadbook.audit.AuditLog;
+import com.kunal.loadbook.enums.AuditEntityType;
+import com.kunal.loadbook.enums.BookingStatus;
+import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.index.LaneIndex;
+import com.kunal.loadbook.index.LoadGeoIndex;
+import com.kunal.loadbook.repository.BookingRepository;
+import com.kunal.loadbook.repository.LoadRepository;
+import com.kunal.loadbook.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Expiry batches against mocked repositories. Batch transactions come from a mocked
+ * transaction manager; their after-commit callbacks are run by {@link #commit()}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExpiryServiceTest {
+
+    @Mock
+    private LoadRepository loadRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private LoadGeoIndex loadGeoIndex;
+
+    @Mock
+    private LaneIndex laneIndex;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExpiryService expiryService;
+
+    @BeforeEach
+    void setUp() {
+        expiryService = newExpiryService(500);
+
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // Not PostgreSQL: no advisory lock to take
+        lenient().when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(false);
+        lenient().doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(shardRouter).forEachShard(any());
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void expireDueRecords_OverdueLoad_ExpiresLoadWithItsPendingBookings() {
+        // Arrange
+        UUID loadId = UUID.randomUUID();
+        UUID bookingId = UUID.randomUUID();
+        when(loadRepository.findOverdueLoads(eq(LoadStatus.POSTED), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(rows(overdueLoad(loadId, 3, 3)));
+        when(bookingRepository.findIdsByLoadIdsAndStatus(List.of(loadId), BookingStatus.PENDING))
+                .thenReturn(List.of(bookingId));
+        when(bookingRepository.findIdsByIdsAndStatus(List.of(bookingId), BookingStatus.EXPIRED))
+                .thenReturn(List.of(bookingId));
+        when(loadRepository.findIdsByIdsAndStatus(List.of(loadId), LoadStatus.EXPIRED)).thenReturn(List.of(loadId));
+
+        // Act
+        expiryService.expireDueRecords();
+        commit();
+
+        // Assert
+        verify(bookingRepository).transitionByIds(eq(List.of(bookingId)), eq(BookingStatus.PENDING),
+                eq(BookingStatus.EXPIRED), any(LocalDateTime.class));
+        verify(loadRepository).expireByIds(eq(List.of(loadId)), eq(LoadStatus.POSTED), eq(LoadStatus.EXPIRED),
+                any(LocalDateTime.class));
+        verify(auditLog).recordAll(AuditEntityType.BOOKING, List.of(bookingId), "PENDING", "EXPIRED");
+        verify(auditLog).recordAll(AuditEntityType.LOAD, List.of(loadId), "POSTED", "EXPIRED");
+        verify(loadGeoIndex).remove(loadId);
+        verify(laneIndex).remove(loadId);
+    }
+
+    @Test
+    void expireDueRecords_IndexesUpdatedOnlyAfterCommit() {
+        // Arrange
+        UUID loadId = UUID.randomUUID();
+        when(loadRepository.findOverdueLoads(eq(LoadStatus.POSTED), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(rows(overdueLoad(loadId, 1, 1)));
+
+        // Act - the batch transaction has not committed
+        expiryService.expireDueRecords();
+
+        // Assert
+        verifyNoInteractions(loadGeoIndex, laneIndex);
+    }
+
+    @Test
+    void expireDueRecords_StalePendingBookings_ExpiresThemAndRecomputesLoadSummaries() {
+        // Arrange - two stale bookings on one load
+        UUID loadId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        LocalDateTime requestedAt = LocalDateTime.now().minusDays(4);
+        when(bookingRepository.findStaleBookings(eq(BookingStatus.PENDING), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(rows(
+                        new Object[] { first, loadId, requestedAt },
+                        new Object[] { second, loadId, requestedAt }));
+        when(bookingRepository.findIdsByIdsAndStatus(List.of(first, second), BookingStatus.EXPIRED))
+                .thenReturn(List.of(first, second));
+
+        // Act
+        LocalDateTime before = LocalDateTime.now();
+        expiryService.expireDueRecords();
+
+        // Assert - the cutoff is the TTL before now
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(bookingRepository).findStaleBookings(eq(BookingStatus.PENDING), cutoff.capture(), any(Pageable.class));
+        assertFalse(cutoff.getValue().isBefore(before.minusHours(72)));
+        assertFalse(cutoff.getValue().isAfter(LocalDateTime.now().minusHours(72)));
+
+        verify(bookingRepository).transitionByIds(eq(List.of(first, second)), eq(BookingStatus.PENDING),
+                eq(BookingStatus.EXPIRED), any(LocalDateTime.class));
+        verify(loadRepository).recomputePendingSummary(Set.of(loadId));
+        verify(auditLog).recordAll(AuditEntityType.BOOKING, List.of(first, second), "PENDING", "EXPIRED");
+        verify(loadRepository, never()).expireByIds(any(), any(), any(), any());
+    }
+
+    @Test
+    void expireDueRecords_FullBatch_RunsAnotherUntilShortBatch() {
+        // Arrange - batches of two: a full one, then a short one
+        expiryService = newExpiryService(2);
+        UUID loadId = UUID.randomUUID();
+        LocalDateTime requestedAt = LocalDateTime.now().minusDays(4);
+        when(bookingRepository.findStaleBookings(eq(BookingStatus.PENDING), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(
+                        rows(new Object[] { UUID.randomUUID(), loadId, requestedAt },
+                                new Object[] { UUID.randomUUID(), loadId, requestedAt }),
+                        rows(new Object[] { UUID.randomUUID(), loadId, requestedAt }));
+
+        // Act
+        expiryService.expireDueRecords();
+
+        // Assert - one transaction per batch, each limited to the batch size
+        ArgumentCaptor<Pageable> pages = ArgumentCaptor.forClass(Pageable.class);
+        verify(bookingRepository, times(2)).findStaleBookings(eq(BookingStatus.PENDING), any(LocalDateTime.class),
+                pages.capture());
+        pages.getAllValues().forEach(page -> assertEquals(2, page.getPageSize()));
+        verify(bookingRepository, times(2)).transitionByIds(anyList(), eq(BookingStatus.PENDING),
+                eq(BookingStatus.EXPIRED), any(LocalDateTime.class));
+        // Loads (one empty batch) and bookings (two batches)
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void expireDueRecords_AdvisoryLockHeldElsewhere_SkipsRun() {
+        // Arrange - PostgreSQL, and another instance holds the lock
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+        when(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                ExpiryService.ADVISORY_LOCK_KEY)).thenReturn(false);
+
+        // Act
+        expiryService.expireDueRecords();
+
+        // Assert
+        verify(loadRepository, never()).findOverdueLoads(any(), any(), any());
+        verify(bookingRepository, never()).findStaleBookings(any(), any(), any());
+        verifyNoInteractions(auditLog);
+    }
+
+    @Test
+    void expireDueRecords_AdvisoryLockTaken_ExpiresAsUsual() {
+        // Arrange
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+        when(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                ExpiryService.ADVISORY_LOCK_KEY)).thenReturn(true);
+
+        // Act
+        expiryService.expireDueRecords();
+
+        // Assert - one lock per batch transaction
+        verify(jdbcTemplate, times(2)).queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                ExpiryService.ADVISORY_LOCK_KEY);
+        verify(loadRepository).findOverdueLoads(eq(LoadStatus.POSTED), any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingRepository).findStaleBookings(eq(BookingStatus.PENDING), any(LocalDateTime.class),
+                any(Pageable.class));
+    }
+
+    @Test
+    void expireDueRecords_PartlyBookedLoad_BecomesBookedInsteadOfExpired() {
+        // Arrange - one of two trucks went to an accepted booking before the loading date
+        UUID openLoadId = UUID.randomUUID();
+        UUID partlyBookedLoadId = UUID.randomUUID();
+        UUID pendingBookingId = UUID.randomUUID();
+        List<UUID> loadIds = List.of(openLoadId, partlyBookedLoadId);
+        when(loadRepository.findOverdueLoads(eq(LoadStatus.POSTED), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(rows(overdueLoad(openLoadId, 2, 2), overdueLoad(partlyBookedLoadId, 1, 2)));
+        when(bookingRepository.findIdsByLoadIdsAndStatus(loadIds, BookingStatus.PENDING))
+                .thenReturn(List.of(pendingBookingId));
+        when(bookingRepository.findIdsByIdsAndStatus(List.of(pendingBookingId), BookingStatus.EXPIRED))
+                .thenReturn(List.of(pendingBookingId));
+        // expireByIds only moves loads with no trucks booked
+        when(loadRepository.findIdsByIdsAndStatus(loadIds, LoadStatus.EXPIRED)).thenReturn(List.of(openLoadId));
+        when(loadRepository.closePartlyBooked(eq(partlyBookedLoadId), eq(LoadStatus.POSTED), eq(LoadStatus.BOOKED),
+                any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        expiryService.expireDueRecords();
+        commit();
+
+        // Assert
+        verify(bookingRepository).transitionByIds(eq(List.of(pendingBookingId)), eq(BookingStatus.PENDING),
+                eq(BookingStatus.EXPIRED), any(LocalDateTime.class));
+        verify(loadRepository).expireByIds(eq(loadIds), eq(LoadStatus.POSTED), eq(LoadStatus.EXPIRED),
+                any(LocalDateTime.class));
+        verify(loadRepository, never()).closePartlyBooked(eq(openLoadId), any(), any(), any());
+        verify(auditLog).recordAll(AuditEntityType.LOAD, List.of(openLoadId), "POSTED", "EXPIRED");
+        verify(auditLog).recordAll(AuditEntityType.LOAD, List.of(partlyBookedLoadId), "POSTED", "BOOKED");
+        verify(loadGeoIndex).remove(partlyBookedLoadId);
+        verify(laneIndex).remove(partlyBookedLoadId);
+    }
+
+    @Test
+    void expireDueRecords_PartlyBookedLoadChangedMeanwhile_IsNotRecorded() {
+        // Arrange - the last truck was accepted after the scan, so the load is BOOKED already
+        UUID loadId = UUID.randomUUID();
+        when(loadRepository.findOverdueLoads(eq(LoadStatus.POSTED), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(rows(overdueLoad(loadId, 1, 2)));
+        when(loadRepository.closePartlyBooked(eq(loadId), eq(LoadStatus.POSTED), eq(LoadStatus.BOOKED),
+                any(LocalDateTime.class))).thenReturn(0);
+
+        // Act
+        expiryService.expireDueRecords();
+
+        // Assert
+        verify(auditLog, never()).recordAll(eq(AuditEntityType.LOAD), anyList(), eq("POSTED"), eq("BOOKED"));
+    }
+
+    private ExpiryService newExpiryService(int batchSize) {
+        return new ExpiryService(loadRepository, bookingRepository, loadGeoIndex, laneIndex, shardRouter, auditLog,
+                jdbcTemplate, transactionManager, new SimpleMeterRegistry(), Duration.ofHours(72), batchSize);
+    }
+
+    private static Object[] overdueLoad(UUID loadId, int remainingTrucks, int noOfTrucks) {
+        return new Object[] { loadId, LocalDateTime.now().minusDays(1), remainingTrucks, noOfTrucks };
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    /**
+     * Run what the batches registered to happen after they commit
+     */
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -1,29 +1,46 @@
 package com.kunal.loadbook.service;
 
+import com.kunal.loadbook.audit.AuditLog;
+import com.kunal.loadbook.dto.booking.BookingResponse;
 import com.kunal.loadbook.dto.load.CreateLoadRequest;
 import com.kunal.loadbook.dto.load.FacilityDto;
 import com.kunal.loadbook.dto.load.LoadResponse;
 import com.kunal.loadbook.dto.load.UpdateLoadRequest;
+import com.kunal.loadbook.dto.common.CursorPagedResponse;
 import com.kunal.loadbook.dto.common.PagedResponse;
+import com.kunal.loadbook.entity.Booking;
 import com.kunal.loadbook.entity.Load;
+import com.kunal.loadbook.enums.AuditEntityType;
+import com.kunal.loadbook.enums.BookingStatus;
 import com.kunal.loadbook.enums.LoadStatus;
+import com.kunal.loadbook.enums.ReferenceKind;
 import com.kunal.loadbook.exception.BusinessLogicException;
 import com.kunal.loadbook.exception.ResourceNotFoundException;
+import com.kunal.loadbook.index.LoadGeoIndex;
+import com.kunal.loadbook.index.ReferenceDictionary;
+import com.kunal.loadbook.mapper.BookingMapper;
 import com.kunal.loadbook.mapper.LoadMapper;
+import com.kunal.loadbook.repository.BookingRepository;
 import com.kunal.loadbook.repository.LoadRepository;
+import com.kunal.loadbook.repository.LoadSearchHit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -41,6 +58,27 @@ class LoadServiceTest {
     @Mock
     private LoadMapper loadMapper;
 
+    @Mock
+    private LoadGeoIndex loadGeoIndex;
+
+    @Mock
+    private ReferenceDictionary referenceDictionary;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private LoadService loadService;
 
@@ -92,8 +130,13 @@ class LoadServiceTest {
         assertEquals(testLoad.getId(), result.getId());
         assertEquals("SHIPPER_001", result.getShipperId());
         verify(loadRepository).save(testLoad);
-        verify(loadMapper).toEntity(createRequest);
         verify(loadMapper).toResponse(testLoad);
+        // New dictionary values are stored before the load's transaction takes a connection
+        InOrder order = inOrder(loadMapper, transactionManager);
+        order.verify(loadMapper).resolveReferences(createRequest);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(loadMapper).toEntity(createRequest);
+        order.verify(transactionManager).commit(any());
     }
 
     @Test
@@ -113,6 +156,7 @@ class LoadServiceTest {
                 () -> loadService.createLoad(createRequest));
         assertEquals("Loading date cannot be after unloading date", exception.getMessage());
         verify(loadRepository, never()).save(any());
+        verify(transactionManager, never()).getTransaction(any());
     }
 
     @Test
@@ -121,13 +165,14 @@ class LoadServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
         Page<Load> loadPage = new PageImpl<>(List.of(testLoad), pageable, 1);
 
-        when(loadRepository.findLoadsWithFilters(eq("SHIPPER_001"), eq("Container"),
-                eq(LoadStatus.POSTED), any(Pageable.class))).thenReturn(loadPage);
+        when(referenceDictionary.findId(ReferenceKind.TRUCK_TYPE, "Container")).thenReturn(1);
+        when(loadRepository.findLoadsWithFilters(eq("SHIPPER_001"), eq(1),
+                eq(LoadStatus.POSTED), eq(false), any(Pageable.class))).thenReturn(loadPage);
         when(loadMapper.toResponse(testLoad)).thenReturn(loadResponse);
 
         // Act
         PagedResponse<LoadResponse> result = loadService.getLoads(
-                "SHIPPER_001", "Container", LoadStatus.POSTED, 0, 10);
+                "SHIPPER_001", "Container", LoadStatus.POSTED, false, null, null, 0, 10);
 
         // Assert
         assertNotNull(result);
@@ -137,6 +182,94 @@ class LoadServiceTest {
         assertEquals(1, result.getTotalElements());
         assertTrue(result.isFirst());
         assertTrue(result.isLast());
+        assertNull(result.getContent().get(0).getBookings());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getLoads_IncludeBookings_EmbedsPageBookingsFromOneQuery() {
+        // Arrange
+        Load otherLoad = new Load();
+        otherLoad.setId(UUID.randomUUID());
+        LoadResponse otherResponse = new LoadResponse();
+        otherResponse.setId(otherLoad.getId());
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Load> loadPage = new PageImpl<>(List.of(testLoad, otherLoad), pageable, 2);
+
+        Booking booking = new Booking();
+        BookingResponse bookingResponse = new BookingResponse();
+        bookingResponse.setLoadId(testLoad.getId());
+        bookingResponse.setStatus(BookingStatus.PENDING);
+
+        when(loadRepository.findLoadsWithFilters(eq("SHIPPER_001"), isNull(), isNull(), eq(false),
+                any(Pageable.class))).thenReturn(loadPage);
+        when(loadMapper.toResponse(testLoad)).thenReturn(loadResponse);
+        when(loadMapper.toResponse(otherLoad)).thenReturn(otherResponse);
+        when(bookingRepository.findByLoadIds(List.of(testLoad.getId(), otherLoad.getId()),
+                BookingStatus.PENDING, false)).thenReturn(List.of(booking));
+        when(bookingMapper.toResponse(booking)).thenReturn(bookingResponse);
+
+        // Act
+        PagedResponse<LoadResponse> result = loadService.getLoads(
+                "SHIPPER_001", null, null, false, "bookings:PENDING", null, 0, 10);
+
+        // Assert
+        assertEquals(List.of(bookingResponse), result.getContent().get(0).getBookings());
+        assertEquals(List.of(), result.getContent().get(1).getBookings());
+        verify(bookingRepository, times(1)).findByLoadIds(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void getLoads_UnknownInclude_ThrowsException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> loadService.getLoads(null, null, null, false, "bids", null, 0, 10));
+        assertEquals("Unsupported include: bids", exception.getMessage());
+    }
+
+    @Test
+    void getLoads_WithFields_ReadsOnlySelectedAttributes() {
+        // Arrange
+        List<String> fields = List.of("id", "datePosted", "status");
+        Object[] row = { testLoad.getId(), testLoad.getDatePosted(), LoadStatus.POSTED };
+        Page<Object[]> rowPage = new PageImpl<>(List.<Object[]>of(row), PageRequest.of(0, 10), 1);
+
+        when(loadRepository.findLoadAttributesWithFilters(eq(List.of("id", "datePosted", "status")),
+                eq("SHIPPER_001"), isNull(), isNull(), eq(false), any(Pageable.class))).thenReturn(rowPage);
+        when(loadMapper.toResponse(row, fields)).thenReturn(loadResponse);
+
+        // Act
+        PagedResponse<LoadResponse> result = loadService.getLoads(
+                "SHIPPER_001", null, null, false, null, "status", 0, 10);
+
+        // Assert
+        assertEquals(List.of(loadResponse), result.getContent());
+        verify(loadRepository, never()).findLoadsWithFilters(any(), any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void getLoads_UnknownField_ThrowsException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> loadService.getLoads(null, null, null, false, null, "id,price", 0, 10));
+        assertEquals("Unknown field: price", exception.getMessage());
+    }
+
+    @Test
+    void getLoads_UnknownTruckType_ReturnsEmptyPageWithoutQuery() {
+        // Arrange
+        when(referenceDictionary.findId(ReferenceKind.TRUCK_TYPE, "Hovercraft")).thenReturn(null);
+
+        // Act
+        PagedResponse<LoadResponse> result = loadService.getLoads(
+                null, "Hovercraft", null, false, null, null, 0, 10);
+
+        // Assert
+        assertTrue(result.getContent().isEmpty());
+        assertEquals(0, result.getTotalElements());
+        verify(loadRepository, never()).findLoadsWithFilters(any(), any(), any(), anyBoolean(), any());
     }
 
     @Test
@@ -144,7 +277,7 @@ class LoadServiceTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
-                () -> loadService.getLoads(null, null, null, -1, 10));
+                () -> loadService.getLoads(null, null, null, false, null, null, -1, 10));
         assertEquals("Page number cannot be negative", exception.getMessage());
     }
 
@@ -153,10 +286,109 @@ class LoadServiceTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
-                () -> loadService.getLoads(null, null, null, 0, 0));
+                () -> loadService.getLoads(null, null, null, false, null, null, 0, 0));
         assertEquals("Page size must be between 1 and 100", exception.getMessage());
     }
 
+    @Test
+    void searchLoads_FirstPage_TrimsQueryAndFetchesOneExtraHit() {
+        // Arrange
+        List<Load> loads = searchableLoads(3);
+        when(loadRepository.searchLoads("Mumb", LoadStatus.POSTED, null, null, 3)).thenReturn(List.of(
+                new LoadSearchHit(loads.get(0).getId(), 900),
+                new LoadSearchHit(loads.get(1).getId(), 700),
+                new LoadSearchHit(loads.get(2).getId(), 500)));
+        when(loadRepository.findAllById(any())).thenReturn(loads);
+        when(loadMapper.toResponse(any(Load.class))).thenAnswer(invocation -> {
+            LoadResponse response = new LoadResponse();
+            response.setId(invocation.<Load>getArgument(0).getId());
+            return response;
+        });
+
+        // Act
+        CursorPagedResponse<LoadResponse> result = loadService.searchLoads("  Mumb ", LoadStatus.POSTED, null, 2);
+
+        // Assert
+        assertEquals(List.of(loads.get(0).getId(), loads.get(1).getId()),
+                result.getContent().stream().map(LoadResponse::getId).toList());
+        assertTrue(result.isHasNext());
+        SearchCursor next = SearchCursor.decode(result.getNextCursor());
+        assertEquals(700, next.getRank());
+        assertEquals(loads.get(1).getId(), next.getLoadId());
+    }
+
+    @Test
+    void searchLoads_NextCursor_ContinuesAfterLastHitUntilExhausted() {
+        // Arrange
+        List<Load> loads = searchableLoads(1);
+        UUID lastSeen = UUID.randomUUID();
+        String cursor = new SearchCursor(700, lastSeen).encode();
+        when(loadRepository.searchLoads("Mumb", null, 700, lastSeen, 3))
+                .thenReturn(List.of(new LoadSearchHit(loads.get(0).getId(), 650)));
+        when(loadRepository.findAllById(any())).thenReturn(loads);
+        when(loadMapper.toResponse(loads.get(0))).thenReturn(loadResponse);
+
+        // Act
+        CursorPagedResponse<LoadResponse> result = loadService.searchLoads("Mumb", null, cursor, 2);
+
+        // Assert
+        assertEquals(List.of(loadResponse), result.getContent());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void searchLoads_ShortQuery_ThrowsException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> loadService.searchLoads(" M ", null, null, 10));
+        assertEquals("Search query must be at least 2 characters", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> loadService.searchLoads(null, null, null, 10));
+        verifyNoInteractions(loadRepository);
+    }
+
+    @Test
+    void searchLoads_InvalidPageSize_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> loadService.searchLoads("Mumb", null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> loadService.searchLoads("Mumb", null, null, 101));
+        verifyNoInteractions(loadRepository);
+    }
+
+    @Test
+    void searchLoads_InvalidCursor_ThrowsException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> loadService.searchLoads("Mumb", null, "bm90LWEtY3Vyc29y", 10));
+        assertEquals("Invalid search cursor", exception.getMessage());
+        verifyNoInteractions(loadRepository);
+    }
+
+    @Test
+    void mergeSearchWindows_InterleavesShardsByRankAndCursorsAfterLastHit() {
+        // Arrange - two shards' windows for a page of 2; the second shard holds the best hit
+        LoadResponse best = new LoadResponse();
+        LoadResponse second = new LoadResponse();
+        LoadResponse third = new LoadResponse();
+        UUID lowId = new UUID(1L, 1L);
+        UUID highId = new UUID(-1L, 1L);
+        List<RankedLoad> shard0 = List.of(new RankedLoad(800, highId, second),
+                new RankedLoad(500, UUID.randomUUID(), third));
+        List<RankedLoad> shard1 = List.of(new RankedLoad(900, UUID.randomUUID(), best),
+                new RankedLoad(800, lowId, null));
+
+        // Act
+        CursorPagedResponse<LoadResponse> result = loadService.mergeSearchWindows(List.of(shard0, shard1), 2);
+
+        // Assert - the deleted load at rank 800 sorts first among the ties (unsigned ID order)
+        // and is skipped, but the cursor still continues after the second hit
+        assertEquals(List.of(best), result.getContent());
+        assertTrue(result.isHasNext());
+        SearchCursor next = SearchCursor.decode(result.getNextCursor());
+        assertEquals(800, next.getRank());
+        assertEquals(lowId, next.getLoadId());
+    }
+
     @Test
     void getLoadById_Success() {
         // Arrange
@@ -174,6 +406,29 @@ class LoadServiceTest {
         verify(loadMapper).toResponse(testLoad);
     }
 
+    @Test
+    void getLoadsByIds_QueriesDistinctIdsInChunks() {
+        // Arrange
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < LoadService.BATCH_GET_CHUNK_SIZE + 1; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        ids.add(ids.get(0));
+        ids.set(1, testLoad.getId());
+        when(loadRepository.findAllById(anyIterable())).thenReturn(List.of());
+        when(loadRepository.findAllById(ids.subList(0, LoadService.BATCH_GET_CHUNK_SIZE)))
+                .thenReturn(List.of(testLoad));
+        when(loadMapper.toResponse(testLoad)).thenReturn(loadResponse);
+
+        // Act
+        Map<UUID, LoadResponse> result = loadService.getLoadsByIds(ids);
+
+        // Assert
+        assertEquals(Map.of(testLoad.getId(), loadResponse), result);
+        verify(loadRepository, times(2)).findAllById(anyIterable());
+        verify(loadRepository).findAllById(List.of(ids.get(LoadService.BATCH_GET_CHUNK_SIZE)));
+    }
+
     @Test
     void getLoadById_NotFound_ThrowsException() {
         // Arrange
@@ -203,8 +458,53 @@ class LoadServiceTest {
 
         // Assert
         assertNotNull(result);
-        verify(loadMapper).updateEntity(testLoad, updateRequest);
         verify(loadRepository).save(testLoad);
+        InOrder order = inOrder(loadMapper, transactionManager);
+        order.verify(loadMapper).resolveReferences(updateRequest);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(loadMapper).updateEntity(testLoad, updateRequest);
+    }
+
+    @Test
+    void updateLoad_NoOfTrucksChanged_AdjustsRemainingTrucks() {
+        // Arrange - one of three trucks already taken
+        UUID loadId = testLoad.getId();
+        testLoad.setNoOfTrucks(3);
+        testLoad.setRemainingTrucks(2);
+        UpdateLoadRequest updateRequest = new UpdateLoadRequest();
+        updateRequest.setNoOfTrucks(5);
+
+        when(loadRepository.findById(loadId)).thenReturn(Optional.of(testLoad));
+        when(loadRepository.adjustRemainingTrucks(loadId, 2, LoadStatus.BOOKED)).thenReturn(1);
+        when(loadRepository.save(testLoad)).thenReturn(testLoad);
+        when(loadMapper.toResponse(testLoad)).thenReturn(loadResponse);
+
+        // Act
+        loadService.updateLoad(loadId, updateRequest);
+
+        // Assert - re-read after the adjustment, so the save does not overwrite it
+        verify(loadRepository, times(2)).findById(loadId);
+        verify(loadMapper).updateEntity(testLoad, updateRequest);
+    }
+
+    @Test
+    void updateLoad_NoOfTrucksBelowBooked_ThrowsException() {
+        // Arrange - two of three trucks already taken
+        UUID loadId = testLoad.getId();
+        testLoad.setNoOfTrucks(3);
+        testLoad.setRemainingTrucks(1);
+        UpdateLoadRequest updateRequest = new UpdateLoadRequest();
+        updateRequest.setNoOfTrucks(2);
+
+        when(loadRepository.findById(loadId)).thenReturn(Optional.of(testLoad));
+        when(loadRepository.adjustRemainingTrucks(loadId, -1, LoadStatus.BOOKED)).thenReturn(0);
+
+        // Act & Assert
+        BusinessLogicException exception = assertThrows(
+                BusinessLogicException.class,
+                () -> loadService.updateLoad(loadId, updateRequest));
+        assertEquals("Number of trucks must be more than the 2 already booked", exception.getMessage());
+        verify(loadRepository, never()).save(any());
     }
 
     @Test
@@ -225,11 +525,29 @@ class LoadServiceTest {
     }
 
     @Test
-    void deleteLoad_Success() {
+    void updateLoad_ExpiredLoad_ThrowsException() {
         // Arrange
+        testLoad.setStatus(LoadStatus.EXPIRED);
         UUID loadId = testLoad.getId();
+        UpdateLoadRequest updateRequest = new UpdateLoadRequest();
+        updateRequest.setFacility(facilityDto);
+
         when(loadRepository.findById(loadId)).thenReturn(Optional.of(testLoad));
 
+        // Act & Assert
+        BusinessLogicException exception = assertThrows(
+                BusinessLogicException.class,
+                () -> loadService.updateLoad(loadId, updateRequest));
+        assertEquals("Cannot update an expired load", exception.getMessage());
+        verify(loadRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteLoad_Success() {
+        // Arrange
+        UUID loadId = testLoad.getId();
+        when(loadRepository.findByIdForUpdate(loadId)).thenReturn(Optional.of(testLoad));
+
         // Act
         loadService.deleteLoad(loadId);
 
@@ -242,7 +560,7 @@ class LoadServiceTest {
         // Arrange
         testLoad.setStatus(LoadStatus.BOOKED);
         UUID loadId = testLoad.getId();
-        when(loadRepository.findById(loadId)).thenReturn(Optional.of(testLoad));
+        when(loadRepository.findByIdForUpdate(loadId)).thenReturn(Optional.of(testLoad));
 
         // Act & Assert
         BusinessLogicException exception = assertThrows(
@@ -253,10 +571,61 @@ class LoadServiceTest {
     }
 
     @Test
-    void updateLoadStatus_ValidTransition_Success() {
+    void deleteLoad_PartlyAllocatedLoad_ThrowsException() {
+        // Arrange - still POSTED, but one of three trucks went to an accepted booking
+        testLoad.setNoOfTrucks(3);
+        testLoad.setRemainingTrucks(2);
+        UUID loadId = testLoad.getId();
+        when(loadRepository.findByIdForUpdate(loadId)).thenReturn(Optional.of(testLoad));
+
+        // Act & Assert
+        BusinessLogicException exception = assertThrows(
+                BusinessLogicException.class,
+                () -> loadService.deleteLoad(loadId));
+        assertEquals("Cannot delete a load with accepted bookings (1 of 3 trucks booked)", exception.getMessage());
+        verify(loadRepository, never()).delete(any());
+    }
+
+    @Test
+    void allocateTrucks_Success_PublishesLoad() {
         // Arrange
         UUID loadId = testLoad.getId();
+        UUID bookingId = UUID.randomUUID();
+        testLoad.setRemainingTrucks(0);
+        testLoad.setStatus(LoadStatus.BOOKED);
+        when(loadRepository.allocateTrucks(eq(loadId), eq(bookingId), eq(2), eq(LoadStatus.POSTED),
+                eq(LoadStatus.BOOKED), any(LocalDateTime.class))).thenReturn(1);
         when(loadRepository.findById(loadId)).thenReturn(Optional.of(testLoad));
+
+        // Act
+        Optional<Load> result = loadService.allocateTrucks(loadId, bookingId, 2);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(LoadStatus.BOOKED, result.get().getStatus());
+        verify(eventPublisher).publishEvent(any(Object.class));
+        verify(auditLog).record(AuditEntityType.LOAD, loadId, "POSTED", "BOOKED");
+    }
+
+    @Test
+    void allocateTrucks_NotEnoughLeft_ReturnsEmpty() {
+        // Arrange
+        UUID loadId = testLoad.getId();
+        UUID bookingId = UUID.randomUUID();
+        when(loadRepository.allocateTrucks(eq(loadId), eq(bookingId), eq(2), eq(LoadStatus.POSTED),
+                eq(LoadStatus.BOOKED), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act & Assert
+        assertTrue(loadService.allocateTrucks(loadId, bookingId, 2).isEmpty());
+        verify(loadRepository, never()).findById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateLoadStatus_ValidTransition_Success() {
+        // Arrange
+        UUID loadId = testLoad.getId();
+        when(loadRepository.findByIdForUpdate(loadId)).thenReturn(Optional.of(testLoad));
         when(loadRepository.save(testLoad)).thenReturn(testLoad);
 
         // Act
@@ -272,7 +641,7 @@ class LoadServiceTest {
         // Arrange
         testLoad.setStatus(LoadStatus.CANCELLED);
         UUID loadId = testLoad.getId();
-        when(loadRepository.findById(loadId)).thenReturn(Optional.of(testLoad));
+        when(loadRepository.findByIdForUpdate(loadId)).thenReturn(Optional.of(testLoad));
 
         // Act & Assert
         BusinessLogicException exception = assertThrows(
@@ -281,4 +650,48 @@ class LoadServiceTest {
         assertTrue(exception.getMessage().contains("Invalid status transition"));
         verify(loadRepository, never()).save(any());
     }
+
+    @Test
+    void updateLoadStatus_CancelPartlyAllocatedLoad_ThrowsException() {
+        // Arrange
+        testLoad.setNoOfTrucks(3);
+        testLoad.setRemainingTrucks(1);
+        UUID loadId = testLoad.getId();
+        when(loadRepository.findByIdForUpdate(loadId)).thenReturn(Optional.of(testLoad));
+
+        // Act & Assert
+        BusinessLogicException exception = assertThrows(
+                BusinessLogicException.class,
+                () -> loadService.updateLoadStatus(loadId, LoadStatus.CANCELLED));
+        assertEquals("Cannot cancel a load with accepted bookings (2 of 3 trucks booked)", exception.getMessage());
+        assertEquals(LoadStatus.POSTED, testLoad.getStatus());
+        verify(loadRepository, never()).save(any());
+    }
+
+    @Test
+    void updateLoadStatus_CancelUnallocatedLoad_Success() {
+        // Arrange
+        testLoad.setNoOfTrucks(3);
+        testLoad.setRemainingTrucks(3);
+        UUID loadId = testLoad.getId();
+        when(loadRepository.findByIdForUpdate(loadId)).thenReturn(Optional.of(testLoad));
+
+        // Act
+        loadService.updateLoadStatus(loadId, LoadStatus.CANCELLED);
+
+        // Assert
+        assertEquals(LoadStatus.CANCELLED, testLoad.getStatus());
+        verify(loadRepository).save(testLoad);
+    }
+
+    private static List<Load> searchableLoads(int count) {
+        List<Load> loads = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Load load = new Load();
+            load.setId(UUID.randomUUID());
+            load.setStatus(LoadStatus.POSTED);
+            loads.add(load);
+        }
+        return loads;
+    }
 }
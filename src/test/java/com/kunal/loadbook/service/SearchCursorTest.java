@@ -0,0 +1,50 @@
+package com.kunal.loadbook.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchCursorTest {
+
+    @Test
+    void encodeThenDecode_RoundTrips() {
+        UUID loadId = UUID.randomUUID();
+
+        SearchCursor decoded = SearchCursor.decode(new SearchCursor(742, loadId).encode());
+
+        assertEquals(742, decoded.getRank());
+        assertEquals(loadId, decoded.getLoadId());
+    }
+
+    @Test
+    void encode_IsUrlSafeWithoutPadding() {
+        String cursor = new SearchCursor(1000, UUID.randomUUID()).encode();
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+    }
+
+    @Test
+    void decode_NotBase64_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> SearchCursor.decode("not a cursor!"));
+        assertEquals("Invalid search cursor", exception.getMessage());
+    }
+
+    @Test
+    void decode_TamperedContent_ThrowsException() {
+        UUID loadId = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode("high:" + loadId)));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode("742:not-a-uuid")));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode("742")));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(""));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
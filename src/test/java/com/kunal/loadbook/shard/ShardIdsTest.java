@@ -0,0 +1,53 @@
+package com.kunal.loadbook.shard;
+
+import com.kunal.loadbook.entity.id.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardIdsTest {
+
+    @Test
+    void withShard_RoundTripsAndKeepsVersionAndVariant() {
+        UUID id = UuidV7.randomUuid();
+
+        UUID sharded = ShardIds.withShard(id, 737);
+
+        assertEquals(737, ShardIds.shardOf(sharded));
+        assertEquals(7, sharded.version());
+        assertEquals(2, sharded.variant());
+        assertEquals(id.getMostSignificantBits(), sharded.getMostSignificantBits());
+    }
+
+    @Test
+    void shardOf_OtherVersions_AreOnShardZero() {
+        UUID random = new UUID(0x0000_0000_0000_4000L, 0xBFFF_FFFF_FFFF_FFFFL);
+
+        assertEquals(4, random.version());
+        assertEquals(0, ShardIds.shardOf(random));
+    }
+
+    @Test
+    void withShard_RejectsOutOfRange() {
+        UUID id = UuidV7.randomUuid();
+
+        assertThrows(IllegalArgumentException.class, () -> ShardIds.withShard(id, ShardIds.MAX_SHARDS));
+        assertThrows(IllegalArgumentException.class, () -> ShardIds.withShard(id, -1));
+    }
+
+    @Test
+    void shardForShipper_IsStableAndSpread() {
+        int[] counts = new int[4];
+        for (int i = 0; i < 4_000; i++) {
+            String shipperId = "SHIPPER_" + i;
+            int shard = ShardIds.shardForShipper(shipperId, 4);
+            assertEquals(shard, ShardIds.shardForShipper(shipperId, 4));
+            counts[shard]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 800, "Uneven shard spread: " + count);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.kunal.loadbook.shard;
+
+import com.kunal.loadbook.dto.booking.BookingResponse;
+import com.kunal.loadbook.dto.booking.CreateBookingRequest;
+import com.kunal.loadbook.dto.load.CreateLoadRequest;
+import com.kunal.loadbook.dto.load.FacilityDto;
+import com.kunal.loadbook.dto.load.LoadResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application against two PostgreSQL shards. Skipped when Docker is unavailable.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class ShardingIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> SHARD_0 = new PostgreSQLContainer<>("postgres:15");
+
+    @Container
+    static final PostgreSQLContainer<?> SHARD_1 = new PostgreSQLContainer<>("postgres:15");
+
+    @DynamicPropertySource
+    static void shardProperties(DynamicPropertyRegistry registry) {
+        registry.add("loadbook.sharding.enabled", () -> "true");
+        List<PostgreSQLContainer<?>> shards = List.of(SHARD_0, SHARD_1);
+        for (int i = 0; i < shards.size(); i++) {
+            PostgreSQLContainer<?> shard = shards.get(i);
+            registry.add("loadbook.sharding.shards[" + i + "].url", shard::getJdbcUrl);
+            registry.add("loadbook.sharding.shards[" + i + "].username", shard::getUsername);
+            registry.add("loadbook.sharding.shards[" + i + "].password", shard::getPassword);
+        }
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("loadbook.rate-limit.enabled", () -> "false");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void loadsAndBookingsFollowTheirShipper() throws Exception {
+        String shipper0 = shipperOnShard(0, "SHIPPER_A");
+        String shipper1 = shipperOnShard(1, "SHIPPER_B");
+
+        LoadResponse first = createLoad(shipper0);
+        LoadResponse second = createLoad(shipper1);
+
+        // Each load is stored on its shipper's shard, and its ID says which one
+        assertEquals(0, ShardIds.shardOf(first.getId()));
+        assertEquals(1, ShardIds.shardOf(second.getId()));
+        assertEquals(1, (int) countLoads(SHARD_0, shipper0));
+        assertEquals(0, (int) countLoads(SHARD_1, shipper0));
+        assertEquals(1, (int) countLoads(SHARD_1, shipper1));
+
+        // A listing without a shipper merges both shards, newest first
+        mockMvc.perform(get("/api/v1/load").param("page", "0").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(second.getId().toString()))
+                .andExpect(jsonPath("$.content[1].id").value(first.getId().toString()));
+
+        // A booking lands on its load's shard and is found again by ID
+        CreateBookingRequest bookingRequest = new CreateBookingRequest(second.getId(), "TRANSPORTER_001", 1500.0, null);
+        String body = mockMvc.perform(post("/api/v1/booking")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        BookingResponse booking = objectMapper.readValue(body, BookingResponse.class);
+        assertEquals(1, ShardIds.shardOf(booking.getId()));
+
+        mockMvc.perform(get("/api/v1/booking/{bookingId}", booking.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loadId").value(second.getId().toString()));
+        mockMvc.perform(get("/api/v1/load/{loadId}", second.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pendingBookingCount").value(1));
+    }
+
+    private static String shipperOnShard(int shard, String prefix) {
+        for (int i = 0; ; i++) {
+            String candidate = prefix + "_" + i;
+            if (ShardIds.shardForShipper(candidate, 2) == shard) {
+                return candidate;
+            }
+        }
+    }
+
+    private LoadResponse createLoad(String shipperId) throws Exception {
+        FacilityDto facility = new FacilityDto(
+                "Loading Point",
+                "Unloading Point",
+                LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(3));
+        CreateLoadRequest request = new CreateLoadRequest(
+                shipperId, facility, "Test Product", "Container", 1, 10.0, "Test comment");
+
+        String body = mockMvc.perform(post("/api/v1/load")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(body, LoadResponse.class);
+    }
+
+    private static Integer countLoads(PostgreSQLContainer<?> shard, String shipperId) {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                shard.getJdbcUrl(), shard.getUsername(), shard.getPassword()));
+        return jdbc.queryForObject("SELECT COUNT(*) FROM loads WHERE shipper_id = ?", Integer.class, shipperId);
+    }
+}